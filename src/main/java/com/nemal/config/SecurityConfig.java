@@ -46,6 +46,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/profile/**").authenticated()
                         .requestMatchers("/api/technologies/**").authenticated()
                         .requestMatchers("/api/departments/**").authenticated()
+                        .requestMatchers("/api/designations/*/interview-rules",
+                                "/api/designations/interview-rules/**").hasAnyRole("HR", "ADMIN")
                         .requestMatchers("/api/designations/**").authenticated()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/hr/**").hasRole("HR")
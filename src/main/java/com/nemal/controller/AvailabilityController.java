@@ -1,16 +1,20 @@
 package com.nemal.controller;
 
 import com.nemal.dto.AvailabilitySlotDto;
+import com.nemal.dto.BulkAvailabilityResultDto;
 import com.nemal.dto.BulkAvailabilitySlotDto;
 import com.nemal.dto.CreateAvailabilitySlotDto;
 import com.nemal.dto.UpdateAvailabilitySlotDto;
 import com.nemal.entity.User;
 import com.nemal.service.AvailabilityService;
+import com.nemal.service.AvailabilityVersionTracker;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,27 +26,42 @@ import java.util.Map;
 public class AvailabilityController {
 
     private final AvailabilityService availabilityService;
+    private final AvailabilityVersionTracker versionTracker;
 
-    public AvailabilityController(AvailabilityService availabilityService) {
+    public AvailabilityController(AvailabilityService availabilityService,
+                                  AvailabilityVersionTracker versionTracker) {
         this.availabilityService = availabilityService;
+        this.versionTracker = versionTracker;
     }
 
+    /** Returns 304 without querying slots when the client's ETag is still current. */
     @GetMapping
     public ResponseEntity<List<AvailabilitySlotDto>> getMyAvailability(
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(availabilityService.getInterviewerAvailability(user));
+        if (webRequest.checkNotModified(versionTracker.interviewerCalendarETag(user.getId(), null))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(availabilityService.getInterviewerAvailability(user));
     }
 
     @GetMapping("/range")
     public ResponseEntity<List<AvailabilitySlotDto>> getAvailabilityByDateRange(
             @AuthenticationPrincipal User user,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(
-                availabilityService.getInterviewerAvailabilityByDateRange(user, start, end)
-        );
+        String etag = versionTracker.interviewerCalendarETag(user.getId(), List.of(start, end));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(availabilityService.getInterviewerAvailabilityByDateRange(user, start, end));
     }
 
     @PostMapping
@@ -54,13 +73,20 @@ public class AvailabilityController {
                 .body(availabilityService.createAvailabilitySlot(user, dto));
     }
 
+    /**
+     * Creates every valid item and reports the rest in {@code errors}.
+     * Returns 400 only when nothing could be created.
+     */
     @PostMapping("/bulk")
-    public ResponseEntity<List<AvailabilitySlotDto>> createBulkAvailabilitySlots(
+    public ResponseEntity<BulkAvailabilityResultDto> createBulkAvailabilitySlots(
             @AuthenticationPrincipal User user,
             @RequestBody BulkAvailabilitySlotDto dto
     ) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(availabilityService.createBulkAvailabilitySlots(user, dto));
+        BulkAvailabilityResultDto result = availabilityService.createBulkAvailabilitySlots(user, dto);
+        HttpStatus status = result.created().isEmpty() && !result.errors().isEmpty()
+                ? HttpStatus.BAD_REQUEST
+                : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(result);
     }
 
     /**
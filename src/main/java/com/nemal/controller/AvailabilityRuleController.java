@@ -0,0 +1,90 @@
+package com.nemal.controller;
+
+import com.nemal.dto.AvailabilityOccurrenceDto;
+import com.nemal.dto.AvailabilityRuleDto;
+import com.nemal.dto.CreateAvailabilityRuleDto;
+import com.nemal.entity.User;
+import com.nemal.service.AvailabilityRuleService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interviewer-owned recurring availability rules.
+ */
+@RestController
+@RequestMapping("/api/availability/rules")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AvailabilityRuleController {
+
+    private final AvailabilityRuleService ruleService;
+
+    public AvailabilityRuleController(AvailabilityRuleService ruleService) {
+        this.ruleService = ruleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AvailabilityRuleDto>> getMyRules(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(ruleService.getRules(user));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createRule(
+            @AuthenticationPrincipal User user,
+            @RequestBody CreateAvailabilityRuleDto dto
+    ) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(ruleService.createRule(user, dto));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{ruleId}/exceptions")
+    public ResponseEntity<?> addException(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long ruleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        try {
+            return ResponseEntity.ok(ruleService.addException(user, ruleId, date));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<?> deleteRule(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long ruleId
+    ) {
+        try {
+            ruleService.deleteRule(user, ruleId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /** The caller's rule occurrences in [start, end), expanded on the fly. */
+    @GetMapping("/occurrences")
+    public ResponseEntity<?> getMyOccurrences(
+            @AuthenticationPrincipal User user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) {
+        try {
+            List<AvailabilityOccurrenceDto> occurrences = ruleService.getOccurrences(user, start, end);
+            return ResponseEntity.ok(occurrences);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
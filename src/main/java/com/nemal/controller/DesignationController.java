@@ -2,6 +2,8 @@ package com.nemal.controller;
 
 import com.nemal.dto.CreateDesignationDto;
 import com.nemal.dto.DesignationDto;
+import com.nemal.dto.DesignationInterviewRuleDto;
+import com.nemal.dto.SetDesignationInterviewRuleDto;
 import com.nemal.dto.UpdateDesignationDto;
 import com.nemal.service.DesignationService;
 import org.springframework.http.HttpStatus;
@@ -62,4 +64,21 @@ public class DesignationController {
         designationService.deleteDesignation(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/interview-rules")
+    public ResponseEntity<List<DesignationInterviewRuleDto>> getInterviewRules(@PathVariable Long id) {
+        return ResponseEntity.ok(designationService.getInterviewRules(id));
+    }
+
+    @PutMapping("/interview-rules")
+    public ResponseEntity<DesignationInterviewRuleDto> setInterviewRule(
+            @RequestBody SetDesignationInterviewRuleDto dto) {
+        return ResponseEntity.ok(designationService.setInterviewRule(dto));
+    }
+
+    @DeleteMapping("/interview-rules/{ruleId}")
+    public ResponseEntity<Void> deleteInterviewRule(@PathVariable Long ruleId) {
+        designationService.deleteInterviewRule(ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,28 @@
 package com.nemal.controller;
 
 import com.nemal.dto.AvailabilityFilterDto;
+import com.nemal.dto.AvailabilityPageDto;
+import com.nemal.dto.CompactAvailabilityDto;
 import com.nemal.dto.InterviewerAvailabilityDto;
+import com.nemal.dto.InterviewerMatchRequestDto;
+import com.nemal.service.AvailabilityRuleService;
+import com.nemal.service.AvailabilityVersionTracker;
 import com.nemal.service.HRAvailabilityService;
+import com.nemal.service.InterviewerMatchingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,21 +32,33 @@ import java.util.Map;
 public class HRAvailabilityController {
 
     private static final Logger logger = LoggerFactory.getLogger(HRAvailabilityController.class);
+    private static final String NDJSON = "application/x-ndjson";
     private final HRAvailabilityService hrAvailabilityService;
+    private final AvailabilityVersionTracker versionTracker;
+    private final AvailabilityRuleService availabilityRuleService;
+    private final InterviewerMatchingService interviewerMatchingService;
 
-    public HRAvailabilityController(HRAvailabilityService hrAvailabilityService) {
+    public HRAvailabilityController(HRAvailabilityService hrAvailabilityService,
+                                    AvailabilityVersionTracker versionTracker,
+                                    AvailabilityRuleService availabilityRuleService,
+                                    InterviewerMatchingService interviewerMatchingService) {
         this.hrAvailabilityService = hrAvailabilityService;
+        this.versionTracker = versionTracker;
+        this.availabilityRuleService = availabilityRuleService;
+        this.interviewerMatchingService = interviewerMatchingService;
     }
 
     @PostMapping("/filter")
     public ResponseEntity<?> getFilteredAvailability(
-            @RequestBody(required = false) AvailabilityFilterDto filter
+            @RequestBody(required = false) AvailabilityFilterDto filter,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
         try {
             logger.info("Received filter request: {}", filter);
             List<InterviewerAvailabilityDto> result = hrAvailabilityService.getAllAvailableSlots(filter);
             logger.info("Returning {} availability slots", result.size());
-            return ResponseEntity.ok(result);
+            return respond(result, isCompact(format, accept));
         } catch (Exception e) {
             logger.error("Error in getFilteredAvailability: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -44,13 +70,27 @@ public class HRAvailabilityController {
         }
     }
 
+    /**
+     * Conditional GET: answers 304 from the change version alone when the
+     * client's If-None-Match still matches, without querying slots.
+     */
     @GetMapping
-    public ResponseEntity<?> getAllAvailability() {
+    public ResponseEntity<?> getAllAvailability(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest
+    ) {
         try {
+            boolean compact = isCompact(format, accept);
+            String etag = versionTracker.hrCalendarETag(null, compact ? "c" : "v");
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
             logger.info("Received request for all availability");
             List<InterviewerAvailabilityDto> result = hrAvailabilityService.getAllAvailableSlots(null);
             logger.info("Returning {} availability slots", result.size());
-            return ResponseEntity.ok(result);
+            return respond(result, compact);
         } catch (Exception e) {
             logger.error("Error in getAllAvailability: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -62,6 +102,133 @@ public class HRAvailabilityController {
         }
     }
 
+    /**
+     * Verbose list by default; the normalised {@link CompactAvailabilityDto}
+     * when asked for via {@code ?format=compact} or its vendor media type.
+     */
+    private ResponseEntity<?> respond(List<InterviewerAvailabilityDto> result, boolean compact) {
+        if (!compact) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(result);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.parseMediaType(CompactAvailabilityDto.MEDIA_TYPE))
+                .body(CompactAvailabilityDto.from(result));
+    }
+
+    private static boolean isCompact(String format, String accept) {
+        return CompactAvailabilityDto.FORMAT.equalsIgnoreCase(format)
+                || (accept != null && accept.contains(CompactAvailabilityDto.MEDIA_TYPE));
+    }
+
+    // ── Keyset pages ──────────────────────────────────────────────────────────
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getAvailabilityPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return page(null, cursor, size);
+    }
+
+    @PostMapping("/filter/page")
+    public ResponseEntity<?> getFilteredAvailabilityPage(
+            @RequestBody(required = false) AvailabilityFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return page(filter, cursor, size);
+    }
+
+    private ResponseEntity<?> page(AvailabilityFilterDto filter, String cursor, Integer size) {
+        try {
+            AvailabilityPageDto page = hrAvailabilityService.getAvailabilityPage(filter, cursor, size);
+            logger.info("Returning page of {} availability slots (hasMore={})", page.items().size(), page.hasMore());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error in getAvailabilityPage: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                            "error", "Failed to fetch availability",
+                            "message", e.getMessage(),
+                            "timestamp", System.currentTimeMillis()
+                    ));
+        }
+    }
+
+    // ── Matching ──────────────────────────────────────────────────────────────
+
+    /** Ranked (interviewer, slot) pairs for a candidate profile and time range. */
+    @PostMapping("/match")
+    public ResponseEntity<?> matchInterviewers(@RequestBody InterviewerMatchRequestDto request) {
+        try {
+            return ResponseEntity.ok(interviewerMatchingService.match(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // ── Recurring rules ───────────────────────────────────────────────────────
+
+    /**
+     * Rule occurrences of all interviewers in [start, end); not yet backed by
+     * slots, so not part of /filter, /page or /stream.
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<?> getRuleOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) {
+        try {
+            return ResponseEntity.ok(availabilityRuleService.getAllOccurrences(start, end));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Creates the concrete slot for one rule occurrence without booking it.
+     * To book an occurrence, POST the interview request with
+     * availabilityRuleId + occurrenceDate instead; that materialises and
+     * books in one transaction.
+     */
+    @PostMapping("/rules/{ruleId}/occurrences/{date}/materialize")
+    public ResponseEntity<?> materializeOccurrence(
+            @PathVariable Long ruleId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(availabilityRuleService.materializeOccurrence(ruleId, date));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // ── NDJSON stream ─────────────────────────────────────────────────────────
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAvailability() {
+        return stream(null);
+    }
+
+    @PostMapping(value = "/filter/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamFilteredAvailability(
+            @RequestBody(required = false) AvailabilityFilterDto filter
+    ) {
+        return stream(filter);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(AvailabilityFilterDto filter) {
+        logger.info("Received stream request: {}", filter);
+        StreamingResponseBody body = out -> hrAvailabilityService.streamAvailability(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleException(Exception e) {
         logger.error("Unhandled exception in HRAvailabilityController: {}", e.getMessage(), e);
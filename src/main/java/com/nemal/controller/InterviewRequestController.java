@@ -1,8 +1,11 @@
 package com.nemal.controller;
 
+import com.nemal.dto.BatchScheduleRequestDto;
+import com.nemal.dto.BatchScheduleResultDto;
 import com.nemal.dto.CreateInterviewRequestDto;
 import com.nemal.dto.InterviewRequestDto;
 import com.nemal.entity.User;
+import com.nemal.service.BatchSchedulingService;
 import com.nemal.service.InterviewRequestService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +24,12 @@ public class InterviewRequestController {
 
     private static final Logger logger = LoggerFactory.getLogger(InterviewRequestController.class);
     private final InterviewRequestService interviewRequestService;
+    private final BatchSchedulingService batchSchedulingService;
 
-    public InterviewRequestController(InterviewRequestService interviewRequestService) {
+    public InterviewRequestController(InterviewRequestService interviewRequestService,
+                                      BatchSchedulingService batchSchedulingService) {
         this.interviewRequestService = interviewRequestService;
+        this.batchSchedulingService = batchSchedulingService;
     }
 
     /**
@@ -44,6 +50,24 @@ public class InterviewRequestController {
         }
     }
 
+    /**
+     * HR schedules a whole batch of candidates at once.
+     * With dryRun the proposed assignment is returned without booking anything.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> scheduleBatch(
+            @AuthenticationPrincipal User user,
+            @RequestBody BatchScheduleRequestDto dto) {
+        try {
+            BatchScheduleResultDto result = batchSchedulingService.schedule(user, dto);
+            return ResponseEntity.status(result.committed() ? HttpStatus.CREATED : HttpStatus.OK).body(result);
+        } catch (Exception e) {
+            logger.error("Failed to schedule batch: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/my-requests")
     public ResponseEntity<?> getMyRequests(@AuthenticationPrincipal User user) {
         try {
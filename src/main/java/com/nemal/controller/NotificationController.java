@@ -0,0 +1,74 @@
+package com.nemal.controller;
+
+import com.nemal.dto.MarkNotificationsReadDto;
+import com.nemal.dto.NotificationDto;
+import com.nemal.entity.User;
+import com.nemal.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The signed-in user's notifications. New ones and count changes are also
+ * pushed live on /user/queue/notifications; the unread-count endpoint is
+ * served from memory.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "http://localhost:5173")
+public class NotificationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<NotificationDto>> getNotifications(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(notificationService.getNotifications(user.getId()));
+    }
+
+    @GetMapping("/unread")
+    public ResponseEntity<List<NotificationDto>> getUnreadNotifications(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(notificationService.getUnreadNotifications(user.getId()));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(user.getId())));
+    }
+
+    @PatchMapping("/{id}/read")
+    public ResponseEntity<?> markAsRead(@AuthenticationPrincipal User user, @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(notificationService.markAsRead(user, id));
+        } catch (Exception e) {
+            logger.error("Failed to mark notification {} as read: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(user)));
+    }
+
+    @PatchMapping("/read-range")
+    public ResponseEntity<?> markRangeAsRead(@AuthenticationPrincipal User user,
+                                             @RequestBody MarkNotificationsReadDto dto) {
+        try {
+            return ResponseEntity.ok(Map.of("updated", notificationService.markRangeAsRead(user, dto)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
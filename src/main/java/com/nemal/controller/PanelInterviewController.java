@@ -1,8 +1,11 @@
 package com.nemal.controller;
 
 import com.nemal.dto.CreatePanelInterviewDto;
+import com.nemal.dto.FreeWindowDto;
+import com.nemal.dto.FreeWindowRequestDto;
 import com.nemal.dto.InterviewPanelDto;
 import com.nemal.entity.User;
+import com.nemal.service.PanelFreeTimeService;
 import com.nemal.service.PanelInterviewService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +24,28 @@ public class PanelInterviewController {
 
     private static final Logger logger = LoggerFactory.getLogger(PanelInterviewController.class);
     private final PanelInterviewService panelInterviewService;
+    private final PanelFreeTimeService panelFreeTimeService;
 
-    public PanelInterviewController(PanelInterviewService panelInterviewService) {
+    public PanelInterviewController(PanelInterviewService panelInterviewService,
+                                    PanelFreeTimeService panelFreeTimeService) {
         this.panelInterviewService = panelInterviewService;
+        this.panelFreeTimeService = panelFreeTimeService;
+    }
+
+    /**
+     * Windows in which the requested panelists are free together, each with
+     * the slot ids to submit to {@link #createPanelInterview}.
+     */
+    @PostMapping("/free-windows")
+    public ResponseEntity<?> findFreeWindows(@RequestBody FreeWindowRequestDto dto) {
+        try {
+            List<FreeWindowDto> result = panelFreeTimeService.findFreeWindows(dto);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            logger.error("Failed to find free windows: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
 
     @PostMapping
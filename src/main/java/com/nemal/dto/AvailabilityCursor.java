@@ -0,0 +1,34 @@
+package com.nemal.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the HR calendar, which is ordered by (startDateTime, id).
+ * Sent to clients as an opaque URL-safe token.
+ */
+public record AvailabilityCursor(LocalDateTime startDateTime, Long slotId) {
+
+    public String encode() {
+        String raw = startDateTime + "|" + slotId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AvailabilityCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new AvailabilityCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public static AvailabilityCursor after(InterviewerAvailabilityDto last) {
+        return new AvailabilityCursor(last.startDateTime(), last.slotId());
+    }
+}
@@ -0,0 +1,13 @@
+package com.nemal.dto;
+
+import java.util.List;
+
+/**
+ * STOMP payload for /topic/availability and /user/queue/availability.
+ */
+public record AvailabilityDeltaDto(
+        String type,
+        Long interviewerId,
+        List<SlotDelta> slots,
+        long timestamp
+) {}
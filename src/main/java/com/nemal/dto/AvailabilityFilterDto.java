@@ -12,5 +12,6 @@ public record AvailabilityFilterDto(
         Integer minYearsOfExperience,
         Long minDesignationLevelInDepartment,  // NEW: Filter by minimum designation level
         Long departmentIdForDesignationFilter, // NEW: Department for designation filtering
-        Long minTierId                         // NEW: Filter by minimum tier
+        Long minTierId,                        // NEW: Filter by minimum tier
+        Long candidateDesignationId            // Eligibility via DesignationEligibilityMatrix (tier/level + interview rules)
 ) {}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.nemal.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One virtual occurrence of an AvailabilityRule. It has no slot id until it
+ * is materialised for booking via (ruleId, date).
+ */
+public record AvailabilityOccurrenceDto(
+        Long ruleId,
+        Long interviewerId,
+        String interviewerName,
+        LocalDate date,
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime,
+        String description
+) {}
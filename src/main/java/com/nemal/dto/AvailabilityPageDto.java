@@ -0,0 +1,12 @@
+package com.nemal.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of the HR calendar. {@code nextCursor} is null on the last page.
+ */
+public record AvailabilityPageDto(
+        List<InterviewerAvailabilityDto> items,
+        String nextCursor,
+        boolean hasMore
+) {}
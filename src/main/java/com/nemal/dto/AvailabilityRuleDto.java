@@ -0,0 +1,33 @@
+package com.nemal.dto;
+
+import com.nemal.entity.AvailabilityRule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+public record AvailabilityRuleDto(
+        Long id,
+        Set<DayOfWeek> daysOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        LocalDate validFrom,
+        LocalDate validUntil,
+        Set<LocalDate> exceptionDates,
+        String description
+) {
+    public static AvailabilityRuleDto from(AvailabilityRule rule) {
+        return new AvailabilityRuleDto(
+                rule.getId(),
+                rule.getDays(),
+                rule.getStartTime(),
+                rule.getEndTime(),
+                rule.getValidFrom(),
+                rule.getValidUntil(),
+                new TreeSet<>(rule.getExceptionDates()),
+                rule.getDescription()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.nemal.dto;
+
+import java.util.List;
+
+/** One candidate in a batch scheduling request and the constraints on their interviewer. */
+public record BatchCandidateDto(
+        Long candidateId,
+        String candidateName,
+        Long candidateDesignationId,   // tier/level eligibility; its department scopes the interviewers
+        Long departmentId,             // used when no designation is given
+        List<Long> requiredTechnologyIds,
+        boolean isUrgent,
+        String notes
+) {}
@@ -0,0 +1,20 @@
+package com.nemal.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BatchScheduleRequestDto(
+        List<BatchCandidateDto> candidates,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime from,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime to,
+
+        Integer durationMinutes,                  // default 60
+        Integer maxInterviewsPerInterviewerPerDay, // default 3, counting interviews already booked
+        boolean dryRun                            // solve and return the plan without booking
+) {}
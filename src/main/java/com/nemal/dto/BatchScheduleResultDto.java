@@ -0,0 +1,31 @@
+package com.nemal.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Outcome of a batch scheduling run; {@code index} refers to the request's candidate list. */
+public record BatchScheduleResultDto(
+        boolean committed,
+        List<Assignment> assigned,
+        List<Unassigned> unassigned
+) {
+    public record Assignment(
+            int index,
+            String candidateName,
+            Long interviewerId,
+            String interviewerName,
+            Long availabilitySlotId,   // slot the interview was carved from
+
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime startDateTime,
+
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime endDateTime,
+
+            Long requestId             // null for a dry run
+    ) {}
+
+    public record Unassigned(int index, String candidateName, String reason) {}
+}
@@ -0,0 +1,14 @@
+package com.nemal.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create: the slots that were inserted, plus one error per
+ * rejected item. {@code index} is the item's position in the request.
+ */
+public record BulkAvailabilityResultDto(
+        List<AvailabilitySlotDto> created,
+        List<ItemError> errors
+) {
+    public record ItemError(int index, String message) {}
+}
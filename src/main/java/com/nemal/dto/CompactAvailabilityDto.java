@@ -0,0 +1,106 @@
+package com.nemal.dto;
+
+import com.nemal.enums.SlotStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalised HR calendar: each interviewer is written once, and slots are
+ * parallel arrays that point at interviewers by index.
+ *
+ * Times are epoch minutes of the wall-clock value (the same local times the
+ * verbose format returns, read as if they were UTC). Status is an index into
+ * {@code statuses}, which lists every {@link SlotStatus} in declaration order. Slot i is made of id[i], start[i], end[i], status[i],
+ * interviewer[i], candidateName[i], requestId[i].
+ *
+ * Opt in with {@code ?format=compact} or {@code Accept: application/vnd.nemal.availability-compact+json}.
+ */
+public record CompactAvailabilityDto(
+        List<Interviewer> interviewers,
+        List<String> statuses,
+        Slots slots
+) {
+
+    public static final String MEDIA_TYPE = "application/vnd.nemal.availability-compact+json";
+    public static final String FORMAT = "compact";
+
+    private static final List<String> STATUSES = Arrays.stream(SlotStatus.values()).map(Enum::name).toList();
+
+    public record Interviewer(
+            Long id,
+            String name,
+            String department,
+            String designation,
+            Integer yearsOfExperience,
+            List<String> technologies,
+            Integer tierOrder,
+            Integer levelOrder
+    ) {}
+
+    public record Slots(
+            long[] id,
+            long[] start,
+            long[] end,
+            int[] status,
+            int[] interviewer,
+            String[] candidateName,
+            Long[] requestId
+    ) {}
+
+    public static CompactAvailabilityDto from(List<InterviewerAvailabilityDto> rows) {
+        int n = rows.size();
+        long[] ids = new long[n];
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        int[] statuses = new int[n];
+        int[] interviewerIdx = new int[n];
+        String[] candidates = new String[n];
+        Long[] requestIds = new Long[n];
+
+        Map<Long, Integer> indexById = new HashMap<>();
+        List<Interviewer> interviewers = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            InterviewerAvailabilityDto row = rows.get(i);
+            Integer idx = indexById.get(row.interviewerId());
+            if (idx == null) {
+                idx = interviewers.size();
+                indexById.put(row.interviewerId(), idx);
+                interviewers.add(new Interviewer(
+                        row.interviewerId(), row.interviewerName(), row.department(), row.designation(),
+                        row.yearsOfExperience(), row.technologies(),
+                        row.interviewerTierOrder(), row.interviewerLevelOrder()));
+            }
+
+            ids[i] = row.slotId();
+            starts[i] = epochMinutes(row.startDateTime());
+            ends[i] = epochMinutes(row.endDateTime());
+            statuses[i] = statusIndex(row);
+            interviewerIdx[i] = idx;
+            candidates[i] = row.candidateName();
+            requestIds[i] = row.requestId();
+        }
+
+        return new CompactAvailabilityDto(interviewers, STATUSES,
+                new Slots(ids, starts, ends, statuses, interviewerIdx, candidates, requestIds));
+    }
+
+    /** Unknown statuses fail the request rather than show a slot as bookable. */
+    private static int statusIndex(InterviewerAvailabilityDto row) {
+        int idx = STATUSES.indexOf(row.status());
+        if (idx < 0) {
+            throw new IllegalStateException("Unknown status '" + row.status() + "' for slot " + row.slotId());
+        }
+        return idx;
+    }
+
+    private static long epochMinutes(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nemal.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record CreateAvailabilityRuleDto(
+        Set<DayOfWeek> daysOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        LocalDate validFrom,
+        LocalDate validUntil,       // null = open-ended
+        Set<LocalDate> exceptionDates,
+        String description
+) {}
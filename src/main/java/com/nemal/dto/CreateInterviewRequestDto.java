@@ -2,9 +2,15 @@ package com.nemal.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Books either an existing slot ({@code availabilitySlotId}) or one occurrence
+ * of a recurring availability rule ({@code availabilityRuleId} +
+ * {@code occurrenceDate}), which is materialised as part of the booking.
+ */
 public record CreateInterviewRequestDto(
         Long candidateId,
         String candidateName,
@@ -19,5 +25,7 @@ public record CreateInterviewRequestDto(
         LocalDateTime preferredEndDateTime,
 
         boolean isUrgent,
-        String notes
+        String notes,
+        Long availabilityRuleId,
+        LocalDate occurrenceDate
 ) {}
\ No newline at end of file
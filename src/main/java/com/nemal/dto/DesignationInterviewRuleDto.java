@@ -0,0 +1,23 @@
+package com.nemal.dto;
+
+import com.nemal.entity.DesignationInterviewRule;
+
+public record DesignationInterviewRuleDto(
+        Long id,
+        Long interviewerDesignationId,
+        String interviewerDesignationName,
+        Long candidateDesignationId,
+        String candidateDesignationName,
+        boolean allowed
+) {
+    public static DesignationInterviewRuleDto from(DesignationInterviewRule rule) {
+        return new DesignationInterviewRuleDto(
+                rule.getId(),
+                rule.getInterviewerDesignation().getId(),
+                rule.getInterviewerDesignation().getName(),
+                rule.getCandidateDesignation().getId(),
+                rule.getCandidateDesignation().getName(),
+                rule.isAllowed()
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.nemal.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A window in which every listed panelist is free. Each panelist's slot
+ * covers the whole window, so the slot ids can be submitted as-is in a
+ * CreatePanelInterviewDto for any sub-range of at least the requested duration.
+ */
+public record FreeWindowDto(
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startDateTime,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime endDateTime,
+
+        long durationMinutes,
+        List<Panelist> panelists
+) {
+    public record Panelist(Long interviewerId, String interviewerName, Long slotId) {}
+}
@@ -0,0 +1,26 @@
+package com.nemal.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Search for windows in which a panel can meet. Either name the panelists
+ * ({@code interviewerIds}) or describe them ({@code filter}); with a filter,
+ * {@code minInterviewers} says how many of the matches must be free together.
+ */
+public record FreeWindowRequestDto(
+        List<Long> interviewerIds,
+        AvailabilityFilterDto filter,
+        Integer minInterviewers,   // defaults to every listed interviewer, or 2 with a filter
+        Integer durationMinutes,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime from,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime to,
+
+        Integer maxResults
+) {}
@@ -1,13 +1,11 @@
 package com.nemal.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nemal.entity.AvailabilitySlot;
-import com.nemal.entity.Designation;
 import com.nemal.entity.InterviewRequest;
-import com.nemal.entity.Tier;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * DTO returned to the HR calendar.
@@ -34,10 +32,16 @@ public record InterviewerAvailabilityDto(
         String candidateName,
         Long requestId,              // ID of the InterviewRequest that booked this slot
         Integer interviewerTierOrder,  // NEW — Tier.tierOrder for the interviewer
-        Integer interviewerLevelOrder  // NEW — Designation.levelOrder for the interviewer
+        Integer interviewerLevelOrder, // NEW — Designation.levelOrder for the interviewer
+        @JsonIgnore InterviewerProfileSnapshot interviewer  // shared by all slots of the interviewer
 ) {
 
-    public static InterviewerAvailabilityDto from(AvailabilitySlot slot) {
+    /**
+     * Builds the slot DTO around an already computed interviewer snapshot, so
+     * name, department, designation, technologies and tier/level are shared
+     * references rather than recomputed for every slot.
+     */
+    public static InterviewerAvailabilityDto from(AvailabilitySlot slot, InterviewerProfileSnapshot profile) {
         // ── Resolve candidateName + requestId ────────────────────────────────
         String candidateName = null;
         Long requestId = null;
@@ -60,48 +64,22 @@ public record InterviewerAvailabilityDto(
             }
         }
 
-        // ── Technologies ─────────────────────────────────────────────────────
-        List<String> techs = List.of();
-        if (slot.getInterviewer() != null
-                && slot.getInterviewer().getInterviewerTechnologies() != null) {
-            techs = slot.getInterviewer().getInterviewerTechnologies().stream()
-                    .filter(it -> it != null && it.isActive() && it.getTechnology() != null)
-                    .map(it -> it.getTechnology().getName())
-                    .collect(Collectors.toList());
-        }
-
-        // ── Tier / level for privilege check ─────────────────────────────────
-        Integer tierOrder  = null;
-        Integer levelOrder = null;
-
-        if (slot.getInterviewer() != null) {
-            Designation desig = slot.getInterviewer().getCurrentDesignation();
-            if (desig != null) {
-                levelOrder = desig.getLevelOrder();
-                Tier tier = desig.getTier();
-                if (tier != null) {
-                    tierOrder = tier.getTierOrder();
-                }
-            }
-        }
-
         return new InterviewerAvailabilityDto(
                 slot.getId(),
-                slot.getInterviewer() != null ? slot.getInterviewer().getId() : null,
-                slot.getInterviewer() != null ? slot.getInterviewer().getFullName() : "Unknown",
-                slot.getInterviewer() != null && slot.getInterviewer().getDepartment() != null
-                        ? slot.getInterviewer().getDepartment().getName() : null,
-                slot.getInterviewer() != null && slot.getInterviewer().getCurrentDesignation() != null
-                        ? slot.getInterviewer().getCurrentDesignation().getName() : null,
-                slot.getInterviewer() != null ? slot.getInterviewer().getYearsOfExperience() : null,
-                techs,
+                profile != null ? profile.interviewerId() : null,
+                profile != null ? profile.fullName() : "Unknown",
+                profile != null ? profile.department() : null,
+                profile != null ? profile.designation() : null,
+                profile != null ? profile.yearsOfExperience() : null,
+                profile != null ? profile.technologies() : List.of(),
                 slot.getStartDateTime(),
                 slot.getEndDateTime(),
                 slot.getStatus() != null ? slot.getStatus().name() : "AVAILABLE",
                 candidateName,
                 requestId,
-                tierOrder,    // interviewerTierOrder
-                levelOrder    // interviewerLevelOrder
+                profile != null ? profile.tierOrder() : null,   // interviewerTierOrder
+                profile != null ? profile.levelOrder() : null,  // interviewerLevelOrder
+                profile
         );
     }
-}
\ No newline at end of file
+}
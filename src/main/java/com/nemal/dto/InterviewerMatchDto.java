@@ -0,0 +1,24 @@
+package com.nemal.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One ranked (interviewer, slot) pair. {@code score} is the weighted sum of
+ * the component scores, each in [0, 1].
+ */
+public record InterviewerMatchDto(
+        Long interviewerId,
+        String interviewerName,
+        String designation,
+        Long slotId,
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime,
+        double score,
+        double technologyScore,
+        double seniorityScore,
+        double loadScore,
+        double proximityScore,
+        int upcomingInterviews,
+        List<String> matchedTechnologies
+) {}
@@ -0,0 +1,22 @@
+package com.nemal.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Candidate profile and time range to rank interviewer slots for. */
+public record InterviewerMatchRequestDto(
+        Long candidateDesignationId,   // tier/level eligibility; its department scopes the search
+        Long departmentId,             // used when no designation is given
+        List<Long> requiredTechnologyIds,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime from,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime to,
+
+        Integer durationMinutes,
+        Integer maxResults
+) {}
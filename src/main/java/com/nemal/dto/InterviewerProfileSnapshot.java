@@ -0,0 +1,62 @@
+package com.nemal.dto;
+
+import com.nemal.entity.Designation;
+import com.nemal.entity.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, per-interviewer view of everything the HR calendar shows about
+ * the interviewer. Built once per (interviewer, version) and shared by every
+ * slot DTO of that interviewer instead of being recomputed per slot.
+ */
+public record InterviewerProfileSnapshot(
+        Long interviewerId,
+        String fullName,
+        Long departmentId,
+        String department,
+        Long designationId,
+        String designation,
+        Integer yearsOfExperience,
+        List<String> technologies,
+        Set<Long> technologyIds,
+        Integer tierOrder,
+        Integer levelOrder,
+        long version
+) {
+
+    public static InterviewerProfileSnapshot from(User user, long version) {
+        List<String> techNames = new ArrayList<>();
+        Set<Long> techIds = new HashSet<>();
+        if (user.getInterviewerTechnologies() != null) {
+            user.getInterviewerTechnologies().stream()
+                    .filter(it -> it != null && it.isActive() && it.getTechnology() != null)
+                    .forEach(it -> {
+                        techNames.add(it.getTechnology().getName());
+                        techIds.add(it.getTechnology().getId());
+                    });
+        }
+
+        Designation desig = user.getCurrentDesignation();
+        Integer levelOrder = desig != null ? desig.getLevelOrder() : null;
+        Integer tierOrder = desig != null && desig.getTier() != null ? desig.getTier().getTierOrder() : null;
+
+        return new InterviewerProfileSnapshot(
+                user.getId(),
+                user.getFullName(),
+                user.getDepartment() != null ? user.getDepartment().getId() : null,
+                user.getDepartment() != null ? user.getDepartment().getName() : null,
+                desig != null ? desig.getId() : null,
+                desig != null ? desig.getName() : null,
+                user.getYearsOfExperience(),
+                List.copyOf(techNames),
+                Set.copyOf(techIds),
+                tierOrder,
+                levelOrder,
+                version
+        );
+    }
+}
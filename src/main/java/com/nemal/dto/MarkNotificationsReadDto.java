@@ -0,0 +1,12 @@
+package com.nemal.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks the caller's notifications created in [from, to) as read.
+ * {@code from} may be omitted to mean "everything before {@code to}".
+ */
+public record MarkNotificationsReadDto(
+        LocalDateTime from,
+        LocalDateTime to
+) {}
@@ -0,0 +1,11 @@
+package com.nemal.dto;
+
+/**
+ * STOMP payload for /user/queue/notifications. {@code notification} is null
+ * when only the unread count changed (e.g. notifications read in another tab).
+ */
+public record NotificationPushDto(
+        NotificationDto notification,
+        long unreadCount,
+        long timestamp
+) {}
@@ -0,0 +1,7 @@
+package com.nemal.dto;
+
+public record SetDesignationInterviewRuleDto(
+        Long interviewerDesignationId,
+        Long candidateDesignationId,
+        Boolean allowed                 // false = deny; overrides the tier/level rule either way
+) {}
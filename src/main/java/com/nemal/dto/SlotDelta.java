@@ -0,0 +1,32 @@
+package com.nemal.dto;
+
+import com.nemal.entity.AvailabilitySlot;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of one slot after a change, as pushed to calendar clients.
+ * {@code active = false} means the client should drop the slot.
+ */
+public record SlotDelta(
+        Long slotId,
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime,
+        String status,
+        boolean active,
+        Long requestId
+) {
+    public static SlotDelta from(AvailabilitySlot slot) {
+        Long requestId = slot.getInterviewSchedule() != null && slot.getInterviewSchedule().getRequest() != null
+                ? slot.getInterviewSchedule().getRequest().getId()
+                : null;
+        return new SlotDelta(
+                slot.getId(),
+                slot.getStartDateTime(),
+                slot.getEndDateTime(),
+                slot.getStatus() != null ? slot.getStatus().name() : null,
+                slot.isActive(),
+                requestId
+        );
+    }
+}
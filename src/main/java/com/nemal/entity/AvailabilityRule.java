@@ -0,0 +1,101 @@
+package com.nemal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Weekly recurring availability: every day in {@code daysOfWeek} between
+ * {@code validFrom} and {@code validUntil}, from {@code startTime} to
+ * {@code endTime}, except {@code exceptionDates}.
+ */
+@Entity
+@Table(name = "availability_rules")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class AvailabilityRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "interviewer_id", nullable = false)
+    private User interviewer;
+
+    /** Bit mask, bit 0 = Monday … bit 6 = Sunday. */
+    @Column(name = "days_of_week", nullable = false)
+    private short daysOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private LocalDate validFrom;
+
+    private LocalDate validUntil;
+
+    private String description;
+
+    @ElementCollection
+    @CollectionTable(name = "availability_rule_exceptions", joinColumns = @JoinColumn(name = "rule_id"))
+    @Column(name = "exception_date")
+    @Builder.Default
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean isActive = true;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public void setActive(boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    public boolean isActive() {
+        return isActive;
+    }
+
+    public boolean appliesOn(LocalDate date) {
+        return (daysOfWeek & (1 << (date.getDayOfWeek().getValue() - 1))) != 0
+                && !date.isBefore(validFrom)
+                && (validUntil == null || !date.isAfter(validUntil))
+                && !exceptionDates.contains(date);
+    }
+
+    public Set<DayOfWeek> getDays() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((daysOfWeek & (1 << (day.getValue() - 1))) != 0) days.add(day);
+        }
+        return days;
+    }
+
+    public static short mask(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return (short) mask;
+    }
+}
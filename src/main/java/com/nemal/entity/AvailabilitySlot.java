@@ -17,8 +17,11 @@ import java.time.LocalDateTime;
 @Builder
 @EntityListeners(AuditingEntityListener.class)
 public class AvailabilitySlot {
+    // Pooled sequence (see V20) so bulk inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_slots_seq")
+    @SequenceGenerator(name = "availability_slots_seq", sequenceName = "availability_slots_id_seq",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -44,6 +47,14 @@ public class AvailabilitySlot {
     @Column(nullable = false)
     private boolean isActive = true;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /** Set when this slot was materialised from an AvailabilityRule occurrence. */
+    @Column(name = "rule_id")
+    private Long ruleId;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -34,8 +34,11 @@ import java.util.Set;
 @EntityListeners(AuditingEntityListener.class)
 public class InterviewRequest {
 
+    // Pooled sequence (see V24) so panel bookings can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interview_requests_seq")
+    @SequenceGenerator(name = "interview_requests_seq", sequenceName = "interview_requests_id_seq",
+            allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -13,8 +13,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class InterviewSchedule {
+    // Pooled sequence (see V24) so panel bookings can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interview_schedules_seq")
+    @SequenceGenerator(name = "interview_schedules_seq", sequenceName = "interview_schedules_id_seq",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -3,6 +3,7 @@ package com.nemal.entity;
 import com.nemal.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -71,7 +72,10 @@ public class User implements UserDetails {
     private Designation currentDesignation;
 
     // NO @Where CLAUSE - Let the code filter active technologies manually
+    // Never fetch-joined alongside other rows (that multiplies them by technology
+    // count); the first access initialises up to 256 users' sets in one IN query.
     @OneToMany(mappedBy = "interviewer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 256)
     @Builder.Default
     private Set<InterviewerTechnology> interviewerTechnologies = new HashSet<>();
 
@@ -0,0 +1,8 @@
+package com.nemal.enums;
+
+public enum OutboxStatus {
+    PENDING,        // not yet turned into a notification
+    MAIL_PENDING,   // notification written, email still to send
+    SENT,
+    FAILED          // email gave up after the maximum attempts
+}
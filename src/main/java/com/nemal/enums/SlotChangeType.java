@@ -0,0 +1,5 @@
+package com.nemal.enums;
+
+public enum SlotChangeType {
+    CREATED, UPDATED, BOOKED, SPLIT, MERGED, CANCELLED, DEACTIVATED
+}
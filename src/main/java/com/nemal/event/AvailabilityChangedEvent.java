@@ -0,0 +1,31 @@
+package com.nemal.event;
+
+import com.nemal.dto.SlotDelta;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotChangeType;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the booking / availability services whenever an interviewer's
+ * slots change (create, update, delete, book, cancel).
+ * Listeners that cache slot data refresh that interviewer after commit; the
+ * slot deltas are captured at publish time and pushed to calendar clients.
+ */
+public record AvailabilityChangedEvent(
+        Long interviewerId,
+        String interviewerEmail,
+        SlotChangeType type,
+        List<SlotDelta> slots
+) {
+    public static AvailabilityChangedEvent of(User interviewer, SlotChangeType type,
+                                              Collection<AvailabilitySlot> slots) {
+        return new AvailabilityChangedEvent(
+                interviewer.getId(),
+                interviewer.getEmail(),
+                type,
+                slots.stream().map(SlotDelta::from).toList());
+    }
+}
@@ -0,0 +1,15 @@
+package com.nemal.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when interview schedules are booked or cancelled, so
+ * InterviewReminderScheduler can (re)arm or drop their reminders after commit.
+ */
+public record InterviewScheduleChangedEvent(List<Long> scheduleIds) {
+
+    public static InterviewScheduleChangedEvent of(Collection<Long> scheduleIds) {
+        return new InterviewScheduleChangedEvent(List.copyOf(scheduleIds));
+    }
+}
@@ -0,0 +1,7 @@
+package com.nemal.event;
+
+/**
+ * Published by ProfileService when an interviewer's profile fields or
+ * technology assignments change.
+ */
+public record InterviewerProfileChangedEvent(Long interviewerId) {}
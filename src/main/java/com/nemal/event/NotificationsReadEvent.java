@@ -0,0 +1,7 @@
+package com.nemal.event;
+
+/**
+ * Published when a user marks notifications as read, so the new unread
+ * count can be pushed to their other sessions once the update commits.
+ */
+public record NotificationsReadEvent(Long userId, String email) {}
@@ -0,0 +1,9 @@
+package com.nemal.event;
+
+/**
+ * Published when designations, tiers, technologies or designation interview
+ * rules are created, updated or deactivated.
+ * Tier / level ordering can change for many interviewers at once, so caches
+ * that depend on it rebuild from scratch.
+ */
+public record OrgStructureChangedEvent() {}
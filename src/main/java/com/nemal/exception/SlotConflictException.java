@@ -0,0 +1,29 @@
+package com.nemal.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Thrown when a slot write would overlap another active slot of the same
+ * interviewer, as reported by the excl_availability_no_overlap constraint.
+ */
+public class SlotConflictException extends RuntimeException {
+
+    public static final String OVERLAP_CONSTRAINT = "excl_availability_no_overlap";
+
+    public SlotConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /** True if {@code e} (or any cause) is a violation of the overlap constraint. */
+    public static boolean isOverlap(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return OVERLAP_CONSTRAINT.equalsIgnoreCase(cve.getConstraintName());
+            }
+            if (t.getMessage() != null && t.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
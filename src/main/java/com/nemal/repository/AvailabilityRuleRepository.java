@@ -0,0 +1,36 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilityRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, Long> {
+
+    @Query("SELECT DISTINCT r FROM AvailabilityRule r " +
+            "LEFT JOIN FETCH r.exceptionDates " +
+            "WHERE r.interviewer.id = :interviewerId AND r.isActive = true " +
+            "ORDER BY r.validFrom, r.startTime")
+    List<AvailabilityRule> findActiveByInterviewerId(@Param("interviewerId") Long interviewerId);
+
+    /** Active rules of one interviewer whose validity window touches [from, to]. */
+    @Query("SELECT DISTINCT r FROM AvailabilityRule r " +
+            "LEFT JOIN FETCH r.exceptionDates " +
+            "WHERE r.interviewer.id = :interviewerId AND r.isActive = true " +
+            "AND r.validFrom <= :to AND (r.validUntil IS NULL OR r.validUntil >= :from)")
+    List<AvailabilityRule> findActiveByInterviewerIdInRange(
+            @Param("interviewerId") Long interviewerId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /** All active rules whose validity window touches [from, to], with their interviewer. */
+    @Query("SELECT DISTINCT r FROM AvailabilityRule r " +
+            "JOIN FETCH r.interviewer " +
+            "LEFT JOIN FETCH r.exceptionDates " +
+            "WHERE r.isActive = true " +
+            "AND r.validFrom <= :to AND (r.validUntil IS NULL OR r.validUntil >= :from)")
+    List<AvailabilityRule> findActiveInRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,17 +1,24 @@
 package com.nemal.repository;
 
 import com.nemal.entity.AvailabilitySlot;
+import com.nemal.enums.SlotStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySlot, Long> {
+public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySlot, Long>,
+        JpaSpecificationExecutor<AvailabilitySlot>, AvailabilitySlotRepositoryCustom {
 
     // ── Interviewer's own slots (AvailabilityService) ─────────────────────────
 
@@ -42,27 +49,27 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
             LocalDateTime end);
 
     // ── AVAILABLE only (conflict checks, interviewer request matching) ────────
+    //
+    // Read paths below fetch-join to-one associations only, so each slot is one
+    // row and no DISTINCT is needed. Interviewer technologies load on first
+    // access, batched across interviewers (see User.interviewerTechnologies).
 
-    @Query("SELECT DISTINCT s FROM AvailabilitySlot s " +
+    @Query("SELECT s FROM AvailabilitySlot s " +
             "LEFT JOIN FETCH s.interviewer i " +
             "LEFT JOIN FETCH i.department " +
             "LEFT JOIN FETCH i.currentDesignation d " +
             "LEFT JOIN FETCH d.tier " +
-            "LEFT JOIN FETCH i.interviewerTechnologies it " +
-            "LEFT JOIN FETCH it.technology " +
             "WHERE s.status = 'AVAILABLE' " +
             "AND s.isActive = true " +
             "AND s.startDateTime >= :now " +
             "ORDER BY s.startDateTime")
     List<AvailabilitySlot> findAllAvailableSlots(@Param("now") LocalDateTime now);
 
-    @Query("SELECT DISTINCT s FROM AvailabilitySlot s " +
+    @Query("SELECT s FROM AvailabilitySlot s " +
             "LEFT JOIN FETCH s.interviewer i " +
             "LEFT JOIN FETCH i.department " +
             "LEFT JOIN FETCH i.currentDesignation d " +
             "LEFT JOIN FETCH d.tier " +
-            "LEFT JOIN FETCH i.interviewerTechnologies it " +
-            "LEFT JOIN FETCH it.technology " +
             "WHERE s.status = 'AVAILABLE' " +
             "AND s.isActive = true " +
             "AND s.startDateTime >= :start " +
@@ -80,13 +87,11 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
      * LEFT JOINs on interviewSchedule + request let the DTO resolve
      * candidateName and requestId in one shot.
      */
-    @Query("SELECT DISTINCT s FROM AvailabilitySlot s " +
+    @Query("SELECT s FROM AvailabilitySlot s " +
             "LEFT JOIN FETCH s.interviewer i " +
             "LEFT JOIN FETCH i.department " +
             "LEFT JOIN FETCH i.currentDesignation d " +
             "LEFT JOIN FETCH d.tier " +
-            "LEFT JOIN FETCH i.interviewerTechnologies it " +
-            "LEFT JOIN FETCH it.technology " +
             "LEFT JOIN FETCH s.interviewSchedule sch " +
             "LEFT JOIN FETCH sch.request " +
             "WHERE s.isActive = true " +
@@ -98,13 +103,11 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
     /**
      * HR calendar with explicit date-range filter applied from the UI.
      */
-    @Query("SELECT DISTINCT s FROM AvailabilitySlot s " +
+    @Query("SELECT s FROM AvailabilitySlot s " +
             "LEFT JOIN FETCH s.interviewer i " +
             "LEFT JOIN FETCH i.department " +
             "LEFT JOIN FETCH i.currentDesignation d " +
             "LEFT JOIN FETCH d.tier " +
-            "LEFT JOIN FETCH i.interviewerTechnologies it " +
-            "LEFT JOIN FETCH it.technology " +
             "LEFT JOIN FETCH s.interviewSchedule sch " +
             "LEFT JOIN FETCH sch.request " +
             "WHERE s.isActive = true " +
@@ -116,6 +119,24 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    /**
+     * Single-interviewer slice of {@link #findAllActiveSlotsForHR}.
+     * Used by HRAvailabilityIndex to refresh one interviewer after a write;
+     * load the interviewer graph first (UserRepository.findByIdWithProfile)
+     * so the slots resolve to the already-initialised User.
+     */
+    @Query("SELECT s FROM AvailabilitySlot s " +
+            "LEFT JOIN FETCH s.interviewSchedule sch " +
+            "LEFT JOIN FETCH sch.request " +
+            "WHERE s.interviewer.id = :interviewerId " +
+            "AND s.isActive = true " +
+            "AND (s.status = 'AVAILABLE' OR s.status = 'BOOKED') " +
+            "AND s.startDateTime >= :from " +
+            "ORDER BY s.startDateTime")
+    List<AvailabilitySlot> findActiveSlotsForHRByInterviewer(
+            @Param("interviewerId") Long interviewerId,
+            @Param("from") LocalDateTime from);
+
     // ── Conflict detection ────────────────────────────────────────────────────
 
     @Query("SELECT s FROM AvailabilitySlot s " +
@@ -128,6 +149,20 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    /**
+     * Every active slot in the window, whatever its status — the set the
+     * V23 exclusion constraint checks new slots against. Use this, not
+     * {@link #findConflictingSlots}, to pre-check inserts.
+     */
+    @Query("SELECT s FROM AvailabilitySlot s " +
+            "WHERE s.interviewer.id = :interviewerId " +
+            "AND s.isActive = true " +
+            "AND s.startDateTime < :end AND s.endDateTime > :start")
+    List<AvailabilitySlot> findActiveOverlappingSlots(
+            @Param("interviewerId") Long interviewerId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
     // ── Stats ─────────────────────────────────────────────────────────────────
 
     @Query("SELECT COUNT(s) FROM AvailabilitySlot s " +
@@ -142,6 +177,31 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
     long countBookedSlotsFrom(@Param("interviewerId") Long interviewerId,
                               @Param("from") LocalDateTime from);
 
+    /** Upcoming BOOKED slot counts for every interviewer with any, in one grouped query. */
+    @Query("SELECT s.interviewer.id AS interviewerId, COUNT(s) AS count FROM AvailabilitySlot s " +
+            "WHERE s.isActive = true AND s.status = 'BOOKED' AND s.startDateTime >= :from " +
+            "GROUP BY s.interviewer.id")
+    List<InterviewerSlotCount> countBookedSlotsFromByInterviewer(@Param("from") LocalDateTime from);
+
+    interface InterviewerSlotCount {
+        Long getInterviewerId();
+        long getCount();
+    }
+
+    /** Start times of the given interviewers' BOOKED slots in [from, to), for per-day caps. */
+    @Query("SELECT s.interviewer.id AS interviewerId, s.startDateTime AS startDateTime FROM AvailabilitySlot s " +
+            "WHERE s.interviewer.id IN :interviewerIds " +
+            "AND s.isActive = true AND s.status = 'BOOKED' " +
+            "AND s.startDateTime >= :from AND s.startDateTime < :to")
+    List<InterviewerSlotStart> findBookedStartsBetween(@Param("interviewerIds") Collection<Long> interviewerIds,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    interface InterviewerSlotStart {
+        Long getInterviewerId();
+        LocalDateTime getStartDateTime();
+    }
+
     // Backward-compat aliases kept so no call sites break
     default long countUpcomingAvailableSlots(Long interviewerId, LocalDateTime now) {
         return countAvailableSlotsFrom(interviewerId, now);
@@ -180,4 +240,35 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
     Optional<AvailabilitySlot> findActiveAvailableSlotStartingAt(
             @Param("interviewerId") Long interviewerId,
             @Param("time") LocalDateTime time);
-}
\ No newline at end of file
+
+    /**
+     * Atomically moves an AVAILABLE, active slot to its post-booking state,
+     * but only if nobody changed it since {@code version} was read.
+     * Returns 1 when this caller won the slot, 0 otherwise.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AvailabilitySlot s " +
+            "SET s.status = :newStatus, s.isActive = :active, s.description = :description, " +
+            "    s.version = s.version + 1, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.id = :id AND s.version = :version " +
+            "AND s.status = 'AVAILABLE' AND s.isActive = true")
+    int claimAvailableSlot(@Param("id") Long id,
+                           @Param("version") long version,
+                           @Param("newStatus") SlotStatus newStatus,
+                           @Param("active") boolean active,
+                           @Param("description") String description);
+
+    // ── Batched booking (panels) ──────────────────────────────────────────────
+
+    /** Interviewers owning the given slots, so their calendar locks can be taken before the rows. */
+    @Query("SELECT DISTINCT s.interviewer.id FROM AvailabilitySlot s WHERE s.id IN :ids")
+    List<Long> findInterviewerIdsBySlotIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads and row-locks (SELECT ... FOR UPDATE) every requested slot in one
+     * statement, in id order so concurrent panels lock rows in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AvailabilitySlot s WHERE s.id IN :ids ORDER BY s.id")
+    List<AvailabilitySlot> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
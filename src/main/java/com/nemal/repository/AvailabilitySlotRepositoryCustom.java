@@ -0,0 +1,30 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilitySlot;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AvailabilitySlotRepositoryCustom {
+
+    /**
+     * Two-phase HR calendar load: a narrow (id, interviewerId) query ordered by
+     * (startDateTime, id), then batched hydration — each distinct interviewer's
+     * graph (department, designation, tier, technologies) is loaded once, and
+     * slots are fetched by id with only their schedule/request.
+     */
+    List<AvailabilitySlot> findForHrCalendar(Specification<AvailabilitySlot> spec);
+
+    /** Same as {@link #findForHrCalendar(Specification)}, capped at {@code limit} rows (keyset pages). */
+    List<AvailabilitySlot> findForHrCalendar(Specification<AvailabilitySlot> spec, int limit);
+
+    /**
+     * Forward-only JDBC cursor over the HR calendar in (startDateTime, id) order.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<AvailabilitySlot> streamForHrCalendar(Specification<AvailabilitySlot> spec);
+
+    /** Re-reads the slot's state (and version) from the database into the managed instance. */
+    void refresh(AvailabilitySlot slot);
+}
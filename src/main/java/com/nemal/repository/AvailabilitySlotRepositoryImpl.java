@@ -0,0 +1,135 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the single DISTINCT fetch-join over slot × interviewer × technology,
+ * which returned one row per (slot, technology) pair and left Hibernate to
+ * de-duplicate them in memory. Rows read now are: one narrow row per slot,
+ * one row per interviewer plus one per (interviewer, technology) from the
+ * batch-fetched collection — independent of slot count — and one row per
+ * slot for hydration.
+ */
+public class AvailabilitySlotRepositoryImpl implements AvailabilitySlotRepositoryCustom {
+
+    /** IN-list size per hydration query; keeps statements well under driver limits. */
+    private static final int HYDRATION_BATCH_SIZE = 500;
+
+    /** Rows per round trip for the streaming cursor. */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UserRepository userRepository;
+
+    public AvailabilitySlotRepositoryImpl(@Lazy UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<AvailabilitySlot> findForHrCalendar(Specification<AvailabilitySlot> spec) {
+        return findForHrCalendar(spec, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<AvailabilitySlot> findForHrCalendar(Specification<AvailabilitySlot> spec, int limit) {
+        // ── Phase 1: ids in calendar order ────────────────────────────────────
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> idQuery = cb.createTupleQuery();
+        Root<AvailabilitySlot> root = idQuery.from(AvailabilitySlot.class);
+        idQuery.multiselect(root.get("id"), root.get("interviewer").get("id"));
+        Predicate predicate = spec.toPredicate(root, idQuery, cb);
+        if (predicate != null) {
+            idQuery.where(predicate);
+        }
+        idQuery.orderBy(cb.asc(root.get("startDateTime")), cb.asc(root.get("id")));
+
+        List<Tuple> refs = entityManager.createQuery(idQuery).setMaxResults(limit).getResultList();
+        if (refs.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> slotIds = new ArrayList<>(refs.size());
+        Set<Long> interviewerIds = new LinkedHashSet<>();
+        for (Tuple ref : refs) {
+            slotIds.add(ref.get(0, Long.class));
+            interviewerIds.add(ref.get(1, Long.class));
+        }
+
+        // ── Phase 2a: each interviewer's graph once ───────────────────────────
+        // Loaded into the persistence context first, so the slots' (eager)
+        // interviewer association resolves without further queries.
+        for (List<Long> batch : batches(new ArrayList<>(interviewerIds))) {
+            userRepository.findAllWithProfileByIdIn(batch);
+        }
+
+        // ── Phase 2b: slots by id, then restore phase-1 order ─────────────────
+        Map<Long, AvailabilitySlot> byId = new HashMap<>(slotIds.size() * 2);
+        for (List<Long> batch : batches(slotIds)) {
+            entityManager.createQuery(
+                            "SELECT s FROM AvailabilitySlot s " +
+                                    "LEFT JOIN FETCH s.interviewSchedule sch " +
+                                    "LEFT JOIN FETCH sch.request " +
+                                    "WHERE s.id IN :ids", AvailabilitySlot.class)
+                    .setParameter("ids", batch)
+                    .getResultList()
+                    .forEach(s -> byId.put(s.getId(), s));
+        }
+
+        List<AvailabilitySlot> ordered = new ArrayList<>(slotIds.size());
+        for (Long id : slotIds) {
+            AvailabilitySlot slot = byId.get(id);
+            if (slot != null) ordered.add(slot);
+        }
+        return ordered;
+    }
+
+    @Override
+    public Stream<AvailabilitySlot> streamForHrCalendar(Specification<AvailabilitySlot> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AvailabilitySlot> query = cb.createQuery(AvailabilitySlot.class);
+        Root<AvailabilitySlot> root = query.from(AvailabilitySlot.class);
+
+        // To-one associations only — collection fetches cannot be scrolled.
+        Fetch<AvailabilitySlot, User> interviewer = root.fetch("interviewer", JoinType.LEFT);
+        interviewer.fetch("department", JoinType.LEFT);
+        interviewer.fetch("currentDesignation", JoinType.LEFT).fetch("tier", JoinType.LEFT);
+        root.fetch("interviewSchedule", JoinType.LEFT).fetch("request", JoinType.LEFT);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("startDateTime")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public void refresh(AvailabilitySlot slot) {
+        entityManager.refresh(slot);
+    }
+
+    private static List<List<Long>> batches(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += HYDRATION_BATCH_SIZE) {
+            batches.add(ids.subList(i, Math.min(i + HYDRATION_BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,206 @@
+package com.nemal.repository;
+
+import com.nemal.dto.AvailabilityCursor;
+import com.nemal.dto.AvailabilityFilterDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.Department;
+import com.nemal.entity.Designation;
+import com.nemal.entity.InterviewerTechnology;
+import com.nemal.entity.Tier;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Turns an {@link AvailabilityFilterDto} into a single SQL predicate for the
+ * HR calendar, so Postgres returns only matching rows instead of the service
+ * filtering the whole lookback window in Java.
+ *
+ * The rules mirror the HR calendar exactly:
+ *   • department applies to every slot;
+ *   • technology, experience and tier/level apply to AVAILABLE slots only —
+ *     BOOKED slots always pass so HR can see who is busy;
+ *   • tier/level is strict: higher tier, or same tier and higher level
+ *     (lower order = more senior), scoped to the candidate's department.
+ */
+public final class AvailabilitySlotSpecifications {
+
+    private AvailabilitySlotSpecifications() {}
+
+    public static Specification<AvailabilitySlot> forHrCalendar(AvailabilityFilterDto filter,
+                                                                LocalDateTime lookbackFrom) {
+        return (root, query, cb) -> {
+            Join<AvailabilitySlot, User> interviewer = root.join("interviewer", JoinType.LEFT);
+            Join<User, Department> department = interviewer.join("department", JoinType.LEFT);
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+            predicates.add(root.get("status").in(SlotStatus.AVAILABLE, SlotStatus.BOOKED));
+
+            // ── Date range ────────────────────────────────────────────────────
+            if (filter != null && filter.startDateTime() != null && filter.endDateTime() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDateTime"), filter.startDateTime()));
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDateTime"), filter.endDateTime()));
+            } else {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDateTime"), lookbackFrom));
+            }
+
+            if (filter == null) {
+                return cb.and(predicates.toArray(Predicate[]::new));
+            }
+
+            // ── Department (applies to BOOKED as well) ────────────────────────
+            if (filter.departmentIds() != null && !filter.departmentIds().isEmpty()) {
+                predicates.add(department.get("id").in(filter.departmentIds()));
+            }
+
+            // ── AVAILABLE-only criteria ───────────────────────────────────────
+            List<Predicate> availableOnly = interviewerCriteria(filter, query, cb, interviewer, department);
+
+            if (!availableOnly.isEmpty()) {
+                predicates.add(cb.or(
+                        cb.equal(root.get("status"), SlotStatus.BOOKED),
+                        cb.and(availableOnly.toArray(Predicate[]::new))));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * AVAILABLE, active slots overlapping [from, to) whose interviewer meets the
+     * filter's department, technology, experience and tier/level criteria.
+     * The filter's own date range is ignored; {@code filter} may be null.
+     */
+    public static Specification<AvailabilitySlot> availableOverlapping(AvailabilityFilterDto filter,
+                                                                       LocalDateTime from,
+                                                                       LocalDateTime to) {
+        return (root, query, cb) -> {
+            Join<AvailabilitySlot, User> interviewer = root.join("interviewer", JoinType.LEFT);
+            Join<User, Department> department = interviewer.join("department", JoinType.LEFT);
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+            predicates.add(cb.equal(root.get("status"), SlotStatus.AVAILABLE));
+            predicates.add(cb.lessThan(root.get("startDateTime"), to));
+            predicates.add(cb.greaterThan(root.get("endDateTime"), from));
+
+            if (filter != null) {
+                if (filter.departmentIds() != null && !filter.departmentIds().isEmpty()) {
+                    predicates.add(department.get("id").in(filter.departmentIds()));
+                }
+                predicates.addAll(interviewerCriteria(filter, query, cb, interviewer, department));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<AvailabilitySlot> ofInterviewers(Collection<Long> interviewerIds) {
+        return (root, query, cb) -> root.get("interviewer").get("id").in(interviewerIds);
+    }
+
+    /**
+     * AVAILABLE slots pass only if their interviewer's current designation is one
+     * of {@code designationIds} (see DesignationEligibilityMatrix); BOOKED slots
+     * always pass, like every other AVAILABLE-only criterion.
+     */
+    public static Specification<AvailabilitySlot> availableFromDesignations(Collection<Long> designationIds) {
+        return (root, query, cb) -> {
+            Predicate booked = cb.equal(root.get("status"), SlotStatus.BOOKED);
+            if (designationIds.isEmpty()) {
+                return booked;
+            }
+            // Left joins: an implicit inner join would drop BOOKED slots of interviewers without a designation
+            Join<User, Designation> designation = root.join("interviewer", JoinType.LEFT)
+                    .join("currentDesignation", JoinType.LEFT);
+            return cb.or(booked, designation.get("id").in(designationIds));
+        };
+    }
+
+    /**
+     * Keyset predicate for (startDateTime, id) ordering: rows strictly after the cursor.
+     * Uses the leading columns of idx_availability_active_start_status.
+     */
+    public static Specification<AvailabilitySlot> after(AvailabilityCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("startDateTime"), cursor.startDateTime()),
+                cb.and(
+                        cb.equal(root.get("startDateTime"), cursor.startDateTime()),
+                        cb.greaterThan(root.get("id"), cursor.slotId())));
+    }
+
+    /** Technology, experience and tier/level criteria on the slot's interviewer. */
+    private static List<Predicate> interviewerCriteria(AvailabilityFilterDto filter,
+                                                       CriteriaQuery<?> query,
+                                                       CriteriaBuilder cb,
+                                                       Join<AvailabilitySlot, User> interviewer,
+                                                       Join<User, Department> department) {
+        List<Predicate> criteria = new ArrayList<>();
+
+        if (filter.technologyIds() != null && !filter.technologyIds().isEmpty()) {
+            Subquery<Long> techMatch = query.subquery(Long.class);
+            Root<InterviewerTechnology> it = techMatch.from(InterviewerTechnology.class);
+            techMatch.select(it.get("id")).where(
+                    cb.equal(it.get("interviewer").get("id"), interviewer.get("id")),
+                    cb.isTrue(it.get("isActive")),
+                    it.get("technology").get("id").in(filter.technologyIds()));
+            criteria.add(cb.exists(techMatch));
+        }
+
+        if (filter.minYearsOfExperience() != null) {
+            criteria.add(cb.greaterThanOrEqualTo(
+                    interviewer.get("yearsOfExperience"), filter.minYearsOfExperience()));
+        }
+
+        Predicate seniority = seniorityPredicate(filter, cb, interviewer, department);
+        if (seniority != null) {
+            criteria.add(seniority);
+        }
+        return criteria;
+    }
+
+    /**
+     * Tier / level hierarchy rule, or {@code null} when the filter does not ask for it.
+     * minTierId carries the candidate's tier order and minDesignationLevelInDepartment
+     * the candidate's level order (see HRAvailabilityService).
+     */
+    private static Predicate seniorityPredicate(AvailabilityFilterDto filter,
+                                                CriteriaBuilder cb,
+                                                Join<AvailabilitySlot, User> interviewer,
+                                                Join<User, Department> department) {
+        Long deptId = filter.departmentIdForDesignationFilter();
+        if (deptId == null
+                || (filter.minTierId() == null && filter.minDesignationLevelInDepartment() == null)) {
+            return null;
+        }
+
+        Join<User, Designation> designation = interviewer.join("currentDesignation", JoinType.LEFT);
+        Path<Integer> level = designation.get("levelOrder");
+        Predicate sameDepartment = cb.equal(department.get("id"), deptId);
+
+        int candidateLevel = filter.minDesignationLevelInDepartment() != null
+                ? filter.minDesignationLevelInDepartment().intValue()
+                : Integer.MAX_VALUE;
+
+        if (filter.minTierId() == null) {
+            return cb.and(sameDepartment, cb.lessThan(level, candidateLevel));
+        }
+
+        int candidateTier = filter.minTierId().intValue();
+        Join<Designation, Tier> tier = designation.join("tier", JoinType.LEFT);
+        Path<Integer> tierOrder = tier.get("tierOrder");
+
+        return cb.and(
+                sameDepartment,
+                cb.isNotNull(level),
+                cb.or(
+                        cb.lessThan(tierOrder, candidateTier),
+                        cb.and(cb.equal(tierOrder, candidateTier), cb.lessThan(level, candidateLevel))));
+    }
+}
@@ -5,9 +5,30 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface DesignationInterviewRuleRepository extends JpaRepository<DesignationInterviewRule, Long> {
 
     @Query("SELECT r FROM DesignationInterviewRule r WHERE r.candidateDesignation.id = :candidateDesignationId AND r.allowed = true")
     List<DesignationInterviewRule> findByCandidateDesignationIdAndAllowedTrue(Long candidateDesignationId);
-}
\ No newline at end of file
+
+    @Query("SELECT r FROM DesignationInterviewRule r WHERE r.candidateDesignation.id = :candidateDesignationId " +
+            "ORDER BY r.interviewerDesignation.id")
+    List<DesignationInterviewRule> findByCandidateDesignationId(Long candidateDesignationId);
+
+    @Query("SELECT r FROM DesignationInterviewRule r WHERE r.interviewerDesignation.id = :interviewerDesignationId " +
+            "AND r.candidateDesignation.id = :candidateDesignationId")
+    Optional<DesignationInterviewRule> findByPair(Long interviewerDesignationId, Long candidateDesignationId);
+
+    /** All rules as bare ids, for DesignationEligibilityMatrix — no entity graph needed. */
+    @Query("SELECT r.interviewerDesignation.id AS interviewerDesignationId, " +
+            "r.candidateDesignation.id AS candidateDesignationId, r.allowed AS allowed " +
+            "FROM DesignationInterviewRule r")
+    List<RuleEntry> findAllEntries();
+
+    interface RuleEntry {
+        Long getInterviewerDesignationId();
+        Long getCandidateDesignationId();
+        Boolean getAllowed();   // null counts as allowed, the column default
+    }
+}
@@ -31,4 +31,8 @@ public interface DesignationRepository extends JpaRepository<Designation, Long>
     List<Designation> findByIsActiveTrue();
     List<Designation> findByDepartmentIdAndIsActiveTrue(Long departmentId);
     List<Designation> findByTierIdAndIsActiveTrueOrderByLevelOrderAsc(Long tierId);
+
+    // Every designation, active or not (people may still hold a deactivated one), with tier and department
+    @Query("SELECT d FROM Designation d LEFT JOIN FETCH d.tier LEFT JOIN FETCH d.department")
+    List<Designation> findAllWithTierAndDepartment();
 }
\ No newline at end of file
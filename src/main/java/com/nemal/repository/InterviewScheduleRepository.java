@@ -2,8 +2,14 @@ package com.nemal.repository;
 
 import com.nemal.entity.InterviewSchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +21,45 @@ public interface InterviewScheduleRepository extends JpaRepository<InterviewSche
      * the slot's interviewSchedule FK has been nulled out.
      */
     Optional<InterviewSchedule> findByRequestId(Long requestId);
-}
\ No newline at end of file
+
+    // ── Reminders (InterviewReminderScheduler) ────────────────────────────────
+
+    interface ReminderTarget {
+        Long getId();
+        LocalDateTime getStartDateTime();
+    }
+
+    /** SCHEDULED interviews starting in (from, to]; ids and start times only. */
+    @Query("SELECT s.id AS id, s.startDateTime AS startDateTime FROM InterviewSchedule s " +
+            "WHERE s.status = com.nemal.enums.InterviewStatus.SCHEDULED " +
+            "AND s.startDateTime > :from AND s.startDateTime <= :to")
+    List<ReminderTarget> findReminderTargets(@Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.id AS id, s.startDateTime AS startDateTime FROM InterviewSchedule s " +
+            "WHERE s.status = com.nemal.enums.InterviewStatus.SCHEDULED AND s.id IN :ids")
+    List<ReminderTarget> findScheduledReminderTargets(@Param("ids") Collection<Long> ids);
+
+    /** Schedules with everything a reminder notification renders from. */
+    @Query("SELECT s FROM InterviewSchedule s " +
+            "JOIN FETCH s.request r " +
+            "LEFT JOIN FETCH r.assignedInterviewer " +
+            "LEFT JOIN FETCH r.candidateDesignation " +
+            "WHERE s.id IN :ids")
+    List<InterviewSchedule> findAllWithRequestByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records a reminder as sent; returns 0 if it already was (V27), in which
+     * case the caller must not send it again.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO interview_reminders_sent (schedule_id, offset_minutes, sent_at) " +
+            "VALUES (:scheduleId, :offsetMinutes, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claimReminder(@Param("scheduleId") Long scheduleId,
+                      @Param("offsetMinutes") int offsetMinutes,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM interview_reminders_sent WHERE sent_at < :before", nativeQuery = true)
+    int deleteRemindersSentBefore(@Param("before") LocalDateTime before);
+}
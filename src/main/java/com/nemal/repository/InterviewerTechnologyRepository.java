@@ -2,6 +2,7 @@ package com.nemal.repository;
 
 import com.nemal.entity.InterviewerTechnology;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +17,16 @@ public interface InterviewerTechnologyRepository extends JpaRepository<Interview
     List<InterviewerTechnology> findByInterviewerIdAndIsActiveTrue(Long interviewerId);
 
     boolean existsByInterviewerIdAndTechnologyId(Long interviewerId, Long technologyId);
+
+    // Active assignments as bare id pairs (the entity's @SQLRestriction drops inactive rows)
+    @Query("SELECT it.interviewer.id AS interviewerId, it.technology.id AS technologyId FROM InterviewerTechnology it")
+    List<Assignment> findAllAssignments();
+
+    @Query("SELECT it.technology.id FROM InterviewerTechnology it WHERE it.interviewer.id = :interviewerId")
+    List<Long> findTechnologyIdsByInterviewerId(Long interviewerId);
+
+    interface Assignment {
+        Long getInterviewerId();
+        Long getTechnologyId();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.nemal.repository;
+
+import com.nemal.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Row-locks up to {@code limit} due rows of one status, oldest first.
+     * SKIP LOCKED lets several dispatcher instances drain the outbox side by
+     * side without waiting on, or double-processing, each other's rows.
+     */
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE status = :status AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> claimDue(@Param("status") String status,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = com.nemal.enums.OutboxStatus.SENT " +
+            "AND o.processedAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -2,8 +2,12 @@ package com.nemal.repository;
 
 import com.nemal.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,4 +18,62 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByRecipientIdOrderByCreatedAtDesc(Long recipientId);
 
     long countByRecipientIdAndReadFalse(Long recipientId);
-}
\ No newline at end of file
+
+    // ── Bulk read (one UPDATE each; return the number of rows that changed) ──
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now " +
+            "WHERE n.id = :id AND n.recipient.id = :recipientId AND n.read = false")
+    int markRead(@Param("id") Long id,
+                 @Param("recipientId") Long recipientId,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now " +
+            "WHERE n.recipient.id = :recipientId AND n.read = false")
+    int markAllRead(@Param("recipientId") Long recipientId,
+                    @Param("now") LocalDateTime now);
+
+    /** Unread notifications created in [from, to). */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now " +
+            "WHERE n.recipient.id = :recipientId AND n.read = false " +
+            "AND n.createdAt >= :from AND n.createdAt < :to")
+    int markRangeRead(@Param("recipientId") Long recipientId,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to,
+                      @Param("now") LocalDateTime now);
+
+    // ── Retention (NotificationArchiver) ─────────────────────────────────────
+
+    /**
+     * Moves up to {@code limit} notifications read before {@code before} into
+     * notifications_archive in one statement. SKIP LOCKED keeps a chunk from
+     * waiting on rows a concurrent mark-read is updating.
+     *
+     * An id already in the archive (a re-run after a partial restore, say) is
+     * overwritten with the row being deleted rather than skipped, so no
+     * deleted row is lost and the returned count is always the number of rows
+     * deleted: the archiver stops on a short chunk, and a count that left out
+     * conflicting ids would end the run early.
+     */
+    @Modifying
+    @Query(value = "WITH moved AS ( " +
+            "  DELETE FROM notifications WHERE id IN ( " +
+            "    SELECT id FROM notifications " +
+            "    WHERE \"read\" = true AND read_at < :before " +
+            "    ORDER BY read_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "  RETURNING id, recipient_id, type, subject, message, " +
+            "            related_entity_id, related_entity_type, created_at, read_at) " +
+            "INSERT INTO notifications_archive (id, recipient_id, type, subject, message, " +
+            "    related_entity_id, related_entity_type, created_at, read_at) " +
+            "SELECT id, recipient_id, type, subject, message, " +
+            "    related_entity_id, related_entity_type, created_at, read_at FROM moved " +
+            "ON CONFLICT (id) DO UPDATE SET recipient_id = EXCLUDED.recipient_id, " +
+            "    type = EXCLUDED.type, subject = EXCLUDED.subject, message = EXCLUDED.message, " +
+            "    related_entity_id = EXCLUDED.related_entity_id, " +
+            "    related_entity_type = EXCLUDED.related_entity_type, " +
+            "    created_at = EXCLUDED.created_at, read_at = EXCLUDED.read_at, " +
+            "    archived_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int archiveReadBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
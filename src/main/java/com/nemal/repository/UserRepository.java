@@ -4,7 +4,9 @@ import com.nemal.entity.User;
 import com.nemal.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByDepartmentAndRole(Long deptId, Role role);
 
     List<User> findByCurrentDesignationIdInAndRole(List<Long> eligibleDesignationIds, Role role);
-}
\ No newline at end of file
+
+    /**
+     * Loads everything the HR calendar shows about an interviewer: department,
+     * designation + tier in this query, technologies on first access through
+     * the batch-fetched User.interviewerTechnologies (one extra statement).
+     */
+    @Query("SELECT u FROM User u " +
+            "LEFT JOIN FETCH u.department " +
+            "LEFT JOIN FETCH u.currentDesignation d " +
+            "LEFT JOIN FETCH d.tier " +
+            "WHERE u.id = :id")
+    Optional<User> findByIdWithProfile(@Param("id") Long id);
+
+    /** Batch form of {@link #findByIdWithProfile} — one row per interviewer. */
+    @Query("SELECT u FROM User u " +
+            "LEFT JOIN FETCH u.department " +
+            "LEFT JOIN FETCH u.currentDesignation d " +
+            "LEFT JOIN FETCH d.tier " +
+            "WHERE u.id IN :ids")
+    List<User> findAllWithProfileByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Every active user with the given role, with the same profile graph as {@link #findByIdWithProfile}. */
+    @Query("SELECT u FROM User u " +
+            "LEFT JOIN FETCH u.department " +
+            "LEFT JOIN FETCH u.currentDesignation d " +
+            "LEFT JOIN FETCH d.tier " +
+            "WHERE u.role = :role AND u.isActive = true")
+    List<User> findAllActiveWithProfileByRole(@Param("role") Role role);
+}
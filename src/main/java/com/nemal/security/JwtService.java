@@ -1,6 +1,8 @@
 package com.nemal.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,17 +13,54 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once; a
+ * verified token's claims are kept in a small LRU cache until the token
+ * expires, so a client's repeated requests (and STOMP connects) skip the
+ * HMAC check. Only tokens whose signature verified are ever cached.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    static final int CLAIMS_CACHE_SIZE = 1024;
 
-    @Value("${jwt.expiration-ms}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final Clock clock;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+
+    /** token → verified claims, least recently used first. Guarded by itself. */
+    private final LinkedHashMap<String, Claims> claimsCache =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                    return size() > CLAIMS_CACHE_SIZE;
+                }
+            };
+
+    /**
+     * No cached token expires before this (epoch ms), so a full cache only
+     * sweeps for expired entries once one can exist. Guarded by claimsCache.
+     */
+    private long earliestExpiry = Long.MAX_VALUE;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration-ms}") long jwtExpiration) {
+        this(secretKey, jwtExpiration, Date::new);
+    }
+
+    /** Tests pass their own clock; issuing, parsing and the cache all read it. */
+    JwtService(String secretKey, long jwtExpiration, Clock clock) {
+        this.jwtExpiration = jwtExpiration;
+        this.clock = clock;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).clock(clock).build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -37,39 +76,82 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        long now = clock.now().getTime();
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /** Same check as {@link #isTokenValid(String, UserDetails)} on claims already verified. */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isExpired(claims, clock.now());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Verifies the token's signature and expiry and returns its claims,
+     * from the cache when this token was verified before. Throws the
+     * parser's JwtException for invalid or expired tokens, as before.
+     */
+    public Claims extractAllClaims(String token) {
+        Date now = clock.now();
+        synchronized (claimsCache) {
+            Claims cached = claimsCache.get(token);
+            if (cached != null) {
+                if (!isExpired(cached, now)) return cached;
+                claimsCache.remove(token);
+            }
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            synchronized (claimsCache) {
+                if (claimsCache.size() >= CLAIMS_CACHE_SIZE && earliestExpiry < now.getTime()) {
+                    evictExpired(now);
+                }
+                claimsCache.put(token, claims);
+                earliestExpiry = Math.min(earliestExpiry, claims.getExpiration().getTime());
+            }
+        }
+        return claims;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    int cachedTokens() {
+        synchronized (claimsCache) {
+            return claimsCache.size();
+        }
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    boolean isCached(String token) {
+        synchronized (claimsCache) {
+            // containsKey does not count as an access, so the LRU order is untouched
+            return claimsCache.containsKey(token);
+        }
+    }
+
+    private void evictExpired(Date now) {
+        long earliest = Long.MAX_VALUE;
+        Iterator<Claims> it = claimsCache.values().iterator();
+        while (it.hasNext()) {
+            Claims claims = it.next();
+            if (isExpired(claims, now)) {
+                it.remove();
+            } else {
+                earliest = Math.min(earliest, claims.getExpiration().getTime());
+            }
+        }
+        earliestExpiry = earliest;
     }
-}
 
+    private static boolean isExpired(Claims claims, Date now) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(now);
+    }
+}
@@ -0,0 +1,48 @@
+package com.nemal.service;
+
+import com.nemal.dto.AvailabilityDeltaDto;
+import com.nemal.event.AvailabilityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes committed slot changes over STOMP so calendars can update their
+ * local model instead of re-downloading:
+ *   • /topic/availability          — every change, for HR calendars
+ *   • /user/queue/availability     — the interviewer's own changes
+ * Rolled-back transactions publish nothing.
+ */
+@Component
+public class AvailabilityDeltaPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityDeltaPublisher.class);
+
+    static final String TOPIC = "/topic/availability";
+    static final String USER_QUEUE = "/queue/availability";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public AvailabilityDeltaPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        AvailabilityDeltaDto delta = new AvailabilityDeltaDto(
+                event.type().name(), event.interviewerId(), event.slots(), System.currentTimeMillis());
+        try {
+            messagingTemplate.convertAndSend(TOPIC, delta);
+            if (event.interviewerEmail() != null) {
+                messagingTemplate.convertAndSendToUser(event.interviewerEmail(), USER_QUEUE, delta);
+            }
+        } catch (Exception e) {
+            // The write is already committed; clients resync on their next full load
+            logger.warn("Failed to push availability delta for interviewer {}: {}",
+                    event.interviewerId(), e.getMessage());
+        }
+    }
+}
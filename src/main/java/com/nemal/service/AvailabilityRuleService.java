@@ -0,0 +1,282 @@
+package com.nemal.service;
+
+import com.nemal.dto.AvailabilityOccurrenceDto;
+import com.nemal.dto.AvailabilityRuleDto;
+import com.nemal.dto.AvailabilitySlotDto;
+import com.nemal.dto.CreateAvailabilityRuleDto;
+import com.nemal.entity.AvailabilityRule;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotChangeType;
+import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.repository.AvailabilityRuleRepository;
+import com.nemal.repository.AvailabilitySlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring availability. Rules are stored once and expanded only for the
+ * range being read; a concrete AvailabilitySlot is written only when an
+ * occurrence is booked — InterviewRequestService materialises it inside the
+ * booking transaction when a request names (ruleId, date) instead of a slot.
+ *
+ * Occurrences are only visible through the /occurrences endpoints. The HR
+ * calendar (/filter, /page, /stream), interviewer matching and the panel
+ * free-time finder read concrete slots only, so an occurrence takes part in
+ * those once it has been materialised.
+ */
+@Service
+public class AvailabilityRuleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityRuleService.class);
+
+    /** Longest range a single expansion may cover. */
+    private static final int MAX_EXPANSION_DAYS = 120;
+
+    /** Upper bound for slot lookups against a rule without an end date. */
+    private static final LocalDateTime OPEN_ENDED = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final AvailabilityRuleRepository ruleRepository;
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotBookingCoordinator bookingCoordinator;
+
+    public AvailabilityRuleService(AvailabilityRuleRepository ruleRepository,
+                                   AvailabilitySlotRepository availabilitySlotRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   SlotBookingCoordinator bookingCoordinator) {
+        this.ruleRepository = ruleRepository;
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.eventPublisher = eventPublisher;
+        this.bookingCoordinator = bookingCoordinator;
+    }
+
+    // ── Rules ─────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityRuleDto> getRules(User interviewer) {
+        return ruleRepository.findActiveByInterviewerId(interviewer.getId()).stream()
+                .map(AvailabilityRuleDto::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public AvailabilityRuleDto createRule(User interviewer, CreateAvailabilityRuleDto dto) {
+        if (dto.daysOfWeek() == null || dto.daysOfWeek().isEmpty()) {
+            throw new RuntimeException("At least one day of the week is required");
+        }
+        if (dto.startTime() == null || dto.endTime() == null || !dto.endTime().isAfter(dto.startTime())) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        LocalDate validFrom = dto.validFrom() != null ? dto.validFrom() : LocalDate.now();
+        if (validFrom.isBefore(LocalDate.now())) {
+            throw new RuntimeException("Cannot create availability rules starting in the past");
+        }
+        if (dto.validUntil() != null && dto.validUntil().isBefore(validFrom)) {
+            throw new RuntimeException("Valid-until date must not be before valid-from date");
+        }
+
+        AvailabilityRule rule = AvailabilityRule.builder()
+                .interviewer(interviewer)
+                .daysOfWeek(AvailabilityRule.mask(dto.daysOfWeek()))
+                .startTime(dto.startTime())
+                .endTime(dto.endTime())
+                .validFrom(validFrom)
+                .validUntil(dto.validUntil())
+                .exceptionDates(dto.exceptionDates() != null ? new HashSet<>(dto.exceptionDates()) : new HashSet<>())
+                .description(dto.description())
+                .isActive(true)
+                .build();
+
+        // Same lock as slot writes, so a slot created concurrently cannot slip past the check
+        bookingCoordinator.lockInterviewer(interviewer.getId());
+        checkNoOverlap(interviewer, rule);
+
+        return AvailabilityRuleDto.from(ruleRepository.save(rule));
+    }
+
+    /**
+     * Rejects a rule with an occurrence overlapping one of the interviewer's
+     * active slots or an occurrence of another active rule. Nothing in the
+     * schema enforces this for rules, and an overlapping occurrence could
+     * never be materialised anyway.
+     */
+    private void checkNoOverlap(User interviewer, AvailabilityRule rule) {
+        LocalDateTime rangeStart = rule.getValidFrom().atStartOfDay();
+        LocalDateTime rangeEnd = rule.getValidUntil() != null
+                ? rule.getValidUntil().plusDays(1).atStartOfDay() : OPEN_ENDED;
+        for (AvailabilitySlot slot : availabilitySlotRepository.findActiveOverlappingSlots(
+                interviewer.getId(), rangeStart, rangeEnd)) {
+            for (LocalDate date = slot.getStartDateTime().toLocalDate();
+                 date.isBefore(slot.getEndDateTime().toLocalDate().plusDays(1)); date = date.plusDays(1)) {
+                if (rule.appliesOn(date)
+                        && date.atTime(rule.getStartTime()).isBefore(slot.getEndDateTime())
+                        && date.atTime(rule.getEndTime()).isAfter(slot.getStartDateTime())) {
+                    throw new RuntimeException("This rule overlaps existing availability on " + date);
+                }
+            }
+        }
+
+        LocalDate until = rule.getValidUntil() != null ? rule.getValidUntil() : OPEN_ENDED.toLocalDate();
+        for (AvailabilityRule other : ruleRepository.findActiveByInterviewerIdInRange(
+                interviewer.getId(), rule.getValidFrom(), until)) {
+            LocalDate common = firstCommonDate(rule, other);
+            if (common != null) {
+                throw new RuntimeException("This rule overlaps another availability rule on " + common);
+            }
+        }
+    }
+
+    /** First date on which both rules have an occurrence and their times overlap, or null. */
+    static LocalDate firstCommonDate(AvailabilityRule a, AvailabilityRule b) {
+        if ((a.getDaysOfWeek() & b.getDaysOfWeek()) == 0
+                || !a.getStartTime().isBefore(b.getEndTime())
+                || !b.getStartTime().isBefore(a.getEndTime())) {
+            return null;
+        }
+        LocalDate from = a.getValidFrom().isAfter(b.getValidFrom()) ? a.getValidFrom() : b.getValidFrom();
+        // Open-ended on both sides: a shared weekday recurs forever, and every
+        // exception date can hide at most one week's occurrence of it
+        LocalDate until = from.plusWeeks(a.getExceptionDates().size() + b.getExceptionDates().size() + 1L);
+        if (a.getValidUntil() != null && a.getValidUntil().isBefore(until)) until = a.getValidUntil();
+        if (b.getValidUntil() != null && b.getValidUntil().isBefore(until)) until = b.getValidUntil();
+        for (LocalDate date = from; !date.isAfter(until); date = date.plusDays(1)) {
+            if (a.appliesOn(date) && b.appliesOn(date)) return date;
+        }
+        return null;
+    }
+
+    @Transactional
+    public AvailabilityRuleDto addException(User interviewer, Long ruleId, LocalDate date) {
+        AvailabilityRule rule = ownedRule(interviewer, ruleId);
+        rule.getExceptionDates().add(date);
+        return AvailabilityRuleDto.from(ruleRepository.save(rule));
+    }
+
+    @Transactional
+    public void deleteRule(User interviewer, Long ruleId) {
+        AvailabilityRule rule = ownedRule(interviewer, ruleId);
+        rule.setActive(false);
+        ruleRepository.save(rule);
+    }
+
+    // ── Expansion ─────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityOccurrenceDto> getOccurrences(User interviewer, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return expand(ruleRepository.findActiveByInterviewerIdInRange(
+                interviewer.getId(), from.toLocalDate(), to.toLocalDate()), from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityOccurrenceDto> getAllOccurrences(LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return expand(ruleRepository.findActiveInRange(from.toLocalDate(), to.toLocalDate()), from, to);
+    }
+
+    private List<AvailabilityOccurrenceDto> expand(List<AvailabilityRule> rules,
+                                                   LocalDateTime from, LocalDateTime to) {
+        List<AvailabilityOccurrenceDto> occurrences = new ArrayList<>();
+        for (AvailabilityRule rule : rules) {
+            for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+                if (!rule.appliesOn(date)) continue;
+
+                LocalDateTime start = date.atTime(rule.getStartTime());
+                LocalDateTime end = date.atTime(rule.getEndTime());
+                if (!start.isBefore(to) || !end.isAfter(from)) continue;
+
+                occurrences.add(new AvailabilityOccurrenceDto(
+                        rule.getId(),
+                        rule.getInterviewer().getId(),
+                        rule.getInterviewer().getFullName(),
+                        date, start, end,
+                        rule.getDescription()));
+            }
+        }
+        occurrences.sort(Comparator.comparing(AvailabilityOccurrenceDto::startDateTime)
+                .thenComparing(AvailabilityOccurrenceDto::ruleId));
+        return occurrences;
+    }
+
+    // ── Materialisation ───────────────────────────────────────────────────────
+
+    @Transactional
+    public AvailabilitySlotDto materializeOccurrence(Long ruleId, LocalDate date) {
+        return AvailabilitySlotDto.from(materialize(ruleId, date));
+    }
+
+    /**
+     * Turns one occurrence into a concrete AVAILABLE slot that the normal
+     * booking flow can split and book. The date becomes an exception on the
+     * rule so the occurrence is not expanded a second time. Joins the
+     * caller's transaction, so a failed booking rolls this back too.
+     */
+    @Transactional
+    public AvailabilitySlot materialize(Long ruleId, LocalDate date) {
+        AvailabilityRule rule = ruleRepository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Availability rule not found: " + ruleId));
+        if (!rule.isActive() || !rule.appliesOn(date)) {
+            throw new RuntimeException("Rule " + ruleId + " has no occurrence on " + date);
+        }
+
+        LocalDateTime start = date.atTime(rule.getStartTime());
+        LocalDateTime end = date.atTime(rule.getEndTime());
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Cannot book an occurrence that has already started");
+        }
+
+        User interviewer = rule.getInterviewer();
+        bookingCoordinator.lockInterviewer(interviewer.getId());
+
+        AvailabilitySlot slot = bookingCoordinator.saveChecked(AvailabilitySlot.builder()
+                .interviewer(interviewer)
+                .startDateTime(start)
+                .endDateTime(end)
+                .description(rule.getDescription())
+                .status(SlotStatus.AVAILABLE)
+                .isActive(true)
+                .ruleId(rule.getId())
+                .build(), "This occurrence conflicts with existing availability");
+
+        rule.getExceptionDates().add(date);
+        ruleRepository.save(rule);
+
+        logger.info("Materialised rule {} occurrence on {} as slot {}", ruleId, date, slot.getId());
+        eventPublisher.publishEvent(AvailabilityChangedEvent.of(interviewer, SlotChangeType.CREATED, List.of(slot)));
+        return slot;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private AvailabilityRule ownedRule(User interviewer, Long ruleId) {
+        AvailabilityRule rule = ruleRepository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Availability rule not found: " + ruleId));
+        if (!rule.getInterviewer().getId().equals(interviewer.getId())) {
+            throw new RuntimeException("Unauthorized: this rule does not belong to you");
+        }
+        return rule;
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new RuntimeException("End must be after start");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_EXPANSION_DAYS) {
+            throw new RuntimeException("Range must not exceed " + MAX_EXPANSION_DAYS + " days");
+        }
+    }
+}
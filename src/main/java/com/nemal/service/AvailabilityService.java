@@ -1,19 +1,25 @@
 package com.nemal.service;
 
 import com.nemal.dto.AvailabilitySlotDto;
+import com.nemal.dto.BulkAvailabilityResultDto;
 import com.nemal.dto.BulkAvailabilitySlotDto;
 import com.nemal.dto.CreateAvailabilitySlotDto;
 import com.nemal.dto.UpdateAvailabilitySlotDto;
 import com.nemal.entity.AvailabilitySlot;
 import com.nemal.entity.User;
+import com.nemal.enums.SlotChangeType;
 import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
 import com.nemal.repository.AvailabilitySlotRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,9 +41,15 @@ public class AvailabilityService {
     private static final int SAME_DAY_MIN_LEAD_HOURS = 2;
 
     private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotBookingCoordinator bookingCoordinator;
 
-    public AvailabilityService(AvailabilitySlotRepository availabilitySlotRepository) {
+    public AvailabilityService(AvailabilitySlotRepository availabilitySlotRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               SlotBookingCoordinator bookingCoordinator) {
         this.availabilitySlotRepository = availabilitySlotRepository;
+        this.eventPublisher = eventPublisher;
+        this.bookingCoordinator = bookingCoordinator;
     }
 
     // ── Read ──────────────────────────────────────────────────────────────────
@@ -99,15 +111,16 @@ public class AvailabilityService {
 
     @Transactional
     public AvailabilitySlotDto createAvailabilitySlot(User interviewer, CreateAvailabilitySlotDto dto) {
-        validateSlotTimes(dto.startDateTime(), dto.endDateTime());
-
-        List<AvailabilitySlot> conflicts = availabilitySlotRepository.findConflictingSlots(
-                interviewer.getId(), dto.startDateTime(), dto.endDateTime());
+        bookingCoordinator.lockInterviewer(interviewer.getId());
+        AvailabilitySlot created = insertAvailabilitySlot(interviewer, dto);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.of(interviewer, SlotChangeType.CREATED, List.of(created)));
+        return AvailabilitySlotDto.from(created);
+    }
 
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("This time slot conflicts with existing availability");
-        }
+    private AvailabilitySlot insertAvailabilitySlot(User interviewer, CreateAvailabilitySlotDto dto) {
+        validateSlotTimes(dto.startDateTime(), dto.endDateTime());
 
+        // Overlaps are rejected by excl_availability_no_overlap on insert
         AvailabilitySlot slot = AvailabilitySlot.builder()
                 .interviewer(interviewer)
                 .startDateTime(dto.startDateTime())
@@ -117,13 +130,13 @@ public class AvailabilityService {
                 .isActive(true)
                 .build();
 
-        slot = availabilitySlotRepository.save(slot);
-        return AvailabilitySlotDto.from(slot);
+        return bookingCoordinator.saveChecked(slot, "This time slot conflicts with existing availability");
     }
 
     @Transactional
     public AvailabilitySlotDto updateAvailabilitySlot(
             User interviewer, Long slotId, UpdateAvailabilitySlotDto dto) {
+        bookingCoordinator.lockInterviewer(interviewer.getId());
 
         AvailabilitySlot slot = availabilitySlotRepository.findById(slotId)
                 .orElseThrow(() -> new RuntimeException("Slot not found: " + slotId));
@@ -140,37 +153,118 @@ public class AvailabilityService {
 
         validateSlotTimes(dto.startDateTime(), dto.endDateTime());
 
-        // Conflict check — exclude the slot being edited
-        List<AvailabilitySlot> conflicts = availabilitySlotRepository
-                .findConflictingSlots(interviewer.getId(), dto.startDateTime(), dto.endDateTime())
-                .stream()
-                .filter(s -> !s.getId().equals(slotId))
-                .collect(Collectors.toList());
-
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("The updated time conflicts with another existing availability slot");
-        }
-
         slot.setStartDateTime(dto.startDateTime());
         slot.setEndDateTime(dto.endDateTime());
         if (dto.description() != null) {
             slot.setDescription(dto.description());
         }
 
-        slot = availabilitySlotRepository.save(slot);
+        // The constraint compares against other rows only, so moving a slot over itself is fine
+        slot = bookingCoordinator.saveChecked(slot,
+                "The updated time conflicts with another existing availability slot");
+        eventPublisher.publishEvent(AvailabilityChangedEvent.of(interviewer, SlotChangeType.UPDATED, List.of(slot)));
         return AvailabilitySlotDto.from(slot);
     }
 
+    /**
+     * Creates many slots with a fixed number of round trips: items are sorted,
+     * checked against each other in memory, checked against existing slots with
+     * one range query over the whole span, and inserted as JDBC batches.
+     * Invalid items are skipped and reported; the rest are still created.
+     */
     @Transactional
-    public List<AvailabilitySlotDto> createBulkAvailabilitySlots(
+    public BulkAvailabilityResultDto createBulkAvailabilitySlots(
             User interviewer, BulkAvailabilitySlotDto bulkDto) {
-        return bulkDto.slots().stream()
-                .map(dto -> createAvailabilitySlot(interviewer, dto))
-                .collect(Collectors.toList());
+        bookingCoordinator.lockInterviewer(interviewer.getId());
+        List<CreateAvailabilitySlotDto> items = bulkDto.slots() != null ? bulkDto.slots() : List.of();
+        List<BulkAvailabilityResultDto.ItemError> errors = new ArrayList<>();
+
+        // ── Per-item validation ───────────────────────────────────────────────
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            CreateAvailabilitySlotDto dto = items.get(i);
+            try {
+                if (dto == null || dto.startDateTime() == null || dto.endDateTime() == null) {
+                    throw new RuntimeException("Start and end time are required");
+                }
+                validateSlotTimes(dto.startDateTime(), dto.endDateTime());
+                candidates.add(i);
+            } catch (RuntimeException e) {
+                errors.add(new BulkAvailabilityResultDto.ItemError(i, e.getMessage()));
+            }
+        }
+        candidates.sort(Comparator.comparing((Integer i) -> items.get(i).startDateTime())
+                .thenComparing(i -> items.get(i).endDateTime()));
+
+        // ── Overlaps inside the batch (earlier item wins) ─────────────────────
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            if (!accepted.isEmpty()) {
+                int prev = accepted.get(accepted.size() - 1);
+                if (items.get(i).startDateTime().isBefore(items.get(prev).endDateTime())) {
+                    errors.add(new BulkAvailabilityResultDto.ItemError(i,
+                            "This time slot overlaps item " + prev + " in the same request"));
+                    continue;
+                }
+            }
+            accepted.add(i);
+        }
+
+        // ── Overlaps with existing slots: one query for the whole span ────────
+        List<AvailabilitySlot> toInsert = new ArrayList<>();
+        if (!accepted.isEmpty()) {
+            LocalDateTime spanStart = items.get(accepted.get(0)).startDateTime();
+            LocalDateTime spanEnd = accepted.stream()
+                    .map(i -> items.get(i).endDateTime())
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+
+            List<AvailabilitySlot> existing = new ArrayList<>(availabilitySlotRepository
+                    .findActiveOverlappingSlots(interviewer.getId(), spanStart, spanEnd));
+            existing.sort(Comparator.comparing(AvailabilitySlot::getStartDateTime));
+
+            // Both lists are start-ordered and each is internally disjoint, so a
+            // merge-style sweep finds every conflict in O(n + m)
+            int e = 0;
+            for (int i : accepted) {
+                CreateAvailabilitySlotDto dto = items.get(i);
+                while (e < existing.size() && !existing.get(e).getEndDateTime().isAfter(dto.startDateTime())) {
+                    e++;
+                }
+                if (e < existing.size() && existing.get(e).getStartDateTime().isBefore(dto.endDateTime())) {
+                    errors.add(new BulkAvailabilityResultDto.ItemError(i,
+                            "This time slot conflicts with existing availability"));
+                    continue;
+                }
+                toInsert.add(AvailabilitySlot.builder()
+                        .interviewer(interviewer)
+                        .startDateTime(dto.startDateTime())
+                        .endDateTime(dto.endDateTime())
+                        .description(dto.description())
+                        .status(SlotStatus.AVAILABLE)
+                        .isActive(true)
+                        .build());
+            }
+        }
+
+        // ── Batched insert ────────────────────────────────────────────────────
+        // The sweep above gives per-item errors; the exclusion constraint is
+        // what actually guarantees no overlap, and fails the whole batch.
+        List<AvailabilitySlot> created = bookingCoordinator.saveAllChecked(toInsert,
+                "One or more slots conflict with existing availability");
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(AvailabilityChangedEvent.of(interviewer, SlotChangeType.CREATED, created));
+        }
+
+        errors.sort(Comparator.comparingInt(BulkAvailabilityResultDto.ItemError::index));
+        return new BulkAvailabilityResultDto(
+                created.stream().map(AvailabilitySlotDto::from).collect(Collectors.toList()),
+                errors);
     }
 
     @Transactional
     public void deleteAvailabilitySlot(User interviewer, Long slotId) {
+        bookingCoordinator.lockInterviewer(interviewer.getId());
         AvailabilitySlot slot = availabilitySlotRepository.findById(slotId)
                 .orElseThrow(() -> new RuntimeException("Slot not found"));
 
@@ -183,6 +277,7 @@ public class AvailabilityService {
 
         slot.setActive(false);
         availabilitySlotRepository.save(slot);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.of(interviewer, SlotChangeType.DEACTIVATED, List.of(slot)));
     }
 
     // ── Stats ─────────────────────────────────────────────────────────────────
@@ -0,0 +1,98 @@
+package com.nemal.service;
+
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic change counters behind the calendar ETags.
+ *
+ *   • global version — bumped after every committed slot, profile or
+ *     org-structure change; covers the HR calendar.
+ *   • interviewer version — the global version at that interviewer's last
+ *     slot change; covers the interviewer's own calendar.
+ *
+ * Counters live in memory, so every tag also carries the boot time: a restart
+ * changes all tags instead of reusing old numbers. Tags include the current
+ * date because both calendars show a rolling lookback window.
+ *
+ * Bumps happen after commit and tags are computed before the query runs, so
+ * a client can at worst re-download unchanged data, never keep stale data.
+ * That only holds if the bump comes after every in-memory read model the
+ * tagged responses are served from has been refreshed: otherwise a poll can
+ * pair the new tag with the old snapshot and then get 304s for it. Those
+ * listeners run at {@link #REFRESH_ORDER}, the bumps at {@link #BUMP_ORDER}.
+ *
+ * Single instance only: the counters, like HRAvailabilityIndex and the other
+ * read models, are per JVM and only see this instance's commits. Behind a
+ * load balancer each node would tag (and serve) its own view, so a change
+ * made on one node would stay invisible to polls answered by another.
+ */
+@Component
+public class AvailabilityVersionTracker {
+
+    /** After-commit order of the listeners refreshing the read models behind the tags. */
+    static final int REFRESH_ORDER = 0;
+
+    /** After every refresh, before unordered listeners such as the delta push that prompts a re-poll. */
+    static final int BUMP_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<Long, Long> interviewerVersions = new ConcurrentHashMap<>();
+
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+
+    public long interviewerVersion(Long interviewerId) {
+        return interviewerVersions.getOrDefault(interviewerId, 0L);
+    }
+
+    /** Strong ETag for the HR calendar; {@code variant} distinguishes response shapes. */
+    public String hrCalendarETag(Object filter, String variant) {
+        return tag("hr", globalVersion(), Objects.hashCode(filter), variant);
+    }
+
+    /** Strong ETag for one interviewer's own calendar; {@code params} covers query parameters. */
+    public String interviewerCalendarETag(Long interviewerId, Object params) {
+        return tag("iv" + interviewerId, interviewerVersion(interviewerId), Objects.hashCode(params), "v");
+    }
+
+    // ── Bumps ─────────────────────────────────────────────────────────────────
+
+    @Order(BUMP_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        long version = globalVersion.incrementAndGet();
+        interviewerVersions.merge(event.interviewerId(), version, Math::max);
+    }
+
+    @Order(BUMP_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInterviewerProfileChanged(InterviewerProfileChangedEvent event) {
+        globalVersion.incrementAndGet();
+    }
+
+    @Order(BUMP_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrgStructureChanged(OrgStructureChangedEvent event) {
+        globalVersion.incrementAndGet();
+    }
+
+    private String tag(String scope, long version, int paramsHash, String variant) {
+        return "\"" + scope + "-" + bootId + "-" + version + "-" + LocalDate.now()
+                + "-" + Integer.toHexString(paramsHash) + "-" + variant + "\"";
+    }
+}
@@ -0,0 +1,483 @@
+package com.nemal.service;
+
+import com.nemal.dto.BatchCandidateDto;
+import com.nemal.dto.BatchScheduleRequestDto;
+import com.nemal.dto.BatchScheduleResultDto;
+import com.nemal.entity.*;
+import com.nemal.enums.CandidateStatus;
+import com.nemal.enums.InterviewStatus;
+import com.nemal.enums.RequestStatus;
+import com.nemal.enums.SlotChangeType;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewScheduleChangedEvent;
+import com.nemal.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns a whole batch of candidates to interviewer slots in one go.
+ *
+ * Candidates with identical constraints (designation, department, required
+ * technologies) are grouped into classes, and each interviewer's AVAILABLE
+ * time in the range is cut into back-to-back positions of the interview
+ * length and bucketed per (interviewer, day). The assignment is then a
+ * min-cost flow:
+ *
+ *   source ─(class size)→ class ─(1 … ∞, cost)→ interviewer-day ─(daily cap)→ sink
+ *
+ * with class → interviewer-day edges only where the interviewer is eligible
+ * (InterviewerMatchingService rules) and cost = (1 − match score) plus a
+ * small per-day penalty, so the flow maximises the number of candidates
+ * scheduled and, among those plans, prefers better matches and earlier days.
+ *
+ * Eligibility is scoped by department, so departments are independent and
+ * solved in parallel; classes without a department are solved afterwards on
+ * the remaining capacity. Bookings, requests, schedules and notifications are
+ * then written in one transaction — all or nothing.
+ */
+@Service
+public class BatchSchedulingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchSchedulingService.class);
+
+    static final int DEFAULT_DURATION_MINUTES = 60;
+    static final int DEFAULT_DAILY_CAP = 3;
+    static final int MAX_CANDIDATES = 10_000;
+    static final int MAX_RANGE_DAYS = 31;
+
+    /** Earliest start relative to now, as for same-day slots in AvailabilityService. */
+    static final int MIN_LEAD_HOURS = 2;
+
+    /** Positions start on this grid (minutes past midnight), however the range or slot is cut. */
+    static final int POSITION_GRID_MINUTES = 15;
+
+    /** Match score (0–1) is scaled to integer cost; one day later costs as much as 0.015 of score. */
+    private static final int COST_SCALE = 1000;
+    private static final int DAY_COST = 15;
+
+    private final InterviewerMatchingService matchingService;
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final DesignationRepository designationRepository;
+    private final TechnologyRepository technologyRepository;
+    private final CandidateRepository candidateRepository;
+    private final InterviewRequestRepository interviewRequestRepository;
+    private final InterviewScheduleRepository interviewScheduleRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotBookingCoordinator bookingCoordinator;
+
+    public BatchSchedulingService(InterviewerMatchingService matchingService,
+                                  AvailabilitySlotRepository availabilitySlotRepository,
+                                  DesignationRepository designationRepository,
+                                  TechnologyRepository technologyRepository,
+                                  CandidateRepository candidateRepository,
+                                  InterviewRequestRepository interviewRequestRepository,
+                                  InterviewScheduleRepository interviewScheduleRepository,
+                                  NotificationService notificationService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  SlotBookingCoordinator bookingCoordinator) {
+        this.matchingService = matchingService;
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.designationRepository = designationRepository;
+        this.technologyRepository = technologyRepository;
+        this.candidateRepository = candidateRepository;
+        this.interviewRequestRepository = interviewRequestRepository;
+        this.interviewScheduleRepository = interviewScheduleRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.bookingCoordinator = bookingCoordinator;
+    }
+
+    @Transactional
+    public BatchScheduleResultDto schedule(User requestedBy, BatchScheduleRequestDto dto) {
+        List<BatchCandidateDto> items = dto.candidates() != null ? dto.candidates() : List.of();
+        if (items.isEmpty()) {
+            throw new RuntimeException("At least one candidate is required");
+        }
+        if (items.size() > MAX_CANDIDATES) {
+            throw new RuntimeException("A batch can schedule at most " + MAX_CANDIDATES + " candidates");
+        }
+        LocalDateTime earliest = LocalDateTime.now().plusHours(MIN_LEAD_HOURS);
+        LocalDateTime from = dto.from() == null || dto.from().isBefore(earliest) ? earliest : dto.from();
+        LocalDateTime to = dto.to() != null ? dto.to() : from.plusDays(7);
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("End of the scheduling range must be after its start");
+        }
+        if (to.isAfter(from.plusDays(MAX_RANGE_DAYS))) {
+            throw new RuntimeException("Scheduling range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        Duration duration = Duration.ofMinutes(dto.durationMinutes() != null && dto.durationMinutes() > 0
+                ? dto.durationMinutes() : DEFAULT_DURATION_MINUTES);
+        int dailyCap = dto.maxInterviewsPerInterviewerPerDay() != null && dto.maxInterviewsPerInterviewerPerDay() > 0
+                ? dto.maxInterviewsPerInterviewerPerDay() : DEFAULT_DAILY_CAP;
+
+        long started = System.nanoTime();
+        Map<Long, Candidate> candidates = candidateRepository.findAllById(items.stream()
+                        .map(BatchCandidateDto::candidateId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Candidate::getId, c -> c));
+
+        // ── Classes of interchangeable candidates ─────────────────────────────
+        List<BatchScheduleResultDto.Unassigned> unassigned = new ArrayList<>();
+        Map<ClassKey, CandidateClass> classes = new LinkedHashMap<>();
+        Map<Long, Designation> designations = designationRepository.findAllById(items.stream()
+                        .map(BatchCandidateDto::candidateDesignationId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Designation::getId, d -> d));
+        for (int i = 0; i < items.size(); i++) {
+            BatchCandidateDto item = items.get(i);
+            String name = candidateName(item, candidates);
+            if (item.candidateId() != null && !candidates.containsKey(item.candidateId())) {
+                unassigned.add(new BatchScheduleResultDto.Unassigned(i, name, "Candidate not found: " + item.candidateId()));
+                continue;
+            }
+            if (name == null || name.isBlank()) {
+                unassigned.add(new BatchScheduleResultDto.Unassigned(i, name, "Candidate name is required"));
+                continue;
+            }
+            Designation designation = item.candidateDesignationId() != null
+                    ? designations.get(item.candidateDesignationId()) : null;
+            if (item.candidateDesignationId() != null && designation == null) {
+                unassigned.add(new BatchScheduleResultDto.Unassigned(i, name, "Designation not found"));
+                continue;
+            }
+            Long departmentId = designation != null && designation.getDepartment() != null
+                    ? designation.getDepartment().getId() : item.departmentId();
+            List<Long> techs = item.requiredTechnologyIds() == null ? List.of()
+                    : item.requiredTechnologyIds().stream().filter(Objects::nonNull).distinct().sorted().toList();
+            ClassKey key = new ClassKey(item.candidateDesignationId(), departmentId, techs);
+            classes.computeIfAbsent(key, k -> new CandidateClass(k,
+                            matchingService.interviewerScores(k.designationId(), k.departmentId(), k.technologyIds())))
+                    .members().add(i);
+        }
+
+        // ── Positions, bucketed per interviewer-day ───────────────────────────
+        Set<Long> interviewerIds = new HashSet<>();
+        classes.values().forEach(c -> interviewerIds.addAll(c.scores().keySet()));
+        Map<BucketKey, Bucket> buckets = buildBuckets(interviewerIds, from, to, duration, dailyCap);
+
+        // ── Solve: departments in parallel, then department-less classes ──────
+        LocalDate firstDay = from.toLocalDate();
+        Map<Long, List<CandidateClass>> byDepartment = new HashMap<>();
+        List<CandidateClass> unscoped = new ArrayList<>();
+        for (CandidateClass c : classes.values()) {
+            if (c.key().departmentId() != null) {
+                byDepartment.computeIfAbsent(c.key().departmentId(), k -> new ArrayList<>()).add(c);
+            } else {
+                unscoped.add(c);
+            }
+        }
+        Map<Long, List<Bucket>> bucketsByInterviewer = new HashMap<>();
+        for (Bucket b : buckets.values()) {
+            bucketsByInterviewer.computeIfAbsent(b.key().interviewerId(), k -> new ArrayList<>()).add(b);
+        }
+        byDepartment.values().parallelStream().forEach(part -> solve(part, bucketsByInterviewer, firstDay));
+        if (!unscoped.isEmpty()) {
+            solve(unscoped, bucketsByInterviewer, firstDay);
+        }
+        logger.info("Batch schedule solved: {} candidates in {} classes, {} interviewer-days, {} ms",
+                items.size(), classes.size(), buckets.size(), (System.nanoTime() - started) / 1_000_000);
+
+        // ── Turn flows into concrete positions ────────────────────────────────
+        List<Planned> plan = new ArrayList<>();
+        for (CandidateClass c : classes.values()) {
+            List<Integer> members = new ArrayList<>(c.members());
+            members.sort(Comparator.comparing((Integer i) -> !items.get(i).isUrgent()).thenComparing(i -> i));
+            int next = 0;
+            for (Allocation a : c.allocations()) {
+                for (int k = 0; k < a.count(); k++) {
+                    plan.add(new Planned(members.get(next++), a.bucket().take()));
+                }
+            }
+            for (; next < members.size(); next++) {
+                int i = members.get(next);
+                unassigned.add(new BatchScheduleResultDto.Unassigned(i, candidateName(items.get(i), candidates),
+                        "No eligible interviewer with free capacity in the range"));
+            }
+        }
+        unassigned.sort(Comparator.comparingInt(BatchScheduleResultDto.Unassigned::index));
+
+        if (dto.dryRun() || plan.isEmpty()) {
+            return new BatchScheduleResultDto(false, toAssignments(plan, items, candidates, duration, null), unassigned);
+        }
+        List<InterviewRequest> requests = commit(requestedBy, plan, items, candidates, designations, duration);
+        return new BatchScheduleResultDto(true, toAssignments(plan, items, candidates, duration, requests), unassigned);
+    }
+
+    // ── Model ─────────────────────────────────────────────────────────────────
+
+    private Map<BucketKey, Bucket> buildBuckets(Set<Long> interviewerIds, LocalDateTime from, LocalDateTime to,
+                                                Duration duration, int dailyCap) {
+        Map<BucketKey, Bucket> buckets = new LinkedHashMap<>();
+        if (interviewerIds.isEmpty()) return buckets;
+
+        List<AvailabilitySlot> slots = availabilitySlotRepository.findAll(
+                AvailabilitySlotSpecifications.availableOverlapping(null, from, to)
+                        .and(AvailabilitySlotSpecifications.ofInterviewers(interviewerIds)),
+                Sort.by("startDateTime", "id"));
+        for (AvailabilitySlot slot : slots) {
+            LocalDateTime end = slot.getEndDateTime().isAfter(to) ? to : slot.getEndDateTime();
+            for (LocalDateTime t = ceilToGrid(slot.getStartDateTime().isBefore(from) ? from : slot.getStartDateTime());
+                 !t.plus(duration).isAfter(end); t = t.plus(duration)) {
+                BucketKey key = new BucketKey(slot.getInterviewer().getId(), t.toLocalDate());
+                buckets.computeIfAbsent(key, Bucket::new).positions().add(new Position(slot, t));
+            }
+        }
+
+        Map<BucketKey, Integer> booked = new HashMap<>();
+        for (var row : availabilitySlotRepository.findBookedStartsBetween(
+                interviewerIds, from.toLocalDate().atStartOfDay(), to.toLocalDate().plusDays(1).atStartOfDay())) {
+            booked.merge(new BucketKey(row.getInterviewerId(), row.getStartDateTime().toLocalDate()), 1, Integer::sum);
+        }
+        for (Bucket b : buckets.values()) {
+            b.remaining = Math.max(0, Math.min(b.positions().size(), dailyCap - booked.getOrDefault(b.key(), 0)));
+        }
+        return buckets;
+    }
+
+    /** Rounds up to the next {@value #POSITION_GRID_MINUTES}-minute boundary of the day. */
+    static LocalDateTime ceilToGrid(LocalDateTime t) {
+        LocalDateTime minute = t.truncatedTo(ChronoUnit.MINUTES);
+        if (minute.isBefore(t)) minute = minute.plusMinutes(1);
+        int past = minute.getMinute() % POSITION_GRID_MINUTES;
+        return past == 0 ? minute : minute.plusMinutes(POSITION_GRID_MINUTES - past);
+    }
+
+    /**
+     * Min-cost flow for one partition. Touches only the buckets of interviewers
+     * eligible for these classes, which no other concurrently solved partition shares.
+     */
+    private static void solve(List<CandidateClass> classes, Map<Long, List<Bucket>> bucketsByInterviewer,
+                              LocalDate firstDay) {
+        Map<Bucket, Integer> bucketNodes = new LinkedHashMap<>();
+        int edgeEstimate = classes.size();
+        for (CandidateClass c : classes) {
+            for (Long interviewerId : c.scores().keySet()) {
+                for (Bucket b : bucketsByInterviewer.getOrDefault(interviewerId, List.of())) {
+                    if (b.remaining > 0) {
+                        bucketNodes.putIfAbsent(b, 0);
+                        edgeEstimate++;
+                    }
+                }
+            }
+        }
+        if (bucketNodes.isEmpty()) return;
+
+        int source = 0;
+        int sink = 1;
+        int node = 2 + classes.size();
+        for (Map.Entry<Bucket, Integer> e : bucketNodes.entrySet()) {
+            e.setValue(node++);
+        }
+        MinCostFlow flow = new MinCostFlow(node, edgeEstimate + bucketNodes.size());
+
+        Map<Bucket, Integer> sinkEdges = new HashMap<>();
+        bucketNodes.forEach((b, n) -> sinkEdges.put(b, flow.addEdge(n, sink, b.remaining, 0)));
+
+        List<Map<Bucket, Integer>> classEdges = new ArrayList<>(classes.size());
+        for (int ci = 0; ci < classes.size(); ci++) {
+            CandidateClass c = classes.get(ci);
+            int classNode = 2 + ci;
+            flow.addEdge(source, classNode, c.members().size(), 0);
+            Map<Bucket, Integer> edges = new LinkedHashMap<>();
+            for (Map.Entry<Long, Double> s : c.scores().entrySet()) {
+                long scoreCost = Math.round((1.0 - Math.min(1.0, s.getValue())) * COST_SCALE);
+                for (Bucket b : bucketsByInterviewer.getOrDefault(s.getKey(), List.of())) {
+                    Integer bucketNode = bucketNodes.get(b);
+                    if (bucketNode == null) continue;
+                    long dayCost = DAY_COST * ChronoUnit.DAYS.between(firstDay, b.key().day());
+                    edges.put(b, flow.addEdge(classNode, bucketNode, b.remaining, scoreCost + dayCost));
+                }
+            }
+            classEdges.add(edges);
+        }
+
+        flow.solve(source, sink);
+
+        for (int ci = 0; ci < classes.size(); ci++) {
+            for (Map.Entry<Bucket, Integer> e : classEdges.get(ci).entrySet()) {
+                int f = flow.flow(e.getValue());
+                if (f > 0) classes.get(ci).allocations().add(new Allocation(e.getKey(), f));
+            }
+        }
+        sinkEdges.forEach((b, e) -> b.remaining -= flow.flow(e));
+    }
+
+    // ── Commit ────────────────────────────────────────────────────────────────
+
+    private List<InterviewRequest> commit(User requestedBy, List<Planned> plan, List<BatchCandidateDto> items,
+                                          Map<Long, Candidate> candidates, Map<Long, Designation> designations,
+                                          Duration duration) {
+        bookingCoordinator.lockInterviewers(plan.stream()
+                .map(p -> p.position().slot().getInterviewer().getId()).collect(Collectors.toSet()));
+
+        Map<Long, Technology> technologies = technologyRepository.findAllById(items.stream()
+                        .filter(i -> i.requiredTechnologyIds() != null)
+                        .flatMap(i -> i.requiredTechnologyIds().stream())
+                        .filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Technology::getId, t -> t));
+
+        // One batched booking: every source slot is split once around all of its positions
+        Map<Long, List<Planned>> bySlot = new LinkedHashMap<>();
+        for (Planned p : plan) {
+            bySlot.computeIfAbsent(p.position().slot().getId(), k -> new ArrayList<>()).add(p);
+        }
+        Map<Long, List<SlotBookingCoordinator.Window>> windows = new LinkedHashMap<>();
+        bySlot.forEach((slotId, planned) -> windows.put(slotId, planned.stream()
+                .map(p -> new SlotBookingCoordinator.Window(p.position().start(), p.position().start().plus(duration),
+                        "Interview: " + candidateName(items.get(p.index()), candidates)))
+                .toList()));
+        Map<Long, List<AvailabilitySlot>> touched = new LinkedHashMap<>();
+        Map<Long, List<AvailabilitySlot>> bookedBySlot = bookingCoordinator.bookWindows(windows, touched);
+        Map<Planned, AvailabilitySlot> bookedSlots = new HashMap<>();
+        bySlot.forEach((slotId, planned) -> {
+            for (int i = 0; i < planned.size(); i++) {
+                bookedSlots.put(planned.get(i), bookedBySlot.get(slotId).get(i));
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InterviewRequest> requests = new ArrayList<>(plan.size());
+        for (Planned p : plan) {
+            BatchCandidateDto item = items.get(p.index());
+            AvailabilitySlot booked = bookedSlots.get(p);
+            InterviewRequest request = InterviewRequest.builder()
+                    .candidateName(candidateName(item, candidates))
+                    .candidate(item.candidateId() != null ? candidates.get(item.candidateId()) : null)
+                    .candidateDesignation(item.candidateDesignationId() != null
+                            ? designations.get(item.candidateDesignationId()) : null)
+                    .preferredStartDateTime(booked.getStartDateTime())
+                    .preferredEndDateTime(booked.getEndDateTime())
+                    .requestedBy(requestedBy)
+                    .assignedInterviewer(booked.getInterviewer())
+                    .availabilitySlot(booked)
+                    .status(RequestStatus.ACCEPTED)
+                    .respondedAt(now)
+                    .responseNotes("Auto-accepted by batch scheduling")
+                    .isUrgent(item.isUrgent())
+                    .notes(item.notes())
+                    .build();
+            if (item.requiredTechnologyIds() != null) {
+                item.requiredTechnologyIds().stream().map(technologies::get).filter(Objects::nonNull)
+                        .forEach(request.getRequiredTechnologies()::add);
+            }
+            requests.add(request);
+        }
+        requests = interviewRequestRepository.saveAll(requests);
+
+        List<InterviewSchedule> schedules = new ArrayList<>(requests.size());
+        for (InterviewRequest request : requests) {
+            schedules.add(InterviewSchedule.builder()
+                    .request(request)
+                    .interviewer(request.getAssignedInterviewer())
+                    .startDateTime(request.getPreferredStartDateTime())
+                    .endDateTime(request.getPreferredEndDateTime())
+                    .status(InterviewStatus.SCHEDULED)
+                    .build());
+        }
+        schedules = interviewScheduleRepository.saveAll(schedules);
+        eventPublisher.publishEvent(InterviewScheduleChangedEvent.of(
+                schedules.stream().map(InterviewSchedule::getId).toList()));
+        for (int i = 0; i < plan.size(); i++) {
+            bookedSlots.get(plan.get(i)).setInterviewSchedule(schedules.get(i));
+        }
+
+        List<Candidate> scheduled = new ArrayList<>();
+        for (Planned p : plan) {
+            Long candidateId = items.get(p.index()).candidateId();
+            if (candidateId != null) {
+                Candidate candidate = candidates.get(candidateId);
+                candidate.setStatus(CandidateStatus.SCHEDULED);
+                scheduled.add(candidate);
+            }
+        }
+        candidateRepository.saveAll(scheduled);
+
+        touched.forEach((interviewerId, slots) -> eventPublisher.publishEvent(AvailabilityChangedEvent.of(
+                slots.get(0).getInterviewer(),
+                slots.size() > 1 ? SlotChangeType.SPLIT : SlotChangeType.BOOKED, slots)));
+
+        try {
+            notificationService.sendInterviewScheduledNotifications(requests);
+        } catch (Exception e) {
+            logger.warn("Failed to send batch scheduled notifications: {}", e.getMessage());
+        }
+        logger.info("Batch schedule committed: {} interviews for {} interviewers", requests.size(), touched.size());
+        return requests;
+    }
+
+    private static List<BatchScheduleResultDto.Assignment> toAssignments(List<Planned> plan,
+                                                                         List<BatchCandidateDto> items,
+                                                                         Map<Long, Candidate> candidates,
+                                                                         Duration duration,
+                                                                         List<InterviewRequest> requests) {
+        List<BatchScheduleResultDto.Assignment> result = new ArrayList<>(plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            Planned p = plan.get(i);
+            User interviewer = p.position().slot().getInterviewer();
+            result.add(new BatchScheduleResultDto.Assignment(
+                    p.index(), candidateName(items.get(p.index()), candidates),
+                    interviewer.getId(), interviewer.getFullName(), p.position().slot().getId(),
+                    p.position().start(), p.position().start().plus(duration),
+                    requests != null ? requests.get(i).getId() : null));
+        }
+        result.sort(Comparator.comparingInt(BatchScheduleResultDto.Assignment::index));
+        return result;
+    }
+
+    private static String candidateName(BatchCandidateDto item, Map<Long, Candidate> candidates) {
+        if (item.candidateName() != null) return item.candidateName();
+        Candidate candidate = item.candidateId() != null ? candidates.get(item.candidateId()) : null;
+        return candidate != null ? candidate.getName() : null;
+    }
+
+    private record ClassKey(Long designationId, Long departmentId, List<Long> technologyIds) {}
+
+    private record CandidateClass(ClassKey key, Map<Long, Double> scores,
+                                  List<Integer> members, List<Allocation> allocations) {
+        CandidateClass(ClassKey key, Map<Long, Double> scores) {
+            this(key, scores, new ArrayList<>(), new ArrayList<>());
+        }
+    }
+
+    private record BucketKey(Long interviewerId, LocalDate day) {}
+
+    private record Position(AvailabilitySlot slot, LocalDateTime start) {}
+
+    private record Allocation(Bucket bucket, int count) {}
+
+    private record Planned(int index, Position position) {}
+
+    /** One interviewer-day: its free positions in time order and the capacity still open. Identity-keyed. */
+    private static final class Bucket {
+        private final BucketKey key;
+        private final List<Position> positions = new ArrayList<>();
+        private int remaining;
+        private int taken;
+
+        Bucket(BucketKey key) {
+            this.key = key;
+        }
+
+        BucketKey key() {
+            return key;
+        }
+
+        List<Position> positions() {
+            return positions;
+        }
+
+        Position take() {
+            return positions.get(taken++);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.nemal.service;
+
+import com.nemal.entity.Designation;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.DesignationInterviewRuleRepository;
+import com.nemal.repository.DesignationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Which interviewer designations may interview a candidate of a given
+ * designation, precomputed as one bitset row per candidate designation over
+ * designation ordinals.
+ *
+ * A row starts from the HR calendar's seniority rule — same department,
+ * strictly higher tier, or same tier and strictly higher level (lower order
+ * = more senior) — and then applies the explicit DesignationInterviewRule
+ * entries on top: {@code allowed = true} grants the pair, {@code false}
+ * revokes it. Asking "may X interview Y" is then a single bit test, and
+ * callers that scan many interviewers test each one's designation bit
+ * instead of re-deriving tier/level ordering per slot.
+ *
+ * Designations, tiers and rules are small and change rarely, so the whole
+ * matrix is rebuilt (one query each for designations and rules) after every
+ * committed org-structure change and swapped in as an immutable snapshot.
+ */
+@Component
+public class DesignationEligibilityMatrix {
+
+    private static final Logger logger = LoggerFactory.getLogger(DesignationEligibilityMatrix.class);
+
+    private final DesignationRepository designationRepository;
+    private final DesignationInterviewRuleRepository ruleRepository;
+
+    private final Object writeLock = new Object();
+
+    /** Null until the first successful build; {@link #current()} builds on demand. */
+    private volatile Matrix matrix;
+
+    public DesignationEligibilityMatrix(DesignationRepository designationRepository,
+                                        DesignationInterviewRuleRepository ruleRepository) {
+        this.designationRepository = designationRepository;
+        this.ruleRepository = ruleRepository;
+    }
+
+    // ── Lifecycle / refresh ───────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        rebuildQuietly();
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (writeLock) {
+            List<Designation> designations = designationRepository.findAllWithTierAndDepartment();
+            List<DesignationInterviewRuleRepository.RuleEntry> rules = ruleRepository.findAllEntries();
+            matrix = Matrix.of(designations, rules);
+            logger.info("Designation eligibility matrix built: {} designations, {} explicit rules",
+                    designations.size(), rules.size());
+        }
+    }
+
+    @Order(AvailabilityVersionTracker.REFRESH_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrgStructureChanged(OrgStructureChangedEvent event) {
+        rebuildQuietly();
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            matrix = null;
+            logger.warn("Designation eligibility matrix rebuild failed, next lookup will retry: {}",
+                    e.getMessage());
+        }
+    }
+
+    private Matrix current() {
+        Matrix m = matrix;
+        if (m == null) {
+            rebuild();
+            m = matrix;
+        }
+        return m;
+    }
+
+    // ── Query ─────────────────────────────────────────────────────────────────
+
+    /** True if someone holding {@code interviewerDesignationId} may interview a {@code candidateDesignationId} candidate. */
+    public boolean canInterview(Long interviewerDesignationId, Long candidateDesignationId) {
+        if (interviewerDesignationId == null || candidateDesignationId == null) return false;
+        Matrix m = current();
+        Integer row = m.ordinalOf().get(candidateDesignationId);
+        Integer col = m.ordinalOf().get(interviewerDesignationId);
+        return row != null && col != null && m.rows()[row].get(col);
+    }
+
+    /** Ids of every designation whose holders may interview the candidate; empty for an unknown designation. */
+    public Set<Long> eligibleInterviewerDesignations(Long candidateDesignationId) {
+        if (candidateDesignationId == null) return Set.of();
+        Matrix m = current();
+        Integer row = m.ordinalOf().get(candidateDesignationId);
+        if (row == null) return Set.of();
+        BitSet bits = m.rows()[row];
+        Set<Long> ids = new HashSet<>(bits.cardinality() * 2);
+        for (int col = bits.nextSetBit(0); col >= 0; col = bits.nextSetBit(col + 1)) {
+            ids.add(m.designationIds()[col]);
+        }
+        return ids;
+    }
+
+    // ── Building blocks ───────────────────────────────────────────────────────
+
+    private record Matrix(long[] designationIds, Map<Long, Integer> ordinalOf, BitSet[] rows) {
+
+        static Matrix of(List<Designation> designations, List<DesignationInterviewRuleRepository.RuleEntry> rules) {
+            int n = designations.size();
+            long[] ids = new long[n];
+            Long[] departments = new Long[n];
+            Integer[] tiers = new Integer[n];
+            Integer[] levels = new Integer[n];
+            Map<Long, Integer> ordinalOf = new HashMap<>();
+            for (int ord = 0; ord < n; ord++) {
+                Designation d = designations.get(ord);
+                ids[ord] = d.getId();
+                departments[ord] = d.getDepartment() != null ? d.getDepartment().getId()
+                        : d.getTier() != null && d.getTier().getDepartment() != null
+                                ? d.getTier().getDepartment().getId() : null;
+                tiers[ord] = d.getTier() != null ? d.getTier().getTierOrder() : null;
+                levels[ord] = d.getLevelOrder();
+                ordinalOf.put(d.getId(), ord);
+            }
+
+            BitSet[] rows = new BitSet[n];
+            for (int c = 0; c < n; c++) {
+                BitSet row = new BitSet(n);
+                for (int i = 0; i < n; i++) {
+                    if (seniorEnough(departments[c], tiers[c], levels[c], departments[i], tiers[i], levels[i])) {
+                        row.set(i);
+                    }
+                }
+                rows[c] = row;
+            }
+
+            for (DesignationInterviewRuleRepository.RuleEntry rule : rules) {
+                Integer c = ordinalOf.get(rule.getCandidateDesignationId());
+                Integer i = ordinalOf.get(rule.getInterviewerDesignationId());
+                if (c == null || i == null) continue;
+                rows[c].set(i, !Boolean.FALSE.equals(rule.getAllowed()));
+            }
+            return new Matrix(ids, Map.copyOf(ordinalOf), rows);
+        }
+
+        /**
+         * The HR calendar rule: same department, then strictly higher tier or
+         * same tier and strictly higher level. A candidate designation without
+         * a tier compares levels only; an interviewer needs a level, and a
+         * tier whenever the candidate has one.
+         */
+        private static boolean seniorEnough(Long candidateDept, Integer candidateTier, Integer candidateLevel,
+                                            Long interviewerDept, Integer interviewerTier, Integer interviewerLevel) {
+            if (candidateDept == null || !candidateDept.equals(interviewerDept)) return false;
+            if (candidateLevel == null || interviewerLevel == null) return false;
+            if (candidateTier == null) return interviewerLevel < candidateLevel;
+            if (interviewerTier == null) return false;
+            return interviewerTier < candidateTier
+                    || (interviewerTier.equals(candidateTier) && interviewerLevel < candidateLevel);
+        }
+    }
+}
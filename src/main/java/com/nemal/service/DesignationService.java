@@ -2,13 +2,19 @@ package com.nemal.service;
 
 import com.nemal.dto.CreateDesignationDto;
 import com.nemal.dto.DesignationDto;
+import com.nemal.dto.DesignationInterviewRuleDto;
+import com.nemal.dto.SetDesignationInterviewRuleDto;
 import com.nemal.dto.UpdateDesignationDto;
 import com.nemal.entity.Department;
 import com.nemal.entity.Designation;
+import com.nemal.entity.DesignationInterviewRule;
 import com.nemal.entity.Tier;
+import com.nemal.event.OrgStructureChangedEvent;
 import com.nemal.repository.DepartmentRepository;
+import com.nemal.repository.DesignationInterviewRuleRepository;
 import com.nemal.repository.DesignationRepository;
 import com.nemal.repository.TierRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,13 +27,19 @@ public class DesignationService {
     private final DesignationRepository designationRepository;
     private final DepartmentRepository departmentRepository;
     private final TierRepository tierRepository;
+    private final DesignationInterviewRuleRepository interviewRuleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DesignationService(DesignationRepository designationRepository,
                               DepartmentRepository departmentRepository,
-                              TierRepository tierRepository) {
+                              TierRepository tierRepository,
+                              DesignationInterviewRuleRepository interviewRuleRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.designationRepository = designationRepository;
         this.departmentRepository = departmentRepository;
         this.tierRepository = tierRepository;
+        this.interviewRuleRepository = interviewRuleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<DesignationDto> getAllDesignations() {
@@ -109,6 +121,7 @@ public class DesignationService {
                 .build();
 
         designation = designationRepository.save(designation);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
         return DesignationDto.from(designation);
     }
 
@@ -176,6 +189,7 @@ public class DesignationService {
         }
 
         designation = designationRepository.save(designation);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
         return DesignationDto.from(designation);
     }
 
@@ -187,5 +201,45 @@ public class DesignationService {
         // Soft delete - set inactive
         designation.setActive(false);
         designationRepository.save(designation);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
     }
-}
\ No newline at end of file
+
+    // ── Interview rules (explicit allow / deny on top of tier/level) ──────────
+
+    public List<DesignationInterviewRuleDto> getInterviewRules(Long candidateDesignationId) {
+        return interviewRuleRepository.findByCandidateDesignationId(candidateDesignationId).stream()
+                .map(DesignationInterviewRuleDto::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public DesignationInterviewRuleDto setInterviewRule(SetDesignationInterviewRuleDto dto) {
+        if (dto.interviewerDesignationId() == null || dto.candidateDesignationId() == null) {
+            throw new IllegalArgumentException("Both interviewer and candidate designations are required");
+        }
+        Designation interviewer = designationRepository.findById(dto.interviewerDesignationId())
+                .orElseThrow(() -> new RuntimeException("Interviewer designation not found"));
+        Designation candidate = designationRepository.findById(dto.candidateDesignationId())
+                .orElseThrow(() -> new RuntimeException("Candidate designation not found"));
+
+        DesignationInterviewRule rule = interviewRuleRepository
+                .findByPair(interviewer.getId(), candidate.getId())
+                .orElseGet(() -> DesignationInterviewRule.builder()
+                        .interviewerDesignation(interviewer)
+                        .candidateDesignation(candidate)
+                        .build());
+        rule.setAllowed(dto.allowed() == null || dto.allowed());
+
+        rule = interviewRuleRepository.save(rule);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
+        return DesignationInterviewRuleDto.from(rule);
+    }
+
+    @Transactional
+    public void deleteInterviewRule(Long ruleId) {
+        DesignationInterviewRule rule = interviewRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Interview rule not found"));
+        interviewRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
+    }
+}
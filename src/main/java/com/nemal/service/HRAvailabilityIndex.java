@@ -0,0 +1,411 @@
+package com.nemal.service;
+
+import com.nemal.dto.AvailabilityFilterDto;
+import com.nemal.dto.InterviewerAvailabilityDto;
+import com.nemal.dto.InterviewerProfileSnapshot;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.AvailabilitySlotRepository;
+import com.nemal.repository.AvailabilitySlotSpecifications;
+import com.nemal.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Warm, in-memory copy of the HR calendar (AVAILABLE + BOOKED active slots
+ * from the lookback horizon onwards), so /api/hr/availability/filter can be
+ * answered without touching Postgres.
+ *
+ * Layout:
+ *   • one entry per interviewer holding its profile facts and its slots,
+ *     ordered by (startDateTime, id). An interviewer's active slots never
+ *     overlap — conflict checks and split/merge keep them disjoint — so a
+ *     start-ordered map is a complete interval index: a range lookup is a
+ *     {@code subMap} on the start key plus an end-bound check.
+ *   • department, designation and tier-order bitsets over interviewer
+ *     ordinals, plus InterviewerTechnologyIndex for technologies, so the
+ *     filter narrows the interviewer set before any slot is visited.
+ *
+ * The whole structure is an immutable {@link Snapshot} swapped under a write
+ * lock (copy-on-write), so readers never block. It is rebuilt on startup and
+ * refreshed per interviewer after each committed slot or profile change.
+ */
+@Component
+public class HRAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HRAvailabilityIndex.class);
+
+    private static final Comparator<InterviewerAvailabilityDto> BY_START =
+            Comparator.comparing(InterviewerAvailabilityDto::startDateTime)
+                    .thenComparing(InterviewerAvailabilityDto::slotId);
+
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final UserRepository userRepository;
+    private final InterviewerProfileCache profileCache;
+    private final DesignationEligibilityMatrix eligibilityMatrix;
+    private final InterviewerTechnologyIndex technologyIndex;
+
+    /** Serialises rebuilds/refreshes (DB read + swap) so the last writer always read last. */
+    private final Object writeLock = new Object();
+
+    /** Null until the first successful rebuild — callers fall back to the DB path. */
+    private volatile Snapshot snapshot;
+
+    public HRAvailabilityIndex(AvailabilitySlotRepository availabilitySlotRepository,
+                               UserRepository userRepository,
+                               InterviewerProfileCache profileCache,
+                               DesignationEligibilityMatrix eligibilityMatrix,
+                               InterviewerTechnologyIndex technologyIndex) {
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.userRepository = userRepository;
+        this.profileCache = profileCache;
+        this.eligibilityMatrix = eligibilityMatrix;
+        this.technologyIndex = technologyIndex;
+    }
+
+    // ── Lifecycle / refresh ───────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        rebuildQuietly();
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (writeLock) {
+            long started = System.nanoTime();
+            LocalDateTime horizon = LocalDateTime.now().minusDays(HRAvailabilityService.HR_LOOKBACK_DAYS);
+
+            Map<Long, List<AvailabilitySlot>> byInterviewer = new LinkedHashMap<>();
+            Map<Long, User> interviewers = new HashMap<>();
+            for (AvailabilitySlot slot : availabilitySlotRepository.findForHrCalendar(
+                    AvailabilitySlotSpecifications.forHrCalendar(null, horizon))) {
+                if (slot.getInterviewer() == null) continue;
+                Long id = slot.getInterviewer().getId();
+                interviewers.putIfAbsent(id, slot.getInterviewer());
+                byInterviewer.computeIfAbsent(id, k -> new ArrayList<>()).add(slot);
+            }
+
+            List<Entry> entries = new ArrayList<>(interviewers.size());
+            for (Map.Entry<Long, List<AvailabilitySlot>> e : byInterviewer.entrySet()) {
+                entries.add(toEntry(entries.size(), interviewers.get(e.getKey()), e.getValue()));
+            }
+
+            snapshot = Snapshot.of(horizon, entries);
+            logger.info("HR availability index built: {} interviewers, {} slots in {} ms",
+                    entries.size(),
+                    entries.stream().mapToInt(en -> en.slots().size()).sum(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @Order(AvailabilityVersionTracker.REFRESH_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        refreshInterviewer(event.interviewerId());
+    }
+
+    @Order(AvailabilityVersionTracker.REFRESH_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onInterviewerProfileChanged(InterviewerProfileChangedEvent event) {
+        refreshInterviewer(event.interviewerId());
+    }
+
+    @Order(AvailabilityVersionTracker.REFRESH_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrgStructureChanged(OrgStructureChangedEvent event) {
+        if (snapshot != null) {
+            rebuildQuietly();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            snapshot = null;
+            logger.warn("HR availability index rebuild failed, HR calendar will query the DB: {}",
+                    e.getMessage());
+        }
+    }
+
+    private void refreshInterviewer(Long interviewerId) {
+        if (interviewerId == null || snapshot == null) return;
+        try {
+            synchronized (writeLock) {
+                Snapshot current = snapshot;
+                User interviewer = userRepository.findByIdWithProfile(interviewerId).orElse(null);
+                List<AvailabilitySlot> slots = interviewer == null ? List.of()
+                        : availabilitySlotRepository.findActiveSlotsForHRByInterviewer(
+                                interviewerId, current.horizon());
+
+                List<Entry> entries = new ArrayList<>(current.entries());
+                Entry existing = current.byInterviewerId().get(interviewerId);
+                if (existing != null) {
+                    entries.set(existing.ordinal(), interviewer == null
+                            ? toEntry(existing.ordinal(), existing.interviewerId())
+                            : toEntry(existing.ordinal(), interviewer, slots));
+                } else if (interviewer != null && !slots.isEmpty()) {
+                    entries.add(toEntry(entries.size(), interviewer, slots));
+                } else {
+                    return;
+                }
+                snapshot = Snapshot.of(current.horizon(), entries);
+            }
+        } catch (Exception e) {
+            // A failed refresh must never fail the caller's already-committed write.
+            // Drop the index so reads fall back to the DB until the next rebuild.
+            logger.error("Failed to refresh HR availability index for interviewer {}, disabling index: {}",
+                    interviewerId, e.getMessage(), e);
+            snapshot = null;
+        }
+    }
+
+    // ── Query ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Answers an HR calendar request from memory, applying exactly the rules of
+     * the DB path in HRAvailabilityService (BOOKED slots bypass technology,
+     * experience, designation and tier filters; department applies to everything).
+     *
+     * @return empty when the index is cold or the requested range starts before
+     *         the indexed horizon — the caller must then query the DB.
+     */
+    public Optional<List<InterviewerAvailabilityDto>> query(AvailabilityFilterDto filter, LocalDateTime from) {
+        Snapshot s = snapshot;
+        if (s == null) return Optional.empty();
+
+        boolean explicitRange = filter != null
+                && filter.startDateTime() != null && filter.endDateTime() != null;
+        LocalDateTime rangeStart = explicitRange ? filter.startDateTime() : from;
+        LocalDateTime rangeEnd   = explicitRange ? filter.endDateTime() : null;
+        if (rangeStart.isBefore(s.horizon())) return Optional.empty();
+
+        BitSet scope = new BitSet(s.entries().size());
+        if (filter != null && filter.departmentIds() != null && !filter.departmentIds().isEmpty()) {
+            for (Long deptId : filter.departmentIds()) {
+                BitSet bits = s.departmentBits().get(deptId);
+                if (bits != null) scope.or(bits);
+            }
+        } else {
+            scope.set(0, s.entries().size());
+        }
+
+        BitSet eligible = filter == null ? scope : eligibleForAvailable(s, filter, scope);
+
+        List<InterviewerAvailabilityDto> result = new ArrayList<>();
+        for (int ord = scope.nextSetBit(0); ord >= 0; ord = scope.nextSetBit(ord + 1)) {
+            boolean availableAllowed = eligible.get(ord);
+            NavigableMap<SlotKey, InterviewerAvailabilityDto> slots = s.entries().get(ord).slots();
+            NavigableMap<SlotKey, InterviewerAvailabilityDto> window = rangeEnd == null
+                    ? slots.tailMap(SlotKey.lowerBound(rangeStart), true)
+                    : slots.subMap(SlotKey.lowerBound(rangeStart), true, SlotKey.upperBound(rangeEnd), true);
+            for (InterviewerAvailabilityDto dto : window.values()) {
+                if (rangeEnd != null && dto.endDateTime().isAfter(rangeEnd)) continue;
+                if (availableAllowed || SlotStatus.BOOKED.name().equals(dto.status())) {
+                    result.add(dto);
+                }
+            }
+        }
+        result.sort(BY_START);
+        return Optional.of(result);
+    }
+
+    /**
+     * AVAILABLE slots of the given interviewers overlapping [from, to), keyed by
+     * interviewer id and start-ordered.
+     *
+     * @return empty when the index is cold or {@code from} predates the horizon
+     */
+    public Optional<Map<Long, List<InterviewerAvailabilityDto>>> availableSlots(Collection<Long> interviewerIds,
+                                                                               LocalDateTime from,
+                                                                               LocalDateTime to) {
+        Snapshot s = snapshot;
+        if (s == null || from.isBefore(s.horizon())) return Optional.empty();
+
+        Map<Long, List<InterviewerAvailabilityDto>> result = new HashMap<>();
+        for (Long interviewerId : interviewerIds) {
+            Entry entry = s.byInterviewerId().get(interviewerId);
+            if (entry == null) continue;
+
+            // Slots are disjoint, so at most the one just before {@code from} can reach into the range
+            NavigableMap<SlotKey, InterviewerAvailabilityDto> slots = entry.slots();
+            SlotKey first = Optional.ofNullable(slots.lowerKey(SlotKey.lowerBound(from)))
+                    .orElse(SlotKey.lowerBound(from));
+            List<InterviewerAvailabilityDto> available = new ArrayList<>();
+            for (InterviewerAvailabilityDto dto : slots.subMap(first, true, SlotKey.lowerBound(to), false).values()) {
+                if (dto.endDateTime().isAfter(from) && SlotStatus.AVAILABLE.name().equals(dto.status())) {
+                    available.add(dto);
+                }
+            }
+            if (!available.isEmpty()) result.put(interviewerId, available);
+        }
+        return Optional.of(result);
+    }
+
+    /** Interviewers (within {@code scope}) whose AVAILABLE slots pass the technology, experience, designation and tier filters. */
+    private BitSet eligibleForAvailable(Snapshot s, AvailabilityFilterDto filter, BitSet scope) {
+        BitSet eligible = (BitSet) scope.clone();
+
+        if (filter.technologyIds() != null && !filter.technologyIds().isEmpty()) {
+            long[] mask = technologyIndex.mask(filter.technologyIds());
+            for (int ord = eligible.nextSetBit(0); ord >= 0; ord = eligible.nextSetBit(ord + 1)) {
+                if (!technologyIndex.hasAny(s.entries().get(ord).interviewerId(), mask)) eligible.clear(ord);
+            }
+        }
+
+        if (filter.minYearsOfExperience() != null) {
+            int min = filter.minYearsOfExperience();
+            for (int ord = eligible.nextSetBit(0); ord >= 0; ord = eligible.nextSetBit(ord + 1)) {
+                Integer years = s.entries().get(ord).yearsOfExperience();
+                if (years == null || years < min) eligible.clear(ord);
+            }
+        }
+
+        if (filter.candidateDesignationId() != null) {
+            // One bitset per eligible designation, OR-ed: a designation-bit test per interviewer
+            BitSet designationPass = new BitSet(s.entries().size());
+            for (Long designationId : eligibilityMatrix.eligibleInterviewerDesignations(filter.candidateDesignationId())) {
+                BitSet bits = s.designationBits().get(designationId);
+                if (bits != null) designationPass.or(bits);
+            }
+            eligible.and(designationPass);
+        }
+
+        Long designationDept = filter.departmentIdForDesignationFilter();
+        if (designationDept != null
+                && (filter.minTierId() != null || filter.minDesignationLevelInDepartment() != null)) {
+            BitSet deptBits = s.departmentBits().getOrDefault(designationDept, new BitSet());
+            eligible.and(deptBits);
+
+            int candidateLevel = filter.minDesignationLevelInDepartment() != null
+                    ? filter.minDesignationLevelInDepartment().intValue()
+                    : Integer.MAX_VALUE;
+
+            if (filter.minTierId() != null) {
+                // Strictly higher tier (lower order) passes outright; same tier needs a
+                // strictly higher level. Anything else — including no tier — fails.
+                int candidateTier = filter.minTierId().intValue();
+                BitSet tierPass = new BitSet(s.entries().size());
+                for (Map.Entry<Integer, BitSet> t : s.tierBits().headMap(candidateTier, true).entrySet()) {
+                    if (t.getKey() < candidateTier) {
+                        tierPass.or(t.getValue());
+                    } else {
+                        BitSet sameTier = t.getValue();
+                        for (int ord = sameTier.nextSetBit(0); ord >= 0; ord = sameTier.nextSetBit(ord + 1)) {
+                            Integer level = s.entries().get(ord).levelOrder();
+                            if (level != null && level < candidateLevel) tierPass.set(ord);
+                        }
+                    }
+                }
+                eligible.and(tierPass);
+            } else {
+                for (int ord = eligible.nextSetBit(0); ord >= 0; ord = eligible.nextSetBit(ord + 1)) {
+                    Integer level = s.entries().get(ord).levelOrder();
+                    if (level == null || level >= candidateLevel) eligible.clear(ord);
+                }
+            }
+        }
+        return eligible;
+    }
+
+    // ── Building blocks ───────────────────────────────────────────────────────
+
+    private Entry toEntry(int ordinal, User interviewer, List<AvailabilitySlot> slots) {
+        // Loaded fresh by the caller, so replace whatever the shared cache holds
+        InterviewerProfileSnapshot profile = profileCache.refresh(interviewer);
+
+        TreeMap<SlotKey, InterviewerAvailabilityDto> indexed = new TreeMap<>();
+        for (AvailabilitySlot slot : slots) {
+            InterviewerAvailabilityDto dto = InterviewerAvailabilityDto.from(slot, profile);
+            indexed.put(new SlotKey(dto.startDateTime(), dto.slotId()), dto);
+        }
+
+        return new Entry(ordinal, interviewer.getId(),
+                profile.departmentId(),
+                profile.designationId(),
+                profile.yearsOfExperience(),
+                profile.levelOrder() != null ? profile.tierOrder() : null,
+                profile.levelOrder(),
+                Collections.unmodifiableNavigableMap(indexed));
+    }
+
+    /** Placeholder for an interviewer that no longer exists — keeps ordinals stable. */
+    private static Entry toEntry(int ordinal, Long interviewerId) {
+        return new Entry(ordinal, interviewerId, null, null, null, null, null,
+                Collections.emptyNavigableMap());
+    }
+
+    private record SlotKey(LocalDateTime start, long id) implements Comparable<SlotKey> {
+        static SlotKey lowerBound(LocalDateTime t) { return new SlotKey(t, Long.MIN_VALUE); }
+        static SlotKey upperBound(LocalDateTime t) { return new SlotKey(t, Long.MAX_VALUE); }
+
+        @Override
+        public int compareTo(SlotKey o) {
+            int c = start.compareTo(o.start);
+            return c != 0 ? c : Long.compare(id, o.id);
+        }
+    }
+
+    private record Entry(
+            int ordinal,
+            Long interviewerId,
+            Long departmentId,
+            Long designationId,
+            Integer yearsOfExperience,
+            Integer tierOrder,   // null unless both tier and level are set (the tier rule needs both)
+            Integer levelOrder,
+            NavigableMap<SlotKey, InterviewerAvailabilityDto> slots
+    ) {}
+
+    private record Snapshot(
+            LocalDateTime horizon,
+            List<Entry> entries,
+            Map<Long, Entry> byInterviewerId,
+            Map<Long, BitSet> departmentBits,
+            Map<Long, BitSet> designationBits,
+            NavigableMap<Integer, BitSet> tierBits
+    ) {
+        static Snapshot of(LocalDateTime horizon, List<Entry> entries) {
+            Map<Long, Entry> byId = new HashMap<>();
+            Map<Long, BitSet> departments = new HashMap<>();
+            Map<Long, BitSet> designations = new HashMap<>();
+            TreeMap<Integer, BitSet> tiers = new TreeMap<>();
+
+            for (Entry e : entries) {
+                byId.put(e.interviewerId(), e);
+                if (e.departmentId() != null) {
+                    departments.computeIfAbsent(e.departmentId(), k -> new BitSet()).set(e.ordinal());
+                }
+                if (e.designationId() != null) {
+                    designations.computeIfAbsent(e.designationId(), k -> new BitSet()).set(e.ordinal());
+                }
+                if (e.tierOrder() != null) {
+                    tiers.computeIfAbsent(e.tierOrder(), k -> new BitSet()).set(e.ordinal());
+                }
+            }
+            return new Snapshot(horizon, List.copyOf(entries), Map.copyOf(byId),
+                    Map.copyOf(departments), Map.copyOf(designations),
+                    Collections.unmodifiableNavigableMap(tiers));
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.nemal.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nemal.dto.AvailabilityCursor;
 import com.nemal.dto.AvailabilityFilterDto;
+import com.nemal.dto.AvailabilityPageDto;
 import com.nemal.dto.InterviewerAvailabilityDto;
 import com.nemal.entity.AvailabilitySlot;
-import com.nemal.entity.Designation;
-import com.nemal.entity.Tier;
 import com.nemal.repository.AvailabilitySlotRepository;
+import com.nemal.repository.AvailabilitySlotSpecifications;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class HRAvailabilityService {
@@ -28,15 +34,36 @@ public class HRAvailabilityService {
      * How far back (in days) the HR calendar shows past slots.
      * 30 days keeps recent booked/completed interviews visible for audit.
      */
-    private static final int HR_LOOKBACK_DAYS = 30;
+    static final int HR_LOOKBACK_DAYS = 30;
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * While streaming, the persistence context is cleared every this many rows
+     * so memory stays flat however large the calendar is.
+     */
+    private static final int STREAM_CLEAR_INTERVAL = 500;
 
     private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final HRAvailabilityIndex availabilityIndex;
+    private final InterviewerProfileCache profileCache;
+    private final DesignationEligibilityMatrix eligibilityMatrix;
+    private final ObjectWriter ndjsonWriter;
 
     @PersistenceContext
     private EntityManager entityManager;
 
-    public HRAvailabilityService(AvailabilitySlotRepository availabilitySlotRepository) {
+    public HRAvailabilityService(AvailabilitySlotRepository availabilitySlotRepository,
+                                 HRAvailabilityIndex availabilityIndex,
+                                 InterviewerProfileCache profileCache,
+                                 DesignationEligibilityMatrix eligibilityMatrix,
+                                 ObjectMapper objectMapper) {
         this.availabilitySlotRepository = availabilitySlotRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.profileCache = profileCache;
+        this.eligibilityMatrix = eligibilityMatrix;
+        this.ndjsonWriter = objectMapper.writerFor(InterviewerAvailabilityDto.class);
     }
 
     @Transactional
@@ -47,8 +74,17 @@ public class HRAvailabilityService {
             logger.info("=== HR AVAILABILITY FILTER REQUEST ===");
             logger.info("Filter: {}, lookback from: {}", filter, from);
 
+            // Fast path: warm in-memory index. Falls through to the DB when the
+            // index is cold or the requested range predates what it holds.
+            var indexed = availabilityIndex.query(filter, from);
+            if (indexed.isPresent()) {
+                logger.info("Total slots (available + booked) from index: {}", indexed.get().size());
+                return indexed.get();
+            }
+
             List<AvailabilitySlot> slots = (filter == null)
-                    ? availabilitySlotRepository.findAllActiveSlotsForHR(from)
+                    ? availabilitySlotRepository.findForHrCalendar(
+                            AvailabilitySlotSpecifications.forHrCalendar(null, from))
                     : filterSlots(filter, from);
 
             logger.info("Total slots (available + booked): {}", slots.size());
@@ -56,7 +92,7 @@ public class HRAvailabilityService {
             List<InterviewerAvailabilityDto> result = new ArrayList<>();
             for (AvailabilitySlot slot : slots) {
                 try {
-                    result.add(InterviewerAvailabilityDto.from(slot));
+                    result.add(toDto(slot));
                 } catch (Exception e) {
                     logger.error("Error converting slot {} to DTO: {}", slot.getId(), e.getMessage(), e);
                 }
@@ -69,168 +105,95 @@ public class HRAvailabilityService {
         }
     }
 
-    private List<AvailabilitySlot> filterSlots(AvailabilityFilterDto filter, LocalDateTime from) {
-        List<AvailabilitySlot> slots;
+    /**
+     * One keyset page of the HR calendar, ordered by (startDateTime, slotId).
+     * Pass the previous page's {@code nextCursor} to continue; null starts at the top.
+     * Pages stay stable while slots are created or booked in between requests.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityPageDto getAvailabilityPage(AvailabilityFilterDto filter, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        LocalDateTime from = LocalDateTime.now().minusDays(HR_LOOKBACK_DAYS);
+
+        Specification<AvailabilitySlot> spec = calendarSpec(filter, from);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(AvailabilitySlotSpecifications.after(AvailabilityCursor.decode(cursor)));
+        }
 
-        try {
-            // ── Step 1: date range ────────────────────────────────────────────
-            if (filter.startDateTime() != null && filter.endDateTime() != null) {
-                logger.info("Filtering by explicit date range: {} to {}",
-                        filter.startDateTime(), filter.endDateTime());
-                slots = availabilitySlotRepository.findAllActiveSlotsForHRByDateRange(
-                        filter.startDateTime(), filter.endDateTime());
-            } else {
-                slots = availabilitySlotRepository.findAllActiveSlotsForHR(from);
-            }
-            logger.info("Step 1 – initial slots: {}", slots.size());
-
-            // ── Step 2: department ────────────────────────────────────────────
-            if (filter.departmentIds() != null && !filter.departmentIds().isEmpty()) {
-                slots = slots.stream()
-                        .filter(slot -> {
-                            if (slot.getInterviewer() == null
-                                    || slot.getInterviewer().getDepartment() == null)
-                                return false;
-                            return filter.departmentIds()
-                                    .contains(slot.getInterviewer().getDepartment().getId());
-                        })
-                        .collect(Collectors.toList());
-                logger.info("Step 2 – after department filter: {}", slots.size());
-            }
+        // One extra row tells us whether another page exists without a COUNT(*)
+        List<AvailabilitySlot> slots = availabilitySlotRepository.findForHrCalendar(spec, pageSize + 1);
+        boolean hasMore = slots.size() > pageSize;
 
-            // ── Step 3: technology ────────────────────────────────────────────
-            // AVAILABLE slots filtered by interviewer's active technologies.
-            // BOOKED slots always pass — HR must see who is busy even if tech
-            // doesn't match the current filter.
-            if (filter.technologyIds() != null && !filter.technologyIds().isEmpty()) {
-                slots = slots.stream()
-                        .filter(slot -> {
-                            if ("BOOKED".equals(slot.getStatus().name())) return true;
-                            if (slot.getInterviewer() == null) return false;
-
-                            var techs = slot.getInterviewer().getInterviewerTechnologies();
-                            if (!Hibernate.isInitialized(techs)) {
-                                Hibernate.initialize(techs);
-                            }
-                            if (techs == null || techs.isEmpty()) return false;
-
-                            return techs.stream()
-                                    .filter(it -> it != null
-                                            && it.isActive()
-                                            && it.getTechnology() != null)
-                                    .anyMatch(it -> filter.technologyIds()
-                                            .contains(it.getTechnology().getId()));
-                        })
-                        .collect(Collectors.toList());
-                logger.info("Step 3 – after technology filter: {}", slots.size());
-            }
+        List<InterviewerAvailabilityDto> items = new ArrayList<>(Math.min(slots.size(), pageSize));
+        for (AvailabilitySlot slot : hasMore ? slots.subList(0, pageSize) : slots) {
+            items.add(toDto(slot));
+        }
 
-            // ── Step 4: years of experience ───────────────────────────────────
-            if (filter.minYearsOfExperience() != null) {
-                slots = slots.stream()
-                        .filter(slot -> {
-                            if ("BOOKED".equals(slot.getStatus().name())) return true;
-                            if (slot.getInterviewer() == null) return false;
-                            Integer years = slot.getInterviewer().getYearsOfExperience();
-                            return years != null && years >= filter.minYearsOfExperience();
-                        })
-                        .collect(Collectors.toList());
-                logger.info("Step 4 – after experience filter: {}", slots.size());
-            }
+        String nextCursor = hasMore && !items.isEmpty()
+                ? AvailabilityCursor.after(items.get(items.size() - 1)).encode()
+                : null;
+        return new AvailabilityPageDto(items, nextCursor, hasMore);
+    }
 
-            // ── Step 5: tier / level hierarchy ────────────────────────────────
-            //
-            // Business rule (Tier 1 = highest, Level 1 = highest within a tier):
-            //   Interviewer may interview candidate if:
-            //     (a) ivTierOrder  <  candidateTierOrder   → strictly higher tier, OR
-            //     (b) ivTierOrder == candidateTierOrder
-            //           AND ivLevelOrder < candidateLevelOrder → strictly higher level
-            //
-            //   Same tier + same level is NOT allowed (strict less-than, not <=).
-            //
-            // The filter sends:
-            //   minTierId    = candidate's tierOrder  (the candidate's own tier order value)
-            //   minDesignationLevelInDepartment = candidate's levelOrder
-            //   departmentIdForDesignationFilter = candidate's departmentId
-            //
-            if (filter.minTierId() != null && filter.departmentIdForDesignationFilter() != null) {
-                final int candidateTierOrder  = filter.minTierId().intValue();
-                final int candidateLevelOrder = filter.minDesignationLevelInDepartment() != null
-                        ? filter.minDesignationLevelInDepartment().intValue()
-                        : Integer.MAX_VALUE;
-
-                List<AvailabilitySlot> passedSlots = new ArrayList<>();
-                for (AvailabilitySlot slot : slots) {
-                    // Always keep booked slots
-                    if ("BOOKED".equals(slot.getStatus().name())) {
-                        passedSlots.add(slot);
-                        continue;
-                    }
-                    try {
-                        if (slot.getInterviewer() == null
-                                || slot.getInterviewer().getCurrentDesignation() == null)
-                            continue;
-
-                        // Tier filter is department-scoped
-                        if (slot.getInterviewer().getDepartment() == null
-                                || !slot.getInterviewer().getDepartment().getId()
-                                .equals(filter.departmentIdForDesignationFilter()))
-                            continue;
-
-                        Designation designation = slot.getInterviewer().getCurrentDesignation();
-                        Tier tier = designation.getTier();
-
-                        if (tier == null
-                                || tier.getTierOrder() == null
-                                || designation.getLevelOrder() == null)
-                            continue;
-
-                        int ivTier  = tier.getTierOrder();
-                        int ivLevel = designation.getLevelOrder();
-
-                        // Rule: strictly higher tier  OR  same tier + strictly higher level
-                        boolean passes = ivTier < candidateTierOrder
-                                || (ivTier == candidateTierOrder && ivLevel < candidateLevelOrder);
-
-                        if (passes) passedSlots.add(slot);
-
-                    } catch (Exception e) {
-                        logger.error("Error checking tier for slot {}: {}",
-                                slot.getId(), e.getMessage());
-                    }
+    /**
+     * Writes the whole HR calendar as newline-delimited JSON, one slot per line,
+     * straight from a forward-only JDBC cursor. Nothing is buffered beyond the
+     * current fetch batch.
+     */
+    @Transactional(readOnly = true)
+    public long streamAvailability(AvailabilityFilterDto filter, OutputStream out) throws IOException {
+        LocalDateTime from = LocalDateTime.now().minusDays(HR_LOOKBACK_DAYS);
+        long written = 0;
+
+        try (Stream<AvailabilitySlot> slots = availabilitySlotRepository.streamForHrCalendar(
+                calendarSpec(filter, from))) {
+            Iterator<AvailabilitySlot> it = slots.iterator();
+            while (it.hasNext()) {
+                out.write(ndjsonWriter.writeValueAsBytes(toDto(it.next())));
+                out.write('\n');
+
+                if (++written % STREAM_CLEAR_INTERVAL == 0) {
+                    out.flush();
+                    entityManager.clear();
                 }
-                slots = passedSlots;
-                logger.info("Step 5 – after tier/level filter: {}", slots.size());
-
-            } else if (filter.minDesignationLevelInDepartment() != null
-                    && filter.departmentIdForDesignationFilter() != null) {
-
-                // Level-only branch (no tier filter specified)
-                final int candidateLevelOrder = filter.minDesignationLevelInDepartment().intValue();
-                slots = slots.stream()
-                        .filter(slot -> {
-                            if ("BOOKED".equals(slot.getStatus().name())) return true;
-                            if (slot.getInterviewer() == null
-                                    || slot.getInterviewer().getCurrentDesignation() == null)
-                                return false;
-                            if (slot.getInterviewer().getDepartment() == null
-                                    || !slot.getInterviewer().getDepartment().getId()
-                                    .equals(filter.departmentIdForDesignationFilter()))
-                                return false;
-                            Integer ivLevel =
-                                    slot.getInterviewer().getCurrentDesignation().getLevelOrder();
-                            // Strictly higher level (lower number = higher seniority)
-                            return ivLevel != null && ivLevel < candidateLevelOrder;
-                        })
-                        .collect(Collectors.toList());
-                logger.info("Step 5 – after level-only filter: {}", slots.size());
             }
+        }
+        out.flush();
+        logger.info("Streamed {} availability slots", written);
+        return written;
+    }
 
-            return slots;
+    private InterviewerAvailabilityDto toDto(AvailabilitySlot slot) {
+        return InterviewerAvailabilityDto.from(slot, profileCache.get(slot.getInterviewer()));
+    }
+
+    /**
+     * The HR calendar predicate, plus the candidate-designation eligibility set
+     * from DesignationEligibilityMatrix when the filter names one.
+     */
+    private Specification<AvailabilitySlot> calendarSpec(AvailabilityFilterDto filter, LocalDateTime from) {
+        Specification<AvailabilitySlot> spec = AvailabilitySlotSpecifications.forHrCalendar(filter, from);
+        if (filter != null && filter.candidateDesignationId() != null) {
+            spec = spec.and(AvailabilitySlotSpecifications.availableFromDesignations(
+                    eligibilityMatrix.eligibleInterviewerDesignations(filter.candidateDesignationId())));
+        }
+        return spec;
+    }
 
+    /**
+     * Department, technology, experience, designation and tier/level filters are
+     * all pushed down into one SQL predicate — see AvailabilitySlotSpecifications
+     * for the rules (BOOKED always passes; strict tier/level ordering).
+     */
+    private List<AvailabilitySlot> filterSlots(AvailabilityFilterDto filter, LocalDateTime from) {
+        try {
+            List<AvailabilitySlot> slots = availabilitySlotRepository.findForHrCalendar(
+                    calendarSpec(filter, from));
+            logger.info("Filtered slots returned by DB: {}", slots.size());
+            return slots;
         } catch (Exception e) {
             logger.error("Error filtering slots: {}", e.getMessage(), e);
             throw new RuntimeException("Error filtering availability slots", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,305 @@
+package com.nemal.service;
+
+import com.nemal.entity.InterviewRequest;
+import com.nemal.entity.InterviewSchedule;
+import com.nemal.enums.InterviewStatus;
+import com.nemal.enums.RequestStatus;
+import com.nemal.event.InterviewScheduleChangedEvent;
+import com.nemal.repository.InterviewScheduleRepository;
+import com.nemal.repository.InterviewScheduleRepository.ReminderTarget;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends interview reminders at fixed offsets before start
+ * (notifications.reminders.offsets, default 24h and 1h).
+ *
+ * Upcoming reminders sit in an in-memory {@link DelayQueue}; one worker
+ * thread sleeps until the earliest is due, then drains everything due with
+ * it and sends the batch in one transaction. The database is only read:
+ *   • at startup (catch-up) and once a day (refill), for interviews starting
+ *     within notifications.reminders.horizon;
+ *   • after a booking or cancel commits (InterviewScheduleChangedEvent).
+ *
+ * No reminder is sent twice: the batch records each one in
+ * interview_reminders_sent (V27) in the transaction that queues its
+ * notification, and skips those already there. None is missed across a
+ * restart either: the catch-up re-arms every reminder still ahead, and one
+ * whose time passed while the app was down fires at once — only the latest
+ * such offset, so a late start does not send "24h" and "1h" together.
+ */
+@Component
+public class InterviewReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewReminderScheduler.class);
+
+    private static final int MAX_BATCH = 500;
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+    private static final Duration SENT_RETENTION = Duration.ofDays(30);
+
+    private final InterviewScheduleRepository scheduleRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DelayQueue<Reminder> queue = new DelayQueue<>();
+    /** The live reminder per key; queue entries no longer mapped here were cancelled or re-armed. */
+    private final Map<Key, Reminder> pending = new ConcurrentHashMap<>();
+
+    @Value("${notifications.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.reminders.offsets:24h,1h}")
+    private List<Duration> offsets;
+
+    /** Must exceed the refill interval (one day) plus the largest offset. */
+    @Value("${notifications.reminders.horizon:7d}")
+    private Duration horizon;
+
+    private volatile Thread worker;
+
+    public InterviewReminderScheduler(InterviewScheduleRepository scheduleRepository,
+                                      NotificationService notificationService,
+                                      PlatformTransactionManager transactionManager) {
+        this.scheduleRepository = scheduleRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || offsets.isEmpty()) return;
+        refill();
+        Thread thread = new Thread(this::run, "interview-reminders");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) thread.interrupt();
+    }
+
+    /** Arms every reminder for interviews within the horizon; also the startup catch-up. */
+    @Scheduled(cron = "${notifications.reminders.refill-cron:0 0 4 * * *}")
+    public void refill() {
+        if (!enabled || offsets.isEmpty()) return;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<ReminderTarget> targets = transactionTemplate.execute(status ->
+                    scheduleRepository.findReminderTargets(now, now.plus(horizon)));
+            for (ReminderTarget target : targets) {
+                arm(target.getId(), target.getStartDateTime(), now);
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    scheduleRepository.deleteRemindersSentBefore(now.minus(SENT_RETENTION)));
+            logger.info("Interview reminders armed for {} upcoming interviews ({} pending)",
+                    targets.size(), pending.size());
+        } catch (Exception e) {
+            logger.warn("Interview reminder refill failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onScheduleChanged(InterviewScheduleChangedEvent event) {
+        if (!enabled || offsets.isEmpty() || event.scheduleIds().isEmpty()) return;
+        try {
+            Map<Long, LocalDateTime> scheduled = new HashMap<>();
+            for (ReminderTarget target : scheduleRepository.findScheduledReminderTargets(event.scheduleIds())) {
+                scheduled.put(target.getId(), target.getStartDateTime());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (Long scheduleId : event.scheduleIds()) {
+                LocalDateTime start = scheduled.get(scheduleId);
+                if (start != null) {
+                    arm(scheduleId, start, now);
+                } else {
+                    disarm(scheduleId);
+                }
+            }
+        } catch (Exception e) {
+            // Cancelled interviews are re-checked when the reminder fires; new ones arm on the next refill
+            logger.warn("Failed to update reminders for schedules {}: {}", event.scheduleIds(), e.getMessage());
+        }
+    }
+
+    // ── Arming ────────────────────────────────────────────────────────────────
+
+    private void arm(Long scheduleId, LocalDateTime start, LocalDateTime now) {
+        if (start == null || !start.isAfter(now)) {
+            disarm(scheduleId);
+            return;
+        }
+        // Of the offsets already past, only the latest still fires
+        Integer catchUp = null;
+        for (Duration offset : offsets) {
+            int minutes = (int) offset.toMinutes();
+            if (!start.minusMinutes(minutes).isAfter(now) && (catchUp == null || minutes < catchUp)) {
+                catchUp = minutes;
+            }
+        }
+        for (Duration offset : offsets) {
+            int minutes = (int) offset.toMinutes();
+            LocalDateTime fireAt = start.minusMinutes(minutes);
+            Key key = new Key(scheduleId, minutes);
+            if (fireAt.isAfter(now) || (catchUp != null && catchUp == minutes)) {
+                offer(new Reminder(key, start, fireAt.isAfter(now) ? fireAt : now));
+            } else {
+                pending.remove(key);
+            }
+        }
+    }
+
+    private void disarm(Long scheduleId) {
+        for (Duration offset : offsets) {
+            pending.remove(new Key(scheduleId, (int) offset.toMinutes()));
+        }
+    }
+
+    private void offer(Reminder reminder) {
+        // Already armed for this start time: keep the queued entry
+        Reminder live = pending.merge(reminder.key(), reminder,
+                (previous, next) -> previous.start().equals(next.start()) ? previous : next);
+        if (live == reminder) queue.offer(reminder);
+    }
+
+    /** Offsets, in minutes, currently armed for a schedule. */
+    SortedSet<Integer> armedOffsets(Long scheduleId) {
+        SortedSet<Integer> armed = new TreeSet<>();
+        for (Key key : pending.keySet()) {
+            if (key.scheduleId().equals(scheduleId)) armed.add(key.offsetMinutes());
+        }
+        return armed;
+    }
+
+    // ── Firing ────────────────────────────────────────────────────────────────
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                List<Reminder> batch = new ArrayList<>();
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                fireLive(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Interview reminder worker error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /** One pass of the worker without the wait: fires whatever is already due. */
+    void fireDue() {
+        List<Reminder> batch = new ArrayList<>();
+        queue.drainTo(batch, MAX_BATCH);
+        fireLive(batch);
+    }
+
+    private void fireLive(List<Reminder> batch) {
+        batch.removeIf(r -> !pending.remove(r.key(), r));
+        if (!batch.isEmpty()) fire(batch);
+    }
+
+    private void fire(List<Reminder> batch) {
+        try {
+            Integer sent = transactionTemplate.execute(status -> send(batch));
+            if (sent != null && sent > 0) {
+                logger.info("Queued {} interview reminders", sent);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to send {} interview reminders, retrying in {}: {}",
+                    batch.size(), RETRY_DELAY, e.getMessage());
+            LocalDateTime retryAt = LocalDateTime.now().plus(RETRY_DELAY);
+            for (Reminder reminder : batch) {
+                Reminder retry = reminder.retryAt(retryAt);
+                // Skipped if an event re-armed or cancelled the key meanwhile
+                if (reminder.start().isAfter(retryAt) && pending.putIfAbsent(reminder.key(), retry) == null) {
+                    queue.offer(retry);
+                }
+            }
+        }
+    }
+
+    private int send(List<Reminder> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (Reminder reminder : batch) ids.add(reminder.key().scheduleId());
+        Map<Long, InterviewSchedule> schedules = new HashMap<>();
+        for (InterviewSchedule schedule : scheduleRepository.findAllWithRequestByIdIn(ids)) {
+            schedules.put(schedule.getId(), schedule);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InterviewRequest> due = new ArrayList<>();
+        for (Reminder reminder : batch) {
+            InterviewSchedule schedule = schedules.get(reminder.key().scheduleId());
+            // Cancelled, declined, moved or already started since it was armed
+            if (schedule == null
+                    || schedule.getStatus() != InterviewStatus.SCHEDULED
+                    || schedule.getRequest().getStatus() != RequestStatus.ACCEPTED
+                    || !reminder.start().equals(schedule.getStartDateTime())
+                    || !schedule.getStartDateTime().isAfter(now)) {
+                continue;
+            }
+            if (scheduleRepository.claimReminder(schedule.getId(), reminder.key().offsetMinutes(), now) == 1) {
+                due.add(schedule.getRequest());
+            }
+        }
+        if (!due.isEmpty()) {
+            notificationService.sendInterviewReminderNotifications(due);
+        }
+        return due.size();
+    }
+
+    // ── Queue entries ─────────────────────────────────────────────────────────
+
+    private record Key(Long scheduleId, int offsetMinutes) {}
+
+    private record Reminder(Key key, LocalDateTime start, long fireAtMillis) implements Delayed {
+
+        Reminder(Key key, LocalDateTime start, LocalDateTime fireAt) {
+            this(key, start, fireAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        Reminder retryAt(LocalDateTime fireAt) {
+            return new Reminder(key, start, fireAt);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAtMillis, ((Reminder) other).fireAtMillis);
+        }
+    }
+}
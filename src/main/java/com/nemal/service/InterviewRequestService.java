@@ -6,15 +6,20 @@ import com.nemal.entity.*;
 import com.nemal.enums.CandidateStatus;
 import com.nemal.enums.InterviewStatus;
 import com.nemal.enums.RequestStatus;
+import com.nemal.enums.SlotChangeType;
 import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewScheduleChangedEvent;
 import com.nemal.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,12 +37,14 @@ public class InterviewRequestService {
     private final DesignationRepository designationRepository;
     private final TechnologyRepository technologyRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotBookingCoordinator bookingCoordinator;
+    private final AvailabilityRuleService availabilityRuleService;
 
     @Transactional
     public InterviewRequestDto createInterviewRequest(User requestedBy, CreateInterviewRequestDto dto) {
 
-        AvailabilitySlot slot = availabilitySlotRepository.findById(dto.availabilitySlotId())
-                .orElseThrow(() -> new RuntimeException("Availability slot not found: " + dto.availabilitySlotId()));
+        AvailabilitySlot slot = resolveSlot(dto);
 
         if (slot.getStatus() != SlotStatus.AVAILABLE) {
             throw new RuntimeException("Slot is not available");
@@ -71,7 +78,12 @@ public class InterviewRequestService {
                 ? technologyRepository.findAllById(dto.requiredTechnologyIds())
                 : List.of();
 
-        AvailabilitySlot bookedSlot = splitAndBookSlot(slot, bookingStart, bookingEnd, candidateName);
+        List<AvailabilitySlot> touched = new ArrayList<>();
+        AvailabilitySlot bookedSlot = bookingCoordinator.book(
+                slot, bookingStart, bookingEnd, "Interview: " + candidateName, touched);
+        // The coordinator clamps the window to the slot
+        bookingStart = bookedSlot.getStartDateTime();
+        bookingEnd = bookedSlot.getEndDateTime();
 
         InterviewRequest request = InterviewRequest.builder()
                 .candidateName(candidateName)
@@ -100,6 +112,7 @@ public class InterviewRequestService {
                 .status(InterviewStatus.SCHEDULED)
                 .build();
         schedule = interviewScheduleRepository.save(schedule);
+        eventPublisher.publishEvent(InterviewScheduleChangedEvent.of(List.of(schedule.getId())));
 
         bookedSlot.setInterviewSchedule(schedule);
         availabilitySlotRepository.save(bookedSlot);
@@ -109,6 +122,9 @@ public class InterviewRequestService {
             candidateRepository.save(candidate);
         }
 
+        eventPublisher.publishEvent(AvailabilityChangedEvent.of(slot.getInterviewer(),
+                touched.size() > 1 ? SlotChangeType.SPLIT : SlotChangeType.BOOKED, touched));
+
         try {
             notificationService.sendInterviewScheduledNotification(saved);
         } catch (Exception e) {
@@ -118,57 +134,16 @@ public class InterviewRequestService {
         return InterviewRequestDto.from(saved);
     }
 
-    private AvailabilitySlot splitAndBookSlot(AvailabilitySlot slot,
-                                              LocalDateTime bookStart,
-                                              LocalDateTime bookEnd,
-                                              String candidateName) {
-        boolean isPartialBooking = !bookStart.equals(slot.getStartDateTime())
-                || !bookEnd.equals(slot.getEndDateTime());
-
-        if (!isPartialBooking) {
-            slot.setStatus(SlotStatus.BOOKED);
-            slot.setDescription("Interview: " + candidateName);
-            return availabilitySlotRepository.save(slot);
-        }
-
-        slot.setActive(false);
-        availabilitySlotRepository.save(slot);
-
-        if (bookStart.isAfter(slot.getStartDateTime())) {
-            AvailabilitySlot before = AvailabilitySlot.builder()
-                    .interviewer(slot.getInterviewer())
-                    .startDateTime(slot.getStartDateTime())
-                    .endDateTime(bookStart)
-                    .status(SlotStatus.AVAILABLE)
-                    .description(slot.getDescription())
-                    .isActive(true)
-                    .build();
-            availabilitySlotRepository.save(before);
+    /** The slot to book: an existing one, or a rule occurrence materialised in this transaction. */
+    private AvailabilitySlot resolveSlot(CreateInterviewRequestDto dto) {
+        if (dto.availabilitySlotId() != null) {
+            return availabilitySlotRepository.findById(dto.availabilitySlotId())
+                    .orElseThrow(() -> new RuntimeException("Availability slot not found: " + dto.availabilitySlotId()));
         }
-
-        AvailabilitySlot booked = AvailabilitySlot.builder()
-                .interviewer(slot.getInterviewer())
-                .startDateTime(bookStart)
-                .endDateTime(bookEnd)
-                .status(SlotStatus.BOOKED)
-                .description("Interview: " + candidateName)
-                .isActive(true)
-                .build();
-        booked = availabilitySlotRepository.save(booked);
-
-        if (bookEnd.isBefore(slot.getEndDateTime())) {
-            AvailabilitySlot after = AvailabilitySlot.builder()
-                    .interviewer(slot.getInterviewer())
-                    .startDateTime(bookEnd)
-                    .endDateTime(slot.getEndDateTime())
-                    .status(SlotStatus.AVAILABLE)
-                    .description(slot.getDescription())
-                    .isActive(true)
-                    .build();
-            availabilitySlotRepository.save(after);
+        if (dto.availabilityRuleId() != null && dto.occurrenceDate() != null) {
+            return availabilityRuleService.materialize(dto.availabilityRuleId(), dto.occurrenceDate());
         }
-
-        return booked;
+        throw new RuntimeException("Either availabilitySlotId or availabilityRuleId and occurrenceDate is required");
     }
 
     // ── Read ──────────────────────────────────────────────────────────────────
@@ -216,8 +191,11 @@ public class InterviewRequestService {
             request.setStatus(RequestStatus.REJECTED);
             if (request.getAvailabilitySlot() != null) {
                 AvailabilitySlot slot = request.getAvailabilitySlot();
+                bookingCoordinator.lockInterviewer(slot.getInterviewer().getId());
                 slot.setStatus(SlotStatus.AVAILABLE);
                 availabilitySlotRepository.save(slot);
+                eventPublisher.publishEvent(AvailabilityChangedEvent.of(
+                        slot.getInterviewer(), SlotChangeType.CANCELLED, List.of(slot)));
             }
         } else {
             throw new RuntimeException("Invalid action: " + action);
@@ -244,14 +222,10 @@ public class InterviewRequestService {
         if (slot != null) {
             logger.info("Slot {} current state: status={}, active={}", slot.getId(), slot.getStatus(), slot.isActive());
 
-            slot.setInterviewSchedule(null);
-            slot.setStatus(SlotStatus.AVAILABLE);
-            slot.setActive(true);
-            slot.setDescription(null);
-            availabilitySlotRepository.save(slot);
-            logger.info("Slot {} restored: status=AVAILABLE, active=true", slot.getId());
-
-            mergeAdjacentSlots(slot);
+            List<AvailabilitySlot> touched = new ArrayList<>();
+            boolean merged = bookingCoordinator.release(slot, touched);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.of(slot.getInterviewer(),
+                    merged ? SlotChangeType.MERGED : SlotChangeType.CANCELLED, touched));
         } else {
             logger.warn("Request {} had no linked slot — nothing to restore", requestId);
         }
@@ -261,6 +235,7 @@ public class InterviewRequestService {
             logger.info("Cancelling InterviewSchedule {}", schedule.getId());
             schedule.setStatus(InterviewStatus.CANCELLED);
             interviewScheduleRepository.save(schedule);
+            eventPublisher.publishEvent(InterviewScheduleChangedEvent.of(List.of(schedule.getId())));
         });
 
         // ── Step 3: Mark request CANCELLED ───────────────────────────────────
@@ -294,42 +269,4 @@ public class InterviewRequestService {
             }
         }
     }
-
-    // ── Private helpers ───────────────────────────────────────────────────────
-
-    private void mergeAdjacentSlots(AvailabilitySlot restoredSlot) {
-        Long interviewerId = restoredSlot.getInterviewer().getId();
-        LocalDateTime mergedStart = restoredSlot.getStartDateTime();
-        LocalDateTime mergedEnd   = restoredSlot.getEndDateTime();
-        boolean changed = false;
-
-        var before = availabilitySlotRepository
-                .findActiveAvailableSlotEndingAt(interviewerId, mergedStart);
-        if (before.isPresent()) {
-            logger.info("Merging before-fragment slot {} into restored slot {}",
-                    before.get().getId(), restoredSlot.getId());
-            mergedStart = before.get().getStartDateTime();
-            before.get().setActive(false);
-            availabilitySlotRepository.save(before.get());
-            changed = true;
-        }
-
-        var after = availabilitySlotRepository
-                .findActiveAvailableSlotStartingAt(interviewerId, mergedEnd);
-        if (after.isPresent()) {
-            logger.info("Merging after-fragment slot {} into restored slot {}",
-                    after.get().getId(), restoredSlot.getId());
-            mergedEnd = after.get().getEndDateTime();
-            after.get().setActive(false);
-            availabilitySlotRepository.save(after.get());
-            changed = true;
-        }
-
-        if (changed) {
-            restoredSlot.setStartDateTime(mergedStart);
-            restoredSlot.setEndDateTime(mergedEnd);
-            availabilitySlotRepository.save(restoredSlot);
-            logger.info("Slot {} merged to window {} – {}", restoredSlot.getId(), mergedStart, mergedEnd);
-        }
-    }
 }
\ No newline at end of file
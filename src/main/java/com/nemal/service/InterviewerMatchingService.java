@@ -0,0 +1,456 @@
+package com.nemal.service;
+
+import com.nemal.dto.InterviewerAvailabilityDto;
+import com.nemal.dto.InterviewerMatchDto;
+import com.nemal.dto.InterviewerMatchRequestDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.Designation;
+import com.nemal.entity.InterviewerTechnology;
+import com.nemal.entity.User;
+import com.nemal.enums.Role;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.AvailabilitySlotRepository;
+import com.nemal.repository.AvailabilitySlotSpecifications;
+import com.nemal.repository.DesignationRepository;
+import com.nemal.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ranks (interviewer, slot) pairs for a candidate.
+ *
+ * Every active interviewer is kept as a column of precomputed vectors —
+ * department, tier/level order, upcoming load — plus one posting list per
+ * technology holding (ordinal, weight) pairs, the weight being the
+ * interviewer's years with that technology scaled to [0, 1]. A query walks
+ * only the postings of the required technologies and the eligible ordinals,
+ * then the candidates' AVAILABLE slots from {@link HRAvailabilityIndex},
+ * keeping the best results in a bounded heap; no per-query database work is
+ * needed while the index is warm.
+ *
+ * Score = 0.45·technology + 0.20·seniority + 0.20·load + 0.15·proximity:
+ *   • technology — mean capped years over the required technologies;
+ *   • seniority  — 1 for the closest eligible seniority, less for far more senior
+ *                  interviewers (eligibility itself is a hard filter, taken from
+ *                  DesignationEligibilityMatrix);
+ *   • load       — 1 / (1 + upcoming booked interviews);
+ *   • proximity  — 1 at the start of the range, 0 at its end.
+ */
+@Service
+public class InterviewerMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewerMatchingService.class);
+
+    static final double W_TECHNOLOGY = 0.45;
+    static final double W_SENIORITY = 0.20;
+    static final double W_LOAD = 0.20;
+    static final double W_PROXIMITY = 0.15;
+
+    /** Years with a technology at which it counts fully. */
+    static final int TECHNOLOGY_YEARS_CAP = 10;
+
+    static final int DEFAULT_RANGE_DAYS = 14;
+    static final int MAX_RANGE_DAYS = 90;
+    static final int DEFAULT_MAX_RESULTS = 20;
+    static final int MAX_RESULTS = 200;
+
+    /** Upcoming-load counts drift as booked interviews pass; recount them this often. */
+    private static final long LOAD_TTL_NANOS = Duration.ofMinutes(15).toNanos();
+
+    private static final int NONE = -1;
+
+    /** Seniority score of an interviewer eligible only through an explicit allow rule. */
+    private static final double RULE_GRANTED_SENIORITY = 0.5;
+
+    private final UserRepository userRepository;
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final DesignationRepository designationRepository;
+    private final HRAvailabilityIndex availabilityIndex;
+    private final InterviewerProfileCache profileCache;
+    private final DesignationEligibilityMatrix eligibilityMatrix;
+
+    private final Object writeLock = new Object();
+
+    /** Null until the first successful build. */
+    private volatile Vectors vectors;
+
+    public InterviewerMatchingService(UserRepository userRepository,
+                                      AvailabilitySlotRepository availabilitySlotRepository,
+                                      DesignationRepository designationRepository,
+                                      HRAvailabilityIndex availabilityIndex,
+                                      InterviewerProfileCache profileCache,
+                                      DesignationEligibilityMatrix eligibilityMatrix) {
+        this.userRepository = userRepository;
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.designationRepository = designationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.profileCache = profileCache;
+        this.eligibilityMatrix = eligibilityMatrix;
+    }
+
+    // ── Lifecycle / refresh ───────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        rebuildQuietly();
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (writeLock) {
+            long started = System.nanoTime();
+            List<User> interviewers = userRepository.findAllActiveWithProfileByRole(Role.INTERVIEWER);
+            Vectors built = Vectors.of(interviewers);
+            recountLoad(built);
+            vectors = built;
+            logger.info("Interviewer matching vectors built: {} interviewers, {} technologies in {} ms",
+                    interviewers.size(), built.technologies().size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        Vectors v = vectors;
+        if (v == null || event.interviewerId() == null) return;
+        Integer ord = v.ordinalOf().get(event.interviewerId());
+        if (ord != null) {
+            v.upcoming().set(ord, (int) availabilitySlotRepository.countBookedSlotsFrom(
+                    event.interviewerId(), LocalDateTime.now()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onInterviewerProfileChanged(InterviewerProfileChangedEvent event) {
+        if (vectors != null) {
+            rebuildQuietly();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrgStructureChanged(OrgStructureChangedEvent event) {
+        if (vectors != null) {
+            rebuildQuietly();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            vectors = null;
+            logger.warn("Interviewer matching vectors rebuild failed, next query will retry: {}", e.getMessage());
+        }
+    }
+
+    /** One grouped COUNT for every interviewer instead of one query each. */
+    private void recountLoad(Vectors v) {
+        int[] counts = new int[v.size()];
+        for (var row : availabilitySlotRepository.countBookedSlotsFromByInterviewer(LocalDateTime.now())) {
+            Integer ord = v.ordinalOf().get(row.getInterviewerId());
+            if (ord != null) counts[ord] = (int) row.getCount();
+        }
+        for (int ord = 0; ord < counts.length; ord++) {
+            v.upcoming().set(ord, counts[ord]);
+        }
+        v.loadCountedAt().set(System.nanoTime());
+    }
+
+    // ── Query ─────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<InterviewerMatchDto> match(InterviewerMatchRequestDto dto) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = dto.from() == null || dto.from().isBefore(now) ? now : dto.from();
+        LocalDateTime to = dto.to() != null ? dto.to() : from.plusDays(DEFAULT_RANGE_DAYS);
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("End of the search range must be after its start");
+        }
+        if (to.isAfter(from.plusDays(MAX_RANGE_DAYS))) {
+            throw new RuntimeException("Search range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        Duration minDuration = Duration.ofMinutes(dto.durationMinutes() != null && dto.durationMinutes() > 0
+                ? dto.durationMinutes() : 0);
+        int limit = dto.maxResults() == null || dto.maxResults() <= 0
+                ? DEFAULT_MAX_RESULTS : Math.min(dto.maxResults(), MAX_RESULTS);
+
+        Vectors v = current();
+        long started = System.nanoTime();
+        List<Long> required = distinct(dto.requiredTechnologyIds());
+        Scoring scoring = score(v, candidate(dto.candidateDesignationId(), dto.departmentId()), required);
+        float[] technology = scoring.technology();
+        double[] seniority = scoring.seniority();
+        double[] base = scoring.base();
+        Map<Long, Integer> candidates = scoring.eligible();
+
+        // ── Slots: keep the best {@code limit} pairs in a min-heap ────────────
+        double rangeSeconds = Duration.between(from, to).toSeconds();
+        PriorityQueue<Ranked> best = new PriorityQueue<>(Comparator.comparingDouble(Ranked::score));
+        for (Map.Entry<Long, List<InterviewerAvailabilityDto>> e : availableSlots(candidates.keySet(), from, to).entrySet()) {
+            int ord = candidates.get(e.getKey());
+            for (InterviewerAvailabilityDto slot : e.getValue()) {
+                LocalDateTime start = slot.startDateTime().isBefore(from) ? from : slot.startDateTime();
+                LocalDateTime end = slot.endDateTime().isAfter(to) ? to : slot.endDateTime();
+                if (Duration.between(start, end).compareTo(minDuration) < 0 || !end.isAfter(start)) continue;
+
+                double proximity = 1.0 - Duration.between(from, start).toSeconds() / rangeSeconds;
+                double score = base[ord] + W_PROXIMITY * proximity;
+                if (best.size() < limit) {
+                    best.add(new Ranked(ord, slot, score, proximity));
+                } else if (score > best.peek().score()) {
+                    best.poll();
+                    best.add(new Ranked(ord, slot, score, proximity));
+                }
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed()
+                .thenComparing(r -> r.slot().startDateTime()));
+        List<InterviewerMatchDto> result = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            int ord = r.ordinal();
+            result.add(new InterviewerMatchDto(
+                    v.interviewerIds()[ord], v.names()[ord], v.designations()[ord],
+                    r.slot().slotId(), r.slot().startDateTime(), r.slot().endDateTime(),
+                    r.score(),
+                    required.isEmpty() ? 1.0 : technology[ord] / required.size(),
+                    seniority[ord],
+                    load(v, ord),
+                    r.proximity(),
+                    v.upcoming().get(ord),
+                    matchedTechnologies(v, ord, required)));
+        }
+
+        logger.info("Matched {} interviewers, returned {} slots in {} µs",
+                candidates.size(), result.size(), (System.nanoTime() - started) / 1_000);
+        return result;
+    }
+
+    /**
+     * Interviewers eligible for a candidate profile, with their score before
+     * slot proximity (technology, seniority and load), keyed by interviewer id.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Double> interviewerScores(Long candidateDesignationId, Long departmentId,
+                                               List<Long> requiredTechnologyIds) {
+        Vectors v = current();
+        Scoring scoring = score(v, candidate(candidateDesignationId, departmentId), distinct(requiredTechnologyIds));
+        Map<Long, Double> scores = new HashMap<>();
+        scoring.eligible().forEach((id, ord) -> scores.put(id, scoring.base()[ord]));
+        return scores;
+    }
+
+    private Vectors current() {
+        Vectors v = vectors;
+        if (v == null) {
+            rebuild();
+            v = vectors;
+        } else if (System.nanoTime() - v.loadCountedAt().get() > LOAD_TTL_NANOS) {
+            recountLoad(v);
+        }
+        return v;
+    }
+
+    private Scoring score(Vectors v, Candidate candidate, List<Long> required) {
+        // ── Technology: walk only the required technologies' postings ─────────
+        float[] technology = new float[v.size()];
+        for (Long techId : required) {
+            TechnologyPosting posting = v.technologies().get(techId);
+            if (posting == null) continue;
+            for (int i = 0; i < posting.ordinals().length; i++) {
+                technology[posting.ordinals()[i]] += posting.weights()[i];
+            }
+        }
+
+        // ── Eligibility + per-interviewer score (everything but proximity) ────
+        double[] base = new double[v.size()];
+        double[] seniority = new double[v.size()];
+        Map<Long, Integer> eligible = new HashMap<>();
+        for (int ord = 0; ord < v.size(); ord++) {
+            if (!required.isEmpty() && technology[ord] == 0f) continue;
+            if (candidate.departmentId() != null && !candidate.departmentId().equals(v.departmentIds()[ord])) continue;
+            if (!candidate.eligible(v.designationIds()[ord])) continue;
+            seniority[ord] = candidate.seniority(v.tierOrders()[ord], v.levelOrders()[ord]);
+
+            double tech = required.isEmpty() ? 1.0 : technology[ord] / required.size();
+            base[ord] = W_TECHNOLOGY * tech + W_SENIORITY * seniority[ord] + W_LOAD * load(v, ord);
+            eligible.put(v.interviewerIds()[ord], ord);
+        }
+        return new Scoring(technology, seniority, base, eligible);
+    }
+
+    private static List<Long> distinct(List<Long> ids) {
+        return ids != null ? ids.stream().filter(Objects::nonNull).distinct().toList() : List.of();
+    }
+
+    private Map<Long, List<InterviewerAvailabilityDto>> availableSlots(Set<Long> interviewerIds,
+                                                                       LocalDateTime from, LocalDateTime to) {
+        if (interviewerIds.isEmpty()) return Map.of();
+        return availabilityIndex.availableSlots(interviewerIds, from, to).orElseGet(() -> {
+            Map<Long, List<InterviewerAvailabilityDto>> byInterviewer = new HashMap<>();
+            for (AvailabilitySlot slot : availabilitySlotRepository.findAll(
+                    AvailabilitySlotSpecifications.availableOverlapping(null, from, to)
+                            .and(AvailabilitySlotSpecifications.ofInterviewers(interviewerIds)))) {
+                byInterviewer.computeIfAbsent(slot.getInterviewer().getId(), k -> new ArrayList<>())
+                        .add(InterviewerAvailabilityDto.from(slot, profileCache.get(slot.getInterviewer())));
+            }
+            return byInterviewer;
+        });
+    }
+
+    private Candidate candidate(Long candidateDesignationId, Long departmentId) {
+        if (candidateDesignationId == null) {
+            return new Candidate(departmentId, NONE, NONE, null);
+        }
+        Designation d = designationRepository.findById(candidateDesignationId)
+                .orElseThrow(() -> new RuntimeException("Designation not found"));
+        return new Candidate(
+                d.getDepartment() != null ? d.getDepartment().getId() : departmentId,
+                d.getTier() != null && d.getTier().getTierOrder() != null ? d.getTier().getTierOrder() : NONE,
+                d.getLevelOrder() != null ? d.getLevelOrder() : NONE,
+                eligibilityMatrix.eligibleInterviewerDesignations(candidateDesignationId));
+    }
+
+    private static double load(Vectors v, int ord) {
+        return 1.0 / (1 + v.upcoming().get(ord));
+    }
+
+    private static List<String> matchedTechnologies(Vectors v, int ord, List<Long> required) {
+        List<String> matched = new ArrayList<>();
+        for (Long techId : required) {
+            TechnologyPosting posting = v.technologies().get(techId);
+            if (posting != null && Arrays.binarySearch(posting.ordinals(), ord) >= 0) {
+                matched.add(posting.name());
+            }
+        }
+        return matched;
+    }
+
+    // ── Building blocks ───────────────────────────────────────────────────────
+
+    /**
+     * Lower tier / level order = more senior, as everywhere else. NONE = not set.
+     * {@code eligibleDesignations} is the matrix row, or null without a candidate designation.
+     */
+    private record Candidate(Long departmentId, int tierOrder, int levelOrder, Set<Long> eligibleDesignations) {
+
+        boolean eligible(Long interviewerDesignationId) {
+            return eligibleDesignations == null || eligibleDesignations.contains(interviewerDesignationId);
+        }
+
+        /**
+         * Seniority score in (0, 1] of an eligible interviewer: 1 for the closest
+         * more senior designation, less the further above. Interviewers who are
+         * eligible only through an allow rule get a flat middle score.
+         */
+        double seniority(int tier, int level) {
+            if (levelOrder == NONE) return 1.0;
+            if (tierOrder == NONE) {
+                return level != NONE && level < levelOrder
+                        ? 1.0 / (1 + 0.25 * (levelOrder - level - 1)) : RULE_GRANTED_SENIORITY;
+            }
+            if (tier == NONE || level == NONE) return RULE_GRANTED_SENIORITY;
+            if (tier < tierOrder) return 1.0 / (1 + 0.5 * (tierOrder - tier));
+            return tier == tierOrder && level < levelOrder ? 1.0 : RULE_GRANTED_SENIORITY;
+        }
+    }
+
+    private record Scoring(float[] technology, double[] seniority, double[] base, Map<Long, Integer> eligible) {}
+
+    private record Ranked(int ordinal, InterviewerAvailabilityDto slot, double score, double proximity) {}
+
+    /** Ordinals ascending, so membership is a binary search. */
+    private record TechnologyPosting(String name, int[] ordinals, float[] weights) {}
+
+    private record Vectors(
+            long[] interviewerIds,
+            String[] names,
+            String[] designations,
+            Long[] designationIds,
+            Long[] departmentIds,
+            int[] tierOrders,    // NONE unless both tier and level are set (the tier rule needs both)
+            int[] levelOrders,
+            Map<Long, TechnologyPosting> technologies,
+            Map<Long, Integer> ordinalOf,
+            AtomicIntegerArray upcoming,
+            AtomicLong loadCountedAt
+    ) {
+        int size() {
+            return interviewerIds.length;
+        }
+
+        static Vectors of(List<User> interviewers) {
+            int n = interviewers.size();
+            long[] ids = new long[n];
+            String[] names = new String[n];
+            String[] designations = new String[n];
+            Long[] designationIds = new Long[n];
+            Long[] departments = new Long[n];
+            int[] tiers = new int[n];
+            int[] levels = new int[n];
+            Map<Long, Integer> ordinalOf = new HashMap<>();
+            Map<Long, String> techNames = new HashMap<>();
+            Map<Long, List<int[]>> postings = new HashMap<>();   // techId -> [ordinal, years]
+
+            for (int ord = 0; ord < n; ord++) {
+                User u = interviewers.get(ord);
+                Designation d = u.getCurrentDesignation();
+                ids[ord] = u.getId();
+                names[ord] = u.getFullName();
+                designations[ord] = d != null ? d.getName() : null;
+                designationIds[ord] = d != null ? d.getId() : null;
+                departments[ord] = u.getDepartment() != null ? u.getDepartment().getId() : null;
+                levels[ord] = d != null && d.getLevelOrder() != null ? d.getLevelOrder() : NONE;
+                tiers[ord] = levels[ord] != NONE && d.getTier() != null && d.getTier().getTierOrder() != null
+                        ? d.getTier().getTierOrder() : NONE;
+                ordinalOf.put(u.getId(), ord);
+
+                if (u.getInterviewerTechnologies() == null) continue;
+                for (InterviewerTechnology it : u.getInterviewerTechnologies()) {
+                    if (it == null || !it.isActive() || it.getTechnology() == null) continue;
+                    Long techId = it.getTechnology().getId();
+                    techNames.putIfAbsent(techId, it.getTechnology().getName());
+                    postings.computeIfAbsent(techId, k -> new ArrayList<>())
+                            .add(new int[]{ord, it.getYearsOfExperience() != null ? it.getYearsOfExperience() : 0});
+                }
+            }
+
+            Map<Long, TechnologyPosting> technologies = new HashMap<>();
+            for (Map.Entry<Long, List<int[]>> e : postings.entrySet()) {
+                List<int[]> list = e.getValue();
+                int[] ordinals = new int[list.size()];
+                float[] weights = new float[list.size()];
+                for (int i = 0; i < list.size(); i++) {
+                    ordinals[i] = list.get(i)[0];
+                    // A listed technology is worth something even at zero years
+                    int years = Math.max(list.get(i)[1], 0);
+                    weights[i] = Math.max(Math.min(years, TECHNOLOGY_YEARS_CAP), 0.5f) / TECHNOLOGY_YEARS_CAP;
+                }
+                technologies.put(e.getKey(), new TechnologyPosting(techNames.get(e.getKey()), ordinals, weights));
+            }
+
+            return new Vectors(ids, names, designations, designationIds, departments, tiers, levels,
+                    Map.copyOf(technologies), Map.copyOf(ordinalOf),
+                    new AtomicIntegerArray(n), new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nemal.service;
+
+import com.nemal.dto.InterviewerProfileSnapshot;
+import com.nemal.entity.User;
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared {@link InterviewerProfileSnapshot}s keyed by interviewer id and version.
+ *
+ * Every profile change bumps the interviewer's version after commit, so a
+ * snapshot computed from data read before the change can never be served
+ * afterwards — even if it is stored late by a concurrent reader.
+ * Org-structure changes (designation, tier, technology names) drop everything.
+ */
+@Component
+public class InterviewerProfileCache {
+
+    private final Map<Long, InterviewerProfileSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /** Bumped on org-structure changes; part of every version so a clear also retires in-flight puts. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public InterviewerProfileSnapshot get(User interviewer) {
+        if (interviewer == null) {
+            return null;
+        }
+        long version = currentVersion(interviewer.getId());
+        InterviewerProfileSnapshot cached = snapshots.get(interviewer.getId());
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        return store(interviewer, version);
+    }
+
+    /** Rebuilds the snapshot from a freshly loaded user, ignoring any cached copy. */
+    public InterviewerProfileSnapshot refresh(User interviewer) {
+        return store(interviewer, currentVersion(interviewer.getId()));
+    }
+
+    public void invalidate(Long interviewerId) {
+        versions.merge(interviewerId, 1L, Long::sum);
+        snapshots.remove(interviewerId);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    // Ordered first so other after-commit listeners (e.g. the HR index) see the bump.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInterviewerProfileChanged(InterviewerProfileChangedEvent event) {
+        invalidate(event.interviewerId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrgStructureChanged(OrgStructureChangedEvent event) {
+        clear();
+    }
+
+    private long currentVersion(Long interviewerId) {
+        return (generation.get() << 32) + versions.getOrDefault(interviewerId, 0L);
+    }
+
+    private InterviewerProfileSnapshot store(User interviewer, long version) {
+        InterviewerProfileSnapshot snapshot = InterviewerProfileSnapshot.from(interviewer, version);
+        // Never let an older computation replace a newer one
+        snapshots.merge(interviewer.getId(), snapshot,
+                (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        return snapshot;
+    }
+}
@@ -0,0 +1,227 @@
+package com.nemal.service;
+
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.InterviewerTechnologyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Which interviewer knows which technology, held two ways:
+ *   • per interviewer, a {@code long[]} bitset over dense technology bits, so
+ *     "knows any of these" is a word-wise AND against a query mask;
+ *   • per technology, a {@link BitSet} over interviewer ids (user ids are
+ *     dense identity values), so "everyone who knows any of these" is an OR
+ *     of a handful of bitmaps.
+ *
+ * Only active assignments count. The index is built from one id-pair query,
+ * then patched per interviewer after ProfileService commits a technology
+ * add / remove (InterviewerProfileChangedEvent); the patch swaps in a new
+ * immutable snapshot, copying only the bitmaps of technologies that changed.
+ */
+@Component
+public class InterviewerTechnologyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewerTechnologyIndex.class);
+
+    private static final long[] NO_WORDS = new long[0];
+
+    private final InterviewerTechnologyRepository interviewerTechnologyRepository;
+
+    private final Object writeLock = new Object();
+
+    /** Null until the first successful build; {@link #current()} builds on demand. */
+    private volatile Snapshot snapshot;
+
+    public InterviewerTechnologyIndex(InterviewerTechnologyRepository interviewerTechnologyRepository) {
+        this.interviewerTechnologyRepository = interviewerTechnologyRepository;
+    }
+
+    // ── Lifecycle / refresh ───────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        rebuildQuietly();
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (writeLock) {
+            Map<Long, Integer> bitOf = new HashMap<>();
+            Map<Long, List<Long>> byInterviewer = new HashMap<>();
+            int assignments = 0;
+            for (var row : interviewerTechnologyRepository.findAllAssignments()) {
+                bitOf.computeIfAbsent(row.getTechnologyId(), k -> bitOf.size());
+                byInterviewer.computeIfAbsent(row.getInterviewerId(), k -> new ArrayList<>()).add(row.getTechnologyId());
+                assignments++;
+            }
+
+            Map<Long, long[]> words = new HashMap<>();
+            Map<Long, BitSet> interviewers = new HashMap<>();
+            for (Map.Entry<Long, List<Long>> e : byInterviewer.entrySet()) {
+                words.put(e.getKey(), toWords(e.getValue(), bitOf));
+                for (Long techId : e.getValue()) {
+                    interviewers.computeIfAbsent(techId, k -> new BitSet()).set(Math.toIntExact(e.getKey()));
+                }
+            }
+            snapshot = new Snapshot(Map.copyOf(bitOf), Map.copyOf(words), Map.copyOf(interviewers));
+            logger.info("Interviewer technology index built: {} interviewers, {} technologies, {} assignments",
+                    words.size(), bitOf.size(), assignments);
+        }
+    }
+
+    @Order(AvailabilityVersionTracker.REFRESH_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onInterviewerProfileChanged(InterviewerProfileChangedEvent event) {
+        if (event.interviewerId() == null || snapshot == null) return;
+        try {
+            refreshInterviewer(event.interviewerId());
+        } catch (Exception e) {
+            snapshot = null;
+            logger.warn("Failed to refresh technology index for interviewer {}, next lookup rebuilds: {}",
+                    event.interviewerId(), e.getMessage());
+        }
+    }
+
+    @Order(AvailabilityVersionTracker.REFRESH_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrgStructureChanged(OrgStructureChangedEvent event) {
+        if (snapshot != null) {
+            rebuildQuietly();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            snapshot = null;
+            logger.warn("Interviewer technology index rebuild failed, next lookup will retry: {}", e.getMessage());
+        }
+    }
+
+    private void refreshInterviewer(Long interviewerId) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) return;
+            Set<Long> now = new HashSet<>(interviewerTechnologyRepository.findTechnologyIdsByInterviewerId(interviewerId));
+            Set<Long> before = current.technologies(interviewerId);
+            if (now.equals(before)) return;
+
+            Map<Long, Integer> bitOf = new HashMap<>(current.bitOf());
+            for (Long techId : now) {
+                bitOf.computeIfAbsent(techId, k -> bitOf.size());
+            }
+
+            Map<Long, long[]> words = new HashMap<>(current.words());
+            if (now.isEmpty()) {
+                words.remove(interviewerId);
+            } else {
+                words.put(interviewerId, toWords(now, bitOf));
+            }
+
+            Map<Long, BitSet> interviewers = new HashMap<>(current.interviewers());
+            int bit = Math.toIntExact(interviewerId);
+            for (Long techId : before) {
+                if (now.contains(techId)) continue;
+                BitSet copy = (BitSet) interviewers.get(techId).clone();
+                copy.clear(bit);
+                interviewers.put(techId, copy);
+            }
+            for (Long techId : now) {
+                if (before.contains(techId)) continue;
+                BitSet existing = interviewers.get(techId);
+                BitSet copy = existing != null ? (BitSet) existing.clone() : new BitSet();
+                copy.set(bit);
+                interviewers.put(techId, copy);
+            }
+            snapshot = new Snapshot(Map.copyOf(bitOf), Map.copyOf(words), Map.copyOf(interviewers));
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            rebuild();
+            s = snapshot;
+        }
+        return s;
+    }
+
+    // ── Query ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Query mask for {@link #hasAny}. Unknown technologies (nobody has them)
+     * contribute no bits, so a mask of only unknown ids matches nobody.
+     */
+    public long[] mask(Collection<Long> technologyIds) {
+        Snapshot s = current();
+        List<Long> known = technologyIds.stream().filter(id -> id != null && s.bitOf().containsKey(id)).toList();
+        return known.isEmpty() ? NO_WORDS : toWords(known, s.bitOf());
+    }
+
+    /** True if the interviewer has at least one technology in {@code mask}. */
+    public boolean hasAny(Long interviewerId, long[] mask) {
+        long[] words = current().words().getOrDefault(interviewerId, NO_WORDS);
+        for (int i = Math.min(words.length, mask.length) - 1; i >= 0; i--) {
+            if ((words[i] & mask[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    /** Interviewer ids (as bit positions) having any of the technologies. The result is the caller's. */
+    public BitSet interviewersWithAny(Collection<Long> technologyIds) {
+        Snapshot s = current();
+        BitSet result = new BitSet();
+        for (Long techId : technologyIds) {
+            BitSet bits = techId != null ? s.interviewers().get(techId) : null;
+            if (bits != null) result.or(bits);
+        }
+        return result;
+    }
+
+    // ── Building blocks ───────────────────────────────────────────────────────
+
+    private static long[] toWords(Collection<Long> technologyIds, Map<Long, Integer> bitOf) {
+        int max = 0;
+        for (Long techId : technologyIds) {
+            max = Math.max(max, bitOf.get(techId));
+        }
+        long[] words = new long[(max >> 6) + 1];
+        for (Long techId : technologyIds) {
+            int bit = bitOf.get(techId);
+            words[bit >> 6] |= 1L << (bit & 63);
+        }
+        return words;
+    }
+
+    private record Snapshot(
+            Map<Long, Integer> bitOf,          // technology id → dense bit
+            Map<Long, long[]> words,           // interviewer id → technology bits
+            Map<Long, BitSet> interviewers     // technology id → interviewer ids
+    ) {
+        Set<Long> technologies(Long interviewerId) {
+            long[] w = words.get(interviewerId);
+            if (w == null) return Set.of();
+            Set<Long> ids = new HashSet<>();
+            for (Map.Entry<Long, Integer> e : bitOf.entrySet()) {
+                int bit = e.getValue();
+                if ((bit >> 6) < w.length && (w[bit >> 6] & (1L << (bit & 63))) != 0) ids.add(e.getKey());
+            }
+            return ids;
+        }
+    }
+}
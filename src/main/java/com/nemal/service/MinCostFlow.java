@@ -0,0 +1,209 @@
+package com.nemal.service;
+
+import java.util.Arrays;
+
+/**
+ * Min-cost max-flow over integer capacities and non-negative integer costs.
+ *
+ * Primal-dual: each phase runs Dijkstra on reduced costs (Johnson potentials)
+ * to find the current shortest distance, then pushes a blocking flow (Dinic)
+ * through every edge whose reduced cost is zero, i.e. along all shortest
+ * paths at once. Costs here are small integers, so the number of phases is
+ * bounded by the number of distinct path costs rather than by the flow.
+ *
+ * Not thread-safe; one instance per solve.
+ */
+final class MinCostFlow {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int nodes;
+    private int[] head;
+    private int[] next;
+    private int[] to;
+    private int[] cap;
+    private long[] cost;
+    private int edges;
+
+    MinCostFlow(int nodes, int expectedEdges) {
+        this.nodes = nodes;
+        this.head = new int[nodes];
+        Arrays.fill(head, -1);
+        int capacity = Math.max(2, expectedEdges * 2);
+        this.next = new int[capacity];
+        this.to = new int[capacity];
+        this.cap = new int[capacity];
+        this.cost = new long[capacity];
+    }
+
+    /** Adds u → v and its residual twin; returns the id to query {@link #flow} with. */
+    int addEdge(int u, int v, int capacity, long edgeCost) {
+        if (edgeCost < 0) throw new IllegalArgumentException("Negative edge cost");
+        ensureCapacity(edges + 2);
+        int e = edges;
+        link(u, v, capacity, edgeCost);
+        link(v, u, 0, -edgeCost);
+        return e;
+    }
+
+    /** Flow currently on the edge returned by {@link #addEdge}. */
+    int flow(int edge) {
+        return cap[edge ^ 1];
+    }
+
+    /** Pushes as much flow as possible from s to t at minimum total cost; returns {flow, cost}. */
+    long[] solve(int s, int t) {
+        long[] potential = new long[nodes];
+        long[] dist = new long[nodes];
+        int[] level = new int[nodes];
+        int[] iter = new int[nodes];
+        long totalFlow = 0;
+        long totalCost = 0;
+
+        while (true) {
+            dijkstra(s, potential, dist);
+            if (dist[t] >= INF) break;
+            long bound = dist[t];
+            for (int v = 0; v < nodes; v++) {
+                potential[v] += Math.min(dist[v], bound);
+            }
+
+            // Blocking flows over zero-reduced-cost edges (all are shortest paths)
+            while (bfs(s, t, potential, level)) {
+                System.arraycopy(head, 0, iter, 0, nodes);
+                long pushed;
+                while ((pushed = dfs(s, t, Integer.MAX_VALUE, potential, level, iter)) > 0) {
+                    totalFlow += pushed;
+                    totalCost += pushed * (potential[t] - potential[s]);
+                }
+            }
+        }
+        return new long[]{totalFlow, totalCost};
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private void link(int u, int v, int capacity, long edgeCost) {
+        to[edges] = v;
+        cap[edges] = capacity;
+        cost[edges] = edgeCost;
+        next[edges] = head[u];
+        head[u] = edges++;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= to.length) return;
+        int size = Math.max(needed, to.length * 2);
+        next = Arrays.copyOf(next, size);
+        to = Arrays.copyOf(to, size);
+        cap = Arrays.copyOf(cap, size);
+        cost = Arrays.copyOf(cost, size);
+    }
+
+    private boolean admissible(int e, int u, long[] potential) {
+        return cap[e] > 0 && cost[e] + potential[u] - potential[to[e]] == 0;
+    }
+
+    private void dijkstra(int s, long[] potential, long[] dist) {
+        Arrays.fill(dist, INF);
+        dist[s] = 0;
+        // Binary heap of (dist, node) packed as two arrays; stale entries are skipped
+        long[] keys = new long[Math.max(16, nodes)];
+        int[] vals = new int[keys.length];
+        int size = 0;
+        keys[size] = 0;
+        vals[size++] = s;
+
+        while (size > 0) {
+            long d = keys[0];
+            int u = vals[0];
+            size--;
+            keys[0] = keys[size];
+            vals[0] = vals[size];
+            siftDown(keys, vals, size);
+            if (d > dist[u]) continue;
+
+            for (int e = head[u]; e >= 0; e = next[e]) {
+                if (cap[e] <= 0) continue;
+                int v = to[e];
+                long nd = d + cost[e] + potential[u] - potential[v];
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    if (size == keys.length) {
+                        keys = Arrays.copyOf(keys, size * 2);
+                        vals = Arrays.copyOf(vals, size * 2);
+                    }
+                    keys[size] = nd;
+                    vals[size] = v;
+                    siftUp(keys, vals, size++);
+                }
+            }
+        }
+    }
+
+    private boolean bfs(int s, int t, long[] potential, int[] level) {
+        Arrays.fill(level, -1);
+        int[] queue = new int[nodes];
+        int qh = 0;
+        int qt = 0;
+        level[s] = 0;
+        queue[qt++] = s;
+        while (qh < qt) {
+            int u = queue[qh++];
+            for (int e = head[u]; e >= 0; e = next[e]) {
+                int v = to[e];
+                if (level[v] < 0 && admissible(e, u, potential)) {
+                    level[v] = level[u] + 1;
+                    queue[qt++] = v;
+                }
+            }
+        }
+        return level[t] >= 0;
+    }
+
+    private int dfs(int u, int t, int limit, long[] potential, int[] level, int[] iter) {
+        if (u == t) return limit;
+        for (; iter[u] >= 0; iter[u] = next[iter[u]]) {
+            int e = iter[u];
+            int v = to[e];
+            if (level[v] != level[u] + 1 || !admissible(e, u, potential)) continue;
+            int pushed = dfs(v, t, Math.min(limit, cap[e]), potential, level, iter);
+            if (pushed > 0) {
+                cap[e] -= pushed;
+                cap[e ^ 1] += pushed;
+                return pushed;
+            }
+        }
+        return 0;
+    }
+
+    private static void siftUp(long[] keys, int[] vals, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= keys[i]) break;
+            swap(keys, vals, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] vals, int size) {
+        int i = 0;
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= size) break;
+            int c = (l + 1 < size && keys[l + 1] < keys[l]) ? l + 1 : l;
+            if (keys[i] <= keys[c]) break;
+            swap(keys, vals, i, c);
+            i = c;
+        }
+    }
+
+    private static void swap(long[] keys, int[] vals, int a, int b) {
+        long k = keys[a];
+        keys[a] = keys[b];
+        keys[b] = k;
+        int v = vals[a];
+        vals[a] = vals[b];
+        vals[b] = v;
+    }
+}
@@ -0,0 +1,66 @@
+package com.nemal.service;
+
+import com.nemal.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Retention for the notifications table (see V26): read notifications older
+ * than notifications.archive.after-days move to notifications_archive.
+ *
+ * Each chunk is its own short transaction of one DELETE ... RETURNING /
+ * INSERT statement, so the job never holds locks on a large part of the
+ * table and mark-read requests only wait on the current chunk, if at all.
+ * Only read rows are archived, so unread counters are unaffected.
+ */
+@Component
+public class NotificationArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationArchiver.class);
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notifications.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${notifications.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    /** Bounds one run; whatever is left is picked up next time. */
+    @Value("${notifications.archive.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    public NotificationArchiver(NotificationRepository notificationRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${notifications.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime before = LocalDateTime.now().minusDays(afterDays);
+        long total = 0;
+        try {
+            for (int i = 0; i < maxChunksPerRun; i++) {
+                Integer moved = transactionTemplate.execute(status ->
+                        notificationRepository.archiveReadBefore(before, chunkSize));
+                if (moved == null || moved == 0) break;
+                total += moved;
+                if (moved < chunkSize) break;
+            }
+        } catch (Exception e) {
+            logger.warn("Notification archive run stopped after {} rows: {}", total, e.getMessage());
+        }
+        if (total > 0) {
+            logger.info("Archived {} notifications read before {}", total, before);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.nemal.service;
+
+import com.nemal.dto.NotificationDto;
+import com.nemal.entity.Notification;
+import com.nemal.entity.NotificationOutbox;
+import com.nemal.enums.OutboxStatus;
+import com.nemal.repository.NotificationOutboxRepository;
+import com.nemal.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the notification outbox (V25) off the request path.
+ *
+ *   1. PENDING rows are claimed in batches (FOR UPDATE SKIP LOCKED), rendered
+ *      and written to notifications as one batched insert in one short
+ *      transaction, which also moves each recipient's unread counter; after
+ *      it commits each notification is pushed to its recipient together with
+ *      the new count (NotificationPublisher).
+ *   2. With notifications.mail.enabled, rows then wait as MAIL_PENDING and are
+ *      emailed outside any transaction: a claim leases them (next_attempt_at
+ *      moves past the send), failures back off exponentially and give up as
+ *      FAILED after notifications.mail.max-attempts.
+ *   3. SENT rows are pruned after notifications.outbox.retention-days.
+ *
+ * The WebSocket push is best effort — the notification row is the record,
+ * and clients re-read it on their next load.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final int BATCH_SIZE = 200;
+    /** Bounds one run so a backlog cannot starve the scheduler's other jobs. */
+    private static final int MAX_BATCHES_PER_RUN = 50;
+    private static final int MAIL_BATCH_SIZE = 50;
+    /** How long a claimed email stays invisible to other dispatchers while it is being sent. */
+    private static final Duration MAIL_LEASE = Duration.ofMinutes(5);
+    private static final Duration MAIL_BACKOFF_BASE = Duration.ofSeconds(30);
+    private static final Duration MAIL_BACKOFF_MAX = Duration.ofHours(1);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final NotificationPublisher notificationPublisher;
+    private final NotificationUnreadCounter unreadCounter;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notifications.mail.enabled:false}")
+    private boolean mailEnabled;
+
+    @Value("${notifications.mail.from:}")
+    private String mailFrom;
+
+    @Value("${notifications.mail.max-attempts:5}")
+    private int mailMaxAttempts;
+
+    @Value("${notifications.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+                                  NotificationRepository notificationRepository,
+                                  NotificationService notificationService,
+                                  NotificationPublisher notificationPublisher,
+                                  NotificationUnreadCounter unreadCounter,
+                                  ObjectProvider<JavaMailSender> mailSender,
+                                  PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.notificationPublisher = notificationPublisher;
+        this.unreadCounter = unreadCounter;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ── 1. Outbox → notifications + WebSocket ────────────────────────────────
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                Batch batch = transactionTemplate.execute(status -> writeBatch());
+                if (batch == null || batch.claimed() == 0) break;
+                for (Push push : batch.pushes()) {
+                    notificationPublisher.publish(push.recipientId(), push.email(), push.notification());
+                }
+                if (batch.claimed() < BATCH_SIZE) break;
+            }
+        } catch (Exception e) {
+            // Rows stay PENDING and are retried on the next run
+            logger.error("Notification outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Batch writeBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> rows = outboxRepository.claimDue(OutboxStatus.PENDING.name(), now, BATCH_SIZE);
+        if (rows.isEmpty()) return new Batch(0, List.of());
+
+        List<NotificationOutbox> rendered = new ArrayList<>(rows.size());
+        List<Notification> notifications = new ArrayList<>(rows.size());
+        for (NotificationOutbox row : rows) {
+            try {
+                notifications.add(notificationService.render(row));
+                rendered.add(row);
+            } catch (Exception e) {
+                // A row that can never render must not block the rest of the outbox
+                row.setStatus(OutboxStatus.FAILED);
+                row.setLastError(truncate(e.getMessage()));
+                row.setProcessedAt(now);
+                logger.warn("Dropping undeliverable outbox row {}: {}", row.getId(), e.getMessage());
+            }
+        }
+        notifications = notificationRepository.saveAll(notifications);
+
+        Map<Long, Integer> added = new HashMap<>();
+        List<Push> pushes = new ArrayList<>(notifications.size());
+        for (int i = 0; i < rendered.size(); i++) {
+            NotificationOutbox row = rendered.get(i);
+            Notification notification = notifications.get(i);
+            row.setNotificationId(notification.getId());
+            row.setAttempts(0);
+            if (mailEnabled) {
+                row.setStatus(OutboxStatus.MAIL_PENDING);
+                row.setNextAttemptAt(now);
+            } else {
+                row.setStatus(OutboxStatus.SENT);
+                row.setProcessedAt(now);
+            }
+            Long recipientId = notification.getRecipient().getId();
+            added.merge(recipientId, 1, Integer::sum);
+            pushes.add(new Push(recipientId, notification.getRecipient().getEmail(),
+                    NotificationDto.from(notification)));
+        }
+        added.forEach(unreadCounter::track);
+        return new Batch(rows.size(), pushes);
+    }
+
+    // ── 2. Email with retries ────────────────────────────────────────────────
+
+    @Scheduled(fixedDelayString = "${notifications.mail.poll-interval-ms:5000}")
+    public void deliverMail() {
+        if (!mailEnabled) return;
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            logger.warn("notifications.mail.enabled is set but no JavaMailSender is configured");
+            return;
+        }
+        try {
+            List<Mail> mails;
+            do {
+                mails = transactionTemplate.execute(status -> claimMail());
+                if (mails == null || mails.isEmpty()) break;
+
+                Map<Long, String> failures = new HashMap<>();
+                for (Mail mail : mails) {
+                    try {
+                        sender.send(mail.message());
+                    } catch (Exception e) {
+                        failures.put(mail.outboxId(), e.getMessage() != null ? e.getMessage() : e.toString());
+                    }
+                }
+                List<Mail> sent = mails;
+                transactionTemplate.executeWithoutResult(status -> recordMail(sent, failures));
+            } while (mails.size() == MAIL_BATCH_SIZE);
+        } catch (Exception e) {
+            logger.error("Notification mail delivery failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<Mail> claimMail() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> rows = outboxRepository.claimDue(
+                OutboxStatus.MAIL_PENDING.name(), now, MAIL_BATCH_SIZE);
+        List<Mail> mails = new ArrayList<>(rows.size());
+        for (NotificationOutbox row : rows) {
+            row.setAttempts(row.getAttempts() + 1);
+            row.setNextAttemptAt(now.plus(MAIL_LEASE));
+
+            Notification rendered = notificationService.render(row);
+            SimpleMailMessage message = new SimpleMailMessage();
+            if (mailFrom != null && !mailFrom.isBlank()) message.setFrom(mailFrom);
+            message.setTo(row.getRecipient().getEmail());
+            message.setSubject(rendered.getSubject());
+            message.setText(rendered.getMessage());
+            mails.add(new Mail(row.getId(), message));
+        }
+        return mails;
+    }
+
+    private void recordMail(List<Mail> mails, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox row : outboxRepository.findAllById(mails.stream().map(Mail::outboxId).toList())) {
+            String error = failures.get(row.getId());
+            if (error == null) {
+                row.setStatus(OutboxStatus.SENT);
+                row.setProcessedAt(now);
+                row.setLastError(null);
+            } else if (row.getAttempts() >= mailMaxAttempts) {
+                row.setStatus(OutboxStatus.FAILED);
+                row.setProcessedAt(now);
+                row.setLastError(truncate(error));
+                logger.warn("Giving up emailing notification {} after {} attempts: {}",
+                        row.getNotificationId(), row.getAttempts(), error);
+            } else {
+                row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                row.setLastError(truncate(error));
+            }
+        }
+    }
+
+    /** 30 s, 1 min, 2 min, … capped at an hour. */
+    static Duration backoff(int attempts) {
+        Duration delay = MAIL_BACKOFF_BASE.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 16));
+        return delay.compareTo(MAIL_BACKOFF_MAX) > 0 ? MAIL_BACKOFF_MAX : delay;
+    }
+
+    // ── 3. Retention ─────────────────────────────────────────────────────────
+
+    @Scheduled(cron = "${notifications.outbox.prune-cron:0 15 * * * *}")
+    public void prune() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)));
+            if (deleted != null && deleted > 0) {
+                logger.info("Pruned {} delivered notification outbox rows", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("Notification outbox prune failed: {}", e.getMessage());
+        }
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= 1000 ? s : s.substring(0, 1000);
+    }
+
+    private record Batch(int claimed, List<Push> pushes) {}
+
+    private record Push(Long recipientId, String email, NotificationDto notification) {}
+
+    private record Mail(Long outboxId, SimpleMailMessage message) {}
+}
@@ -0,0 +1,52 @@
+package com.nemal.service;
+
+import com.nemal.dto.NotificationDto;
+import com.nemal.dto.NotificationPushDto;
+import com.nemal.event.NotificationsReadEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes committed notifications and unread counts to
+ * /user/queue/notifications, so the bell updates without polling:
+ *   • a new notification, with the recipient's count after it (NotificationDispatcher)
+ *   • the count alone after notifications are marked read (NotificationsReadEvent)
+ */
+@Component
+public class NotificationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPublisher.class);
+
+    static final String USER_QUEUE = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationUnreadCounter unreadCounter;
+
+    public NotificationPublisher(SimpMessagingTemplate messagingTemplate,
+                                 NotificationUnreadCounter unreadCounter) {
+        this.messagingTemplate = messagingTemplate;
+        this.unreadCounter = unreadCounter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        publish(event.userId(), event.email(), null);
+    }
+
+    /** Call only after the notification (if any) has committed. */
+    public void publish(Long userId, String email, NotificationDto notification) {
+        if (email == null) return;
+        try {
+            long unread = unreadCounter.unread(userId);
+            messagingTemplate.convertAndSendToUser(email, USER_QUEUE,
+                    new NotificationPushDto(notification, unread, System.currentTimeMillis()));
+        } catch (Exception e) {
+            // The notification is committed; clients resync on their next load
+            logger.warn("Failed to push notification update to user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -1,93 +1,217 @@
 // NotificationService.java
 package com.nemal.service;
 
+import com.nemal.dto.MarkNotificationsReadDto;
+import com.nemal.dto.NotificationDto;
 import com.nemal.entity.InterviewRequest;
 import com.nemal.entity.Notification;
+import com.nemal.entity.NotificationOutbox;
+import com.nemal.entity.User;
+import com.nemal.enums.OutboxStatus;
+import com.nemal.event.NotificationsReadEvent;
+import com.nemal.repository.NotificationOutboxRepository;
 import com.nemal.repository.NotificationRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Queues interview notifications in the transactional outbox (V25). The send*
+ * methods only add an outbox row to the caller's transaction — committed or
+ * rolled back with the booking itself — and NotificationDispatcher renders,
+ * stores, pushes and emails them in the background.
+ *
+ * Reads go straight to the notifications table, except the unread count,
+ * which comes from NotificationUnreadCounter.
+ */
 @Service
 public class NotificationService {
 
+    static final String INTERVIEW_SCHEDULED = "INTERVIEW_SCHEDULED";
+    static final String INTERVIEW_CANCELLED = "INTERVIEW_CANCELLED";
+    static final String INTERVIEW_REMINDER = "INTERVIEW_REMINDER";
+
+    private final NotificationOutboxRepository outboxRepository;
     private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' h:mm a");
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationOutboxRepository outboxRepository,
+                               NotificationRepository notificationRepository,
+                               NotificationUnreadCounter unreadCounter,
+                               ApplicationEventPublisher eventPublisher) {
+        this.outboxRepository = outboxRepository;
         this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Send notification when interview is scheduled (auto-accepted)
      */
     public void sendInterviewScheduledNotification(InterviewRequest request) {
-        String formattedDateTime = request.getPreferredStartDateTime().format(DATE_FORMATTER);
-
-        Notification notification = Notification.builder()
-                .recipient(request.getAssignedInterviewer())
-                .subject("Interview Scheduled")
-                .message(String.format(
-                        "An interview has been scheduled for you with candidate %s on %s. " +
-                                "Position: %s. Please check your schedule.",
-                        request.getCandidateName(),
-                        formattedDateTime,
-                        request.getCandidateDesignation() != null
-                                ? request.getCandidateDesignation().getName()
-                                : "Not specified"
-                ))
-                .type("INTERVIEW_SCHEDULED")
-                .relatedEntityId(request.getId())
-                .relatedEntityType("INTERVIEW_REQUEST")
-                .read(false)
-                .build();
+        enqueue(INTERVIEW_SCHEDULED, List.of(request));
+    }
 
-        notificationRepository.save(notification);
+    /**
+     * Send scheduled notifications for several requests (e.g. every panelist)
+     * as one batched insert
+     */
+    public void sendInterviewScheduledNotifications(List<InterviewRequest> requests) {
+        enqueue(INTERVIEW_SCHEDULED, requests);
     }
 
     /**
      * Send notification when interview is cancelled
      */
     public void sendInterviewCancelledNotification(InterviewRequest request) {
-        String formattedDateTime = request.getPreferredStartDateTime().format(DATE_FORMATTER);
-
-        Notification notification = Notification.builder()
-                .recipient(request.getAssignedInterviewer())
-                .subject("Interview Cancelled")
-                .message(String.format(
-                        "The interview with candidate %s scheduled for %s has been cancelled by HR.",
-                        request.getCandidateName(),
-                        formattedDateTime
-                ))
-                .type("INTERVIEW_CANCELLED")
-                .relatedEntityId(request.getId())
-                .relatedEntityType("INTERVIEW_REQUEST")
-                .read(false)
-                .build();
+        enqueue(INTERVIEW_CANCELLED, List.of(request));
+    }
 
-        notificationRepository.save(notification);
+    /**
+     * Send cancelled notifications for several requests as one batched insert
+     */
+    public void sendInterviewCancelledNotifications(List<InterviewRequest> requests) {
+        enqueue(INTERVIEW_CANCELLED, requests);
     }
 
     /**
      * Send reminder notification for upcoming interview
      */
     public void sendInterviewReminderNotification(InterviewRequest request) {
-        String formattedDateTime = request.getPreferredStartDateTime().format(DATE_FORMATTER);
-
-        Notification notification = Notification.builder()
-                .recipient(request.getAssignedInterviewer())
-                .subject("Interview Reminder")
-                .message(String.format(
-                        "Reminder: You have an interview with %s scheduled for %s.",
-                        request.getCandidateName(),
-                        formattedDateTime
-                ))
-                .type("INTERVIEW_REMINDER")
-                .relatedEntityId(request.getId())
-                .relatedEntityType("INTERVIEW_REQUEST")
+        enqueue(INTERVIEW_REMINDER, List.of(request));
+    }
+
+    /**
+     * Send reminder notifications for several requests as one batched insert
+     */
+    public void sendInterviewReminderNotifications(List<InterviewRequest> requests) {
+        enqueue(INTERVIEW_REMINDER, requests);
+    }
+
+    private void enqueue(String type, List<InterviewRequest> requests) {
+        List<NotificationOutbox> rows = new ArrayList<>(requests.size());
+        for (InterviewRequest request : requests) {
+            if (request.getAssignedInterviewer() == null) continue;
+            rows.add(NotificationOutbox.builder()
+                    .type(type)
+                    .recipient(request.getAssignedInterviewer())
+                    .relatedEntityId(request.getId())
+                    .relatedEntityType("INTERVIEW_REQUEST")
+                    .candidateName(request.getCandidateName())
+                    .position(request.getCandidateDesignation() != null
+                            ? request.getCandidateDesignation().getName()
+                            : null)
+                    .interviewStart(request.getPreferredStartDateTime())
+                    .status(OutboxStatus.PENDING)
+                    .build());
+        }
+        if (!rows.isEmpty()) {
+            outboxRepository.saveAll(rows);
+        }
+    }
+
+    // ── Inbox ────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getNotifications(Long userId) {
+        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId)
+                .stream().map(NotificationDto::from).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getUnreadNotifications(Long userId) {
+        return notificationRepository.findByRecipientIdAndReadFalseOrderByCreatedAtDesc(userId)
+                .stream().map(NotificationDto::from).toList();
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.unread(userId);
+    }
+
+    @Transactional
+    public NotificationDto markAsRead(User user, Long notificationId) {
+        int marked = notificationRepository.markRead(notificationId, user.getId(), LocalDateTime.now());
+        Notification notification = notificationRepository.findById(notificationId)
+                .filter(n -> n.getRecipient().getId().equals(user.getId()))
+                .orElseThrow(() -> new RuntimeException("Notification not found"));
+        readChanged(user, marked);
+        return NotificationDto.from(notification);
+    }
+
+    @Transactional
+    public int markAllAsRead(User user) {
+        int marked = notificationRepository.markAllRead(user.getId(), LocalDateTime.now());
+        readChanged(user, marked);
+        return marked;
+    }
+
+    @Transactional
+    public int markRangeAsRead(User user, MarkNotificationsReadDto dto) {
+        if (dto == null || dto.to() == null) {
+            throw new IllegalArgumentException("'to' is required");
+        }
+        LocalDateTime from = dto.from() != null ? dto.from() : EPOCH;
+        if (!from.isBefore(dto.to())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int marked = notificationRepository.markRangeRead(user.getId(), from, dto.to(), LocalDateTime.now());
+        readChanged(user, marked);
+        return marked;
+    }
+
+    private void readChanged(User user, int marked) {
+        if (marked == 0) return;
+        unreadCounter.track(user.getId(), -marked);
+        eventPublisher.publishEvent(new NotificationsReadEvent(user.getId(), user.getEmail()));
+    }
+
+    // ── Rendering (NotificationDispatcher) ───────────────────────────────────
+
+    /** The notification row for an outbox entry; not saved. */
+    Notification render(NotificationOutbox entry) {
+        String formattedDateTime = entry.getInterviewStart() != null
+                ? entry.getInterviewStart().format(DATE_FORMATTER)
+                : "an unspecified time";
+
+        String subject;
+        String message;
+        switch (entry.getType()) {
+            case INTERVIEW_SCHEDULED -> {
+                subject = "Interview Scheduled";
+                message = "An interview has been scheduled for you with candidate " + entry.getCandidateName()
+                        + " on " + formattedDateTime + ". Position: "
+                        + (entry.getPosition() != null ? entry.getPosition() : "Not specified")
+                        + ". Please check your schedule.";
+            }
+            case INTERVIEW_CANCELLED -> {
+                subject = "Interview Cancelled";
+                message = "The interview with candidate " + entry.getCandidateName()
+                        + " scheduled for " + formattedDateTime + " has been cancelled by HR.";
+            }
+            case INTERVIEW_REMINDER -> {
+                subject = "Interview Reminder";
+                message = "Reminder: You have an interview with " + entry.getCandidateName()
+                        + " scheduled for " + formattedDateTime + ".";
+            }
+            default -> throw new IllegalArgumentException("Unknown notification type: " + entry.getType());
+        }
+
+        return Notification.builder()
+                .recipient(entry.getRecipient())
+                .subject(subject)
+                .message(message)
+                .type(entry.getType())
+                .relatedEntityId(entry.getRelatedEntityId())
+                .relatedEntityType(entry.getRelatedEntityType())
                 .read(false)
                 .build();
-
-        notificationRepository.save(notification);
     }
-}
\ No newline at end of file
+}
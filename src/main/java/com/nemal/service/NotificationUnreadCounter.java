@@ -0,0 +1,109 @@
+package com.nemal.service;
+
+import com.nemal.repository.NotificationRepository;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unread notification count per user, kept in memory so the badge never
+ * runs a COUNT. A user's counter is seeded by one COUNT on first use and
+ * from then on moved by {@link #track}, which applies the delta when the
+ * writing transaction commits.
+ *
+ * Seeding races with in-flight writes: a COUNT may or may not see a
+ * transaction that commits while it runs. So every tracked write is
+ * "pending" from track() until completion, and a seed is only kept if no
+ * write was pending when it started and none completed while it ran —
+ * otherwise the result is returned uncached and the next read seeds again.
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public NotificationUnreadCounter(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    /** The user's unread count, seeding the counter on first use. */
+    public long unread(Long userId) {
+        Counter counter = counters.computeIfAbsent(userId, id -> new Counter());
+        long version;
+        synchronized (counter) {
+            if (counter.seeded) return counter.value;
+            version = counter.pending == 0 ? counter.version : -1;
+        }
+
+        long count = notificationRepository.countByRecipientIdAndReadFalse(userId);
+        synchronized (counter) {
+            if (counter.seeded) return counter.value;
+            if (version >= 0 && counter.pending == 0 && counter.version == version) {
+                counter.value = count;
+                counter.seeded = true;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves the user's count by {@code delta} once the current transaction
+     * commits; nothing changes if it rolls back. Outside a transaction the
+     * delta applies immediately.
+     */
+    public void track(Long userId, long delta) {
+        if (userId == null || delta == 0) return;
+        Counter counter = counters.computeIfAbsent(userId, id -> new Counter());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.apply(delta);
+            return;
+        }
+
+        synchronized (counter) {
+            counter.pending++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean applied;
+
+            @Override
+            public int getOrder() {
+                // Ahead of @TransactionalEventListener pushes, which read the new count
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                applied = true;
+                counter.complete(delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!applied) counter.complete(0);
+            }
+        });
+    }
+
+    private static final class Counter {
+        long value;
+        boolean seeded;
+        int pending;
+        long version;
+
+        synchronized void apply(long delta) {
+            version++;
+            if (seeded) value = Math.max(0, value + delta);
+        }
+
+        synchronized void complete(long delta) {
+            pending--;
+            apply(delta);
+        }
+    }
+}
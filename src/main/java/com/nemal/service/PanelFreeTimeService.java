@@ -0,0 +1,251 @@
+package com.nemal.service;
+
+import com.nemal.dto.FreeWindowDto;
+import com.nemal.dto.FreeWindowRequestDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.repository.AvailabilitySlotRepository;
+import com.nemal.repository.AvailabilitySlotSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Finds windows in which enough panelists are free at the same time, from
+ * their AVAILABLE slots, so HR does not have to line calendars up by eye.
+ */
+@Service
+public class PanelFreeTimeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PanelFreeTimeService.class);
+
+    static final int DEFAULT_RANGE_DAYS = 14;
+    static final int MAX_RANGE_DAYS = 90;
+    static final int DEFAULT_MAX_RESULTS = 50;
+    static final int MAX_RESULTS = 500;
+    private static final int DEFAULT_MIN_FROM_FILTER = 2;
+
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final DesignationEligibilityMatrix eligibilityMatrix;
+
+    public PanelFreeTimeService(AvailabilitySlotRepository availabilitySlotRepository,
+                                DesignationEligibilityMatrix eligibilityMatrix) {
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.eligibilityMatrix = eligibilityMatrix;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FreeWindowDto> findFreeWindows(FreeWindowRequestDto dto) {
+        if (dto.durationMinutes() == null || dto.durationMinutes() <= 0) {
+            throw new RuntimeException("Duration must be a positive number of minutes");
+        }
+        boolean explicit = dto.interviewerIds() != null && !dto.interviewerIds().isEmpty();
+        if (!explicit && dto.filter() == null) {
+            throw new RuntimeException("Provide interviewerIds or filter criteria");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = dto.from() == null || dto.from().isBefore(now) ? now : dto.from();
+        LocalDateTime to = dto.to() != null ? dto.to() : from.plusDays(DEFAULT_RANGE_DAYS);
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("End of the search range must be after its start");
+        }
+        if (to.isAfter(from.plusDays(MAX_RANGE_DAYS))) {
+            throw new RuntimeException("Search range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Set<Long> ids = explicit ? new LinkedHashSet<>(dto.interviewerIds()) : Set.of();
+        int required = dto.minInterviewers() != null ? dto.minInterviewers()
+                : explicit ? ids.size() : DEFAULT_MIN_FROM_FILTER;
+        if (required < 1 || (explicit && required > ids.size())) {
+            throw new RuntimeException("minInterviewers must be between 1 and the number of interviewers");
+        }
+        int limit = dto.maxResults() == null || dto.maxResults() <= 0
+                ? DEFAULT_MAX_RESULTS : Math.min(dto.maxResults(), MAX_RESULTS);
+
+        Specification<AvailabilitySlot> spec = AvailabilitySlotSpecifications
+                .availableOverlapping(explicit ? null : dto.filter(), from, to);
+        if (explicit) {
+            spec = spec.and(AvailabilitySlotSpecifications.ofInterviewers(ids));
+        } else if (dto.filter().candidateDesignationId() != null) {
+            spec = spec.and(AvailabilitySlotSpecifications.availableFromDesignations(
+                    eligibilityMatrix.eligibleInterviewerDesignations(dto.filter().candidateDesignationId())));
+        }
+        List<AvailabilitySlot> slots = availabilitySlotRepository.findAll(spec, Sort.by("startDateTime", "id"));
+
+        // Per-interviewer lists stay start-ordered, and are disjoint (V23)
+        Map<Long, List<AvailabilitySlot>> byInterviewer = new LinkedHashMap<>();
+        for (AvailabilitySlot slot : slots) {
+            byInterviewer.computeIfAbsent(slot.getInterviewer().getId(), id -> new ArrayList<>()).add(slot);
+        }
+        if (byInterviewer.size() < required) {
+            return List.of();
+        }
+
+        List<FreeWindowDto> windows = sweep(byInterviewer.values(), from, to, required,
+                Duration.ofMinutes(dto.durationMinutes()));
+        windows.sort(Comparator.comparing(FreeWindowDto::startDateTime)
+                .thenComparing(w -> -w.panelists().size())
+                .thenComparing(FreeWindowDto::endDateTime, Comparator.reverseOrder()));
+
+        logger.info("Free-window search over {} interviewers / {} slots found {} windows",
+                byInterviewer.size(), slots.size(), windows.size());
+        return windows.size() > limit ? new ArrayList<>(windows.subList(0, limit)) : windows;
+    }
+
+    // ── Sweep ─────────────────────────────────────────────────────────────────
+
+    /**
+     * K-way merge of the interviewers' slot boundaries through a heap holding
+     * one cursor per interviewer, so boundaries are visited in time order at
+     * O(log N) each: O(total slots · log N) overall, plus the size of the output.
+     *
+     * Open windows form a stack with growing panelist sets: a start pushes a
+     * window adding the newcomers, an end closes every window that contained
+     * the leaver (always a suffix of the stack) and reopens the survivors with
+     * their original start. A closed window is reported if it is long enough
+     * and has enough panelists, so both "A and B, 9–12" and "A, B and C,
+     * 10–11" come back.
+     */
+    static List<FreeWindowDto> sweep(Iterable<List<AvailabilitySlot>> slotsByInterviewer,
+                                     LocalDateTime from, LocalDateTime to,
+                                     int required, Duration minDuration) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(
+                Comparator.comparing(Cursor::time).thenComparing(Cursor::atStart));
+        for (List<AvailabilitySlot> slots : slotsByInterviewer) {
+            Cursor cursor = new Cursor(slots.iterator(), from, to);
+            if (cursor.advance()) heap.add(cursor);
+        }
+
+        List<FreeWindowDto> found = new ArrayList<>();
+        ArrayDeque<OpenWindow> stack = new ArrayDeque<>();
+        Map<Long, Integer> depthOf = new HashMap<>();   // stack depth of the window that added each free panelist
+
+        while (!heap.isEmpty()) {
+            LocalDateTime t = heap.peek().time();
+
+            // Ends first: slots are half-open, so a slot ending at t and one starting at t never meet
+            int closeFrom = Integer.MAX_VALUE;
+            while (!heap.isEmpty() && heap.peek().time().equals(t) && !heap.peek().atStart()) {
+                Cursor cursor = heap.poll();
+                Long interviewerId = cursor.slot().getInterviewer().getId();
+                closeFrom = Math.min(closeFrom, depthOf.remove(interviewerId));
+                if (cursor.advance()) heap.add(cursor);
+            }
+            if (closeFrom < stack.size()) {
+                List<OpenWindow> closed = new ArrayList<>();
+                while (stack.size() > closeFrom) {
+                    OpenWindow window = stack.pop();
+                    if (window.size >= required && !Duration.between(window.start, t).minus(minDuration).isNegative()) {
+                        found.add(toDto(window.start, t, stack, window));
+                    }
+                    closed.add(window);
+                }
+                // Whoever is still free reopens with the time they became free together
+                for (int i = closed.size() - 1; i >= 0; i--) {
+                    List<AvailabilitySlot> stillFree = new ArrayList<>();
+                    for (AvailabilitySlot slot : closed.get(i).added) {
+                        if (depthOf.containsKey(slot.getInterviewer().getId())) stillFree.add(slot);
+                    }
+                    push(stack, depthOf, closed.get(i).start, stillFree);
+                }
+            }
+
+            List<AvailabilitySlot> started = new ArrayList<>();
+            while (!heap.isEmpty() && heap.peek().time().equals(t) && heap.peek().atStart()) {
+                Cursor cursor = heap.poll();
+                started.add(cursor.slot());
+                if (cursor.advance()) heap.add(cursor);
+            }
+            push(stack, depthOf, t, started);
+        }
+        return found;
+    }
+
+    private static void push(ArrayDeque<OpenWindow> stack, Map<Long, Integer> depthOf,
+                             LocalDateTime start, List<AvailabilitySlot> added) {
+        if (added.isEmpty()) return;
+        int depth = stack.size();
+        for (AvailabilitySlot slot : added) {
+            depthOf.put(slot.getInterviewer().getId(), depth);
+        }
+        stack.push(new OpenWindow(start, added, (stack.isEmpty() ? 0 : stack.peek().size) + added.size()));
+    }
+
+    /** {@code below} holds the still-open windows under {@code top}; together they are its panelists. */
+    private static FreeWindowDto toDto(LocalDateTime start, LocalDateTime end,
+                                       ArrayDeque<OpenWindow> below, OpenWindow top) {
+        List<FreeWindowDto.Panelist> panelists = new ArrayList<>(top.size);
+        Iterator<OpenWindow> it = below.descendingIterator();   // bottom of the stack first
+        while (it.hasNext()) {
+            addPanelists(panelists, it.next());
+        }
+        addPanelists(panelists, top);
+        return new FreeWindowDto(start, end, Duration.between(start, end).toMinutes(), panelists);
+    }
+
+    private static void addPanelists(List<FreeWindowDto.Panelist> panelists, OpenWindow window) {
+        for (AvailabilitySlot slot : window.added) {
+            panelists.add(new FreeWindowDto.Panelist(
+                    slot.getInterviewer().getId(), slot.getInterviewer().getFullName(), slot.getId()));
+        }
+    }
+
+    private record OpenWindow(LocalDateTime start, List<AvailabilitySlot> added, int size) {}
+
+    /** Walks one interviewer's slots as alternating start / end boundaries, clipped to [from, to). */
+    private static final class Cursor {
+        private final Iterator<AvailabilitySlot> slots;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private AvailabilitySlot slot;
+        private boolean atStart;
+
+        Cursor(Iterator<AvailabilitySlot> slots, LocalDateTime from, LocalDateTime to) {
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        /** Moves to the next boundary; false when this interviewer has none left. */
+        boolean advance() {
+            if (slot != null && atStart) {
+                atStart = false;
+                return true;
+            }
+            slot = slots.hasNext() ? slots.next() : null;
+            atStart = true;
+            return slot != null;
+        }
+
+        LocalDateTime time() {
+            return atStart
+                    ? (slot.getStartDateTime().isBefore(from) ? from : slot.getStartDateTime())
+                    : (slot.getEndDateTime().isAfter(to) ? to : slot.getEndDateTime());
+        }
+
+        boolean atStart() {
+            return atStart;
+        }
+
+        AvailabilitySlot slot() {
+            return slot;
+        }
+    }
+}
@@ -6,16 +6,23 @@ import com.nemal.entity.*;
 import com.nemal.enums.CandidateStatus;
 import com.nemal.enums.InterviewStatus;
 import com.nemal.enums.RequestStatus;
+import com.nemal.enums.SlotChangeType;
 import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewScheduleChangedEvent;
 import com.nemal.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -32,6 +39,8 @@ public class PanelInterviewService {
     private final DesignationRepository designationRepository;
     private final TechnologyRepository technologyRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotBookingCoordinator bookingCoordinator;
 
     public PanelInterviewService(
             InterviewPanelRepository panelRepository,
@@ -41,7 +50,9 @@ public class PanelInterviewService {
             CandidateRepository candidateRepository,
             DesignationRepository designationRepository,
             TechnologyRepository technologyRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            ApplicationEventPublisher eventPublisher,
+            SlotBookingCoordinator bookingCoordinator) {
         this.panelRepository = panelRepository;
         this.slotRepository = slotRepository;
         this.requestRepository = requestRepository;
@@ -50,16 +61,17 @@ public class PanelInterviewService {
         this.designationRepository = designationRepository;
         this.technologyRepository = technologyRepository;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.bookingCoordinator = bookingCoordinator;
     }
 
     @Transactional
     public InterviewPanelDto createPanelInterview(User requestedBy, CreatePanelInterviewDto dto) {
-        logger.info("Creating panel interview: candidate='{}', {} interviewers",
-                dto.candidateName(), dto.availabilitySlotIds().size());
-
         if (dto.availabilitySlotIds() == null || dto.availabilitySlotIds().isEmpty()) {
             throw new RuntimeException("At least one interviewer slot must be selected for a panel");
         }
+        logger.info("Creating panel interview: candidate='{}', {} interviewers",
+                dto.candidateName(), dto.availabilitySlotIds().size());
 
         Candidate candidate = null;
         if (dto.candidateId() != null) {
@@ -82,22 +94,10 @@ public class PanelInterviewService {
             technologies = new HashSet<>(technologyRepository.findAllById(dto.requiredTechnologyIds()));
         }
 
-        List<AvailabilitySlot> slots = dto.availabilitySlotIds().stream()
-                .map(slotId -> {
-                    AvailabilitySlot slot = slotRepository.findById(slotId)
-                            .orElseThrow(() -> new RuntimeException("Slot not found: " + slotId));
-                    if (slot.getStatus() != SlotStatus.AVAILABLE) {
-                        throw new RuntimeException("Slot for " + slot.getInterviewer().getFullName() + " is no longer available");
-                    }
-                    if (dto.startDateTime().isBefore(slot.getStartDateTime())) {
-                        throw new RuntimeException("Panel start time is before " + slot.getInterviewer().getFullName() + "'s slot start");
-                    }
-                    if (dto.endDateTime().isAfter(slot.getEndDateTime())) {
-                        throw new RuntimeException("Panel end time is after " + slot.getInterviewer().getFullName() + "'s slot end");
-                    }
-                    return slot;
-                })
-                .collect(Collectors.toList());
+        // One SELECT ... FOR UPDATE for every panelist's slot, validated in memory
+        Map<Long, List<AvailabilitySlot>> touched = new LinkedHashMap<>();
+        List<AvailabilitySlot> bookedSlots = bookingCoordinator.bookAll(dto.availabilitySlotIds(),
+                dto.startDateTime(), dto.endDateTime(), "Panel Interview: " + candidateName, touched);
 
         InterviewPanel panel = InterviewPanel.builder()
                 .candidate(candidate)
@@ -110,50 +110,59 @@ public class PanelInterviewService {
                 .build();
         panel = panelRepository.save(panel);
 
-        Designation finalDesignation = designation;
-        String finalCandidateName = candidateName;
-        Set<Technology> finalTechnologies = technologies;
-
-        for (AvailabilitySlot slot : slots) {
-            AvailabilitySlot bookedSlot = splitSlot(slot, dto.startDateTime(), dto.endDateTime(), finalCandidateName);
-
-            InterviewRequest request = InterviewRequest.builder()
-                    .candidateName(finalCandidateName)
+        // Requests, schedules and notifications use pooled ids (V24), so each
+        // saveAll goes out as a single JDBC batch
+        LocalDateTime now = LocalDateTime.now();
+        List<InterviewRequest> requests = new ArrayList<>(bookedSlots.size());
+        for (AvailabilitySlot bookedSlot : bookedSlots) {
+            requests.add(InterviewRequest.builder()
+                    .candidateName(candidateName)
                     .candidate(candidate)
-                    .candidateDesignation(finalDesignation)
-                    .requiredTechnologies(new HashSet<>(finalTechnologies))
+                    .candidateDesignation(designation)
+                    .requiredTechnologies(new HashSet<>(technologies))
                     .preferredStartDateTime(dto.startDateTime())
                     .preferredEndDateTime(dto.endDateTime())
                     .requestedBy(requestedBy)
-                    .assignedInterviewer(slot.getInterviewer())
+                    .assignedInterviewer(bookedSlot.getInterviewer())
                     .availabilitySlot(bookedSlot)
                     .panel(panel)
                     .status(RequestStatus.ACCEPTED)
-                    .respondedAt(LocalDateTime.now())
+                    .respondedAt(now)
                     .isUrgent(dto.isUrgent())
                     .notes(dto.notes())
                     .responseNotes("Auto-accepted as part of panel interview")
-                    .build();
-
-            request = requestRepository.save(request);
+                    .build());
+        }
+        requests = requestRepository.saveAll(requests);
 
-            InterviewSchedule schedule = InterviewSchedule.builder()
+        List<InterviewSchedule> schedules = new ArrayList<>(requests.size());
+        for (InterviewRequest request : requests) {
+            schedules.add(InterviewSchedule.builder()
                     .request(request)
-                    .interviewer(slot.getInterviewer())
+                    .interviewer(request.getAssignedInterviewer())
                     .startDateTime(dto.startDateTime())
                     .endDateTime(dto.endDateTime())
                     .status(InterviewStatus.SCHEDULED)
-                    .build();
-            schedule = scheduleRepository.save(schedule);
+                    .build());
+        }
+        schedules = scheduleRepository.saveAll(schedules);
+        eventPublisher.publishEvent(InterviewScheduleChangedEvent.of(
+                schedules.stream().map(InterviewSchedule::getId).toList()));
 
-            bookedSlot.setInterviewSchedule(schedule);
-            slotRepository.save(bookedSlot);
+        // Managed entities: the links are flushed as one UPDATE batch
+        for (int i = 0; i < bookedSlots.size(); i++) {
+            bookedSlots.get(i).setInterviewSchedule(schedules.get(i));
+        }
 
-            try {
-                notificationService.sendInterviewScheduledNotification(request);
-            } catch (Exception e) {
-                logger.warn("Failed to send scheduled notification to {}: {}", slot.getInterviewer().getFullName(), e.getMessage());
-            }
+        for (List<AvailabilitySlot> slotTouched : touched.values()) {
+            eventPublisher.publishEvent(AvailabilityChangedEvent.of(slotTouched.get(0).getInterviewer(),
+                    slotTouched.size() > 1 ? SlotChangeType.SPLIT : SlotChangeType.BOOKED, slotTouched));
+        }
+
+        try {
+            notificationService.sendInterviewScheduledNotifications(requests);
+        } catch (Exception e) {
+            logger.warn("Failed to send panel scheduled notifications: {}", e.getMessage());
         }
 
         if (candidate != null) {
@@ -175,6 +184,11 @@ public class PanelInterviewService {
             throw new RuntimeException("Unauthorized — you did not create this panel");
         }
 
+        bookingCoordinator.lockInterviewers(panel.getPanelRequests().stream()
+                .filter(r -> r.getAvailabilitySlot() != null)
+                .map(r -> r.getAvailabilitySlot().getInterviewer().getId())
+                .collect(Collectors.toList()));
+
         for (InterviewRequest request : panel.getPanelRequests()) {
             if (request.getStatus() == RequestStatus.CANCELLED) continue;
 
@@ -183,18 +197,16 @@ public class PanelInterviewService {
                 logger.info("Panel cancel: restoring slot {} for interviewer {}",
                         slot.getId(), request.getAssignedInterviewer().getFullName());
 
-                slot.setInterviewSchedule(null);
-                slot.setStatus(SlotStatus.AVAILABLE);
-                slot.setActive(true);
-                slot.setDescription(null);
-                slotRepository.save(slot);
-
-                mergeAdjacentSlots(slot);
+                List<AvailabilitySlot> touched = new ArrayList<>();
+                boolean merged = bookingCoordinator.release(slot, touched);
+                eventPublisher.publishEvent(AvailabilityChangedEvent.of(slot.getInterviewer(),
+                        merged ? SlotChangeType.MERGED : SlotChangeType.CANCELLED, touched));
             }
 
             scheduleRepository.findByRequestId(request.getId()).ifPresent(schedule -> {
                 schedule.setStatus(InterviewStatus.CANCELLED);
                 scheduleRepository.save(schedule);
+                eventPublisher.publishEvent(InterviewScheduleChangedEvent.of(List.of(schedule.getId())));
             });
 
             request.setStatus(RequestStatus.CANCELLED);
@@ -236,83 +248,4 @@ public class PanelInterviewService {
         return panelRepository.findByRequestedById(userId)
                 .stream().map(InterviewPanelDto::from).collect(Collectors.toList());
     }
-
-    // ── Private helpers ───────────────────────────────────────────────────────
-
-    private void mergeAdjacentSlots(AvailabilitySlot restoredSlot) {
-        Long interviewerId = restoredSlot.getInterviewer().getId();
-        LocalDateTime mergedStart = restoredSlot.getStartDateTime();
-        LocalDateTime mergedEnd   = restoredSlot.getEndDateTime();
-        boolean changed = false;
-
-        var before = slotRepository.findActiveAvailableSlotEndingAt(interviewerId, mergedStart);
-        if (before.isPresent()) {
-            logger.info("Panel cancel: merging before-fragment slot {} → slot {}",
-                    before.get().getId(), restoredSlot.getId());
-            mergedStart = before.get().getStartDateTime();
-            before.get().setActive(false);
-            slotRepository.save(before.get());
-            changed = true;
-        }
-
-        var after = slotRepository.findActiveAvailableSlotStartingAt(interviewerId, mergedEnd);
-        if (after.isPresent()) {
-            logger.info("Panel cancel: merging after-fragment slot {} → slot {}",
-                    after.get().getId(), restoredSlot.getId());
-            mergedEnd = after.get().getEndDateTime();
-            after.get().setActive(false);
-            slotRepository.save(after.get());
-            changed = true;
-        }
-
-        if (changed) {
-            restoredSlot.setStartDateTime(mergedStart);
-            restoredSlot.setEndDateTime(mergedEnd);
-            slotRepository.save(restoredSlot);
-            logger.info("Slot {} merged → {} – {}", restoredSlot.getId(), mergedStart, mergedEnd);
-        }
-    }
-
-    private AvailabilitySlot splitSlot(AvailabilitySlot slot,
-                                       LocalDateTime bookStart,
-                                       LocalDateTime bookEnd,
-                                       String candidateName) {
-        LocalDateTime slotStart = slot.getStartDateTime();
-        LocalDateTime slotEnd = slot.getEndDateTime();
-        boolean isFullBooking = bookStart.equals(slotStart) && bookEnd.equals(slotEnd);
-
-        if (isFullBooking) {
-            slot.setStatus(SlotStatus.BOOKED);
-            slot.setDescription("Panel Interview: " + candidateName);
-            return slotRepository.save(slot);
-        }
-
-        slot.setActive(false);
-        slotRepository.save(slot);
-
-        if (bookStart.isAfter(slotStart)) {
-            slotRepository.save(AvailabilitySlot.builder()
-                    .interviewer(slot.getInterviewer())
-                    .startDateTime(slotStart).endDateTime(bookStart)
-                    .description(slot.getDescription())
-                    .status(SlotStatus.AVAILABLE).isActive(true).build());
-        }
-
-        AvailabilitySlot booked = AvailabilitySlot.builder()
-                .interviewer(slot.getInterviewer())
-                .startDateTime(bookStart).endDateTime(bookEnd)
-                .description("Panel Interview: " + candidateName)
-                .status(SlotStatus.BOOKED).isActive(true).build();
-        booked = slotRepository.save(booked);
-
-        if (bookEnd.isBefore(slotEnd)) {
-            slotRepository.save(AvailabilitySlot.builder()
-                    .interviewer(slot.getInterviewer())
-                    .startDateTime(bookEnd).endDateTime(slotEnd)
-                    .description(slot.getDescription())
-                    .status(SlotStatus.AVAILABLE).isActive(true).build());
-        }
-
-        return booked;
-    }
-}
\ No newline at end of file
+}
@@ -2,7 +2,9 @@ package com.nemal.service;
 
 import com.nemal.dto.*;
 import com.nemal.entity.*;
+import com.nemal.event.InterviewerProfileChangedEvent;
 import com.nemal.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ public class ProfileService {
     private final DepartmentRepository departmentRepository;
     private final DesignationRepository designationRepository;
     private final TierRepository tierRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProfileService(
             UserRepository userRepository,
@@ -25,7 +28,8 @@ public class ProfileService {
             InterviewerTechnologyRepository interviewerTechnologyRepository,
             DepartmentRepository departmentRepository,
             DesignationRepository designationRepository,
-            TierRepository tierRepository
+            TierRepository tierRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.technologyRepository = technologyRepository;
@@ -33,6 +37,7 @@ public class ProfileService {
         this.departmentRepository = departmentRepository;
         this.designationRepository = designationRepository;
         this.tierRepository = tierRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ProfileDto getProfile(User user) {
@@ -87,6 +92,7 @@ public class ProfileService {
         }
 
         existingUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new InterviewerProfileChangedEvent(existingUser.getId()));
         return ProfileDto.from(existingUser);
     }
 
@@ -119,6 +125,7 @@ public class ProfileService {
                 .build();
 
         it = interviewerTechnologyRepository.save(it);
+        eventPublisher.publishEvent(new InterviewerProfileChangedEvent(user.getId()));
         return InterviewerTechnologyDto.from(it);
     }
 
@@ -132,6 +139,7 @@ public class ProfileService {
         }
 
         interviewerTechnologyRepository.delete(it);
+        eventPublisher.publishEvent(new InterviewerProfileChangedEvent(userId));
     }
 
     public List<DepartmentDto> getAllDepartments() {
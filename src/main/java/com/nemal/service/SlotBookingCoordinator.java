@@ -0,0 +1,473 @@
+package com.nemal.service;
+
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.enums.SlotStatus;
+import com.nemal.exception.SlotConflictException;
+import com.nemal.repository.AvailabilitySlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The single place where availability slots are split on booking and merged
+ * back on cancellation.
+ *
+ * Mutations are serialised per interviewer through a fixed set of striped
+ * locks: the first call in a transaction takes the interviewer's stripe and
+ * keeps it until the transaction commits or rolls back, so the next writer
+ * for that interviewer only reads after this one has committed. Interviewers on
+ * different stripes book fully in parallel. Stripes are always taken in
+ * ascending order, and with a timeout, so multi-interviewer panels cannot
+ * deadlock. The conditional UPDATE in {@link #book} still guards against
+ * writers outside this JVM.
+ */
+@Component
+public class SlotBookingCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotBookingCoordinator.class);
+
+    private static final int STRIPES = 64;
+    private static final long LOCK_TIMEOUT_SECONDS = 10;
+
+    /** Conditional-UPDATE claims retried when the slot's version moved but it is still free. */
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+
+    public SlotBookingCoordinator(AvailabilitySlotRepository availabilitySlotRepository) {
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // ── Locking ───────────────────────────────────────────────────────────────
+
+    /** Locks the given interviewers until the current transaction commits or rolls back. */
+    public void lockInterviewers(Collection<Long> interviewerIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Slot mutations must run inside a transaction");
+        }
+        HeldStripes held = heldStripes();
+
+        TreeSet<Integer> wanted = new TreeSet<>();
+        for (Long id : interviewerIds) {
+            int stripe = stripeOf(id);
+            if (!held.stripes.contains(stripe)) wanted.add(stripe);
+        }
+        // Ascending within one call; a later call in the same transaction may
+        // still go out of order, which the timeout turns into a retryable error.
+        for (int stripe : wanted) {
+            try {
+                if (!stripes[stripe].tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new RuntimeException("Interviewer calendar is busy — please try again");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for interviewer calendar", e);
+            }
+            held.stripes.add(stripe);
+        }
+    }
+
+    public void lockInterviewer(Long interviewerId) {
+        lockInterviewers(List.of(interviewerId));
+    }
+
+    private HeldStripes heldStripes() {
+        HeldStripes held = (HeldStripes) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            HeldStripes fresh = new HeldStripes();
+            TransactionSynchronizationManager.bindResource(this, fresh);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                // The writes are visible once committed, so release before the
+                // after-commit listeners (index refreshes, pushes) run rather
+                // than holding the interviewers' calendars through them.
+                @Override
+                public void afterCommit() {
+                    release(fresh);
+                }
+
+                // Rollback, or a commit that failed before afterCommit
+                @Override
+                public void afterCompletion(int status) {
+                    release(fresh);
+                }
+            });
+            held = fresh;
+        }
+        return held;
+    }
+
+    private void release(HeldStripes held) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        for (int stripe : held.stripes.descendingSet()) {
+            stripes[stripe].unlock();
+        }
+        held.stripes.clear();
+    }
+
+    private static int stripeOf(Long interviewerId) {
+        return Math.floorMod(Long.hashCode(interviewerId) * 0x9E3779B9, STRIPES);
+    }
+
+    private static final class HeldStripes {
+        final TreeSet<Integer> stripes = new TreeSet<>();
+    }
+
+    // ── Writes ────────────────────────────────────────────────────────────────
+
+    /**
+     * Saves and flushes {@code slot} so an overlap with another active slot is
+     * reported here by the exclusion constraint, as a {@link SlotConflictException}.
+     */
+    public AvailabilitySlot saveChecked(AvailabilitySlot slot, String conflictMessage) {
+        try {
+            return availabilitySlotRepository.saveAndFlush(slot);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, conflictMessage);
+        }
+    }
+
+    /** Batched variant of {@link #saveChecked}; any overlap fails the whole batch. */
+    public List<AvailabilitySlot> saveAllChecked(List<AvailabilitySlot> slots, String conflictMessage) {
+        try {
+            return availabilitySlotRepository.saveAllAndFlush(slots);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, conflictMessage);
+        }
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException e, String conflictMessage) {
+        return SlotConflictException.isOverlap(e) ? new SlotConflictException(conflictMessage, e) : e;
+    }
+
+    // ── Booking ───────────────────────────────────────────────────────────────
+
+    /**
+     * Books [bookStart, bookEnd) inside {@code slot}. A full booking turns the
+     * slot BOOKED; a partial one deactivates it and writes the before / booked
+     * / after fragments. Every slot written is added to {@code touched}.
+     *
+     * @return the BOOKED slot
+     */
+    public AvailabilitySlot book(AvailabilitySlot slot, LocalDateTime bookStart, LocalDateTime bookEnd,
+                                 String bookedDescription, List<AvailabilitySlot> touched) {
+        lockInterviewer(slot.getInterviewer().getId());
+        availabilitySlotRepository.refresh(slot);
+
+        Claim claim = claim(slot, bookStart, bookEnd, bookedDescription);
+        touched.add(slot);
+        if (!claim.partial()) {
+            return slot;
+        }
+
+        LocalDateTime slotStart = slot.getStartDateTime();
+        LocalDateTime slotEnd = slot.getEndDateTime();
+        bookStart = claim.start();
+        bookEnd = claim.end();
+
+        // The original row is already inactive (claimed by UPDATE), so the
+        // fragments do not collide with it under the exclusion constraint.
+        List<AvailabilitySlot> fragments = new ArrayList<>(3);
+        if (bookStart.isAfter(slotStart)) {
+            fragments.add(AvailabilitySlot.builder()
+                    .interviewer(slot.getInterviewer())
+                    .startDateTime(slotStart).endDateTime(bookStart)
+                    .description(slot.getDescription())
+                    .status(SlotStatus.AVAILABLE).isActive(true).build());
+        }
+
+        AvailabilitySlot booked = AvailabilitySlot.builder()
+                .interviewer(slot.getInterviewer())
+                .startDateTime(bookStart).endDateTime(bookEnd)
+                .description(bookedDescription)
+                .status(SlotStatus.BOOKED).isActive(true).build();
+        fragments.add(booked);
+
+        if (bookEnd.isBefore(slotEnd)) {
+            fragments.add(AvailabilitySlot.builder()
+                    .interviewer(slot.getInterviewer())
+                    .startDateTime(bookEnd).endDateTime(slotEnd)
+                    .description(slot.getDescription())
+                    .status(SlotStatus.AVAILABLE).isActive(true).build());
+        }
+
+        touched.addAll(saveAllChecked(fragments, "Booking overlaps another slot of this interviewer"));
+        return booked;
+    }
+
+    /**
+     * Claims {@code slot} with one conditional UPDATE (status AVAILABLE and
+     * version unchanged). If the version moved but the slot is still free, the
+     * claim is retried on fresh state.
+     *
+     * A window up to a second outside the slot is accepted (client clocks and
+     * serialisation round to the second) but clamped to the slot, so the
+     * booked fragment never extends past the row it was carved from.
+     *
+     * @return the clamped window, and whether it is partial (slot deactivated, needs splitting)
+     */
+    private Claim claim(AvailabilitySlot slot, LocalDateTime bookStart, LocalDateTime bookEnd,
+                        String bookedDescription) {
+        for (int attempt = 1; ; attempt++) {
+            if (slot.getStatus() != SlotStatus.AVAILABLE || !slot.isActive()) {
+                throw new RuntimeException("Slot for " + slot.getInterviewer().getFullName() + " is no longer available");
+            }
+            if (bookStart.isBefore(slot.getStartDateTime().minusSeconds(1))
+                    || bookEnd.isAfter(slot.getEndDateTime().plusSeconds(1))) {
+                throw new RuntimeException("Booking time must be within the slot's available time");
+            }
+            LocalDateTime start = bookStart.isBefore(slot.getStartDateTime()) ? slot.getStartDateTime() : bookStart;
+            LocalDateTime end = bookEnd.isAfter(slot.getEndDateTime()) ? slot.getEndDateTime() : bookEnd;
+
+            boolean isPartialBooking = !start.equals(slot.getStartDateTime())
+                    || !end.equals(slot.getEndDateTime());
+            int claimed = isPartialBooking
+                    ? availabilitySlotRepository.claimAvailableSlot(
+                            slot.getId(), slot.getVersion(), SlotStatus.AVAILABLE, false, slot.getDescription())
+                    : availabilitySlotRepository.claimAvailableSlot(
+                            slot.getId(), slot.getVersion(), SlotStatus.BOOKED, true, bookedDescription);
+            availabilitySlotRepository.refresh(slot);
+
+            if (claimed == 1) {
+                return new Claim(isPartialBooking, start, end);
+            }
+            if (attempt >= MAX_CLAIM_ATTEMPTS) {
+                throw new RuntimeException("Slot was changed by another booking — please refresh and try again");
+            }
+            logger.info("Slot {} changed concurrently, retrying claim (attempt {})", slot.getId(), attempt + 1);
+        }
+    }
+
+    private record Claim(boolean partial, LocalDateTime start, LocalDateTime end) {}
+
+    /**
+     * Books the same window in several slots at once (a panel). Calendar locks
+     * for all owners are taken first, then every slot is loaded and row-locked
+     * with one SELECT ... FOR UPDATE and validated in memory; the claims go out
+     * as one UPDATE batch and the fragments as one INSERT batch. Slots written
+     * are added to {@code touched}, keyed by interviewer id.
+     *
+     * @return the BOOKED slots, one per requested slot
+     */
+    public List<AvailabilitySlot> bookAll(Collection<Long> slotIds, LocalDateTime bookStart, LocalDateTime bookEnd,
+                                          String bookedDescription, Map<Long, List<AvailabilitySlot>> touched) {
+        List<AvailabilitySlot> slots = lockAndLoad(new LinkedHashSet<>(slotIds));
+
+        Set<Long> interviewers = new HashSet<>();
+        Map<AvailabilitySlot, List<Window>> windows = new LinkedHashMap<>();
+        for (AvailabilitySlot slot : slots) {
+            if (!interviewers.add(slot.getInterviewer().getId())) {
+                throw new RuntimeException(slot.getInterviewer().getFullName() + " has more than one slot in this booking");
+            }
+            windows.put(slot, List.of(new Window(bookStart, bookEnd, bookedDescription)));
+        }
+        List<AvailabilitySlot> booked = new ArrayList<>(slots.size());
+        carve(windows, touched).values().forEach(b -> booked.add(b.get(0)));
+        return booked;
+    }
+
+    /**
+     * Books several windows in each of several slots at once (a batch), with
+     * the same locking and statement batching as {@link #bookAll}: each slot
+     * is deactivated, or turned BOOKED if one window covers it exactly, and
+     * the booked windows plus the AVAILABLE gaps between them are inserted in
+     * one batch. A slot already loaded in this transaction keeps its loaded
+     * state, but its version check at flush still rejects a stale one.
+     *
+     * @param windows per slot id, non-overlapping windows inside that slot
+     * @return per slot id, the BOOKED slots in the order of its windows
+     */
+    public Map<Long, List<AvailabilitySlot>> bookWindows(Map<Long, List<Window>> windows,
+                                                         Map<Long, List<AvailabilitySlot>> touched) {
+        Map<AvailabilitySlot, List<Window>> bySlot = new LinkedHashMap<>();
+        for (AvailabilitySlot slot : lockAndLoad(new LinkedHashSet<>(windows.keySet()))) {
+            bySlot.put(slot, windows.get(slot.getId()));
+        }
+        return carve(bySlot, touched);
+    }
+
+    /** A window to book inside a slot, with the description of the BOOKED slot. */
+    public record Window(LocalDateTime start, LocalDateTime end, String description) {}
+
+    private List<AvailabilitySlot> lockAndLoad(Set<Long> ids) {
+        lockInterviewers(availabilitySlotRepository.findInterviewerIdsBySlotIds(ids));
+
+        List<AvailabilitySlot> slots = availabilitySlotRepository.findAllByIdForUpdate(ids);
+        if (slots.size() != ids.size()) {
+            slots.forEach(slot -> ids.remove(slot.getId()));
+            throw new RuntimeException("Slot not found: " + ids.iterator().next());
+        }
+        return slots;
+    }
+
+    /** Validates and books row-locked slots; see {@link #bookWindows}. Keyed by slot id, in {@code windows} order. */
+    private Map<Long, List<AvailabilitySlot>> carve(Map<AvailabilitySlot, List<Window>> windows,
+                                                    Map<Long, List<AvailabilitySlot>> touched) {
+        for (Map.Entry<AvailabilitySlot, List<Window>> e : windows.entrySet()) {
+            AvailabilitySlot slot = e.getKey();
+            String name = slot.getInterviewer().getFullName();
+            if (slot.getStatus() != SlotStatus.AVAILABLE || !slot.isActive()) {
+                throw new RuntimeException("Slot for " + name + " is no longer available");
+            }
+            List<Window> sorted = new ArrayList<>(e.getValue());
+            sorted.sort(Comparator.comparing(Window::start));
+            LocalDateTime cursor = slot.getStartDateTime();
+            for (Window w : sorted) {
+                if (w.start().isBefore(slot.getStartDateTime())) {
+                    throw new RuntimeException("Booking start time is before " + name + "'s slot start");
+                }
+                if (w.end().isAfter(slot.getEndDateTime())) {
+                    throw new RuntimeException("Booking end time is after " + name + "'s slot end");
+                }
+                if (!w.end().isAfter(w.start()) || w.start().isBefore(cursor)) {
+                    throw new RuntimeException("Bookings for " + name + " overlap or are empty");
+                }
+                cursor = w.end();
+            }
+        }
+
+        // Rows are locked, so claims are plain versioned updates on the managed entities
+        Map<Long, List<AvailabilitySlot>> booked = new LinkedHashMap<>();
+        List<AvailabilitySlot> fragments = new ArrayList<>();
+        for (Map.Entry<AvailabilitySlot, List<Window>> e : windows.entrySet()) {
+            AvailabilitySlot slot = e.getKey();
+            List<Window> slotWindows = e.getValue();
+            List<AvailabilitySlot> slotBooked = new ArrayList<>(slotWindows.size());
+            booked.put(slot.getId(), slotBooked);
+            touched.computeIfAbsent(slot.getInterviewer().getId(), id -> new ArrayList<>()).add(slot);
+
+            if (slotWindows.size() == 1
+                    && slotWindows.get(0).start().equals(slot.getStartDateTime())
+                    && slotWindows.get(0).end().equals(slot.getEndDateTime())) {
+                slot.setStatus(SlotStatus.BOOKED);
+                slot.setDescription(slotWindows.get(0).description());
+                slotBooked.add(slot);
+                continue;
+            }
+
+            slot.setActive(false);
+            Map<Window, AvailabilitySlot> byWindow = new HashMap<>();
+            List<Window> sorted = new ArrayList<>(slotWindows);
+            sorted.sort(Comparator.comparing(Window::start));
+            LocalDateTime cursor = slot.getStartDateTime();
+            for (Window w : sorted) {
+                if (w.start().isAfter(cursor)) {
+                    fragments.add(fragment(slot, cursor, w.start(), slot.getDescription(), SlotStatus.AVAILABLE));
+                }
+                AvailabilitySlot bookedFragment = fragment(slot, w.start(), w.end(), w.description(), SlotStatus.BOOKED);
+                fragments.add(bookedFragment);
+                byWindow.put(w, bookedFragment);
+                cursor = w.end();
+            }
+            if (cursor.isBefore(slot.getEndDateTime())) {
+                fragments.add(fragment(slot, cursor, slot.getEndDateTime(), slot.getDescription(), SlotStatus.AVAILABLE));
+            }
+            slotWindows.forEach(w -> slotBooked.add(byWindow.get(w)));
+        }
+
+        // Hibernate flushes inserts before updates, so the deactivations must
+        // reach the database first or the fragments would overlap them
+        availabilitySlotRepository.flush();
+        for (AvailabilitySlot fragment : saveAllChecked(fragments, "Booking overlaps another slot of this interviewer")) {
+            touched.get(fragment.getInterviewer().getId()).add(fragment);
+        }
+        return booked;
+    }
+
+    private static AvailabilitySlot fragment(AvailabilitySlot source, LocalDateTime start, LocalDateTime end,
+                                             String description, SlotStatus status) {
+        return AvailabilitySlot.builder()
+                .interviewer(source.getInterviewer())
+                .startDateTime(start).endDateTime(end)
+                .description(description)
+                .status(status).isActive(true).build();
+    }
+
+    // ── Cancellation ──────────────────────────────────────────────────────────
+
+    /**
+     * Makes a booked slot AVAILABLE again and absorbs adjacent AVAILABLE
+     * fragments into it. The restored slot and every deactivated fragment are
+     * added to {@code touched}.
+     *
+     * @return true if at least one fragment was merged
+     */
+    public boolean release(AvailabilitySlot slot, List<AvailabilitySlot> touched) {
+        lockInterviewer(slot.getInterviewer().getId());
+
+        slot.setInterviewSchedule(null);
+        slot.setStatus(SlotStatus.AVAILABLE);
+        slot.setActive(true);
+        slot.setDescription(null);
+        availabilitySlotRepository.save(slot);
+        touched.add(slot);
+        logger.info("Slot {} restored: status=AVAILABLE, active=true", slot.getId());
+
+        return mergeAdjacentSlots(slot, touched);
+    }
+
+    private boolean mergeAdjacentSlots(AvailabilitySlot restoredSlot, List<AvailabilitySlot> touched) {
+        Long interviewerId = restoredSlot.getInterviewer().getId();
+        LocalDateTime mergedStart = restoredSlot.getStartDateTime();
+        LocalDateTime mergedEnd   = restoredSlot.getEndDateTime();
+        boolean changed = false;
+
+        var before = availabilitySlotRepository.findActiveAvailableSlotEndingAt(interviewerId, mergedStart);
+        if (before.isPresent()) {
+            logger.info("Merging before-fragment slot {} into restored slot {}",
+                    before.get().getId(), restoredSlot.getId());
+            mergedStart = before.get().getStartDateTime();
+            before.get().setActive(false);
+            touched.add(availabilitySlotRepository.save(before.get()));
+            changed = true;
+        }
+
+        var after = availabilitySlotRepository.findActiveAvailableSlotStartingAt(interviewerId, mergedEnd);
+        if (after.isPresent()) {
+            logger.info("Merging after-fragment slot {} into restored slot {}",
+                    after.get().getId(), restoredSlot.getId());
+            mergedEnd = after.get().getEndDateTime();
+            after.get().setActive(false);
+            touched.add(availabilitySlotRepository.save(after.get()));
+            changed = true;
+        }
+
+        if (changed) {
+            // Fragments must be inactive in the database before the restored
+            // slot grows over them, or the exclusion constraint rejects it.
+            availabilitySlotRepository.flush();
+            restoredSlot.setStartDateTime(mergedStart);
+            restoredSlot.setEndDateTime(mergedEnd);
+            saveChecked(restoredSlot, "Merged slot overlaps another slot of this interviewer");
+            logger.info("Slot {} merged to window {} – {}", restoredSlot.getId(), mergedStart, mergedEnd);
+        }
+        return changed;
+    }
+}
@@ -4,7 +4,9 @@ import com.nemal.dto.CreateTechnologyDto;
 import com.nemal.dto.TechnologyDto;
 import com.nemal.dto.UpdateTechnologyDto;
 import com.nemal.entity.Technology;
+import com.nemal.event.OrgStructureChangedEvent;
 import com.nemal.repository.TechnologyRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,9 +17,12 @@ import java.util.stream.Collectors;
 public class TechnologyService {
 
     private final TechnologyRepository technologyRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TechnologyService(TechnologyRepository technologyRepository) {
+    public TechnologyService(TechnologyRepository technologyRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.technologyRepository = technologyRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<TechnologyDto> getAllTechnologies() {
@@ -88,6 +93,8 @@ public class TechnologyService {
         }
 
         technology = technologyRepository.save(technology);
+        // Technology names are part of every cached interviewer profile
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
         return TechnologyDto.from(technology);
     }
 
@@ -97,5 +104,6 @@ public class TechnologyService {
                 .orElseThrow(() -> new RuntimeException("Technology not found"));
         technology.setActive(false);
         technologyRepository.save(technology);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
     }
 }
\ No newline at end of file
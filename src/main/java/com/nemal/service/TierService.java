@@ -5,8 +5,10 @@ import com.nemal.dto.TierDto;
 import com.nemal.dto.UpdateTierDto;
 import com.nemal.entity.Department;
 import com.nemal.entity.Tier;
+import com.nemal.event.OrgStructureChangedEvent;
 import com.nemal.repository.DepartmentRepository;
 import com.nemal.repository.TierRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +20,14 @@ public class TierService {
 
     private final TierRepository tierRepository;
     private final DepartmentRepository departmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TierService(TierRepository tierRepository, DepartmentRepository departmentRepository) {
+    public TierService(TierRepository tierRepository,
+                       DepartmentRepository departmentRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.tierRepository = tierRepository;
         this.departmentRepository = departmentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<TierDto> getAllTiers() {
@@ -107,6 +113,7 @@ public class TierService {
         }
 
         tier = tierRepository.save(tier);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
         return TierDto.from(tier);
     }
 
@@ -118,5 +125,6 @@ public class TierService {
         // Soft delete - set inactive
         tier.setActive(false);
         tierRepository.save(tier);
+        eventPublisher.publishEvent(new OrgStructureChangedEvent());
     }
 }
\ No newline at end of file
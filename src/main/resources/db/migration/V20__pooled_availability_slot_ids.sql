@@ -0,0 +1,22 @@
+-- V20__pooled_availability_slot_ids.sql
+--
+-- PURPOSE:
+--   AvailabilitySlot ids move from IDENTITY to a pooled sequence
+--   (allocationSize = 50) so Hibernate can assign ids in memory and send
+--   bulk-created slots as one JDBC batch instead of one round trip per row.
+--   The sequence must step by the same 50, and start past every existing id.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+DO $$
+BEGIN
+    IF (SELECT increment_by FROM pg_sequences
+        WHERE sequencename = 'availability_slots_id_seq') <> 50 THEN
+
+        ALTER SEQUENCE availability_slots_id_seq INCREMENT BY 50;
+
+        -- Next nextval() is max(id) + 100, i.e. the pool (max+51 .. max+100)
+        PERFORM setval('availability_slots_id_seq',
+                       COALESCE((SELECT MAX(id) FROM availability_slots), 0) + 50,
+                       true);
+    END IF;
+END $$;
@@ -0,0 +1,59 @@
+-- V21__create_availability_rules.sql
+--
+-- PURPOSE:
+--   Recurring availability stored as one row per weekly pattern instead of one
+--   availability_slots row per occurrence. Occurrences are expanded on read;
+--   a concrete slot is written only when HR books one (it then carries rule_id
+--   and the date is recorded as an exception on the rule).
+--
+--   days_of_week is a bit mask: bit 0 = Monday … bit 6 = Sunday.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+CREATE TABLE IF NOT EXISTS availability_rules (
+    id BIGSERIAL PRIMARY KEY,
+    interviewer_id BIGINT NOT NULL,
+    days_of_week SMALLINT NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_until DATE,
+    description VARCHAR(500),
+    is_active BOOLEAN NOT NULL DEFAULT true,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_availability_rule_interviewer FOREIGN KEY (interviewer_id)
+        REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_rule_days CHECK (days_of_week BETWEEN 1 AND 127),
+    CONSTRAINT chk_rule_end_after_start CHECK (end_time > start_time),
+    CONSTRAINT chk_rule_valid_range CHECK (valid_until IS NULL OR valid_until >= valid_from)
+);
+
+CREATE INDEX IF NOT EXISTS idx_availability_rules_interviewer
+    ON availability_rules (interviewer_id)
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_availability_rules_validity
+    ON availability_rules (valid_from, valid_until)
+    WHERE is_active = true;
+
+CREATE TABLE IF NOT EXISTS availability_rule_exceptions (
+    rule_id BIGINT NOT NULL,
+    exception_date DATE NOT NULL,
+
+    PRIMARY KEY (rule_id, exception_date),
+    CONSTRAINT fk_rule_exception_rule FOREIGN KEY (rule_id)
+        REFERENCES availability_rules(id) ON DELETE CASCADE
+);
+
+-- Materialised occurrences point back at their rule
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'availability_slots' AND column_name = 'rule_id'
+    ) THEN
+        ALTER TABLE availability_slots
+            ADD COLUMN rule_id BIGINT REFERENCES availability_rules(id) ON DELETE SET NULL;
+    END IF;
+END $$;
@@ -0,0 +1,17 @@
+-- V22__add_availability_slot_version.sql
+--
+-- PURPOSE:
+--   Optimistic version for availability_slots. Booking claims a slot with a
+--   single conditional UPDATE (status = 'AVAILABLE' AND version = ?), so two
+--   concurrent bookings of the same window cannot both succeed.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'availability_slots' AND column_name = 'version'
+    ) THEN
+        ALTER TABLE availability_slots ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+    END IF;
+END $$;
@@ -0,0 +1,85 @@
+-- V23__availability_overlap_exclusion.sql
+--
+-- PURPOSE:
+--   Let Postgres enforce "an interviewer's active slots never overlap" with a
+--   GiST exclusion constraint on a generated tsrange column, instead of a
+--   separate conflict query before every insert. Half-open ranges '[)' let
+--   back-to-back slots (10:00–11:00, 11:00–12:00) coexist.
+--
+--   Overlapping active slots that already exist are resolved first, since
+--   the constraint cannot be created over them: going by id, every active
+--   slot that is not BOOKED and overlaps a BOOKED slot or an older active slot
+--   is deactivated (is_active = false, row kept). The ids are logged as NOTICEs.
+--   Two overlapping BOOKED slots are a real double booking with no safe
+--   automatic fix, so the migration stops and names them; cancel or move one
+--   of the two interviews, then restart.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+DECLARE
+    slot RECORD;
+    deactivated BIGINT[] := '{}';
+    double_booked TEXT;
+BEGIN
+    SELECT string_agg(a.id || '/' || b.id, ', ')
+      INTO double_booked
+      FROM availability_slots a
+      JOIN availability_slots b
+        ON a.interviewer_id = b.interviewer_id
+       AND a.id < b.id
+       AND a.is_active AND b.is_active
+       AND a.status = 'BOOKED' AND b.status = 'BOOKED'
+       AND a.start_date_time < b.end_date_time
+       AND b.start_date_time < a.end_date_time;
+    IF double_booked IS NOT NULL THEN
+        RAISE EXCEPTION 'availability_slots has overlapping BOOKED slots (ids %); '
+                        'cancel or move one interview of each pair, then re-run V23', double_booked;
+    END IF;
+
+    -- Row by row so a slot only loses to slots that are still active
+    FOR slot IN
+        SELECT id, interviewer_id, start_date_time, end_date_time
+        FROM availability_slots
+        WHERE is_active AND status <> 'BOOKED'
+        ORDER BY id
+    LOOP
+        IF EXISTS (
+            SELECT 1
+            FROM availability_slots o
+            WHERE o.interviewer_id = slot.interviewer_id
+              AND o.id <> slot.id
+              AND o.is_active
+              AND (o.status = 'BOOKED' OR o.id < slot.id)
+              AND o.start_date_time < slot.end_date_time
+              AND slot.start_date_time < o.end_date_time
+        ) THEN
+            UPDATE availability_slots
+               SET is_active = false, updated_at = CURRENT_TIMESTAMP
+             WHERE id = slot.id;
+            deactivated := deactivated || slot.id;
+        END IF;
+    END LOOP;
+
+    IF cardinality(deactivated) > 0 THEN
+        RAISE NOTICE 'V23: deactivated % overlapping availability slots: %',
+            cardinality(deactivated), deactivated;
+    END IF;
+END $$;
+
+ALTER TABLE availability_slots
+    ADD COLUMN IF NOT EXISTS time_range TSRANGE
+        GENERATED ALWAYS AS (tsrange(start_date_time, end_date_time, '[)')) STORED;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'excl_availability_no_overlap'
+    ) THEN
+        ALTER TABLE availability_slots
+            ADD CONSTRAINT excl_availability_no_overlap
+            EXCLUDE USING gist (interviewer_id WITH =, time_range WITH &&)
+            WHERE (is_active);
+    END IF;
+END $$;
@@ -0,0 +1,25 @@
+-- V24__pooled_booking_ids.sql
+--
+-- PURPOSE:
+--   Same change as V20, for the rows a booking writes: interview requests,
+--   interview schedules and notifications move to pooled sequences
+--   (allocationSize = 50), so a panel booking sends each table as one JDBC
+--   batch instead of one INSERT ... RETURNING per panelist.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['interview_requests', 'interview_schedules', 'notifications'] LOOP
+        IF (SELECT increment_by FROM pg_sequences
+            WHERE sequencename = t || '_id_seq') <> 50 THEN
+
+            EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_id_seq');
+
+            -- Next nextval() is max(id) + 100, i.e. the pool (max+51 .. max+100)
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, true)',
+                           t || '_id_seq', t);
+        END IF;
+    END LOOP;
+END $$;
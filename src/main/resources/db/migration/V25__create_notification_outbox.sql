@@ -0,0 +1,52 @@
+-- V25__create_notification_outbox.sql
+--
+-- PURPOSE:
+--   Transactional outbox for notifications. Booking and cancel transactions
+--   only insert a small row here (batched with the rest of their writes);
+--   NotificationDispatcher drains it in the background: renders and
+--   batch-inserts the notifications rows, pushes them over WebSocket and, when
+--   mail is enabled, emails them with retries.
+--
+--   status: PENDING      — not yet turned into a notification
+--           MAIL_PENDING — notification written, email still to send
+--           SENT         — done (pruned after a retention period)
+--           FAILED       — email gave up after the maximum attempts
+--
+--   Ids come from a pooled sequence (allocationSize = 50, as in V24).
+-- ─────────────────────────────────────────────────────────────────────────────
+
+CREATE SEQUENCE IF NOT EXISTS notification_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('notification_outbox_id_seq'),
+    type VARCHAR(50) NOT NULL,
+    recipient_id BIGINT NOT NULL,
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(50),
+    candidate_name VARCHAR(255),
+    position VARCHAR(255),
+    interview_start TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    notification_id BIGINT,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+
+    CONSTRAINT fk_notification_outbox_recipient FOREIGN KEY (recipient_id)
+        REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_notification_outbox_status
+        CHECK (status IN ('PENDING', 'MAIL_PENDING', 'SENT', 'FAILED'))
+);
+
+ALTER SEQUENCE notification_outbox_id_seq OWNED BY notification_outbox.id;
+
+-- The dispatcher's claim query: due rows of one status, oldest first
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_due
+    ON notification_outbox (status, next_attempt_at, id)
+    WHERE status IN ('PENDING', 'MAIL_PENDING');
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_processed
+    ON notification_outbox (processed_at)
+    WHERE status = 'SENT';
@@ -0,0 +1,31 @@
+-- V26__create_notifications_archive.sql
+--
+-- PURPOSE:
+--   Keeps the hot notifications table small. NotificationArchiver moves read
+--   notifications older than notifications.archive.after-days here, a chunk
+--   at a time (DELETE ... RETURNING feeding an INSERT), so the recipient
+--   indexes on notifications only cover recent and unread rows.
+--
+--   The archive is compact: no "read"/"sent" flags (every row is read), no
+--   foreign key (archived rows never join back) and a single index.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+CREATE TABLE IF NOT EXISTS notifications_archive (
+    id BIGINT PRIMARY KEY,
+    recipient_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    message TEXT NOT NULL,
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(50),
+    created_at TIMESTAMP NOT NULL,
+    read_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_archive_recipient
+    ON notifications_archive(recipient_id, created_at DESC);
+
+-- Lets each archive chunk find its candidates without scanning unread rows
+CREATE INDEX IF NOT EXISTS idx_notifications_read_at
+    ON notifications(read_at) WHERE "read" = true;
@@ -0,0 +1,27 @@
+-- V27__create_interview_reminders_sent.sql
+--
+-- PURPOSE:
+--   One row per reminder actually sent, keyed by (schedule, offset before
+--   start). InterviewReminderScheduler inserts the row in the same
+--   transaction that queues the reminder notification, with
+--   ON CONFLICT DO NOTHING, so a reminder is sent once even across restarts
+--   (the startup catch-up re-arms everything still ahead) and with several
+--   application instances running.
+-- ─────────────────────────────────────────────────────────────────────────────
+
+CREATE TABLE IF NOT EXISTS interview_reminders_sent (
+    schedule_id BIGINT NOT NULL,
+    offset_minutes INT NOT NULL,
+    sent_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (schedule_id, offset_minutes),
+    CONSTRAINT fk_interview_reminder_schedule FOREIGN KEY (schedule_id)
+        REFERENCES interview_schedules(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_interview_reminders_sent_at
+    ON interview_reminders_sent(sent_at);
+
+-- Startup catch-up and the daily refill read upcoming SCHEDULED interviews
+CREATE INDEX IF NOT EXISTS idx_interview_schedules_status_start
+    ON interview_schedules(status, start_date_time);
@@ -0,0 +1,61 @@
+package com.nemal.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AvailabilityCursorTest {
+
+    @Test
+    void roundTripsStartAndId() {
+        AvailabilityCursor cursor = new AvailabilityCursor(LocalDateTime.of(2025, 3, 14, 9, 30), 42L);
+
+        assertThat(AvailabilityCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsMidnightAndSubSecondStarts() {
+        // LocalDateTime.toString drops zero seconds and keeps nanos; both must parse back
+        AvailabilityCursor midnight = new AvailabilityCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 1L);
+        AvailabilityCursor nanos = new AvailabilityCursor(LocalDateTime.of(2025, 1, 1, 8, 15, 7, 123_456_789), Long.MAX_VALUE);
+
+        assertThat(AvailabilityCursor.decode(midnight.encode())).isEqualTo(midnight);
+        assertThat(AvailabilityCursor.decode(nanos.encode())).isEqualTo(nanos);
+    }
+
+    @Test
+    void encodesAsUnpaddedUrlSafeToken() {
+        String token = new AvailabilityCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59), 987654321L).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedTokensWithIllegalArgument() {
+        String notBase64 = "not a cursor!";
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2025-01-01T10:00".getBytes());
+        String badId = Base64.getUrlEncoder().encodeToString("2025-01-01T10:00|abc".getBytes());
+        String badDate = Base64.getUrlEncoder().encodeToString("yesterday|5".getBytes());
+
+        for (String token : List.of(notBase64, noSeparator, badId, badDate)) {
+            assertThatThrownBy(() -> AvailabilityCursor.decode(token))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+
+    @Test
+    void afterPointsAtTheLastRowOfAPage() {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 2, 14, 0);
+        InterviewerAvailabilityDto last = new InterviewerAvailabilityDto(
+                77L, 3L, "Ada", null, null, null, List.of(), start, start.plusHours(1),
+                "AVAILABLE", null, null, null, null, null);
+
+        assertThat(AvailabilityCursor.after(last)).isEqualTo(new AvailabilityCursor(start, 77L));
+    }
+}
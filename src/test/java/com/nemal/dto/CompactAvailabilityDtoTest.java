@@ -0,0 +1,80 @@
+package com.nemal.dto;
+
+import com.nemal.enums.SlotStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactAvailabilityDtoTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 4, 7, 9, 0);
+
+    private static InterviewerAvailabilityDto row(long slotId, long interviewerId, String name, String status) {
+        return new InterviewerAvailabilityDto(
+                slotId, interviewerId, name, "Engineering", "Senior Engineer", 5, List.of("Java"),
+                NINE, NINE.plusMinutes(45), status,
+                "BOOKED".equals(status) ? "Candidate " + slotId : null,
+                "BOOKED".equals(status) ? 500 + slotId : null,
+                2, 3, null);
+    }
+
+    @Test
+    void statusTableCoversEverySlotStatus() {
+        CompactAvailabilityDto dto = CompactAvailabilityDto.from(List.of());
+
+        assertThat(dto.statuses()).containsExactly(
+                Arrays.stream(SlotStatus.values()).map(Enum::name).toArray(String[]::new));
+    }
+
+    @Test
+    void encodesEachStatusByItsOwnIndex() {
+        CompactAvailabilityDto dto = CompactAvailabilityDto.from(List.of(
+                row(1, 10, "Ada", "AVAILABLE"),
+                row(2, 10, "Ada", "BOOKED"),
+                row(3, 10, "Ada", "BLOCKED")));
+
+        int[] status = dto.slots().status();
+        assertThat(dto.statuses().get(status[0])).isEqualTo("AVAILABLE");
+        assertThat(dto.statuses().get(status[1])).isEqualTo("BOOKED");
+        // Regression: BLOCKED used to fall back to index 0 and render as bookable
+        assertThat(dto.statuses().get(status[2])).isEqualTo("BLOCKED");
+    }
+
+    @Test
+    void rejectsUnknownStatus() {
+        List<InterviewerAvailabilityDto> rows = List.of(row(9, 10, "Ada", "TENTATIVE"));
+
+        assertThatThrownBy(() -> CompactAvailabilityDto.from(rows))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("TENTATIVE");
+    }
+
+    @Test
+    void writesEachInterviewerOnceAndPointsSlotsAtThem() {
+        CompactAvailabilityDto dto = CompactAvailabilityDto.from(List.of(
+                row(1, 10, "Ada", "AVAILABLE"),
+                row(2, 20, "Grace", "BOOKED"),
+                row(3, 10, "Ada", "AVAILABLE")));
+
+        assertThat(dto.interviewers()).extracting(CompactAvailabilityDto.Interviewer::id).containsExactly(10L, 20L);
+        assertThat(dto.slots().interviewer()).containsExactly(0, 1, 0);
+        assertThat(dto.slots().id()).containsExactly(1L, 2L, 3L);
+        assertThat(dto.slots().candidateName()).containsExactly(null, "Candidate 2", null);
+        assertThat(dto.slots().requestId()).containsExactly(null, 502L, null);
+    }
+
+    @Test
+    void timesAreEpochMinutesOfTheWallClock() {
+        CompactAvailabilityDto dto = CompactAvailabilityDto.from(List.of(row(1, 10, "Ada", "AVAILABLE")));
+
+        long nineUtcMinutes = NINE.toEpochSecond(ZoneOffset.UTC) / 60;
+        assertThat(dto.slots().start()).containsExactly(nineUtcMinutes);
+        assertThat(dto.slots().end()).containsExactly(nineUtcMinutes + 45);
+    }
+}
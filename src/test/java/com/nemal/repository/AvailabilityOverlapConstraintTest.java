@@ -0,0 +1,82 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.Role;
+import com.nemal.enums.SlotStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The V23 exclusion constraint: an interviewer's active slots never overlap,
+ * back-to-back slots are fine, and inactive slots are ignored.
+ */
+class AvailabilityOverlapConstraintTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    private User alice;
+    private User bob;
+    private LocalDateTime nine;
+
+    @BeforeEach
+    void seed() {
+        alice = em.persist(interviewer("alice"));
+        bob = em.persist(interviewer("bob"));
+        nine = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        em.persist(slot(alice, nine, nine.plusHours(1), true));
+        em.flush();
+    }
+
+    @Test
+    void overlappingActiveSlotIsRejected() {
+        em.persist(slot(alice, nine.plusMinutes(30), nine.plusMinutes(90), true));
+
+        assertThatThrownBy(() -> em.flush())
+                .rootCause()
+                .isInstanceOf(PSQLException.class)
+                .hasMessageContaining("excl_availability_no_overlap");
+    }
+
+    @Test
+    void backToBackSlotsCoexist() {
+        em.persist(slot(alice, nine.plusHours(1), nine.plusHours(2), true));
+        em.persist(slot(alice, nine.minusHours(1), nine, true));
+
+        em.flush();
+    }
+
+    @Test
+    void inactiveAndOtherInterviewersSlotsAreIgnored() {
+        em.persist(slot(alice, nine, nine.plusHours(1), false));
+        em.persist(slot(bob, nine, nine.plusHours(1), true));
+
+        em.flush();
+        assertThat(em.getEntityManager()
+                .createQuery("SELECT COUNT(s) FROM AvailabilitySlot s", Long.class)
+                .getSingleResult()).isEqualTo(3);
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private static User interviewer(String name) {
+        return User.builder().email(name + "@example.com").passwordHash("x")
+                .firstName(name).lastName("Interviewer").role(Role.INTERVIEWER)
+                .isActive(true).build();
+    }
+
+    private static AvailabilitySlot slot(User interviewer, LocalDateTime start, LocalDateTime end, boolean active) {
+        return AvailabilitySlot.builder().interviewer(interviewer)
+                .startDateTime(start).endDateTime(end)
+                .status(SlotStatus.AVAILABLE).isActive(active).build();
+    }
+}
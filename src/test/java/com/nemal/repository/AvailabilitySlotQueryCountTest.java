@@ -0,0 +1,158 @@
+package com.nemal.repository;
+
+import com.nemal.entity.*;
+import com.nemal.enums.Role;
+import com.nemal.enums.SlotStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the statement and row counts of the slot read paths, so a fetch join
+ * on a collection (one row per slot × technology) or a per-interviewer lazy
+ * load (N+1) shows up as a failing count rather than a slow calendar.
+ *
+ * The fixture has more interviewers than User.interviewerTechnologies'
+ * batch size (256) and more slots than the HR calendar's hydration batch
+ * (500), so every batched step runs twice.
+ */
+class AvailabilitySlotQueryCountTest extends PostgresRepositoryTest {
+
+    private static final int INTERVIEWERS = 300;
+    private static final int SLOTS_PER_INTERVIEWER = 2;
+    private static final int TECHNOLOGIES_PER_INTERVIEWER = 2;
+    private static final int SLOTS = INTERVIEWERS * SLOTS_PER_INTERVIEWER;
+
+    /** ceil(300 / 256) */
+    private static final int TECHNOLOGY_BATCHES = 2;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AvailabilitySlotRepository availabilitySlotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void seed() {
+        now = LocalDateTime.now();
+        Department department = em.persist(Department.builder().name("Engineering").code("ENG-STATS").build());
+        Tier tier = em.persist(Tier.builder().name("Senior").department(department).tierOrder(1).isActive(true).build());
+        Designation designation = em.persist(Designation.builder().name("Senior Engineer").levelOrder(1)
+                .department(department).tier(tier).isActive(true).build());
+        Technology[] technologies = new Technology[TECHNOLOGIES_PER_INTERVIEWER];
+        for (int t = 0; t < technologies.length; t++) {
+            technologies[t] = em.persist(Technology.builder().name("Stats tech " + t).isActive(true).build());
+        }
+
+        LocalDate day = now.toLocalDate().plusDays(1);
+        for (int i = 0; i < INTERVIEWERS; i++) {
+            User interviewer = em.persist(User.builder()
+                    .email("stats-" + i + "@example.com").passwordHash("x")
+                    .firstName("Interviewer").lastName("#" + i).role(Role.INTERVIEWER)
+                    .department(department).currentDesignation(designation)
+                    .isActive(true).build());
+            for (Technology technology : technologies) {
+                em.persist(InterviewerTechnology.builder().interviewer(interviewer).technology(technology)
+                        .yearsOfExperience(3).isActive(true).build());
+            }
+            for (int s = 0; s < SLOTS_PER_INTERVIEWER; s++) {
+                em.persist(AvailabilitySlot.builder().interviewer(interviewer)
+                        .startDateTime(day.atTime(9 + 2 * s, 0)).endDateTime(day.atTime(10 + 2 * s, 0))
+                        .status(SlotStatus.AVAILABLE).isActive(true).build());
+            }
+        }
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void availableSlotsAreOneRowEachAndTechnologiesLoadInBatches() {
+        List<AvailabilitySlot> slots = availabilitySlotRepository.findAllAvailableSlots(now);
+
+        assertThat(slots).hasSize(SLOTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rowsReturned()).isEqualTo(SLOTS);
+
+        touchTechnologies(slots);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + TECHNOLOGY_BATCHES);
+        assertThat(statistics.getCollectionFetchCount()).isEqualTo(TECHNOLOGY_BATCHES);
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(INTERVIEWERS);
+        assertThat(loads(InterviewerTechnology.class)).isEqualTo(INTERVIEWERS * TECHNOLOGIES_PER_INTERVIEWER);
+    }
+
+    @Test
+    void hrCalendarLoadsInAFixedNumberOfStatements() {
+        List<AvailabilitySlot> slots = availabilitySlotRepository.findForHrCalendar(
+                AvailabilitySlotSpecifications.forHrCalendar(null, now.minusDays(30)));
+
+        assertThat(slots).hasSize(SLOTS);
+        // ids, interviewers (one batch), slots (two batches of 500)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 1 + 2);
+        assertThat(loads(AvailabilitySlot.class)).isEqualTo(SLOTS);
+        assertThat(loads(User.class)).isEqualTo(INTERVIEWERS);
+
+        touchTechnologies(slots);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 1 + 2 + TECHNOLOGY_BATCHES);
+    }
+
+    @Test
+    void hrCalendarStreamIsOneStatementPlusTechnologyBatches() {
+        List<AvailabilitySlot> slots;
+        try (Stream<AvailabilitySlot> stream = availabilitySlotRepository.streamForHrCalendar(
+                AvailabilitySlotSpecifications.forHrCalendar(null, now.minusDays(30)))) {
+            slots = stream.toList();
+        }
+
+        assertThat(slots).hasSize(SLOTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        touchTechnologies(slots);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + TECHNOLOGY_BATCHES);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static void touchTechnologies(List<AvailabilitySlot> slots) {
+        for (AvailabilitySlot slot : slots) {
+            for (InterviewerTechnology it : slot.getInterviewer().getInterviewerTechnologies()) {
+                it.getTechnology().getName();
+            }
+        }
+    }
+
+    private long loads(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    /** Rows returned across every HQL query run since the statistics were cleared. */
+    private long rowsReturned() {
+        long rows = 0;
+        for (String query : statistics.getQueries()) {
+            rows += statistics.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,147 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.enums.SlotStatus;
+import com.nemal.service.SlotBookingCoordinator;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The booking step of a committed batch schedule: {@link #batched} books
+ * every source slot once around all of its positions with
+ * {@link SlotBookingCoordinator#bookWindows}, as BatchSchedulingService does
+ * now; {@link #perCandidate} is the loop it replaced, one
+ * {@link SlotBookingCoordinator#book} per candidate carving from what the
+ * previous booking left.
+ *
+ * {@value #INTERVIEWERS} interviewers each hold one 09:00–17:00 slot
+ * tomorrow and get {@code perSlot} one-hour interviews in it, every other
+ * hour from 09:00 (back to back at eight). Each invocation books them all in
+ * one transaction on freshly seeded slots. The {@code statements} counter is
+ * the JDBC statements Hibernate prepared (a JDBC batch counts once), summed
+ * over the measured invocations: divide by {@code Cnt} for one.
+ *
+ * Needs Docker, or an empty database passed as
+ * <pre>
+ *   -jvmArgsAppend "-Dbench.jdbc-url=jdbc:postgresql://host/db -Dbench.username=... -Dbench.password=..."
+ * </pre>
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main BatchCommitBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BatchCommitBenchmark {
+
+    private static final int INTERVIEWERS = 100;
+
+    @Param({"1", "4", "8"})
+    public int perSlot;
+
+    private BenchmarkDatabase db;
+    private AvailabilitySlotRepository repository;
+    private SlotBookingCoordinator coordinator;
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private LocalDate day;
+    private List<Long> slotIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Setup
+    public void setUp() {
+        db = BenchmarkDatabase.start("spring.jpa.properties.hibernate.generate_statistics=true");
+        db.jdbc().execute("INSERT INTO users (email, password_hash, first_name, last_name, role, is_active) "
+                + "SELECT 'interviewer' || i || '@example.com', 'x', 'Interviewer', '#' || i, 'INTERVIEWER', true "
+                + "FROM generate_series(1, " + INTERVIEWERS + ") i");
+        repository = db.bean(AvailabilitySlotRepository.class);
+        coordinator = new SlotBookingCoordinator(repository);
+        tx = db.transaction(false);
+        statistics = db.statistics();
+        day = LocalDate.now().plusDays(1);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedSlots() {
+        db.jdbc().execute("DELETE FROM availability_slots");
+        db.jdbc().update("INSERT INTO availability_slots (interviewer_id, start_date_time, end_date_time, status, is_active) "
+                + "SELECT id, ?, ?, 'AVAILABLE', true FROM users ORDER BY id",
+                day.atTime(9, 0), day.atTime(17, 0));
+        slotIds = db.jdbc().queryForList("SELECT id FROM availability_slots ORDER BY id", Long.class);
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public Object batched(Statements statements) {
+        Object booked = tx.execute(status -> {
+            Map<Long, List<SlotBookingCoordinator.Window>> windows = new LinkedHashMap<>();
+            for (Long slotId : slotIds) {
+                windows.put(slotId, windows());
+            }
+            return coordinator.bookWindows(windows, new LinkedHashMap<>());
+        });
+        statements.statements += statistics.getPrepareStatementCount();
+        return booked;
+    }
+
+    @Benchmark
+    public Object perCandidate(Statements statements) {
+        Object booked = tx.execute(status -> {
+            List<AvailabilitySlot> bookedSlots = new ArrayList<>();
+            Map<Long, AvailabilitySlot> remainder = new HashMap<>();
+            for (AvailabilitySlot slot : repository.findAllById(slotIds)) {
+                List<SlotBookingCoordinator.Window> ordered = new ArrayList<>(windows());
+                ordered.sort(Comparator.comparing(SlotBookingCoordinator.Window::start));
+                for (SlotBookingCoordinator.Window w : ordered) {
+                    AvailabilitySlot source = remainder.getOrDefault(slot.getId(), slot);
+                    List<AvailabilitySlot> written = new ArrayList<>();
+                    bookedSlots.add(coordinator.book(source, w.start(), w.end(), w.description(), written));
+                    for (AvailabilitySlot s : written) {
+                        if (s.isActive() && s.getStatus() == SlotStatus.AVAILABLE && s.getStartDateTime().equals(w.end())) {
+                            remainder.put(slot.getId(), s);
+                        }
+                    }
+                }
+            }
+            return bookedSlots;
+        });
+        statements.statements += statistics.getPrepareStatementCount();
+        return booked;
+    }
+
+    private List<SlotBookingCoordinator.Window> windows() {
+        int step = perSlot == 8 ? 1 : 2;
+        List<SlotBookingCoordinator.Window> windows = new ArrayList<>(perSlot);
+        for (int i = 0; i < perSlot; i++) {
+            LocalDateTime start = day.atTime(9 + i * step, 0);
+            windows.add(new SlotBookingCoordinator.Window(start, start.plusHours(1), "Interview " + i));
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,156 @@
+package com.nemal.repository;
+
+import com.nemal.config.AuditConfig;
+import com.nemal.entity.AvailabilitySlot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JPA layer (entities, repositories, Flyway schema) on a real Postgres,
+ * for the repository benchmarks. No services, schedulers or web layer.
+ *
+ * Starts a Testcontainers Postgres unless {@code -Dbench.jdbc-url} (with
+ * {@code bench.username} / {@code bench.password}) names a database to use
+ * instead; pass those to the forked JVM with JMH's {@code -jvmArgsAppend}.
+ * Either way the database is migrated and emptied on start.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    /** Seeded interviewers each get this many back-to-back one-hour slots. */
+    static final int SLOTS_PER_INTERVIEWER = 200;
+
+    private final PostgreSQLContainer<?> container;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> container, ConfigurableApplicationContext context) {
+        this.container = container;
+        this.context = context;
+    }
+
+    /** @param properties extra Spring properties as {@code key=value} */
+    static BenchmarkDatabase start(String... properties) {
+        PostgreSQLContainer<?> container = null;
+        String url = System.getProperty("bench.jdbc-url");
+        String username = System.getProperty("bench.username", "postgres");
+        String password = System.getProperty("bench.password", "postgres");
+        if (url == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            url = container.getJdbcUrl();
+            username = container.getUsername();
+            password = container.getPassword();
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.flyway.enabled=true",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        SpringApplication application = new SpringApplication(Jpa.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setBannerMode(Banner.Mode.OFF);
+        BenchmarkDatabase db = new BenchmarkDatabase(container, application.run(args.toArray(String[]::new)));
+        db.truncate();
+        return db;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    JdbcTemplate jdbc() {
+        return bean(JdbcTemplate.class);
+    }
+
+    TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    /** Hibernate statistics; only populated when started with {@code hibernate.generate_statistics=true}. */
+    Statistics statistics() {
+        return bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    void truncate() {
+        jdbc().execute("TRUNCATE availability_slots, availability_rules, interviewer_technologies, "
+                + "interview_panels, interview_schedules, interview_requests, notifications, notification_outbox, "
+                + "users, designations, tiers, departments, technologies RESTART IDENTITY CASCADE");
+    }
+
+    /**
+     * An HR calendar of {@code slots} active slots from ten days ago onwards:
+     * five departments with two tiers of three designations each, eight
+     * technologies, and {@code slots / SLOTS_PER_INTERVIEWER} interviewers
+     * spread evenly over the designations, each knowing two technologies and
+     * holding back-to-back one-hour slots, one in five BOOKED.
+     */
+    void seedHrCalendar(int slots) {
+        int interviewers = Math.max(1, slots / SLOTS_PER_INTERVIEWER);
+        JdbcTemplate jdbc = jdbc();
+        jdbc.execute("INSERT INTO departments (name, code) "
+                + "SELECT 'Department ' || d, 'BENCH-' || d FROM generate_series(1, 5) d");
+        jdbc.execute("INSERT INTO tiers (name, department_id, tier_order, is_active) "
+                + "SELECT 'Tier ' || t, d.id, t, true FROM departments d, generate_series(1, 2) t");
+        jdbc.execute("INSERT INTO designations (name, level_order, department_id, tier_id, is_active) "
+                + "SELECT 'Designation ' || t.id || '.' || l, l, t.department_id, t.id, true "
+                + "FROM tiers t, generate_series(1, 3) l");
+        jdbc.execute("INSERT INTO technologies (name, is_active) "
+                + "SELECT 'Technology ' || t, true FROM generate_series(1, 8) t");
+        jdbc.update("INSERT INTO users (email, password_hash, first_name, last_name, role, "
+                + "    department_id, current_designation_id, is_active, years_of_experience) "
+                + "SELECT 'interviewer' || i || '@example.com', 'x', 'Interviewer', '#' || i, 'INTERVIEWER', "
+                + "    d.department_id, d.id, true, 1 + i % 15 "
+                + "FROM generate_series(1, ?) i "
+                + "JOIN (SELECT id, department_id, row_number() OVER (ORDER BY id) - 1 AS n FROM designations) d "
+                + "  ON d.n = i % 30", interviewers);
+        jdbc.execute("INSERT INTO interviewer_technologies (interviewer_id, technology_id, years_of_experience, is_active) "
+                + "SELECT u.id, t.id, 3, true FROM users u "
+                + "JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM technologies) t "
+                + "  ON t.n IN (u.id % 8, (u.id / 8) % 8)");
+        jdbc.update("INSERT INTO availability_slots (interviewer_id, start_date_time, end_date_time, status, is_active) "
+                + "SELECT u.id, b.base + s * interval '1 hour', b.base + (s + 1) * interval '1 hour', "
+                + "    CASE WHEN (u.id + s) % 5 = 0 THEN 'BOOKED' ELSE 'AVAILABLE' END, true "
+                + "FROM users u, generate_series(0, ? - 1) s, "
+                + "    (SELECT date_trunc('hour', LOCALTIMESTAMP) - interval '10 days' AS base) b",
+                SLOTS_PER_INTERVIEWER);
+        jdbc.execute("ANALYZE");
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (container != null) container.stop();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = AvailabilitySlot.class)
+    @EnableJpaRepositories(basePackageClasses = AvailabilitySlotRepository.class)
+    @Import({AuditConfig.class, FlywayLegacyBaseline.class})
+    static class Jpa {}
+}
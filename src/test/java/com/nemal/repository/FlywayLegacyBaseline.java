@@ -0,0 +1,57 @@
+package com.nemal.repository;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Lets the migrations run on an empty database. V1 created early versions of
+ * three tables that V10, V11 and V13 create again from scratch; existing
+ * databases had them dropped by hand in between. The same drop is done here
+ * just before each of those versions runs.
+ */
+@TestConfiguration
+class FlywayLegacyBaseline {
+
+    private static final Map<String, String> DROP_BEFORE = Map.of(
+            "10", "DROP TABLE IF EXISTS availability_slots CASCADE",
+            "11", "DROP TABLE IF EXISTS interview_requests_technologies, interview_requests CASCADE",
+            "13", "DROP TABLE IF EXISTS notifications CASCADE");
+
+    @Bean
+    Callback dropLegacyV1Tables() {
+        return new Callback() {
+            @Override
+            public boolean supports(Event event, Context context) {
+                return event == Event.BEFORE_EACH_MIGRATE;
+            }
+
+            @Override
+            public boolean canHandleInTransaction(Event event, Context context) {
+                return true;
+            }
+
+            @Override
+            public void handle(Event event, Context context) {
+                String sql = DROP_BEFORE.get(context.getMigrationInfo().getVersion().getVersion());
+                if (sql == null) return;
+                try (Statement statement = context.getConnection().createStatement()) {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(sql, e);
+                }
+            }
+
+            @Override
+            public String getCallbackName() {
+                return "dropLegacyV1Tables";
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.nemal.repository;
+
+import com.nemal.dto.AvailabilityFilterDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.Designation;
+import com.nemal.entity.InterviewerTechnology;
+import com.nemal.entity.Tier;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HR calendar filter with every criterion pushed into SQL
+ * ({@link AvailabilitySlotSpecifications#forHrCalendar}, read through
+ * {@link AvailabilitySlotRepositoryCustom#findForHrCalendar}) against the
+ * path it replaced: load the whole lookback window, then filter it in Java.
+ * {@link #legacyFilter} is that code, unchanged apart from logging.
+ *
+ * The filter is a typical candidate search: two of five departments, two of
+ * eight technologies, at least five years' experience and the tier/level rule
+ * for a tier-2, level-2 candidate. Both paths return the same slots; setup
+ * checks this up to {@link #CROSS_CHECK_LIMIT}. Each invocation is one cold
+ * read in its own transaction.
+ *
+ * Needs Docker, or an empty database passed as
+ * <pre>
+ *   -jvmArgsAppend "-Dbench.jdbc-url=jdbc:postgresql://host/db -Dbench.username=... -Dbench.password=..."
+ * </pre>
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main HrCalendarFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class HrCalendarFilterBenchmark {
+
+    /** The Java path runs out of a 3 GB heap at a million slots, so it is only cross-checked below that. */
+    private static final int CROSS_CHECK_LIMIT = 100_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int slots;
+
+    private BenchmarkDatabase db;
+    private AvailabilitySlotRepository repository;
+    private TransactionTemplate readOnly;
+    private AvailabilityFilterDto filter;
+    private LocalDateTime from;
+
+    @Setup
+    public void setUp() {
+        db = BenchmarkDatabase.start();
+        db.seedHrCalendar(slots);
+        repository = db.bean(AvailabilitySlotRepository.class);
+        readOnly = db.transaction(true);
+
+        List<Long> departments = db.jdbc().queryForList("SELECT id FROM departments ORDER BY id", Long.class);
+        List<Long> technologies = db.jdbc().queryForList("SELECT id FROM technologies ORDER BY id", Long.class);
+        filter = new AvailabilityFilterDto(
+                departments.subList(0, 2), technologies.subList(0, 2), null, null,
+                5, 2L, departments.get(0), 2L, null);
+        from = LocalDateTime.now().minusDays(30);
+
+        int pushedDown = pushedDown();
+        if (slots <= CROSS_CHECK_LIMIT) {
+            int javaFilter = javaFilter();
+            if (pushedDown != javaFilter) {
+                throw new IllegalStateException("Paths disagree: " + pushedDown + " vs " + javaFilter + " slots");
+            }
+        }
+        System.out.printf("%n%d of %d slots match the filter%n", pushedDown, slots);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public int pushedDown() {
+        return readOnly.execute(status -> repository.findForHrCalendar(
+                AvailabilitySlotSpecifications.forHrCalendar(filter, from)).size());
+    }
+
+    @Benchmark
+    public int javaFilter() {
+        return readOnly.execute(status -> legacyFilter(repository.findAllActiveSlotsForHR(from), filter).size());
+    }
+
+    /** Steps 2–5 of the pre-pushdown HRAvailabilityService.filterSlots. */
+    private static List<AvailabilitySlot> legacyFilter(List<AvailabilitySlot> slots, AvailabilityFilterDto filter) {
+        if (filter.departmentIds() != null && !filter.departmentIds().isEmpty()) {
+            slots = slots.stream()
+                    .filter(slot -> slot.getInterviewer() != null
+                            && slot.getInterviewer().getDepartment() != null
+                            && filter.departmentIds().contains(slot.getInterviewer().getDepartment().getId()))
+                    .toList();
+        }
+
+        if (filter.technologyIds() != null && !filter.technologyIds().isEmpty()) {
+            slots = slots.stream()
+                    .filter(slot -> {
+                        if (slot.getStatus() == SlotStatus.BOOKED) return true;
+                        if (slot.getInterviewer() == null) return false;
+                        Set<InterviewerTechnology> techs = slot.getInterviewer().getInterviewerTechnologies();
+                        if (!Hibernate.isInitialized(techs)) Hibernate.initialize(techs);
+                        if (techs == null || techs.isEmpty()) return false;
+                        return techs.stream()
+                                .filter(it -> it != null && it.isActive() && it.getTechnology() != null)
+                                .anyMatch(it -> filter.technologyIds().contains(it.getTechnology().getId()));
+                    })
+                    .toList();
+        }
+
+        if (filter.minYearsOfExperience() != null) {
+            slots = slots.stream()
+                    .filter(slot -> {
+                        if (slot.getStatus() == SlotStatus.BOOKED) return true;
+                        if (slot.getInterviewer() == null) return false;
+                        Integer years = slot.getInterviewer().getYearsOfExperience();
+                        return years != null && years >= filter.minYearsOfExperience();
+                    })
+                    .toList();
+        }
+
+        if (filter.minTierId() != null && filter.departmentIdForDesignationFilter() != null) {
+            int candidateTierOrder = filter.minTierId().intValue();
+            int candidateLevelOrder = filter.minDesignationLevelInDepartment() != null
+                    ? filter.minDesignationLevelInDepartment().intValue()
+                    : Integer.MAX_VALUE;
+
+            List<AvailabilitySlot> passed = new ArrayList<>();
+            for (AvailabilitySlot slot : slots) {
+                if (slot.getStatus() == SlotStatus.BOOKED) {
+                    passed.add(slot);
+                    continue;
+                }
+                User interviewer = slot.getInterviewer();
+                if (interviewer == null || interviewer.getCurrentDesignation() == null) continue;
+                if (interviewer.getDepartment() == null
+                        || !interviewer.getDepartment().getId().equals(filter.departmentIdForDesignationFilter())) {
+                    continue;
+                }
+                Designation designation = interviewer.getCurrentDesignation();
+                Tier tier = designation.getTier();
+                if (tier == null || tier.getTierOrder() == null || designation.getLevelOrder() == null) continue;
+
+                int ivTier = tier.getTierOrder();
+                int ivLevel = designation.getLevelOrder();
+                if (ivTier < candidateTierOrder || (ivTier == candidateTierOrder && ivLevel < candidateLevelOrder)) {
+                    passed.add(slot);
+                }
+            }
+            slots = passed;
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,147 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilitySlot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The unfiltered HR calendar read two ways: {@link #twoPhase} is
+ * {@link AvailabilitySlotRepositoryCustom#findForHrCalendar} (id query, then
+ * each interviewer's graph once, then the slots by id); {@link #singleJoin}
+ * is the query it replaced, one DISTINCT fetch join over slot × interviewer
+ * × technologies. Both end with every slot's interviewer technologies
+ * initialised, as the calendar DTO mapping needs them.
+ *
+ * Setup prints, per path, the rows the database returns (counted with the
+ * same joins), the statements and the entities and collections Hibernate
+ * loads. Both paths load the same graph, so what differs on the heap is the
+ * garbage per read: run with {@code -prof gc} for the bytes allocated.
+ *
+ * Needs Docker, or an empty database passed as
+ * <pre>
+ *   -jvmArgsAppend "-Dbench.jdbc-url=jdbc:postgresql://host/db -Dbench.username=... -Dbench.password=..."
+ * </pre>
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main HrCalendarLoadBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class HrCalendarLoadBenchmark {
+
+    /** The pre-two-phase findAllActiveSlotsForHR. */
+    private static final String SINGLE_JOIN = "SELECT DISTINCT s FROM AvailabilitySlot s " +
+            "LEFT JOIN FETCH s.interviewer i " +
+            "LEFT JOIN FETCH i.department " +
+            "LEFT JOIN FETCH i.currentDesignation d " +
+            "LEFT JOIN FETCH d.tier " +
+            "LEFT JOIN FETCH i.interviewerTechnologies it " +
+            "LEFT JOIN FETCH it.technology " +
+            "LEFT JOIN FETCH s.interviewSchedule sch " +
+            "LEFT JOIN FETCH sch.request " +
+            "WHERE s.isActive = true " +
+            "AND (s.status = 'AVAILABLE' OR s.status = 'BOOKED') " +
+            "AND s.startDateTime >= :from " +
+            "ORDER BY s.startDateTime";
+
+    private static final String VISIBLE = "s.is_active AND s.status IN ('AVAILABLE', 'BOOKED') AND s.start_date_time >= ?";
+
+    @Param({"10000", "100000"})
+    public int slots;
+
+    /** Technologies per interviewer: two as seeded, or all eight. */
+    @Param({"2", "8"})
+    public int technologies;
+
+    private BenchmarkDatabase db;
+    private AvailabilitySlotRepository repository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private LocalDateTime from;
+
+    @Setup
+    public void setUp() {
+        db = BenchmarkDatabase.start("spring.jpa.properties.hibernate.generate_statistics=true");
+        db.seedHrCalendar(slots);
+        if (technologies == 8) {
+            db.jdbc().execute("INSERT INTO interviewer_technologies (interviewer_id, technology_id, years_of_experience, is_active) "
+                    + "SELECT u.id, t.id, 3, true FROM users u, technologies t WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM interviewer_technologies it WHERE it.interviewer_id = u.id AND it.technology_id = t.id)");
+            db.jdbc().execute("ANALYZE interviewer_technologies");
+        }
+        repository = db.bean(AvailabilitySlotRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(db.bean(EntityManagerFactory.class));
+        readOnly = db.transaction(true);
+        statistics = db.statistics();
+        from = LocalDateTime.now().minusDays(30);
+
+        long singleJoinRows = count("SELECT count(*) FROM availability_slots s "
+                + "JOIN users u ON u.id = s.interviewer_id "
+                + "LEFT JOIN interviewer_technologies it ON it.interviewer_id = u.id WHERE " + VISIBLE);
+        long interviewers = count("SELECT count(DISTINCT s.interviewer_id) FROM availability_slots s WHERE " + VISIBLE);
+        long skills = count("SELECT count(*) FROM interviewer_technologies it WHERE it.interviewer_id IN "
+                + "(SELECT s.interviewer_id FROM availability_slots s WHERE " + VISIBLE + ")");
+        long visible = count("SELECT count(*) FROM availability_slots s WHERE " + VISIBLE);
+        long twoPhaseRows = visible + interviewers + skills + visible;
+
+        System.out.printf("%n%d visible slots, %d interviewers%n", visible, interviewers);
+        report("singleJoin", singleJoinRows, this::singleJoin);
+        report("twoPhase", twoPhaseRows, this::twoPhase);
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public int singleJoin() {
+        return readOnly.execute(status -> touch(entityManager.createQuery(SINGLE_JOIN, AvailabilitySlot.class)
+                .setParameter("from", from)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public int twoPhase() {
+        return readOnly.execute(status -> touch(repository.findForHrCalendar(
+                AvailabilitySlotSpecifications.forHrCalendar(null, from))));
+    }
+
+    private static int touch(List<AvailabilitySlot> slots) {
+        int technologies = 0;
+        for (AvailabilitySlot slot : slots) {
+            technologies += slot.getInterviewer().getInterviewerTechnologies().size();
+        }
+        return slots.size() + technologies;
+    }
+
+    /** Rows, statements and entity loads of one read. */
+    private void report(String path, long rows, Supplier<Integer> read) {
+        statistics.clear();
+        read.get();
+        System.out.printf("%-10s rows=%d statements=%d entities+collections=%d%n", path, rows,
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount() + statistics.getCollectionLoadCount());
+    }
+
+    private long count(String sql) {
+        Long count = db.jdbc().queryForObject(sql, Long.class, from);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,115 @@
+package com.nemal.repository;
+
+import com.nemal.entity.Notification;
+import com.nemal.entity.User;
+import com.nemal.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link NotificationRepository#archiveReadBefore} against the V26 archive
+ * table: which rows move, in what order, and that the returned count is the
+ * number deleted even when an id is already archived.
+ */
+class NotificationArchiveTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User recipient;
+    private LocalDateTime cutoff;
+
+    @BeforeEach
+    void seed() {
+        cutoff = LocalDateTime.now().minusDays(30);
+        recipient = em.persist(User.builder()
+                .email("archive@example.com").passwordHash("x")
+                .firstName("Archive").lastName("Recipient").role(Role.INTERVIEWER)
+                .isActive(true).build());
+    }
+
+    @Test
+    void movesOnlyReadRowsOlderThanTheCutoff() {
+        Long old = read(cutoff.minusDays(1)).getId();
+        Long recent = read(cutoff.plusDays(1)).getId();
+        Long unread = unread().getId();
+        em.flush();
+
+        int moved = notificationRepository.archiveReadBefore(cutoff, 100);
+
+        assertThat(moved).isEqualTo(1);
+        assertThat(liveIds()).containsExactlyInAnyOrder(recent, unread);
+        assertThat(archivedIds()).containsExactly(old);
+    }
+
+    @Test
+    void chunksTakeTheOldestReadRowsFirst() {
+        Long first = read(cutoff.minusDays(5)).getId();
+        Long third = read(cutoff.minusDays(3)).getId();
+        Long second = read(cutoff.minusDays(4)).getId();
+        em.flush();
+
+        assertThat(notificationRepository.archiveReadBefore(cutoff, 2)).isEqualTo(2);
+        assertThat(archivedIds()).containsExactlyInAnyOrder(first, second);
+
+        assertThat(notificationRepository.archiveReadBefore(cutoff, 2)).isEqualTo(1);
+        assertThat(notificationRepository.archiveReadBefore(cutoff, 2)).isZero();
+        assertThat(archivedIds()).containsExactlyInAnyOrder(first, second, third);
+    }
+
+    @Test
+    void alreadyArchivedIdsAreOverwrittenAndCounted() {
+        Notification clash = read(cutoff.minusDays(2));
+        Long other = read(cutoff.minusDays(1)).getId();
+        em.flush();
+        jdbcTemplate.update("INSERT INTO notifications_archive " +
+                        "(id, recipient_id, type, subject, message, created_at, read_at) " +
+                        "VALUES (?, ?, 'STALE', 'stale', 'stale', ?, ?)",
+                clash.getId(), recipient.getId(), cutoff.minusDays(90), cutoff.minusDays(90));
+
+        int moved = notificationRepository.archiveReadBefore(cutoff, 2);
+
+        // A short count here would end the archiver's run with rows left behind
+        assertThat(moved).isEqualTo(2);
+        assertThat(liveIds()).isEmpty();
+        assertThat(archivedIds()).containsExactlyInAnyOrder(clash.getId(), other);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT subject FROM notifications_archive WHERE id = ?", String.class, clash.getId()))
+                .isEqualTo(clash.getSubject());
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private Notification read(LocalDateTime readAt) {
+        return em.persist(Notification.builder().recipient(recipient)
+                .subject("Read at " + readAt).message("body").type("INTERVIEW_REMINDER")
+                .read(true).readAt(readAt).build());
+    }
+
+    private Notification unread() {
+        return em.persist(Notification.builder().recipient(recipient)
+                .subject("Unread").message("body").type("INTERVIEW_REMINDER").build());
+    }
+
+    private List<Long> liveIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM notifications", Long.class);
+    }
+
+    private List<Long> archivedIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM notifications_archive", Long.class);
+    }
+}
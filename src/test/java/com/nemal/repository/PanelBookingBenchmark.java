@@ -0,0 +1,191 @@
+package com.nemal.repository;
+
+import com.nemal.dto.CreatePanelInterviewDto;
+import com.nemal.dto.InterviewPanelDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.InterviewPanel;
+import com.nemal.entity.InterviewRequest;
+import com.nemal.entity.InterviewSchedule;
+import com.nemal.entity.User;
+import com.nemal.enums.InterviewStatus;
+import com.nemal.enums.RequestStatus;
+import com.nemal.service.NotificationService;
+import com.nemal.service.NotificationUnreadCounter;
+import com.nemal.service.PanelInterviewService;
+import com.nemal.service.SlotBookingCoordinator;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking one panel interview: {@link #batched} is
+ * {@link PanelInterviewService#createPanelInterview} (one locked fetch of
+ * every slot, then batched fragment, request, schedule and outbox writes);
+ * {@link #perMember} is the loop it replaced, a findById per slot and then a
+ * split, request save, schedule save, slot save and notification per
+ * panelist. Both run on today's schema, so the old path already gets the
+ * pooled ids of V24.
+ *
+ * Each panelist holds one 09:00–17:00 slot tomorrow and the panel takes
+ * 10:00–11:00, so every slot is split in three. Each invocation books the
+ * panel in one transaction on freshly seeded slots. The {@code statements}
+ * counter is the JDBC statements Hibernate prepared (a JDBC batch counts
+ * once), summed over the measured invocations: divide by {@code Cnt} for one.
+ *
+ * Needs Docker, or an empty database passed as
+ * <pre>
+ *   -jvmArgsAppend "-Dbench.jdbc-url=jdbc:postgresql://host/db -Dbench.username=... -Dbench.password=..."
+ * </pre>
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main PanelBookingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+public class PanelBookingBenchmark {
+
+    @Param({"2", "4", "6", "8", "10"})
+    public int panelSize;
+
+    private BenchmarkDatabase db;
+    private AvailabilitySlotRepository slotRepository;
+    private InterviewPanelRepository panelRepository;
+    private InterviewRequestRepository requestRepository;
+    private InterviewScheduleRepository scheduleRepository;
+    private SlotBookingCoordinator coordinator;
+    private NotificationService notificationService;
+    private PanelInterviewService panelService;
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private User hr;
+    private LocalDateTime start;
+    private List<Long> slotIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Setup
+    public void setUp() {
+        db = BenchmarkDatabase.start("spring.jpa.properties.hibernate.generate_statistics=true");
+        db.jdbc().execute("INSERT INTO users (email, password_hash, first_name, last_name, role, is_active) "
+                + "VALUES ('hr@example.com', 'x', 'Grace', 'Hopper', 'HR', true)");
+        db.jdbc().update("INSERT INTO users (email, password_hash, first_name, last_name, role, is_active) "
+                + "SELECT 'interviewer' || i || '@example.com', 'x', 'Interviewer', '#' || i, 'INTERVIEWER', true "
+                + "FROM generate_series(1, ?) i", panelSize);
+
+        slotRepository = db.bean(AvailabilitySlotRepository.class);
+        panelRepository = db.bean(InterviewPanelRepository.class);
+        requestRepository = db.bean(InterviewRequestRepository.class);
+        scheduleRepository = db.bean(InterviewScheduleRepository.class);
+        NotificationRepository notificationRepository = db.bean(NotificationRepository.class);
+        ApplicationEventPublisher events = event -> {};
+        coordinator = new SlotBookingCoordinator(slotRepository);
+        notificationService = new NotificationService(db.bean(NotificationOutboxRepository.class),
+                notificationRepository, new NotificationUnreadCounter(notificationRepository), events);
+        panelService = new PanelInterviewService(panelRepository, slotRepository, requestRepository,
+                scheduleRepository, db.bean(CandidateRepository.class), db.bean(DesignationRepository.class),
+                db.bean(TechnologyRepository.class), notificationService, events, coordinator);
+        tx = db.transaction(false);
+        statistics = db.statistics();
+        hr = db.bean(UserRepository.class).findByEmail("hr@example.com").orElseThrow();
+        start = LocalDate.now().plusDays(1).atTime(10, 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedSlots() {
+        db.jdbc().execute("TRUNCATE availability_slots, interview_requests, interview_schedules, "
+                + "interview_panels, notification_outbox CASCADE");
+        db.jdbc().update("INSERT INTO availability_slots (interviewer_id, start_date_time, end_date_time, status, is_active) "
+                + "SELECT id, ?, ?, 'AVAILABLE', true FROM users WHERE role = 'INTERVIEWER' ORDER BY id",
+                start.withHour(9), start.withHour(17));
+        slotIds = db.jdbc().queryForList("SELECT id FROM availability_slots ORDER BY id", Long.class);
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public InterviewPanelDto batched(Statements statements) {
+        InterviewPanelDto panel = tx.execute(status -> panelService.createPanelInterview(hr,
+                new CreatePanelInterviewDto(null, "Candidate", null, start, start.plusHours(1),
+                        slotIds, List.of(), false, null)));
+        statements.statements += statistics.getPrepareStatementCount();
+        return panel;
+    }
+
+    @Benchmark
+    public InterviewPanelDto perMember(Statements statements) {
+        InterviewPanelDto panel = tx.execute(status -> legacyCreatePanel(start, start.plusHours(1)));
+        statements.statements += statistics.getPrepareStatementCount();
+        return panel;
+    }
+
+    /** The pre-batching createPanelInterview, for a candidate given by name only. */
+    private InterviewPanelDto legacyCreatePanel(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        for (Long slotId : slotIds) {
+            slots.add(slotRepository.findById(slotId).orElseThrow());
+        }
+        coordinator.lockInterviewers(slots.stream().map(slot -> slot.getInterviewer().getId()).toList());
+
+        InterviewPanel panel = panelRepository.save(InterviewPanel.builder()
+                .candidateName("Candidate")
+                .startDateTime(startDateTime)
+                .endDateTime(endDateTime)
+                .requestedBy(hr)
+                .build());
+
+        for (AvailabilitySlot slot : slots) {
+            AvailabilitySlot bookedSlot = coordinator.book(
+                    slot, startDateTime, endDateTime, "Panel Interview: Candidate", new ArrayList<>());
+
+            InterviewRequest request = requestRepository.save(InterviewRequest.builder()
+                    .candidateName("Candidate")
+                    .requiredTechnologies(new HashSet<>())
+                    .preferredStartDateTime(startDateTime)
+                    .preferredEndDateTime(endDateTime)
+                    .requestedBy(hr)
+                    .assignedInterviewer(slot.getInterviewer())
+                    .availabilitySlot(bookedSlot)
+                    .panel(panel)
+                    .status(RequestStatus.ACCEPTED)
+                    .respondedAt(LocalDateTime.now())
+                    .responseNotes("Auto-accepted as part of panel interview")
+                    .build());
+
+            InterviewSchedule schedule = scheduleRepository.save(InterviewSchedule.builder()
+                    .request(request)
+                    .interviewer(slot.getInterviewer())
+                    .startDateTime(startDateTime)
+                    .endDateTime(endDateTime)
+                    .status(InterviewStatus.SCHEDULED)
+                    .build());
+
+            bookedSlot.setInterviewSchedule(schedule);
+            slotRepository.save(bookedSlot);
+            notificationService.sendInterviewScheduledNotification(request);
+        }
+
+        return InterviewPanelDto.from(panelRepository.findByIdWithDetails(panel.getId()).orElseThrow());
+    }
+}
@@ -0,0 +1,32 @@
+package com.nemal.repository;
+
+import com.nemal.config.AuditConfig;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for repository tests against a throwaway Postgres container; skipped
+ * where Docker is unavailable. The schema is built by the real Flyway
+ * migrations (see FlywayLegacyBaseline) and Hibernate only validates the
+ * entity mappings against it, so the tests also cover the migration-only
+ * objects (exclusion constraint, pooled sequences, outbox and archive
+ * tables). Hibernate statistics are on so tests can pin statement counts.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AuditConfig.class, FlywayLegacyBaseline.class})
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+}
@@ -0,0 +1,184 @@
+package com.nemal.repository;
+
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.Role;
+import com.nemal.enums.SlotStatus;
+import com.nemal.service.SlotBookingCoordinator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SlotBookingCoordinator under real concurrent transactions: every thread
+ * loads the slot in its own transaction and commits or rolls back, so the
+ * stripe locks, the conditional claim UPDATE, the row locks taken by
+ * {@code bookAll} and the exclusion constraint all take part. Tests commit,
+ * so they clean up after themselves.
+ */
+@Import(SlotBookingCoordinator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotBookingConcurrencyTest extends PostgresRepositoryTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private SlotBookingCoordinator coordinator;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE availability_slots, users RESTART IDENTITY CASCADE");
+    }
+
+    @Test
+    void fullBookingsOfOneSlotHaveExactlyOneWinner() throws Exception {
+        Long slotId = seedSlot("ada", start, start.plusHours(1));
+
+        List<String> outcomes = race(i -> () -> {
+            AvailabilitySlot slot = slotRepository.findById(slotId).orElseThrow();
+            return coordinator.book(slot, start, start.plusHours(1), "Interview " + i, new ArrayList<>());
+        });
+
+        assertThat(outcomes).containsOnlyOnce("booked")
+                .allMatch(o -> o.equals("booked") || o.contains("no longer available"));
+        assertThat(activeRows()).containsExactly(SlotStatus.BOOKED + " " + start + " " + start.plusHours(1));
+    }
+
+    @Test
+    void partialBookingsFromSeparateInstancesHaveExactlyOneWinner() throws Exception {
+        // One coordinator per thread: no shared stripe locks, as with several app nodes
+        Long slotId = seedSlot("ada", start, start.plusHours(4));
+
+        List<String> outcomes = race(i -> {
+            SlotBookingCoordinator node = new SlotBookingCoordinator(slotRepository);
+            LocalDateTime from = start.plusMinutes(30L * i);
+            return () -> {
+                AvailabilitySlot slot = slotRepository.findById(slotId).orElseThrow();
+                return node.book(slot, from, from.plusMinutes(30), "Interview " + i, new ArrayList<>());
+            };
+        });
+
+        assertThat(outcomes).containsOnlyOnce("booked")
+                .allMatch(o -> o.equals("booked")
+                        || o.contains("no longer available") || o.contains("changed by another booking"));
+        List<String> rows = activeRows();
+        assertThat(rows).filteredOn(r -> r.startsWith("BOOKED")).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(EXTRACT(EPOCH FROM end_date_time - start_date_time)) / 60 "
+                        + "FROM availability_slots WHERE is_active", Integer.class))
+                .isEqualTo(240);
+    }
+
+    @Test
+    void overlappingPanelsHaveExactlyOneWinner() throws Exception {
+        Long a = seedSlot("ada", start, start.plusHours(1));
+        Long b = seedSlot("grace", start, start.plusHours(1));
+        Long c = seedSlot("edsger", start, start.plusHours(1));
+
+        List<String> outcomes = race(i -> () -> coordinator.bookAll(
+                i % 2 == 0 ? List.of(a, b) : List.of(c, b),
+                start, start.plusHours(1), "Panel " + i, new HashMap<>()).get(0));
+
+        assertThat(outcomes).containsOnlyOnce("booked")
+                .allMatch(o -> o.equals("booked") || o.contains("no longer available"));
+        assertThat(activeRows()).filteredOn(r -> r.startsWith("BOOKED")).hasSize(2);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Runs one transaction per thread, all released together; "booked" or the failure message per thread. */
+    private List<String> race(IntFunction<Callable<AvailabilitySlot>> bookings) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<AvailabilitySlot> booking = bookings.apply(i);
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    try {
+                        tx.execute(status -> {
+                            try {
+                                return booking.call();
+                            } catch (RuntimeException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+                        return "booked";
+                    } catch (RuntimeException e) {
+                        return String.valueOf(e.getMessage());
+                    }
+                }));
+            }
+            go.countDown();
+            List<String> outcomes = new ArrayList<>();
+            for (Future<String> future : futures) outcomes.add(future.get());
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long seedSlot(String name, LocalDateTime from, LocalDateTime to) {
+        return tx.execute(status -> {
+            User interviewer = userRepository.save(User.builder()
+                    .email(name + "@example.com").passwordHash("x")
+                    .firstName(name).lastName("Interviewer").role(Role.INTERVIEWER)
+                    .isActive(true).build());
+            return slotRepository.save(AvailabilitySlot.builder().interviewer(interviewer)
+                    .startDateTime(from).endDateTime(to)
+                    .status(SlotStatus.AVAILABLE).isActive(true).build()).getId();
+        });
+    }
+
+    private List<String> activeRows() {
+        return jdbcTemplate.query(
+                "SELECT status, start_date_time, end_date_time FROM availability_slots "
+                        + "WHERE is_active ORDER BY interviewer_id, start_date_time",
+                (rs, n) -> rs.getString(1) + " " + rs.getTimestamp(2).toLocalDateTime()
+                        + " " + rs.getTimestamp(3).toLocalDateTime());
+    }
+}
@@ -0,0 +1,181 @@
+package com.nemal.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter#doFilterInternal}
+ * with an in-memory user lookup and a chain that does nothing, so only the
+ * filter's own work is timed: a repeat token (claims cache hit), a token the
+ * cache no longer holds (verify and insert), and {@link #before}, the filter
+ * and JwtService as they were before the key, parser and claims cache, which
+ * rebuilt the key and parsed the token three times per request.
+ *
+ * The security context is cleared after every request so each one
+ * authenticates.
+ *
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main JwtAuthenticationFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "159f8eb92b8df3d32ccc2e80292edd5a9aae00269cac9f5fdfe02469e55e8ebf";
+    private static final long EXPIRATION_MS = 864_000_000L;
+
+    /** Twice the cache, cycled in order, so no token is still cached when it comes round again. */
+    private static final int MISS_TOKENS = 2 * JwtService.CLAIMS_CACHE_SIZE;
+
+    private static final FilterChain CHAIN = (request, response) -> {};
+
+    private JwtAuthenticationFilter filter;
+    private LegacyFilter legacyFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest[] missRequests;
+    private MockHttpServletResponse response;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = User.withUsername("bench@example.com").password("x").authorities(List.of()).build();
+        UserDetailsService users = username -> user;
+
+        JwtService jwtService = new JwtService(SECRET, EXPIRATION_MS);
+        filter = new JwtAuthenticationFilter(jwtService, users);
+        legacyFilter = new LegacyFilter(new LegacyJwtService(), users);
+
+        request = bearer(jwtService.generateToken(Map.of("role", "HR"), user));
+        missRequests = new MockHttpServletRequest[MISS_TOKENS];
+        for (int i = 0; i < MISS_TOKENS; i++) {
+            missRequests[i] = bearer(jwtService.generateToken(Map.of("role", "HR", "n", i), user));
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication cacheHit() throws ServletException, IOException {
+        filter.doFilterInternal(request, response, CHAIN);
+        return authenticated();
+    }
+
+    @Benchmark
+    public Authentication cacheMiss() throws ServletException, IOException {
+        MockHttpServletRequest r = missRequests[next];
+        next = (next + 1) % MISS_TOKENS;
+        filter.doFilterInternal(r, response, CHAIN);
+        return authenticated();
+    }
+
+    @Benchmark
+    public Authentication before() throws ServletException, IOException {
+        legacyFilter.doFilterInternal(request, response, CHAIN);
+        return authenticated();
+    }
+
+    private static Authentication authenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/hr/availability");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    /** JwtAuthenticationFilter.doFilterInternal before claims were passed through. */
+    private record LegacyFilter(LegacyJwtService jwtService, UserDetailsService userDetailsService) {
+
+        void doFilterInternal(HttpServletRequest request, MockHttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            final String authHeader = request.getHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            final String jwt = authHeader.substring(7);
+            final String userEmail = jwtService.extractUsername(jwt);
+
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                if (jwtService.isTokenValid(jwt, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /** The read side of JwtService before the key, parser and claims cache. */
+    private static final class LegacyJwtService {
+
+        String extractUsername(String token) {
+            return extractClaim(token, Claims::getSubject);
+        }
+
+        <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+            final Claims claims = extractAllClaims(token);
+            return claimsResolver.apply(claims);
+        }
+
+        boolean isTokenValid(String token, UserDetails userDetails) {
+            final String username = extractUsername(token);
+            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        }
+
+        private boolean isTokenExpired(String token) {
+            return extractClaim(token, Claims::getExpiration).before(new Date());
+        }
+
+        private Claims extractAllClaims(String token) {
+            return Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+
+        private SecretKey getSignInKey() {
+            byte[] keyBytes = Decoders.BASE64.decode(SECRET);
+            return Keys.hmacShaKeyFor(keyBytes);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.nemal.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link JwtService#extractAllClaims} per request: a cache hit (the
+ * same client calling again), a miss (more live tokens than the cache holds,
+ * so every call verifies and inserts), and a bare parse with a parser built
+ * once, which is what a request cost before the cache.
+ *
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main JwtServiceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "159f8eb92b8df3d32ccc2e80292edd5a9aae00269cac9f5fdfe02469e55e8ebf";
+    private static final long EXPIRATION_MS = 864_000_000L;
+
+    /** Twice the cache, cycled in order, so no token is still cached when it comes round again. */
+    private static final int MISS_TOKENS = 2 * JwtService.CLAIMS_CACHE_SIZE;
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+    private String[] missTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION_MS);
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+
+        UserDetails user = User.withUsername("bench@example.com").password("x").authorities(List.of()).build();
+        token = jwtService.generateToken(Map.of("role", "HR"), user);
+        jwtService.extractAllClaims(token);
+        missTokens = new String[MISS_TOKENS];
+        for (int i = 0; i < MISS_TOKENS; i++) {
+            missTokens[i] = jwtService.generateToken(Map.of("role", "HR", "n", i), user);
+        }
+    }
+
+    @Benchmark
+    public Claims cacheHit() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims cacheMiss() {
+        String t = missTokens[next];
+        next = (next + 1) % MISS_TOKENS;
+        return jwtService.extractAllClaims(t);
+    }
+
+    @Benchmark
+    public Claims parseWithoutCache() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
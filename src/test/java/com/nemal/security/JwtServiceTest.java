@@ -0,0 +1,178 @@
+package com.nemal.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "159f8eb92b8df3d32ccc2e80292edd5a9aae00269cac9f5fdfe02469e55e8ebf";
+    private static final long EXPIRATION_MS = Duration.ofHours(1).toMillis();
+
+    private final AtomicLong nowMillis = new AtomicLong(1_700_000_000_000L);
+    private final UserDetails alice = user("alice@example.com");
+    private final UserDetails bob = user("bob@example.com");
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION_MS, () -> new Date(nowMillis.get()));
+    }
+
+    // ── Verification ──────────────────────────────────────────────────────────
+
+    @Test
+    void validTokenIsVerifiedOnceAndThenServedFromTheCache() {
+        String token = jwtService.generateToken(alice);
+
+        Claims first = jwtService.extractAllClaims(token);
+        Claims second = jwtService.extractAllClaims(token);
+
+        assertThat(first.getSubject()).isEqualTo("alice@example.com");
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.isTokenValid(token, alice)).isTrue();
+        assertThat(jwtService.isTokenValid(token, bob)).isFalse();
+    }
+
+    @Test
+    void tamperedSignatureIsRejectedAndNotCached() {
+        String token = jwtService.generateToken(alice);
+        jwtService.extractAllClaims(token);
+        String tampered = flipSignatureCharacter(token);
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(jwtService.isCached(tampered)).isFalse();
+        assertThat(jwtService.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void swappedPayloadIsRejectedEvenWhenTheOriginalIsCached() {
+        String aliceToken = jwtService.generateToken(alice);
+        String bobToken = jwtService.generateToken(bob);
+        jwtService.extractAllClaims(aliceToken);
+        jwtService.extractAllClaims(bobToken);
+
+        // Bob's claims under Alice's signature
+        String[] a = aliceToken.split("\\.");
+        String[] b = bobToken.split("\\.");
+        String forged = a[0] + "." + b[1] + "." + a[2];
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtService other = new JwtService(SECRET.replace('1', '2'), EXPIRATION_MS, () -> new Date(nowMillis.get()));
+        String foreign = other.generateToken(alice);
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(foreign)).isInstanceOf(SignatureException.class);
+    }
+
+    // ── Expiry ────────────────────────────────────────────────────────────────
+
+    @Test
+    void expiredCachedEntryIsEvictedAndReVerified() {
+        String token = jwtService.generateToken(alice);
+        jwtService.extractAllClaims(token);
+        assertThat(jwtService.isCached(token)).isTrue();
+
+        nowMillis.addAndGet(EXPIRATION_MS + 1_000);
+
+        // Re-verified by the parser, which rejects it, rather than served from the cache
+        assertThatThrownBy(() -> jwtService.extractAllClaims(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtService.isCached(token)).isFalse();
+        assertThat(jwtService.cachedTokens()).isZero();
+    }
+
+    @Test
+    void cachedClaimsStopValidatingOnceExpired() {
+        String token = jwtService.generateToken(alice);
+        Claims claims = jwtService.extractAllClaims(token);
+
+        nowMillis.addAndGet(EXPIRATION_MS + 1_000);
+
+        assertThat(jwtService.isTokenValid(claims, alice)).isFalse();
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesBeforeEvictingLiveOnes() {
+        List<String> stale = tokens(JwtService.CLAIMS_CACHE_SIZE);
+        stale.forEach(jwtService::extractAllClaims);
+
+        nowMillis.addAndGet(EXPIRATION_MS + 1_000);
+        String fresh = jwtService.generateToken(alice);
+        jwtService.extractAllClaims(fresh);
+
+        assertThat(jwtService.cachedTokens()).isEqualTo(1);
+        assertThat(jwtService.isCached(fresh)).isTrue();
+    }
+
+    // ── LRU bound ─────────────────────────────────────────────────────────────
+
+    @Test
+    void cacheNeverHoldsMoreThanItsBound() {
+        List<String> tokens = tokens(JwtService.CLAIMS_CACHE_SIZE + 100);
+
+        for (String token : tokens) {
+            jwtService.extractAllClaims(token);
+            assertThat(jwtService.cachedTokens()).isLessThanOrEqualTo(JwtService.CLAIMS_CACHE_SIZE);
+        }
+
+        assertThat(jwtService.cachedTokens()).isEqualTo(JwtService.CLAIMS_CACHE_SIZE);
+        assertThat(jwtService.isCached(tokens.get(0))).isFalse();
+        assertThat(jwtService.isCached(tokens.get(tokens.size() - 1))).isTrue();
+    }
+
+    @Test
+    void recentlyUsedTokenSurvivesEviction() {
+        List<String> tokens = tokens(JwtService.CLAIMS_CACHE_SIZE + 1);
+        String hot = tokens.get(0);
+        String coldest = tokens.get(1);
+        for (String token : tokens.subList(0, JwtService.CLAIMS_CACHE_SIZE)) {
+            jwtService.extractAllClaims(token);
+        }
+
+        jwtService.extractAllClaims(hot);   // now most recently used
+        jwtService.extractAllClaims(tokens.get(JwtService.CLAIMS_CACHE_SIZE));
+
+        assertThat(jwtService.isCached(hot)).isTrue();
+        assertThat(jwtService.isCached(coldest)).isFalse();
+        assertThat(jwtService.cachedTokens()).isEqualTo(JwtService.CLAIMS_CACHE_SIZE);
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    /** Distinct tokens for one user, told apart by an extra claim. */
+    private List<String> tokens(int count) {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(jwtService.generateToken(Map.of("n", i), alice));
+        }
+        return tokens;
+    }
+
+    private static String flipSignatureCharacter(String token) {
+        int signatureStart = token.lastIndexOf('.') + 1;
+        int i = signatureStart + (token.length() - signatureStart) / 2;
+        char replacement = token.charAt(i) == 'A' ? 'B' : 'A';
+        return token.substring(0, i) + replacement + token.substring(i + 1);
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("x").authorities(List.of()).build();
+    }
+}
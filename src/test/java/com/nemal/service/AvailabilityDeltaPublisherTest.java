@@ -0,0 +1,166 @@
+package com.nemal.service;
+
+import com.nemal.dto.AvailabilityDeltaDto;
+import com.nemal.dto.SlotDelta;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.InterviewRequest;
+import com.nemal.entity.InterviewSchedule;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotChangeType;
+import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AvailabilityDeltaPublisherTest {
+
+    private static final LocalDateTime NINE = LocalDate.now().plusDays(1).atTime(9, 0);
+
+    private final User interviewer = User.builder().id(7L).email("ada@example.com")
+            .firstName("Ada").lastName("Lovelace").build();
+
+    private SimpMessagingTemplate messagingTemplate;
+    private AvailabilityDeltaPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        publisher = new AvailabilityDeltaPublisher(messagingTemplate);
+    }
+
+    // ── Mapping ───────────────────────────────────────────────────────────────
+
+    @Test
+    void splitIsPushedAsTheDeactivatedSourcePlusEveryFragment() {
+        AvailabilitySlot source = slot(1L, 9, 17, SlotStatus.AVAILABLE, false);
+        AvailabilitySlot before = slot(2L, 9, 10, SlotStatus.AVAILABLE, true);
+        AvailabilitySlot booked = slot(3L, 10, 11, SlotStatus.BOOKED, true);
+        booked.setInterviewSchedule(InterviewSchedule.builder()
+                .request(InterviewRequest.builder().id(40L).build()).build());
+        AvailabilitySlot after = slot(4L, 11, 17, SlotStatus.AVAILABLE, true);
+
+        long sentAfter = System.currentTimeMillis();
+        publisher.onAvailabilityChanged(AvailabilityChangedEvent.of(interviewer, SlotChangeType.SPLIT,
+                List.of(source, before, booked, after)));
+
+        AvailabilityDeltaDto delta = topicDelta();
+        assertThat(delta.type()).isEqualTo("SPLIT");
+        assertThat(delta.interviewerId()).isEqualTo(7L);
+        assertThat(delta.timestamp()).isGreaterThanOrEqualTo(sentAfter);
+        assertThat(delta.slots())
+                .extracting(SlotDelta::slotId, SlotDelta::startDateTime, SlotDelta::endDateTime,
+                        SlotDelta::status, SlotDelta::active, SlotDelta::requestId)
+                .containsExactly(
+                        tuple(1L, NINE, NINE.withHour(17), "AVAILABLE", false, null),
+                        tuple(2L, NINE, NINE.withHour(10), "AVAILABLE", true, null),
+                        tuple(3L, NINE.withHour(10), NINE.withHour(11), "BOOKED", true, 40L),
+                        tuple(4L, NINE.withHour(11), NINE.withHour(17), "AVAILABLE", true, null));
+    }
+
+    @Test
+    void everyChangeTypeKeepsItsName() {
+        for (SlotChangeType type : SlotChangeType.values()) {
+            publisher.onAvailabilityChanged(AvailabilityChangedEvent.of(interviewer, type,
+                    List.of(slot(1L, 9, 10, SlotStatus.AVAILABLE, true))));
+        }
+
+        ArgumentCaptor<AvailabilityDeltaDto> deltas = ArgumentCaptor.forClass(AvailabilityDeltaDto.class);
+        verify(messagingTemplate, times(SlotChangeType.values().length))
+                .convertAndSend(eq(AvailabilityDeltaPublisher.TOPIC), deltas.capture());
+        assertThat(deltas.getAllValues()).extracting(AvailabilityDeltaDto::type)
+                .containsExactly("CREATED", "UPDATED", "BOOKED", "SPLIT", "MERGED", "CANCELLED", "DEACTIVATED");
+    }
+
+    @Test
+    void scheduleWithoutRequestAndMissingStatusMapToNull() {
+        AvailabilitySlot slot = slot(1L, 9, 10, null, true);
+        slot.setInterviewSchedule(InterviewSchedule.builder().build());
+
+        assertThat(SlotDelta.from(slot))
+                .extracting(SlotDelta::status, SlotDelta::requestId)
+                .containsExactly(null, null);
+    }
+
+    @Test
+    void deltasAreCapturedWhenTheEventIsCreated() {
+        AvailabilitySlot slot = slot(1L, 9, 10, SlotStatus.AVAILABLE, true);
+        AvailabilityChangedEvent event = AvailabilityChangedEvent.of(interviewer, SlotChangeType.BOOKED, List.of(slot));
+
+        // A later write in the same transaction must not leak into this change
+        slot.setStatus(SlotStatus.BOOKED);
+        slot.setActive(false);
+        publisher.onAvailabilityChanged(event);
+
+        assertThat(topicDelta().slots()).singleElement()
+                .extracting(SlotDelta::status, SlotDelta::active)
+                .containsExactly("AVAILABLE", true);
+    }
+
+    // ── Destinations ──────────────────────────────────────────────────────────
+
+    @Test
+    void interviewerGetsTheSameDeltaOnTheirQueue() {
+        publisher.onAvailabilityChanged(AvailabilityChangedEvent.of(interviewer, SlotChangeType.CREATED,
+                List.of(slot(1L, 9, 10, SlotStatus.AVAILABLE, true))));
+
+        ArgumentCaptor<AvailabilityDeltaDto> queued = ArgumentCaptor.forClass(AvailabilityDeltaDto.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("ada@example.com"),
+                eq(AvailabilityDeltaPublisher.USER_QUEUE), queued.capture());
+        assertThat(queued.getValue()).isSameAs(topicDelta());
+    }
+
+    @Test
+    void interviewerWithoutEmailOnlyReachesTheTopic() {
+        interviewer.setEmail(null);
+
+        publisher.onAvailabilityChanged(AvailabilityChangedEvent.of(interviewer, SlotChangeType.CREATED,
+                List.of(slot(1L, 9, 10, SlotStatus.AVAILABLE, true))));
+
+        topicDelta();
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+
+    @Test
+    void brokerFailureIsSwallowed() {
+        doThrow(new MessagingException("broker down"))
+                .when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        assertThatCode(() -> publisher.onAvailabilityChanged(AvailabilityChangedEvent.of(interviewer,
+                SlotChangeType.CREATED, List.of(slot(1L, 9, 10, SlotStatus.AVAILABLE, true)))))
+                .doesNotThrowAnyException();
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private AvailabilityDeltaDto topicDelta() {
+        ArgumentCaptor<AvailabilityDeltaDto> delta = ArgumentCaptor.forClass(AvailabilityDeltaDto.class);
+        verify(messagingTemplate).convertAndSend(eq(AvailabilityDeltaPublisher.TOPIC), delta.capture());
+        return delta.getValue();
+    }
+
+    private AvailabilitySlot slot(Long id, int startHour, int endHour, SlotStatus status, boolean active) {
+        return AvailabilitySlot.builder().id(id).interviewer(interviewer)
+                .startDateTime(NINE.withHour(startHour)).endDateTime(NINE.withHour(endHour))
+                .status(status).isActive(active).build();
+    }
+}
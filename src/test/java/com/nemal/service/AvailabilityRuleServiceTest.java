@@ -0,0 +1,148 @@
+package com.nemal.service;
+
+import com.nemal.dto.CreateAvailabilityRuleDto;
+import com.nemal.entity.AvailabilityRule;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import com.nemal.repository.AvailabilityRuleRepository;
+import com.nemal.repository.AvailabilitySlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The overlap check in {@link AvailabilityRuleService#createRule}: a new
+ * rule may not put an occurrence on top of an active slot or of another
+ * rule's occurrence.
+ */
+class AvailabilityRuleServiceTest {
+
+    private static final LocalDate MONDAY =
+            LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    private final User interviewer = User.builder().id(7L).firstName("Ada").lastName("Lovelace").build();
+    private final List<AvailabilitySlot> slots = new ArrayList<>();
+    private final List<AvailabilityRule> rules = new ArrayList<>();
+
+    private AvailabilityRuleRepository ruleRepository;
+    private AvailabilityRuleService service;
+
+    @BeforeEach
+    void setUp() {
+        ruleRepository = mock(AvailabilityRuleRepository.class);
+        AvailabilitySlotRepository slotRepository = mock(AvailabilitySlotRepository.class);
+        when(slotRepository.findActiveOverlappingSlots(anyLong(), any(), any())).thenAnswer(inv -> slots.stream()
+                .filter(s -> s.getStartDateTime().isBefore(inv.getArgument(2))
+                        && s.getEndDateTime().isAfter(inv.getArgument(1)))
+                .toList());
+        when(ruleRepository.findActiveByInterviewerIdInRange(anyLong(), any(), any())).thenAnswer(inv -> rules);
+        when(ruleRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        service = new AvailabilityRuleService(ruleRepository, slotRepository,
+                mock(ApplicationEventPublisher.class), mock(SlotBookingCoordinator.class));
+    }
+
+    // ── Against slots ─────────────────────────────────────────────────────────
+
+    @Test
+    void occurrenceOnTopOfAnActiveSlotIsRejected() {
+        slot(MONDAY.plusWeeks(2), "10:30", "11:30");
+
+        assertThatThrownBy(() -> create(Set.of(DayOfWeek.MONDAY), "09:00", "11:00", null))
+                .hasMessage("This rule overlaps existing availability on " + MONDAY.plusWeeks(2));
+        verify(ruleRepository, never()).save(any());
+    }
+
+    @Test
+    void slotsOnOtherDaysOrTouchingTheWindowAreFine() {
+        slot(MONDAY.plusDays(1), "09:00", "11:00");
+        slot(MONDAY, "11:00", "12:00");
+        slot(MONDAY, "08:00", "09:00");
+
+        assertThat(create(Set.of(DayOfWeek.MONDAY), "09:00", "11:00", null)).isNotNull();
+    }
+
+    @Test
+    void slotOnAnExceptionDateOrAfterValidUntilIsFine() {
+        slot(MONDAY, "09:00", "10:00");
+        slot(MONDAY.plusWeeks(3), "09:00", "10:00");
+
+        assertThat(service.createRule(interviewer, new CreateAvailabilityRuleDto(
+                Set.of(DayOfWeek.MONDAY), LocalTime.parse("09:00"), LocalTime.parse("11:00"),
+                MONDAY, MONDAY.plusWeeks(2), Set.of(MONDAY), null))).isNotNull();
+    }
+
+    // ── Against rules ─────────────────────────────────────────────────────────
+
+    @Test
+    void ruleSharingADayAndTimeIsRejected() {
+        rules.add(rule(Set.of(DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), "10:00", "12:00", MONDAY, null));
+
+        assertThatThrownBy(() -> create(Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), "11:00", "13:00", null))
+                .hasMessage("This rule overlaps another availability rule on " + MONDAY.plusDays(4));
+    }
+
+    @Test
+    void rulesOnDifferentDaysOrBackToBackAreFine() {
+        rules.add(rule(Set.of(DayOfWeek.TUESDAY), "09:00", "11:00", MONDAY, null));
+        rules.add(rule(Set.of(DayOfWeek.MONDAY), "11:00", "12:00", MONDAY, null));
+
+        assertThat(create(Set.of(DayOfWeek.MONDAY), "09:00", "11:00", null)).isNotNull();
+    }
+
+    @Test
+    void firstCommonDateSkipsExceptionsAndRespectsValidity() {
+        AvailabilityRule weekly = rule(Set.of(DayOfWeek.MONDAY), "09:00", "10:00", MONDAY, null);
+        AvailabilityRule excepted = rule(Set.of(DayOfWeek.MONDAY), "09:30", "10:30", MONDAY, null);
+        excepted.getExceptionDates().addAll(Set.of(MONDAY, MONDAY.plusWeeks(1)));
+
+        assertThat(AvailabilityRuleService.firstCommonDate(weekly, excepted)).isEqualTo(MONDAY.plusWeeks(2));
+
+        AvailabilityRule ended = rule(Set.of(DayOfWeek.MONDAY), "09:30", "10:30", MONDAY, MONDAY.plusWeeks(1));
+        ended.getExceptionDates().addAll(Set.of(MONDAY, MONDAY.plusWeeks(1)));
+        assertThat(AvailabilityRuleService.firstCommonDate(weekly, ended)).isNull();
+
+        AvailabilityRule later = rule(Set.of(DayOfWeek.MONDAY), "09:30", "10:30", MONDAY.plusWeeks(5), null);
+        assertThat(AvailabilityRuleService.firstCommonDate(weekly, later)).isEqualTo(MONDAY.plusWeeks(5));
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private Object create(Set<DayOfWeek> days, String start, String end, LocalDate validUntil) {
+        return service.createRule(interviewer, new CreateAvailabilityRuleDto(
+                days, LocalTime.parse(start), LocalTime.parse(end), MONDAY, validUntil, null, null));
+    }
+
+    private void slot(LocalDate date, String start, String end) {
+        slots.add(AvailabilitySlot.builder().interviewer(interviewer)
+                .startDateTime(date.atTime(LocalTime.parse(start))).endDateTime(date.atTime(LocalTime.parse(end)))
+                .status(SlotStatus.AVAILABLE).isActive(true).build());
+    }
+
+    private AvailabilityRule rule(Set<DayOfWeek> days, String start, String end, LocalDate from, LocalDate until) {
+        return AvailabilityRule.builder().interviewer(interviewer)
+                .daysOfWeek(AvailabilityRule.mask(days))
+                .startTime(LocalTime.parse(start)).endTime(LocalTime.parse(end))
+                .validFrom(from).validUntil(until)
+                .exceptionDates(new HashSet<>())
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.nemal.service;
+
+import com.nemal.dto.AvailabilitySlotDto;
+import com.nemal.dto.BulkAvailabilityResultDto;
+import com.nemal.dto.BulkAvailabilitySlotDto;
+import com.nemal.dto.CreateAvailabilitySlotDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.repository.AvailabilitySlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AvailabilityServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+
+    private final User interviewer = User.builder().id(7L).firstName("Ada").lastName("Lovelace").build();
+    private final List<AvailabilitySlot> existing = new ArrayList<>();
+    private final List<AvailabilitySlot> inserted = new ArrayList<>();
+    private final List<LocalDateTime[]> spans = new ArrayList<>();
+    private long nextSlotId = 100;
+
+    private AvailabilitySlotRepository slotRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private AvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        slotRepository = mock(AvailabilitySlotRepository.class);
+        doAnswer(inv -> {
+            LocalDateTime from = inv.getArgument(1);
+            LocalDateTime to = inv.getArgument(2);
+            spans.add(new LocalDateTime[]{from, to});
+            // Unordered on purpose: the service sorts before sweeping
+            List<AvailabilitySlot> overlapping = new ArrayList<>(existing.stream()
+                    .filter(s -> s.getStartDateTime().isBefore(to) && s.getEndDateTime().isAfter(from))
+                    .toList());
+            Collections.reverse(overlapping);
+            return overlapping;
+        }).when(slotRepository).findActiveOverlappingSlots(anyLong(), any(), any());
+
+        SlotBookingCoordinator bookingCoordinator = mock(SlotBookingCoordinator.class);
+        doAnswer(inv -> {
+            List<AvailabilitySlot> slots = inv.getArgument(0);
+            slots.forEach(s -> s.setId(nextSlotId++));
+            inserted.addAll(slots);
+            return slots;
+        }).when(bookingCoordinator).saveAllChecked(anyList(), anyString());
+
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new AvailabilityService(slotRepository, eventPublisher, bookingCoordinator);
+    }
+
+    // ── Sort ──────────────────────────────────────────────────────────────────
+
+    @Test
+    void itemsAreInsertedInStartOrderAfterOneQueryOverTheirSpan() {
+        BulkAvailabilityResultDto result = bulk(
+                item("14:00", "15:00"),
+                item("09:00", "10:00"),
+                item("11:00", "12:00"));
+
+        assertThat(result.errors()).isEmpty();
+        assertThat(inserted).extracting(s -> s.getStartDateTime().toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(11, 0), LocalTime.of(14, 0));
+        assertThat(result.created()).extracting(AvailabilitySlotDto::status).containsOnly("AVAILABLE");
+        assertThat(spans).hasSize(1);
+        assertThat(spans.get(0)).containsExactly(at("09:00"), at("15:00"));
+        verify(eventPublisher).publishEvent(any(AvailabilityChangedEvent.class));
+    }
+
+    // ── Overlaps inside the batch ─────────────────────────────────────────────
+
+    @Test
+    void laterOfTwoOverlappingItemsIsRejectedAgainstTheEarlierOne() {
+        BulkAvailabilityResultDto result = bulk(
+                item("10:30", "11:30"),
+                item("09:00", "11:00"),
+                item("11:00", "12:00"));
+
+        assertThat(result.errors()).extracting(BulkAvailabilityResultDto.ItemError::index,
+                        BulkAvailabilityResultDto.ItemError::message)
+                .containsExactly(tuple(0, "This time slot overlaps item 1 in the same request"));
+        assertThat(inserted).extracting(s -> s.getStartDateTime().toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(11, 0));
+    }
+
+    @Test
+    void sameStartIsOrderedByEndSoTheShorterItemWins() {
+        BulkAvailabilityResultDto result = bulk(
+                item("09:00", "12:00"),
+                item("09:00", "10:00"));
+
+        assertThat(result.errors()).extracting(BulkAvailabilityResultDto.ItemError::index).containsExactly(0);
+        assertThat(inserted).extracting(s -> s.getEndDateTime().toLocalTime()).containsExactly(LocalTime.of(10, 0));
+    }
+
+    // ── Sweep against existing slots ──────────────────────────────────────────
+
+    @Test
+    void itemsOverlappingExistingSlotsAreRejectedAndTouchingOnesKept() {
+        existing("09:30", "10:00");
+        existing("12:00", "13:00");
+        existing("15:00", "16:00");
+
+        BulkAvailabilityResultDto result = bulk(
+                item("08:00", "09:00"),   // before everything
+                item("09:00", "09:45"),   // overlaps 09:30-10:00
+                item("10:00", "12:00"),   // touches both neighbours
+                item("12:30", "14:00"),   // overlaps 12:00-13:00
+                item("14:00", "17:00"));  // covers 15:00-16:00
+
+        assertThat(result.errors()).extracting(BulkAvailabilityResultDto.ItemError::index,
+                        BulkAvailabilityResultDto.ItemError::message)
+                .containsExactly(
+                        tuple(1, "This time slot conflicts with existing availability"),
+                        tuple(3, "This time slot conflicts with existing availability"),
+                        tuple(4, "This time slot conflicts with existing availability"));
+        assertThat(inserted).extracting(s -> s.getStartDateTime().toLocalTime())
+                .containsExactly(LocalTime.of(8, 0), LocalTime.of(10, 0));
+    }
+
+    @Test
+    void oneLongExistingSlotBlocksEveryItemInside() {
+        existing("09:00", "17:00");
+
+        BulkAvailabilityResultDto result = bulk(
+                item("10:00", "11:00"),
+                item("12:00", "13:00"),
+                item("17:00", "18:00"));
+
+        assertThat(result.errors()).extracting(BulkAvailabilityResultDto.ItemError::index).containsExactly(0, 1);
+        assertThat(inserted).extracting(s -> s.getStartDateTime().toLocalTime()).containsExactly(LocalTime.of(17, 0));
+    }
+
+    // ── Per-item errors ───────────────────────────────────────────────────────
+
+    @Test
+    void invalidItemsAreReportedByIndexAndTheRestCreated() {
+        BulkAvailabilityResultDto result = bulk(
+                item("09:00", "10:00"),
+                null,
+                new CreateAvailabilitySlotDto(at("11:00"), null, null),
+                item("12:00", "11:00"),
+                new CreateAvailabilitySlotDto(LocalDate.now().minusDays(1).atTime(9, 0),
+                        LocalDate.now().minusDays(1).atTime(10, 0), null),
+                item("13:00", "14:00"));
+
+        assertThat(result.errors()).extracting(BulkAvailabilityResultDto.ItemError::index,
+                        BulkAvailabilityResultDto.ItemError::message)
+                .containsExactly(
+                        tuple(1, "Start and end time are required"),
+                        tuple(2, "Start and end time are required"),
+                        tuple(3, "End time must be after start time"),
+                        tuple(4, "Cannot create availability slots for past dates"));
+        assertThat(result.created()).hasSize(2);
+    }
+
+    @Test
+    void nothingValidMeansNoQueryAndNoEvent() {
+        BulkAvailabilityResultDto result = bulk(item("12:00", "11:00"));
+
+        assertThat(result.created()).isEmpty();
+        assertThat(result.errors()).hasSize(1);
+        verify(slotRepository, never()).findActiveOverlappingSlots(anyLong(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(AvailabilityChangedEvent.class));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private BulkAvailabilityResultDto bulk(CreateAvailabilitySlotDto... items) {
+        return service.createBulkAvailabilitySlots(interviewer, new BulkAvailabilitySlotDto(Arrays.asList(items)));
+    }
+
+    private static CreateAvailabilitySlotDto item(String start, String end) {
+        return new CreateAvailabilitySlotDto(at(start), at(end), null);
+    }
+
+    private void existing(String start, String end) {
+        existing.add(AvailabilitySlot.builder()
+                .id(nextSlotId++).interviewer(interviewer)
+                .startDateTime(at(start)).endDateTime(at(end))
+                .status(SlotStatus.AVAILABLE).isActive(true)
+                .build());
+    }
+
+    private static LocalDateTime at(String time) {
+        return DAY.atTime(LocalTime.parse(time));
+    }
+}
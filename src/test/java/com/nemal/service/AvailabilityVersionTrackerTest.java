@@ -0,0 +1,139 @@
+package com.nemal.service;
+
+import com.nemal.enums.SlotChangeType;
+import com.nemal.event.AvailabilityChangedEvent;
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.AvailabilitySlotRepository;
+import com.nemal.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The version bump must come after the read models behind the tags have been
+ * refreshed, for every event that bumps it. Runs the real listener wiring in a
+ * small context and records the global version each refresh saw.
+ */
+class AvailabilityVersionTrackerTest {
+
+    private final AvailabilitySlotRepository slotRepository = mock(AvailabilitySlotRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final InterviewerTechnologyIndex technologyIndex = mock(InterviewerTechnologyIndex.class);
+    private final DesignationEligibilityMatrix eligibilityMatrix = mock(DesignationEligibilityMatrix.class);
+
+    private final List<String> seen = new ArrayList<>();
+    private AnnotationConfigApplicationContext context;
+    private AvailabilityVersionTracker tracker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TransactionalEventListenerFactory.class);
+        context.registerBean(AvailabilitySlotRepository.class, () -> slotRepository);
+        context.registerBean(UserRepository.class, () -> userRepository);
+        context.registerBean(InterviewerProfileCache.class, () -> mock(InterviewerProfileCache.class));
+        context.registerBean(InterviewerTechnologyIndex.class, () -> technologyIndex);
+        context.registerBean(DesignationEligibilityMatrix.class, () -> eligibilityMatrix);
+        context.registerBean(HRAvailabilityIndex.class);
+        context.registerBean(AvailabilityVersionTracker.class);
+        context.refresh();
+        tracker = context.getBean(AvailabilityVersionTracker.class);
+
+        when(slotRepository.findForHrCalendar(any(Specification.class))).thenReturn(List.of());
+        context.getBean(HRAvailabilityIndex.class).rebuild();
+
+        doAnswer(inv -> record("hr index")).when(slotRepository).findForHrCalendar(any(Specification.class));
+        doAnswer(inv -> {
+            record("hr index");
+            return Optional.empty();
+        }).when(userRepository).findByIdWithProfile(anyLong());
+        doAnswer(inv -> record("technology index")).when(technologyIndex).onInterviewerProfileChanged(any());
+        doAnswer(inv -> record("technology index")).when(technologyIndex).onOrgStructureChanged(any());
+        doAnswer(inv -> record("eligibility matrix")).when(eligibilityMatrix).onOrgStructureChanged(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void availabilityChangeBumpsAfterTheHrIndexRefresh() {
+        commit(new AvailabilityChangedEvent(7L, "iv@example.com", SlotChangeType.CREATED, List.of()));
+
+        assertThat(seen).containsExactly("hr index@0");
+        assertThat(tracker.globalVersion()).isEqualTo(1);
+        assertThat(tracker.interviewerVersion(7L)).isEqualTo(1);
+    }
+
+    @Test
+    void profileChangeBumpsAfterEveryRefresh() {
+        commit(new InterviewerProfileChangedEvent(7L));
+
+        assertThat(seen).containsExactlyInAnyOrder("hr index@0", "technology index@0");
+        assertThat(tracker.globalVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void orgStructureChangeBumpsAfterEveryRebuild() {
+        commit(new OrgStructureChangedEvent());
+
+        assertThat(seen).containsExactlyInAnyOrder("hr index@0", "technology index@0", "eligibility matrix@0");
+        assertThat(tracker.globalVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsBumpedBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            context.publishEvent(new OrgStructureChangedEvent());
+            assertThat(tracker.globalVersion()).isZero();
+            assertThat(seen).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /**
+     * Publishes inside a simulated transaction and completes it as the
+     * transaction manager would; AFTER_COMMIT listeners run in afterCompletion.
+     */
+    private void commit(Object event) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            context.publishEvent(event);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private List<?> record(String refresh) {
+        seen.add(refresh + "@" + tracker.globalVersion());
+        return List.of();
+    }
+}
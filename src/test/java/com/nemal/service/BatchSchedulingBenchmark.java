@@ -0,0 +1,138 @@
+package com.nemal.service;
+
+import com.nemal.dto.BatchCandidateDto;
+import com.nemal.dto.BatchScheduleRequestDto;
+import com.nemal.dto.BatchScheduleResultDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.Department;
+import com.nemal.entity.Designation;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import com.nemal.repository.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end dry run of {@link BatchSchedulingService#schedule} (classes,
+ * bucketing and the min-cost flow) on a synthetic company with the
+ * repositories stubbed in memory, so only the scheduler's own work is timed.
+ *
+ * There are five departments, one interviewer per ten candidates, and each
+ * interviewer is free 09:00–17:00 on every weekday of the seven-day range.
+ * Candidates draw from ten designations and two of eight technologies.
+ *
+ * Run with:
+ * <pre>
+ *   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) org.openjdk.jmh.Main BatchSchedulingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSchedulingBenchmark {
+
+    private static final int DEPARTMENTS = 5;
+    private static final int DESIGNATIONS = 10;
+    private static final int TECHNOLOGIES = 8;
+
+    @Param({"100", "1000", "10000"})
+    public int candidates;
+
+    private BatchSchedulingService service;
+    private BatchScheduleRequestDto request;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        LocalDate firstDay = LocalDate.now().plusDays(7);
+        int interviewerCount = Math.max(20, candidates / 10);
+
+        List<Department> departments = new ArrayList<>();
+        for (long d = 1; d <= DEPARTMENTS; d++) {
+            departments.add(Department.builder().id(d).name("Department " + d).build());
+        }
+        List<Designation> designations = new ArrayList<>();
+        for (long d = 1; d <= DESIGNATIONS; d++) {
+            designations.add(Designation.builder().id(d).name("Designation " + d).levelOrder((int) d)
+                    .department(departments.get((int) (d % DEPARTMENTS))).isActive(true).build());
+        }
+
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        Map<Long, List<Long>> interviewersByDepartment = new HashMap<>();
+        long slotId = 1;
+        for (long i = 1; i <= interviewerCount; i++) {
+            User interviewer = User.builder().id(i).firstName("Interviewer").lastName("#" + i).build();
+            interviewersByDepartment.computeIfAbsent(departments.get((int) (i % DEPARTMENTS)).getId(),
+                    k -> new ArrayList<>()).add(i);
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = firstDay.plusDays(day);
+                if (date.getDayOfWeek().getValue() > 5) continue;
+                slots.add(AvailabilitySlot.builder().id(slotId++).interviewer(interviewer)
+                        .startDateTime(date.atTime(9, 0)).endDateTime(date.atTime(17, 0))
+                        .status(SlotStatus.AVAILABLE).isActive(true).build());
+            }
+        }
+        slots.sort(Comparator.comparing(AvailabilitySlot::getStartDateTime).thenComparing(AvailabilitySlot::getId));
+
+        InterviewerMatchingService matchingService = mock(InterviewerMatchingService.class);
+        when(matchingService.interviewerScores(any(), any(), anyList())).thenAnswer(inv -> {
+            Long designationId = inv.getArgument(0);
+            Long departmentId = inv.getArgument(1);
+            List<Long> techs = inv.getArgument(2);
+            Map<Long, Double> scores = new LinkedHashMap<>();
+            for (Long interviewerId : interviewersByDepartment.getOrDefault(departmentId, List.of())) {
+                // Roughly half the department is senior enough for each designation
+                if ((interviewerId + designationId) % 2 == 0) continue;
+                scores.put(interviewerId, ((interviewerId * 31 + techs.hashCode()) % 100) / 100.0);
+            }
+            return scores;
+        });
+
+        AvailabilitySlotRepository slotRepository = mock(AvailabilitySlotRepository.class);
+        when(slotRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(slots);
+        when(slotRepository.findBookedStartsBetween(anyCollection(), any(), any())).thenReturn(List.of());
+
+        DesignationRepository designationRepository = mock(DesignationRepository.class);
+        when(designationRepository.findAllById(any())).thenReturn(designations);
+        CandidateRepository candidateRepository = mock(CandidateRepository.class);
+        when(candidateRepository.findAllById(any())).thenReturn(List.of());
+
+        service = new BatchSchedulingService(matchingService, slotRepository, designationRepository,
+                mock(TechnologyRepository.class), candidateRepository,
+                mock(InterviewRequestRepository.class), mock(InterviewScheduleRepository.class),
+                mock(NotificationService.class), mock(ApplicationEventPublisher.class),
+                mock(SlotBookingCoordinator.class));
+
+        List<BatchCandidateDto> items = new ArrayList<>(candidates);
+        for (int c = 0; c < candidates; c++) {
+            long first = 1 + random.nextInt(TECHNOLOGIES);
+            long second = 1 + random.nextInt(TECHNOLOGIES);
+            items.add(new BatchCandidateDto(null, "Candidate " + c, 1L + random.nextInt(DESIGNATIONS), null,
+                    List.of(first, second), random.nextInt(10) == 0, null));
+        }
+        LocalDateTime from = firstDay.atStartOfDay();
+        request = new BatchScheduleRequestDto(items, from, from.plusDays(7), 60, 3, true);
+    }
+
+    @Benchmark
+    public BatchScheduleResultDto schedule() {
+        return service.schedule(null, request);
+    }
+}
@@ -0,0 +1,175 @@
+package com.nemal.service;
+
+import com.nemal.dto.BatchCandidateDto;
+import com.nemal.dto.BatchScheduleRequestDto;
+import com.nemal.dto.BatchScheduleResultDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.InterviewRequest;
+import com.nemal.entity.InterviewSchedule;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import com.nemal.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Where {@link BatchSchedulingService} places interviews inside a slot and
+ * how it books them: positions on the quarter-hour grid, never sooner than
+ * the minimum lead, and one batched booking per source slot on commit.
+ */
+class BatchSchedulingServiceTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    private final User interviewer = User.builder().id(7L).firstName("Ada").lastName("Lovelace").build();
+    private final List<AvailabilitySlot> slots = new ArrayList<>();
+
+    private SlotBookingCoordinator bookingCoordinator;
+    private BatchSchedulingService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        InterviewerMatchingService matchingService = mock(InterviewerMatchingService.class);
+        when(matchingService.interviewerScores(any(), any(), anyList())).thenReturn(Map.of(7L, 0.9));
+
+        AvailabilitySlotRepository slotRepository = mock(AvailabilitySlotRepository.class);
+        when(slotRepository.findAll(any(Specification.class), any(Sort.class))).thenAnswer(inv -> slots);
+
+        InterviewRequestRepository requestRepository = mock(InterviewRequestRepository.class);
+        when(requestRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<InterviewRequest> requests = inv.getArgument(0);
+            for (int i = 0; i < requests.size(); i++) requests.get(i).setId(100L + i);
+            return requests;
+        });
+        InterviewScheduleRepository scheduleRepository = mock(InterviewScheduleRepository.class);
+        when(scheduleRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<InterviewSchedule> schedules = inv.getArgument(0);
+            for (int i = 0; i < schedules.size(); i++) schedules.get(i).setId(200L + i);
+            return schedules;
+        });
+
+        bookingCoordinator = mock(SlotBookingCoordinator.class);
+        when(bookingCoordinator.bookWindows(any(), any())).thenAnswer(inv -> {
+            Map<Long, List<SlotBookingCoordinator.Window>> windows = inv.getArgument(0);
+            Map<Long, List<AvailabilitySlot>> booked = new LinkedHashMap<>();
+            windows.forEach((slotId, ws) -> booked.put(slotId, ws.stream()
+                    .map(w -> AvailabilitySlot.builder().interviewer(interviewer)
+                            .startDateTime(w.start()).endDateTime(w.end()).description(w.description())
+                            .status(SlotStatus.BOOKED).isActive(true).build())
+                    .toList()));
+            return booked;
+        });
+
+        service = new BatchSchedulingService(matchingService, slotRepository, mock(DesignationRepository.class),
+                mock(TechnologyRepository.class), mock(CandidateRepository.class),
+                requestRepository, scheduleRepository, mock(NotificationService.class),
+                mock(ApplicationEventPublisher.class), bookingCoordinator);
+    }
+
+    // ── Positions ─────────────────────────────────────────────────────────────
+
+    @Test
+    void ceilToGridRoundsUpToTheNextQuarterHour() {
+        LocalDateTime ten = TOMORROW.atTime(10, 0);
+
+        assertThat(BatchSchedulingService.ceilToGrid(ten)).isEqualTo(ten);
+        assertThat(BatchSchedulingService.ceilToGrid(ten.plusMinutes(7).plusSeconds(33).plusNanos(5)))
+                .isEqualTo(ten.plusMinutes(15));
+        assertThat(BatchSchedulingService.ceilToGrid(ten.plusMinutes(15))).isEqualTo(ten.plusMinutes(15));
+        assertThat(BatchSchedulingService.ceilToGrid(ten.plusMinutes(15).plusNanos(1)))
+                .isEqualTo(ten.plusMinutes(30));
+        assertThat(BatchSchedulingService.ceilToGrid(TOMORROW.atTime(23, 50)))
+                .isEqualTo(TOMORROW.plusDays(1).atStartOfDay());
+    }
+
+    @Test
+    void rangeStartingNowBeginsAfterTheMinimumLeadOnTheGrid() {
+        LocalDateTime now = LocalDateTime.now();
+        slot(now.minusHours(1), now.plusHours(10));
+
+        List<BatchScheduleResultDto.Assignment> assigned = service.schedule(null, request(3, null, true)).assigned();
+
+        assertThat(assigned).hasSize(3).allSatisfy(a -> {
+            assertThat(a.startDateTime()).isAfterOrEqualTo(now.plusHours(BatchSchedulingService.MIN_LEAD_HOURS));
+            assertThat(a.startDateTime()).isEqualTo(a.startDateTime().truncatedTo(ChronoUnit.MINUTES));
+            assertThat(a.startDateTime().getMinute() % BatchSchedulingService.POSITION_GRID_MINUTES).isZero();
+        });
+    }
+
+    @Test
+    void offGridRangeStartIsRoundedUp() {
+        slot(TOMORROW.atTime(9, 0), TOMORROW.atTime(12, 0));
+
+        List<BatchScheduleResultDto.Assignment> assigned =
+                service.schedule(null, request(3, TOMORROW.atTime(9, 7, 41), true)).assigned();
+
+        // 11:15–12:15 no longer fits, so only two of the three are placed
+        assertThat(assigned).extracting(BatchScheduleResultDto.Assignment::startDateTime)
+                .containsExactlyInAnyOrder(TOMORROW.atTime(9, 15), TOMORROW.atTime(10, 15));
+    }
+
+    // ── Commit ────────────────────────────────────────────────────────────────
+
+    @Test
+    void commitBooksEachSourceSlotOnceWithAllItsWindows() {
+        slot(TOMORROW.atTime(9, 0), TOMORROW.atTime(12, 0));
+        slot(TOMORROW.plusDays(1).atTime(9, 0), TOMORROW.plusDays(1).atTime(10, 0));
+
+        BatchScheduleResultDto result = service.schedule(null, request(4, TOMORROW.atStartOfDay(), false));
+
+        assertThat(result.committed()).isTrue();
+        assertThat(result.assigned()).extracting(BatchScheduleResultDto.Assignment::requestId).doesNotContainNull();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, List<SlotBookingCoordinator.Window>>> windows = ArgumentCaptor.forClass(Map.class);
+        verify(bookingCoordinator).bookWindows(windows.capture(), any());
+        verify(bookingCoordinator, never()).book(any(), any(), any(), any(), any());
+        assertThat(windows.getValue()).containsOnlyKeys(1L, 2L);
+        assertThat(windows.getValue().get(1L))
+                .extracting(SlotBookingCoordinator.Window::start, SlotBookingCoordinator.Window::end)
+                .containsExactlyInAnyOrder(
+                        tuple(TOMORROW.atTime(9, 0), TOMORROW.atTime(10, 0)),
+                        tuple(TOMORROW.atTime(10, 0), TOMORROW.atTime(11, 0)),
+                        tuple(TOMORROW.atTime(11, 0), TOMORROW.atTime(12, 0)));
+        assertThat(windows.getValue().get(2L))
+                .extracting(SlotBookingCoordinator.Window::start)
+                .containsExactly(TOMORROW.plusDays(1).atTime(9, 0));
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private void slot(LocalDateTime start, LocalDateTime end) {
+        slots.add(AvailabilitySlot.builder().id(slots.size() + 1L).interviewer(interviewer)
+                .startDateTime(start).endDateTime(end)
+                .status(SlotStatus.AVAILABLE).isActive(true).build());
+    }
+
+    private static BatchScheduleRequestDto request(int candidates, LocalDateTime from, boolean dryRun) {
+        List<BatchCandidateDto> items = new ArrayList<>();
+        for (int i = 0; i < candidates; i++) {
+            items.add(new BatchCandidateDto(null, "Candidate " + i, null, 1L, List.of(), false, null));
+        }
+        return new BatchScheduleRequestDto(items, from, null, 60, 3, dryRun);
+    }
+}
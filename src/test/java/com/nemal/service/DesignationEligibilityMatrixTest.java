@@ -0,0 +1,191 @@
+package com.nemal.service;
+
+import com.nemal.entity.Department;
+import com.nemal.entity.Designation;
+import com.nemal.entity.Tier;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.DesignationInterviewRuleRepository;
+import com.nemal.repository.DesignationInterviewRuleRepository.RuleEntry;
+import com.nemal.repository.DesignationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DesignationEligibilityMatrixTest {
+
+    private final Department engineering = Department.builder().id(1L).name("Engineering").build();
+    private final Department sales = Department.builder().id(2L).name("Sales").build();
+    private final Tier engLead = tier(10L, engineering, 1);
+    private final Tier engIc = tier(11L, engineering, 2);
+
+    // Lower order = more senior
+    private final Designation architect = designation(1L, engineering, engLead, 1);
+    private final Designation principal = designation(2L, engineering, engLead, 2);
+    private final Designation senior = designation(3L, engineering, engIc, 1);
+    private final Designation associate = designation(4L, engineering, engIc, 2);
+    private final Designation salesLead = designation(5L, sales, null, 1);
+    private final Designation salesRep = designation(6L, sales, null, 2);
+
+    private final List<Designation> designations = new ArrayList<>(
+            List.of(architect, principal, senior, associate, salesLead, salesRep));
+    private final List<RuleEntry> rules = new ArrayList<>();
+
+    private DesignationRepository designationRepository;
+    private DesignationInterviewRuleRepository ruleRepository;
+    private DesignationEligibilityMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        designationRepository = mock(DesignationRepository.class);
+        ruleRepository = mock(DesignationInterviewRuleRepository.class);
+        when(designationRepository.findAllWithTierAndDepartment()).thenAnswer(inv -> List.copyOf(designations));
+        when(ruleRepository.findAllEntries()).thenAnswer(inv -> List.copyOf(rules));
+        matrix = new DesignationEligibilityMatrix(designationRepository, ruleRepository);
+    }
+
+    @Test
+    void higherTierOrSameTierHigherLevelMayInterview() {
+        assertThat(matrix.canInterview(architect.getId(), associate.getId())).isTrue();   // higher tier
+        assertThat(matrix.canInterview(principal.getId(), senior.getId())).isTrue();      // higher tier, lower level
+        assertThat(matrix.canInterview(senior.getId(), associate.getId())).isTrue();      // same tier, higher level
+        assertThat(matrix.canInterview(associate.getId(), senior.getId())).isFalse();
+        assertThat(matrix.canInterview(senior.getId(), senior.getId())).isFalse();
+        assertThat(matrix.eligibleInterviewerDesignations(associate.getId()))
+                .containsExactlyInAnyOrder(architect.getId(), principal.getId(), senior.getId());
+        assertThat(matrix.eligibleInterviewerDesignations(architect.getId())).isEmpty();
+    }
+
+    @Test
+    void otherDepartmentsAreNeverEligibleByDefault() {
+        assertThat(matrix.canInterview(salesLead.getId(), associate.getId())).isFalse();
+        assertThat(matrix.canInterview(architect.getId(), salesRep.getId())).isFalse();
+    }
+
+    @Test
+    void tierlessCandidatesCompareLevelsOnly() {
+        assertThat(matrix.canInterview(salesLead.getId(), salesRep.getId())).isTrue();
+        assertThat(matrix.canInterview(salesRep.getId(), salesLead.getId())).isFalse();
+    }
+
+    @Test
+    void tierlessInterviewerCannotInterviewATieredCandidate() {
+        Designation floating = designation(7L, engineering, null, 0);
+        designations.add(floating);
+
+        assertThat(matrix.canInterview(floating.getId(), associate.getId())).isFalse();
+    }
+
+    @Test
+    void departmentFallsBackToTheTiers() {
+        Designation contractor = designation(7L, null, engIc, 3);
+        designations.add(contractor);
+
+        assertThat(matrix.canInterview(senior.getId(), contractor.getId())).isTrue();
+    }
+
+    @Test
+    void explicitRulesGrantAndRevokeOnTopOfSeniority() {
+        rules.add(rule(salesLead, associate, true));     // cross-department grant
+        rules.add(rule(architect, associate, false));    // revokes the tier rule
+        rules.add(rule(salesRep, senior, null));         // null counts as allowed
+
+        assertThat(matrix.canInterview(salesLead.getId(), associate.getId())).isTrue();
+        assertThat(matrix.canInterview(architect.getId(), associate.getId())).isFalse();
+        assertThat(matrix.canInterview(salesRep.getId(), senior.getId())).isTrue();
+        assertThat(matrix.eligibleInterviewerDesignations(associate.getId()))
+                .containsExactlyInAnyOrder(principal.getId(), senior.getId(), salesLead.getId());
+    }
+
+    @Test
+    void rulesForUnknownDesignationsAreIgnored() {
+        rules.add(new Rule(99L, associate.getId(), true));
+
+        assertThat(matrix.eligibleInterviewerDesignations(associate.getId()))
+                .containsExactlyInAnyOrder(architect.getId(), principal.getId(), senior.getId());
+    }
+
+    @Test
+    void unknownOrMissingDesignationsAreNotEligible() {
+        assertThat(matrix.canInterview(null, associate.getId())).isFalse();
+        assertThat(matrix.canInterview(architect.getId(), null)).isFalse();
+        assertThat(matrix.canInterview(99L, associate.getId())).isFalse();
+        assertThat(matrix.eligibleInterviewerDesignations(99L)).isEmpty();
+        assertThat(matrix.eligibleInterviewerDesignations(null)).isEmpty();
+    }
+
+    @Test
+    void buildsOnFirstLookupAndReusesTheSnapshot() {
+        verifyNoInteractions(designationRepository, ruleRepository);
+
+        matrix.canInterview(architect.getId(), associate.getId());
+        matrix.eligibleInterviewerDesignations(senior.getId());
+
+        verify(designationRepository, times(1)).findAllWithTierAndDepartment();
+        verify(ruleRepository, times(1)).findAllEntries();
+    }
+
+    @Test
+    void orgStructureChangeRebuildsTheSnapshot() {
+        assertThat(matrix.canInterview(salesLead.getId(), associate.getId())).isFalse();
+
+        rules.add(rule(salesLead, associate, true));
+        matrix.onOrgStructureChanged(new OrgStructureChangedEvent());
+
+        assertThat(matrix.canInterview(salesLead.getId(), associate.getId())).isTrue();
+    }
+
+    @Test
+    void failedRebuildIsRetriedOnTheNextLookup() {
+        when(ruleRepository.findAllEntries())
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenAnswer(inv -> List.copyOf(rules));
+
+        matrix.onOrgStructureChanged(new OrgStructureChangedEvent());
+
+        assertThat(matrix.canInterview(architect.getId(), associate.getId())).isTrue();
+        verify(ruleRepository, times(2)).findAllEntries();
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private static Tier tier(Long id, Department department, int order) {
+        return Tier.builder().id(id).name("Tier " + order).department(department).tierOrder(order).build();
+    }
+
+    private static Designation designation(Long id, Department department, Tier tier, int level) {
+        return Designation.builder().id(id).name("Designation " + id)
+                .department(department).tier(tier).levelOrder(level).isActive(true).build();
+    }
+
+    private static Rule rule(Designation interviewer, Designation candidate, Boolean allowed) {
+        return new Rule(interviewer.getId(), candidate.getId(), allowed);
+    }
+
+    private record Rule(Long interviewerDesignationId, Long candidateDesignationId, Boolean allowed)
+            implements RuleEntry {
+
+        @Override
+        public Long getInterviewerDesignationId() {
+            return interviewerDesignationId;
+        }
+
+        @Override
+        public Long getCandidateDesignationId() {
+            return candidateDesignationId;
+        }
+
+        @Override
+        public Boolean getAllowed() {
+            return allowed;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.nemal.service;
+
+import com.nemal.entity.InterviewRequest;
+import com.nemal.entity.InterviewSchedule;
+import com.nemal.enums.InterviewStatus;
+import com.nemal.enums.RequestStatus;
+import com.nemal.event.InterviewScheduleChangedEvent;
+import com.nemal.repository.InterviewScheduleRepository;
+import com.nemal.repository.InterviewScheduleRepository.ReminderTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InterviewReminderSchedulerTest {
+
+    private static final int DAY = 24 * 60;
+    private static final int HOUR = 60;
+
+    /** The "database": schedules by id and the (schedule, offset) pairs already claimed. */
+    private final Map<Long, InterviewSchedule> schedules = new HashMap<>();
+    private final Set<List<Object>> claimed = new HashSet<>();
+
+    private InterviewScheduleRepository repository;
+    private NotificationService notificationService;
+    private InterviewReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(InterviewScheduleRepository.class);
+        notificationService = mock(NotificationService.class);
+        when(repository.findReminderTargets(any(), any())).thenAnswer(inv -> {
+            LocalDateTime from = inv.getArgument(0);
+            LocalDateTime to = inv.getArgument(1);
+            return targets(schedules.keySet()).stream()
+                    .filter(t -> t.getStartDateTime().isAfter(from) && !t.getStartDateTime().isAfter(to))
+                    .toList();
+        });
+        when(repository.findScheduledReminderTargets(anyCollection()))
+                .thenAnswer(inv -> targets(inv.getArgument(0)));
+        when(repository.findAllWithRequestByIdIn(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(schedules::get).filter(Objects::nonNull).toList();
+        });
+        when(repository.claimReminder(anyLong(), anyInt(), any())).thenAnswer(inv ->
+                claimed.add(List.of(inv.getArgument(0), inv.getArgument(1))) ? 1 : 0);
+
+        scheduler = new InterviewReminderScheduler(repository, notificationService,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "offsets", List.of(Duration.ofHours(24), Duration.ofHours(1)));
+        ReflectionTestUtils.setField(scheduler, "horizon", Duration.ofDays(7));
+    }
+
+    // ── Arming ────────────────────────────────────────────────────────────────
+
+    @Test
+    void refillArmsEveryOffsetStillAhead() {
+        schedule(1L, LocalDateTime.now().plusDays(2));
+
+        scheduler.refill();
+        scheduler.fireDue();
+
+        assertThat(scheduler.armedOffsets(1L)).containsExactly(HOUR, DAY);
+        verify(repository, never()).findAllWithRequestByIdIn(anyCollection());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void refillSkipsInterviewsBeyondTheHorizon() {
+        schedule(1L, LocalDateTime.now().plusDays(8));
+
+        scheduler.refill();
+
+        assertThat(scheduler.armedOffsets(1L)).isEmpty();
+    }
+
+    @Test
+    void passedOffsetFiresAtOnceAndTheRestStayArmed() {
+        InterviewSchedule schedule = schedule(1L, LocalDateTime.now().plusHours(5));
+
+        scheduler.refill();
+        assertThat(scheduler.armedOffsets(1L)).containsExactly(HOUR, DAY);
+        scheduler.fireDue();
+
+        verify(repository).claimReminder(eq(1L), eq(DAY), any());
+        verify(notificationService).sendInterviewReminderNotifications(List.of(schedule.getRequest()));
+        assertThat(scheduler.armedOffsets(1L)).containsExactly(HOUR);
+    }
+
+    @Test
+    void lateStartSendsOnlyTheLatestPassedOffset() {
+        schedule(1L, LocalDateTime.now().plusMinutes(30));
+
+        scheduler.refill();
+        assertThat(scheduler.armedOffsets(1L)).containsExactly(HOUR);
+        scheduler.fireDue();
+
+        verify(repository).claimReminder(eq(1L), eq(HOUR), any());
+        verify(repository, never()).claimReminder(eq(1L), eq(DAY), any());
+        verify(notificationService, times(1)).sendInterviewReminderNotifications(anyList());
+    }
+
+    @Test
+    void rearmingTheSameStartKeepsOneEntry() {
+        schedule(1L, LocalDateTime.now().plusMinutes(30));
+
+        scheduler.refill();
+        scheduler.onScheduleChanged(InterviewScheduleChangedEvent.of(List.of(1L)));
+        scheduler.refill();
+        scheduler.fireDue();
+
+        verify(repository, times(1)).claimReminder(anyLong(), anyInt(), any());
+    }
+
+    // ── Schedule changes ──────────────────────────────────────────────────────
+
+    @Test
+    void bookingArmsItsReminders() {
+        schedule(1L, LocalDateTime.now().plusDays(3));
+
+        scheduler.onScheduleChanged(InterviewScheduleChangedEvent.of(List.of(1L)));
+
+        assertThat(scheduler.armedOffsets(1L)).containsExactly(HOUR, DAY);
+    }
+
+    @Test
+    void cancelDisarmsAndNothingFires() {
+        InterviewSchedule schedule = schedule(1L, LocalDateTime.now().plusMinutes(30));
+        scheduler.refill();
+
+        schedule.setStatus(InterviewStatus.CANCELLED);
+        scheduler.onScheduleChanged(InterviewScheduleChangedEvent.of(List.of(1L)));
+        scheduler.fireDue();
+
+        assertThat(scheduler.armedOffsets(1L)).isEmpty();
+        verify(repository, never()).claimReminder(anyLong(), anyInt(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void movedInterviewFiresOnlyForTheNewStart() {
+        InterviewSchedule schedule = schedule(1L, LocalDateTime.now().plusMinutes(30));
+        scheduler.refill();
+
+        schedule.setStartDateTime(LocalDateTime.now().plusMinutes(20));
+        scheduler.onScheduleChanged(InterviewScheduleChangedEvent.of(List.of(1L)));
+        scheduler.fireDue();
+
+        // The entry armed for the old start is still queued but no longer live
+        verify(repository, times(1)).claimReminder(eq(1L), eq(HOUR), any());
+        verify(notificationService, times(1)).sendInterviewReminderNotifications(anyList());
+    }
+
+    // ── Sending ───────────────────────────────────────────────────────────────
+
+    @Test
+    void dueRemindersGoOutInOneBatch() {
+        LocalDateTime soon = LocalDateTime.now().plusMinutes(30);
+        InterviewSchedule first = schedule(1L, soon);
+        InterviewSchedule second = schedule(2L, soon.plusMinutes(5));
+        InterviewSchedule third = schedule(3L, soon.plusMinutes(10));
+
+        scheduler.refill();
+        scheduler.fireDue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InterviewRequest>> sent = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).findAllWithRequestByIdIn(anyCollection());
+        verify(notificationService, times(1)).sendInterviewReminderNotifications(sent.capture());
+        assertThat(sent.getValue()).containsExactlyInAnyOrder(
+                first.getRequest(), second.getRequest(), third.getRequest());
+    }
+
+    @Test
+    void alreadyClaimedRemindersAreNotResent() {
+        schedule(1L, LocalDateTime.now().plusMinutes(30));
+        claimed.add(List.of(1L, HOUR));   // sent before a restart
+
+        scheduler.refill();
+        scheduler.fireDue();
+
+        verify(repository).claimReminder(eq(1L), eq(HOUR), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void requestNoLongerAcceptedIsSkippedAtSendTime() {
+        InterviewSchedule schedule = schedule(1L, LocalDateTime.now().plusMinutes(30));
+        scheduler.refill();
+
+        // Changed without an event: the send-time check still catches it
+        schedule.getRequest().setStatus(RequestStatus.CANCELLED);
+        scheduler.fireDue();
+
+        verify(repository, never()).claimReminder(anyLong(), anyInt(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void failedSendIsRequeuedForALaterRetry() {
+        schedule(1L, LocalDateTime.now().plusMinutes(30));
+        doThrow(new RuntimeException("mail queue down"))
+                .when(notificationService).sendInterviewReminderNotifications(anyList());
+
+        scheduler.refill();
+        scheduler.fireDue();
+
+        assertThat(scheduler.armedOffsets(1L)).containsExactly(HOUR);
+        scheduler.fireDue();   // the retry is a minute out, so not yet due
+        verify(repository, times(1)).findAllWithRequestByIdIn(anyCollection());
+    }
+
+    @Test
+    void disabledSchedulerNeverReadsTheDatabase() {
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+        schedule(1L, LocalDateTime.now().plusMinutes(30));
+
+        scheduler.refill();
+        scheduler.onScheduleChanged(InterviewScheduleChangedEvent.of(List.of(1L)));
+
+        verifyNoInteractions(repository);
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private InterviewSchedule schedule(Long id, LocalDateTime start) {
+        InterviewRequest request = InterviewRequest.builder().id(100 + id).status(RequestStatus.ACCEPTED).build();
+        InterviewSchedule schedule = InterviewSchedule.builder().id(id).request(request)
+                .startDateTime(start).endDateTime(start.plusHours(1))
+                .status(InterviewStatus.SCHEDULED).build();
+        schedules.put(id, schedule);
+        return schedule;
+    }
+
+    private List<ReminderTarget> targets(Collection<Long> ids) {
+        List<ReminderTarget> targets = new ArrayList<>();
+        for (Long id : ids) {
+            InterviewSchedule schedule = schedules.get(id);
+            if (schedule != null && schedule.getStatus() == InterviewStatus.SCHEDULED) {
+                targets.add(new Target(id, schedule.getStartDateTime()));
+            }
+        }
+        return targets;
+    }
+
+    private record Target(Long id, LocalDateTime startDateTime) implements ReminderTarget {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getStartDateTime() {
+            return startDateTime;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.nemal.service;
+
+import com.nemal.dto.InterviewerAvailabilityDto;
+import com.nemal.dto.InterviewerMatchDto;
+import com.nemal.dto.InterviewerMatchRequestDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.Department;
+import com.nemal.entity.Designation;
+import com.nemal.entity.InterviewerTechnology;
+import com.nemal.entity.Technology;
+import com.nemal.entity.Tier;
+import com.nemal.entity.User;
+import com.nemal.enums.Role;
+import com.nemal.enums.SlotStatus;
+import com.nemal.repository.AvailabilitySlotRepository;
+import com.nemal.repository.AvailabilitySlotRepository.InterviewerSlotCount;
+import com.nemal.repository.DesignationRepository;
+import com.nemal.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InterviewerMatchingServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    private final Department engineering = Department.builder().id(1L).name("Engineering").build();
+    private final Department sales = Department.builder().id(2L).name("Sales").build();
+    private final Tier lead = Tier.builder().id(10L).name("Lead").department(engineering).tierOrder(1).build();
+    private final Tier ic = Tier.builder().id(11L).name("IC").department(engineering).tierOrder(2).build();
+    private final Technology java = Technology.builder().id(100L).name("Java").build();
+    private final Technology sql = Technology.builder().id(101L).name("SQL").build();
+
+    private final List<User> interviewers = new ArrayList<>();
+    private final Map<Long, List<InterviewerAvailabilityDto>> slots = new HashMap<>();
+    private final Map<Long, Long> booked = new HashMap<>();
+    private final Map<Long, Designation> designations = new HashMap<>();
+    private final Map<Long, Set<Long>> eligibleByCandidate = new HashMap<>();
+    private long nextSlotId = 1000;
+
+    private InterviewerMatchingService service;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllActiveWithProfileByRole(Role.INTERVIEWER)).thenAnswer(inv -> interviewers);
+
+        AvailabilitySlotRepository slotRepository = mock(AvailabilitySlotRepository.class);
+        when(slotRepository.countBookedSlotsFromByInterviewer(any())).thenAnswer(inv -> booked.entrySet().stream()
+                .map(e -> (InterviewerSlotCount) new Count(e.getKey(), e.getValue()))
+                .toList());
+
+        DesignationRepository designationRepository = mock(DesignationRepository.class);
+        when(designationRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(designations.get(inv.<Long>getArgument(0))));
+
+        HRAvailabilityIndex availabilityIndex = mock(HRAvailabilityIndex.class);
+        when(availabilityIndex.availableSlots(any(), any(), any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            Map<Long, List<InterviewerAvailabilityDto>> byInterviewer = new HashMap<>();
+            ids.forEach(id -> byInterviewer.put(id, slots.getOrDefault(id, List.of())));
+            return Optional.of(byInterviewer);
+        });
+
+        DesignationEligibilityMatrix eligibilityMatrix = mock(DesignationEligibilityMatrix.class);
+        when(eligibilityMatrix.eligibleInterviewerDesignations(anyLong()))
+                .thenAnswer(inv -> eligibleByCandidate.getOrDefault(inv.<Long>getArgument(0), Set.of()));
+
+        service = new InterviewerMatchingService(userRepository, slotRepository, designationRepository,
+                availabilityIndex, mock(InterviewerProfileCache.class), eligibilityMatrix);
+    }
+
+    // ── Scoring ───────────────────────────────────────────────────────────────
+
+    @Test
+    void scoreIsTheWeightedSumOfItsComponents() {
+        User ada = interviewer(1L, engineering, null, Map.of(java, 5, sql, 20));
+        booked.put(ada.getId(), 1L);
+        slot(ada, FROM, FROM.plusHours(1));
+        slot(ada, FROM.plusHours(12), FROM.plusHours(13));
+
+        List<InterviewerMatchDto> matches = match(null, null, List.of(java.getId(), sql.getId()), null, 10);
+
+        // java 5/10, sql capped at 10/10
+        double technology = (0.5 + 1.0) / 2;
+        assertThat(matches).hasSize(2);
+        InterviewerMatchDto first = matches.get(0);
+        assertThat(first.startDateTime()).isEqualTo(FROM);
+        assertThat(first.technologyScore()).isCloseTo(technology, within(1e-6));
+        assertThat(first.seniorityScore()).isEqualTo(1.0);
+        assertThat(first.loadScore()).isEqualTo(0.5);
+        assertThat(first.upcomingInterviews()).isEqualTo(1);
+        assertThat(first.proximityScore()).isEqualTo(1.0);
+        assertThat(first.score()).isCloseTo(InterviewerMatchingService.W_TECHNOLOGY * technology
+                + InterviewerMatchingService.W_SENIORITY
+                + InterviewerMatchingService.W_LOAD * 0.5
+                + InterviewerMatchingService.W_PROXIMITY, within(1e-6));
+        assertThat(first.matchedTechnologies()).containsExactly("Java", "SQL");
+        assertThat(matches.get(1).proximityScore()).isCloseTo(0.5, within(1e-6));
+    }
+
+    @Test
+    void listedTechnologyCountsEvenAtZeroYears() {
+        User ada = interviewer(1L, engineering, null, Map.of(java, 0));
+        slot(ada, FROM, FROM.plusHours(1));
+
+        assertThat(match(null, null, List.of(java.getId()), null, 10).get(0).technologyScore())
+                .isCloseTo(0.5 / InterviewerMatchingService.TECHNOLOGY_YEARS_CAP, within(1e-6));
+    }
+
+    @Test
+    void interviewerScoresLeaveProximityOut() {
+        User ada = interviewer(1L, engineering, null, Map.of(java, 10));
+        User grace = interviewer(2L, engineering, null, Map.of(java, 10));
+        booked.put(grace.getId(), 3L);
+
+        Map<Long, Double> scores = service.interviewerScores(null, null, List.of(java.getId()));
+
+        assertThat(scores.get(ada.getId())).isCloseTo(0.45 + 0.20 + 0.20, within(1e-6));
+        assertThat(scores.get(grace.getId())).isCloseTo(0.45 + 0.20 + 0.20 / 4, within(1e-6));
+    }
+
+    // ── Eligibility ───────────────────────────────────────────────────────────
+
+    @Test
+    void missingTechnologyOtherDepartmentOrIneligibleDesignationIsFilteredOut() {
+        Designation associate = designation(4L, engineering, ic, 2);
+        Designation senior = designation(3L, engineering, ic, 1);
+        Designation principal = designation(2L, engineering, lead, 2);
+        eligibleByCandidate.put(associate.getId(), Set.of(senior.getId()));
+
+        User eligible = interviewer(1L, engineering, senior, Map.of(java, 3));
+        User noJava = interviewer(2L, engineering, senior, Map.of(sql, 3));
+        User salesPerson = interviewer(3L, sales, senior, Map.of(java, 3));
+        User notInMatrix = interviewer(4L, engineering, principal, Map.of(java, 3));
+        for (User u : List.of(eligible, noJava, salesPerson, notInMatrix)) slot(u, FROM, FROM.plusHours(1));
+
+        assertThat(match(associate.getId(), null, List.of(java.getId()), null, 10))
+                .extracting(InterviewerMatchDto::interviewerId)
+                .containsExactly(eligible.getId());
+    }
+
+    @Test
+    void inactiveTechnologiesDoNotCount() {
+        User ada = interviewer(1L, engineering, null, Map.of(java, 5));
+        ada.getInterviewerTechnologies().forEach(it -> it.setActive(false));
+        slot(ada, FROM, FROM.plusHours(1));
+
+        assertThat(match(null, null, List.of(java.getId()), null, 10)).isEmpty();
+    }
+
+    @Test
+    void slotsShorterThanTheDurationInsideTheRangeAreSkipped() {
+        User ada = interviewer(1L, engineering, null, Map.of());
+        slot(ada, FROM.minusMinutes(30), FROM.plusMinutes(30));   // only 30 minutes inside the range
+        slot(ada, FROM.plusHours(2), FROM.plusHours(3));
+
+        assertThat(match(null, null, List.of(), 45, 10))
+                .extracting(InterviewerMatchDto::startDateTime)
+                .containsExactly(FROM.plusHours(2));
+    }
+
+    // ── Bounded heap ──────────────────────────────────────────────────────────
+
+    @Test
+    void onlyTheBestResultsAreKeptInScoreOrder() {
+        User ada = interviewer(1L, engineering, null, Map.of());
+        User grace = interviewer(2L, engineering, null, Map.of());
+        booked.put(grace.getId(), 1L);
+        // Later slots first, so the heap has to evict
+        for (int h = 20; h >= 0; h -= 2) {
+            slot(ada, FROM.plusHours(h), FROM.plusHours(h + 1));
+            slot(grace, FROM.plusHours(h), FROM.plusHours(h + 1));
+        }
+
+        List<InterviewerMatchDto> matches = match(null, null, List.of(), null, 3);
+
+        assertThat(matches).extracting(InterviewerMatchDto::interviewerId, InterviewerMatchDto::startDateTime)
+                .containsExactly(
+                        tuple(ada.getId(), FROM),
+                        tuple(ada.getId(), FROM.plusHours(2)),
+                        tuple(ada.getId(), FROM.plusHours(4)));
+        assertThat(matches).isSortedAccordingTo((a, b) -> Double.compare(b.score(), a.score()));
+    }
+
+    @Test
+    void maxResultsIsDefaultedAndCapped() {
+        User ada = interviewer(1L, engineering, null, Map.of());
+        for (int m = 0; m < 300; m++) slot(ada, FROM.plusMinutes(m), FROM.plusMinutes(m + 1));
+
+        assertThat(match(null, null, List.of(), null, null)).hasSize(InterviewerMatchingService.DEFAULT_MAX_RESULTS);
+        assertThat(match(null, null, List.of(), null, 1000)).hasSize(InterviewerMatchingService.MAX_RESULTS);
+    }
+
+    // ── Seniority ─────────────────────────────────────────────────────────────
+
+    @Test
+    void tieredCandidatePrefersTheClosestMoreSeniorInterviewer() {
+        Designation associate = designation(4L, engineering, ic, 2);
+        Designation senior = designation(3L, engineering, ic, 1);
+        Designation principal = designation(2L, engineering, lead, 2);
+        Designation peer = designation(5L, engineering, ic, 2);
+        Designation floating = designation(6L, engineering, null, 1);
+        eligibleByCandidate.put(associate.getId(),
+                Set.of(senior.getId(), principal.getId(), peer.getId(), floating.getId()));
+
+        Map<Long, Double> seniority = seniority(associate, senior, principal, peer, floating);
+
+        assertThat(seniority.get(senior.getId())).isEqualTo(1.0);                       // same tier, higher level
+        assertThat(seniority.get(principal.getId())).isCloseTo(1 / 1.5, within(1e-6)); // one tier up
+        assertThat(seniority.get(peer.getId())).isEqualTo(0.5);                         // only via an allow rule
+        assertThat(seniority.get(floating.getId())).isEqualTo(0.5);                     // no tier
+    }
+
+    @Test
+    void tierlessCandidateComparesLevelsOnly() {
+        Designation rep = designation(4L, sales, null, 3);
+        Designation manager = designation(3L, sales, null, 2);
+        Designation head = designation(2L, sales, null, 1);
+        Designation junior = designation(5L, sales, null, 4);
+        eligibleByCandidate.put(rep.getId(), Set.of(manager.getId(), head.getId(), junior.getId()));
+
+        Map<Long, Double> seniority = seniority(rep, manager, head, junior);
+
+        assertThat(seniority.get(manager.getId())).isEqualTo(1.0);
+        assertThat(seniority.get(head.getId())).isCloseTo(1 / 1.25, within(1e-6));
+        assertThat(seniority.get(junior.getId())).isEqualTo(0.5);
+    }
+
+    @Test
+    void candidateWithoutLevelTreatsEveryEligibleInterviewerAlike() {
+        Designation trainee = Designation.builder().id(9L).name("Trainee").department(engineering).isActive(true).build();
+        designations.put(trainee.getId(), trainee);
+        Designation senior = designation(3L, engineering, ic, 1);
+        Designation principal = designation(2L, engineering, lead, 2);
+        eligibleByCandidate.put(trainee.getId(), Set.of(senior.getId(), principal.getId()));
+
+        assertThat(seniority(trainee, senior, principal).values()).containsOnly(1.0);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private List<InterviewerMatchDto> match(Long designationId, Long departmentId, List<Long> technologies,
+                                            Integer durationMinutes, Integer maxResults) {
+        return service.match(new InterviewerMatchRequestDto(
+                designationId, departmentId, technologies, FROM, TO, durationMinutes, maxResults));
+    }
+
+    /** Seniority score per interviewer designation, one interviewer and slot each. */
+    private Map<Long, Double> seniority(Designation candidate, Designation... interviewerDesignations) {
+        Map<Long, Long> designationOf = new HashMap<>();
+        for (Designation d : interviewerDesignations) {
+            User u = interviewer(100L + d.getId(), d.getDepartment(), d, Map.of());
+            designationOf.put(u.getId(), d.getId());
+            slot(u, FROM, FROM.plusHours(1));
+        }
+        Map<Long, Double> byDesignation = new HashMap<>();
+        for (InterviewerMatchDto m : match(candidate.getId(), null, List.of(), null, 50)) {
+            byDesignation.put(designationOf.get(m.interviewerId()), m.seniorityScore());
+        }
+        return byDesignation;
+    }
+
+    private User interviewer(Long id, Department department, Designation designation, Map<Technology, Integer> years) {
+        User user = User.builder().id(id).firstName("Interviewer").lastName("#" + id)
+                .role(Role.INTERVIEWER).department(department).currentDesignation(designation).isActive(true)
+                .build();
+        years.forEach((tech, y) -> user.getInterviewerTechnologies().add(InterviewerTechnology.builder()
+                .interviewer(user).technology(tech).yearsOfExperience(y).isActive(true).build()));
+        interviewers.add(user);
+        return user;
+    }
+
+    private Designation designation(Long id, Department department, Tier tier, int level) {
+        Designation d = Designation.builder().id(id).name("Designation " + id)
+                .department(department).tier(tier).levelOrder(level).isActive(true).build();
+        designations.put(id, d);
+        return d;
+    }
+
+    private void slot(User interviewer, LocalDateTime start, LocalDateTime end) {
+        AvailabilitySlot slot = AvailabilitySlot.builder().id(nextSlotId++).interviewer(interviewer)
+                .startDateTime(start).endDateTime(end).status(SlotStatus.AVAILABLE).isActive(true).build();
+        slots.computeIfAbsent(interviewer.getId(), k -> new ArrayList<>())
+                .add(InterviewerAvailabilityDto.from(slot, null));
+    }
+
+    private record Count(Long interviewerId, long count) implements InterviewerSlotCount {
+
+        @Override
+        public Long getInterviewerId() {
+            return interviewerId;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+    }
+}
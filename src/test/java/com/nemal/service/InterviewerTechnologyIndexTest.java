@@ -0,0 +1,188 @@
+package com.nemal.service;
+
+import com.nemal.event.InterviewerProfileChangedEvent;
+import com.nemal.event.OrgStructureChangedEvent;
+import com.nemal.repository.InterviewerTechnologyRepository;
+import com.nemal.repository.InterviewerTechnologyRepository.Assignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InterviewerTechnologyIndexTest {
+
+    private static final Long JAVA = 100L;
+    private static final Long KOTLIN = 101L;
+    private static final Long REACT = 102L;
+    private static final Long RUST = 103L;
+
+    private final List<Assignment> assignments = new ArrayList<>();
+    private InterviewerTechnologyRepository repository;
+    private InterviewerTechnologyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(InterviewerTechnologyRepository.class);
+        when(repository.findAllAssignments()).thenAnswer(inv -> List.copyOf(assignments));
+        when(repository.findTechnologyIdsByInterviewerId(anyLong())).thenAnswer(inv -> {
+            Long interviewerId = inv.getArgument(0);
+            return assignments.stream()
+                    .filter(a -> a.getInterviewerId().equals(interviewerId))
+                    .map(Assignment::getTechnologyId)
+                    .toList();
+        });
+        index = new InterviewerTechnologyIndex(repository);
+
+        assign(1L, JAVA);
+        assign(1L, KOTLIN);
+        assign(2L, REACT);
+        assign(3L, JAVA);
+        assign(3L, REACT);
+    }
+
+    @Test
+    void hasAnyMatchesInterviewersKnowingAtLeastOneTechnology() {
+        long[] jvm = index.mask(List.of(JAVA, KOTLIN));
+
+        assertThat(index.hasAny(1L, jvm)).isTrue();
+        assertThat(index.hasAny(2L, jvm)).isFalse();
+        assertThat(index.hasAny(3L, jvm)).isTrue();
+        assertThat(index.hasAny(99L, jvm)).isFalse();
+    }
+
+    @Test
+    void unknownTechnologiesMatchNobody() {
+        long[] mask = index.mask(List.of(RUST));
+
+        assertThat(mask).isEmpty();
+        assertThat(index.hasAny(1L, mask)).isFalse();
+        assertThat(index.interviewersWithAny(List.of(RUST))).isEqualTo(bits());
+    }
+
+    @Test
+    void nullTechnologyIdsAreSkipped() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(null);
+        ids.add(REACT);
+
+        assertThat(index.hasAny(2L, index.mask(ids))).isTrue();
+        assertThat(index.interviewersWithAny(ids)).isEqualTo(bits(2, 3));
+    }
+
+    @Test
+    void interviewersWithAnyIsTheUnionOfTheTechnologies() {
+        assertThat(index.interviewersWithAny(List.of(KOTLIN))).isEqualTo(bits(1));
+        assertThat(index.interviewersWithAny(List.of(KOTLIN, REACT))).isEqualTo(bits(1, 2, 3));
+    }
+
+    @Test
+    void masksSpanSeveralWordsPastSixtyFourTechnologies() {
+        for (long tech = 1; tech <= 70; tech++) {
+            assign(4L, tech);
+        }
+        assign(5L, 70L);
+
+        assertThat(index.hasAny(5L, index.mask(List.of(70L)))).isTrue();
+        assertThat(index.hasAny(5L, index.mask(List.of(1L)))).isFalse();
+        // A short interviewer word array against a long mask, and the reverse
+        assertThat(index.hasAny(2L, index.mask(List.of(70L, REACT)))).isTrue();
+        assertThat(index.hasAny(4L, index.mask(List.of(JAVA)))).isFalse();
+    }
+
+    @Test
+    void profileChangePatchesOneInterviewer() {
+        index.mask(List.of(JAVA));   // build
+
+        unassign(1L, KOTLIN);
+        assign(1L, RUST);
+        index.onInterviewerProfileChanged(new InterviewerProfileChangedEvent(1L));
+
+        assertThat(index.interviewersWithAny(List.of(KOTLIN))).isEqualTo(bits());
+        assertThat(index.interviewersWithAny(List.of(RUST))).isEqualTo(bits(1));
+        assertThat(index.hasAny(1L, index.mask(List.of(RUST)))).isTrue();
+        assertThat(index.hasAny(1L, index.mask(List.of(JAVA)))).isTrue();
+        assertThat(index.interviewersWithAny(List.of(JAVA))).isEqualTo(bits(1, 3));
+        verify(repository, times(1)).findAllAssignments();
+    }
+
+    @Test
+    void removingEveryTechnologyDropsTheInterviewer() {
+        index.mask(List.of(JAVA));
+
+        unassign(2L, REACT);
+        index.onInterviewerProfileChanged(new InterviewerProfileChangedEvent(2L));
+
+        assertThat(index.hasAny(2L, index.mask(List.of(REACT)))).isFalse();
+        assertThat(index.interviewersWithAny(List.of(REACT))).isEqualTo(bits(3));
+    }
+
+    @Test
+    void eventsBeforeTheFirstBuildAreIgnored() {
+        index.onInterviewerProfileChanged(new InterviewerProfileChangedEvent(1L));
+        index.onOrgStructureChanged(new OrgStructureChangedEvent());
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void orgStructureChangeRebuildsFromScratch() {
+        index.mask(List.of(JAVA));
+
+        assign(2L, KOTLIN);
+        index.onOrgStructureChanged(new OrgStructureChangedEvent());
+
+        assertThat(index.interviewersWithAny(List.of(KOTLIN))).isEqualTo(bits(1, 2));
+        verify(repository, times(2)).findAllAssignments();
+    }
+
+    @Test
+    void failedPatchFallsBackToARebuildOnTheNextLookup() {
+        index.mask(List.of(JAVA));
+        when(repository.findTechnologyIdsByInterviewerId(1L)).thenThrow(new RuntimeException("connection reset"));
+
+        assign(1L, RUST);
+        index.onInterviewerProfileChanged(new InterviewerProfileChangedEvent(1L));
+
+        assertThat(index.interviewersWithAny(List.of(RUST))).isEqualTo(bits(1));
+        verify(repository, times(2)).findAllAssignments();
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private void assign(Long interviewerId, Long technologyId) {
+        assignments.add(new Row(interviewerId, technologyId));
+    }
+
+    private void unassign(Long interviewerId, Long technologyId) {
+        assignments.remove(new Row(interviewerId, technologyId));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) bits.set(id);
+        return bits;
+    }
+
+    private record Row(Long interviewerId, Long technologyId) implements Assignment {
+
+        @Override
+        public Long getInterviewerId() {
+            return interviewerId;
+        }
+
+        @Override
+        public Long getTechnologyId() {
+            return technologyId;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.nemal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinCostFlowTest {
+
+    @Test
+    void findsMaximumFlowAtMinimumCost() {
+        //   0 ─(2,1)→ 1 ─(1,3)→ 3
+        //   0 ─(1,2)→ 2 ─(2,1)→ 3,   1 ─(1,1)→ 2
+        MinCostFlow flow = new MinCostFlow(4, 5);
+        int s1 = flow.addEdge(0, 1, 2, 1);
+        int s2 = flow.addEdge(0, 2, 1, 2);
+        int mid = flow.addEdge(1, 2, 1, 1);
+        int t1 = flow.addEdge(1, 3, 1, 3);
+        int t2 = flow.addEdge(2, 3, 2, 1);
+
+        assertThat(flow.solve(0, 3)).containsExactly(3, 10);
+        assertThat(flow.flow(s1)).isEqualTo(2);
+        assertThat(flow.flow(s2)).isEqualTo(1);
+        assertThat(flow.flow(mid)).isEqualTo(1);
+        assertThat(flow.flow(t1)).isEqualTo(1);
+        assertThat(flow.flow(t2)).isEqualTo(2);
+    }
+
+    @Test
+    void reroutesTheFirstShortestPathWhenMoreFlowNeedsIt() {
+        // The free path 0→1→2→3 is taken first, then undone through the
+        // residual 2→1 so that both units can reach the sink
+        MinCostFlow flow = new MinCostFlow(4, 5);
+        flow.addEdge(0, 1, 1, 0);
+        flow.addEdge(0, 2, 1, 2);
+        int cross = flow.addEdge(1, 2, 1, 0);
+        flow.addEdge(1, 3, 1, 2);
+        flow.addEdge(2, 3, 1, 0);
+
+        assertThat(flow.solve(0, 3)).containsExactly(2, 4);
+        assertThat(flow.flow(cross)).isZero();
+    }
+
+    @Test
+    void unreachableSinkGetsNoFlow() {
+        MinCostFlow flow = new MinCostFlow(4, 2);
+        int e = flow.addEdge(0, 1, 5, 1);
+        flow.addEdge(2, 3, 5, 1);
+
+        assertThat(flow.solve(0, 3)).containsExactly(0, 0);
+        assertThat(flow.flow(e)).isZero();
+    }
+
+    @Test
+    void parallelEdgesAreFilledCheapestFirst() {
+        MinCostFlow flow = new MinCostFlow(3, 3);
+        int expensive = flow.addEdge(0, 1, 1, 5);
+        int cheap = flow.addEdge(0, 1, 2, 1);
+        flow.addEdge(1, 2, 2, 0);
+
+        assertThat(flow.solve(0, 2)).containsExactly(2, 2);
+        assertThat(flow.flow(cheap)).isEqualTo(2);
+        assertThat(flow.flow(expensive)).isZero();
+    }
+
+    @Test
+    void growsPastTheExpectedEdgeCount() {
+        MinCostFlow flow = new MinCostFlow(12, 1);
+        for (int v = 1; v <= 10; v++) {
+            flow.addEdge(0, v, 1, v);
+            flow.addEdge(v, 11, 1, 0);
+        }
+
+        assertThat(flow.solve(0, 11)).containsExactly(10, 55);
+    }
+
+    @Test
+    void matchesBruteForceOnSmallAssignmentProblems() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(5);
+            int[][] cost = new int[n][n];
+            boolean[][] allowed = new boolean[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    allowed[i][j] = random.nextInt(4) > 0;
+                    cost[i][j] = random.nextInt(20);
+                }
+            }
+
+            // source 0, left 1..n, right n+1..2n, sink 2n+1
+            int sink = 2 * n + 1;
+            MinCostFlow flow = new MinCostFlow(sink + 1, n * n + 2 * n);
+            for (int i = 0; i < n; i++) {
+                flow.addEdge(0, 1 + i, 1, 0);
+                flow.addEdge(1 + n + i, sink, 1, 0);
+                for (int j = 0; j < n; j++) {
+                    if (allowed[i][j]) flow.addEdge(1 + i, 1 + n + j, 1, cost[i][j]);
+                }
+            }
+
+            long[] best = bestMatching(cost, allowed, 0, new boolean[n], 0, 0, new long[]{0, Long.MAX_VALUE});
+            assertThat(flow.solve(0, sink)).as("round %d", round).containsExactly(best[0], best[1]);
+        }
+    }
+
+    @Test
+    void rejectsNegativeCosts() {
+        MinCostFlow flow = new MinCostFlow(2, 1);
+
+        assertThatThrownBy(() -> flow.addEdge(0, 1, 1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Largest matching, then cheapest among those, by trying every assignment; best = {size, cost}. */
+    private static long[] bestMatching(int[][] cost, boolean[][] allowed, int row, boolean[] used,
+                                       int size, long total, long[] best) {
+        if (row == cost.length) {
+            if (size > best[0] || (size == best[0] && total < best[1])) {
+                best[0] = size;
+                best[1] = total;
+            }
+            return best;
+        }
+        bestMatching(cost, allowed, row + 1, used, size, total, best);
+        for (int j = 0; j < cost.length; j++) {
+            if (allowed[row][j] && !used[j]) {
+                used[j] = true;
+                bestMatching(cost, allowed, row + 1, used, size + 1, total + cost[row][j], best);
+                used[j] = false;
+            }
+        }
+        return best;
+    }
+}
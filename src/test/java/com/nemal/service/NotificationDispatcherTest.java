@@ -0,0 +1,294 @@
+package com.nemal.service;
+
+import com.nemal.dto.NotificationDto;
+import com.nemal.entity.Notification;
+import com.nemal.entity.NotificationOutbox;
+import com.nemal.entity.User;
+import com.nemal.enums.OutboxStatus;
+import com.nemal.repository.NotificationOutboxRepository;
+import com.nemal.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationDispatcherTest {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final User ada = User.builder().id(1L).email("ada@example.com").firstName("Ada").lastName("L").build();
+    private final User grace = User.builder().id(2L).email("grace@example.com").firstName("Grace").lastName("H").build();
+
+    /** What claimDue hands out next, per status. */
+    private final Map<OutboxStatus, Deque<List<NotificationOutbox>>> due = new HashMap<>();
+    private final Map<Long, NotificationOutbox> outbox = new HashMap<>();
+    private final Set<Long> unrenderable = new HashSet<>();
+    private long nextId = 1;
+
+    private NotificationOutboxRepository outboxRepository;
+    private NotificationRepository notificationRepository;
+    private NotificationPublisher publisher;
+    private NotificationUnreadCounter unreadCounter;
+    private PlatformTransactionManager transactionManager;
+    private JavaMailSender mailSender;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenAnswer(inv -> {
+            Deque<List<NotificationOutbox>> queue = due.get(OutboxStatus.valueOf(inv.getArgument(0)));
+            return queue == null || queue.isEmpty() ? List.of() : queue.poll();
+        });
+        when(outboxRepository.findAllById(any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(outbox::get).toList();
+        });
+
+        notificationRepository = mock(NotificationRepository.class);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Notification> notifications = inv.getArgument(0);
+            notifications.forEach(n -> n.setId(1000 + n.getRelatedEntityId()));
+            return notifications;
+        });
+
+        NotificationService notificationService = mock(NotificationService.class);
+        when(notificationService.render(any())).thenAnswer(inv -> {
+            NotificationOutbox row = inv.getArgument(0);
+            if (unrenderable.contains(row.getId())) throw new IllegalStateException("Unknown type " + row.getType());
+            return Notification.builder().recipient(row.getRecipient())
+                    .subject("Subject " + row.getId()).message("Message " + row.getId())
+                    .type(row.getType()).relatedEntityId(row.getId()).build();
+        });
+
+        publisher = mock(NotificationPublisher.class);
+        unreadCounter = mock(NotificationUnreadCounter.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        mailSender = mock(JavaMailSender.class);
+        ObjectProvider<JavaMailSender> mailSenderProvider = mock(ObjectProvider.class);
+        when(mailSenderProvider.getIfAvailable()).thenReturn(mailSender);
+
+        dispatcher = new NotificationDispatcher(outboxRepository, notificationRepository, notificationService,
+                publisher, unreadCounter, mailSenderProvider, transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "mailMaxAttempts", 3);
+    }
+
+    // ── Batch ─────────────────────────────────────────────────────────────────
+
+    @Test
+    void batchIsWrittenOnceCountedPerRecipientAndPushedAfterCommit() {
+        List<NotificationOutbox> rows = List.of(row(ada), row(grace), row(ada));
+        enqueue(OutboxStatus.PENDING, rows);
+
+        dispatcher.dispatch();
+
+        verify(notificationRepository, times(1)).saveAll(anyList());
+        assertThat(rows).allSatisfy(r -> {
+            assertThat(r.getStatus()).isEqualTo(OutboxStatus.SENT);
+            assertThat(r.getNotificationId()).isEqualTo(1000 + r.getId());
+            assertThat(r.getProcessedAt()).isNotNull();
+        });
+        verify(unreadCounter).track(ada.getId(), 2);
+        verify(unreadCounter).track(grace.getId(), 1);
+
+        InOrder order = inOrder(transactionManager, publisher);
+        order.verify(transactionManager).commit(any());
+        order.verify(publisher, times(3)).publish(anyLong(), any(), any(NotificationDto.class));
+        verify(publisher).publish(eq(grace.getId()), eq("grace@example.com"), any(NotificationDto.class));
+    }
+
+    @Test
+    void fullBatchesAreFollowedByAnotherClaimAndAShortOneEndsTheRun() {
+        List<NotificationOutbox> full = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) full.add(row(i % 2 == 0 ? ada : grace));
+        enqueue(OutboxStatus.PENDING, full, List.of(row(ada)), List.of(row(grace)));
+
+        dispatcher.dispatch();
+
+        verify(outboxRepository, times(2)).claimDue(eq(OutboxStatus.PENDING.name()), any(), eq(BATCH_SIZE));
+        verify(publisher, times(BATCH_SIZE + 1)).publish(anyLong(), any(), any(NotificationDto.class));
+        assertThat(due.get(OutboxStatus.PENDING)).hasSize(1);
+    }
+
+    @Test
+    void withMailEnabledRowsWaitForTheMailer() {
+        ReflectionTestUtils.setField(dispatcher, "mailEnabled", true);
+        NotificationOutbox row = row(ada);
+        row.setAttempts(2);
+        enqueue(OutboxStatus.PENDING, List.of(row));
+
+        dispatcher.dispatch();
+
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.MAIL_PENDING);
+        assertThat(row.getAttempts()).isZero();
+        assertThat(row.getNextAttemptAt()).isCloseTo(LocalDateTime.now(), within(5, ChronoUnit.SECONDS));
+        assertThat(row.getProcessedAt()).isNull();
+    }
+
+    // ── Render failure ────────────────────────────────────────────────────────
+
+    @Test
+    void rowThatCannotRenderFailsAloneAndTheRestAreDelivered() {
+        NotificationOutbox good = row(ada);
+        NotificationOutbox bad = row(grace);
+        NotificationOutbox alsoGood = row(grace);
+        unrenderable.add(bad.getId());
+        enqueue(OutboxStatus.PENDING, List.of(good, bad, alsoGood));
+
+        dispatcher.dispatch();
+
+        assertThat(bad.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(bad.getLastError()).isEqualTo("Unknown type INTERVIEW_SCHEDULED");
+        assertThat(bad.getProcessedAt()).isNotNull();
+        assertThat(bad.getNotificationId()).isNull();
+        assertThat(good.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(alsoGood.getNotificationId()).isEqualTo(1000 + alsoGood.getId());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Notification::getRelatedEntityId)
+                .containsExactly(good.getId(), alsoGood.getId());
+        verify(unreadCounter).track(grace.getId(), 1);
+        verify(publisher, times(2)).publish(anyLong(), any(), any(NotificationDto.class));
+    }
+
+    @Test
+    void failedWriteLeavesRowsPendingAndPushesNothing() {
+        NotificationOutbox row = row(ada);
+        enqueue(OutboxStatus.PENDING, List.of(row));
+        when(notificationRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection reset"));
+
+        dispatcher.dispatch();
+
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        verify(publisher, never()).publish(anyLong(), any(), any());
+        verify(transactionManager).rollback(any());
+    }
+
+    // ── Backoff ───────────────────────────────────────────────────────────────
+
+    @Test
+    void backoffDoublesFromThirtySecondsUpToAnHour() {
+        assertThat(NotificationDispatcher.backoff(0)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(NotificationDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(NotificationDispatcher.backoff(2)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(NotificationDispatcher.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(NotificationDispatcher.backoff(7)).isEqualTo(Duration.ofMinutes(32));
+        assertThat(NotificationDispatcher.backoff(8)).isEqualTo(Duration.ofHours(1));
+        assertThat(NotificationDispatcher.backoff(1_000)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void failedMailIsRetriedWithBackoffUntilTheLastAttempt() {
+        ReflectionTestUtils.setField(dispatcher, "mailEnabled", true);
+        NotificationOutbox first = mailRow(ada, 0);
+        NotificationOutbox last = mailRow(grace, 2);
+        NotificationOutbox delivered = mailRow(grace, 1);
+        enqueue(OutboxStatus.MAIL_PENDING, List.of(first, last, delivered));
+        doAnswer(inv -> {
+            SimpleMailMessage message = inv.getArgument(0);
+            if (!message.getSubject().equals("Subject " + delivered.getId())) {
+                throw new MailSendException("550 mailbox unavailable");
+            }
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage.class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.deliverMail();
+
+        verify(mailSender, times(3)).send(any(SimpleMailMessage.class));
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.MAIL_PENDING);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getLastError()).isEqualTo("550 mailbox unavailable");
+        assertThat(first.getNextAttemptAt())
+                .isCloseTo(before.plus(NotificationDispatcher.backoff(1)), within(5, ChronoUnit.SECONDS));
+
+        assertThat(last.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(last.getAttempts()).isEqualTo(3);
+        assertThat(last.getProcessedAt()).isNotNull();
+
+        assertThat(delivered.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(delivered.getLastError()).isNull();
+    }
+
+    @Test
+    void mailIsLeasedWhileItIsBeingSent() {
+        ReflectionTestUtils.setField(dispatcher, "mailEnabled", true);
+        ReflectionTestUtils.setField(dispatcher, "mailFrom", "scheduler@example.com");
+        NotificationOutbox row = mailRow(ada, 0);
+        enqueue(OutboxStatus.MAIL_PENDING, List.of(row));
+        List<LocalDateTime> leasedUntil = new ArrayList<>();
+        doAnswer(inv -> {
+            SimpleMailMessage message = inv.getArgument(0);
+            assertThat(message.getFrom()).isEqualTo("scheduler@example.com");
+            assertThat(message.getTo()).containsExactly("ada@example.com");
+            leasedUntil.add(row.getNextAttemptAt());
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage.class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.deliverMail();
+
+        assertThat(leasedUntil).singleElement()
+                .satisfies(t -> assertThat(t).isAfterOrEqualTo(before.plusMinutes(5)));
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    @SafeVarargs
+    private void enqueue(OutboxStatus status, List<NotificationOutbox>... batches) {
+        due.computeIfAbsent(status, s -> new ArrayDeque<>()).addAll(List.of(batches));
+    }
+
+    private NotificationOutbox row(User recipient) {
+        NotificationOutbox row = NotificationOutbox.builder().id(nextId++).type("INTERVIEW_SCHEDULED")
+                .recipient(recipient).status(OutboxStatus.PENDING).nextAttemptAt(LocalDateTime.now()).build();
+        outbox.put(row.getId(), row);
+        return row;
+    }
+
+    private NotificationOutbox mailRow(User recipient, int attempts) {
+        NotificationOutbox row = row(recipient);
+        row.setStatus(OutboxStatus.MAIL_PENDING);
+        row.setAttempts(attempts);
+        row.setNotificationId(1000 + row.getId());
+        return row;
+    }
+}
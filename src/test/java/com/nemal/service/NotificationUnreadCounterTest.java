@@ -0,0 +1,175 @@
+package com.nemal.service;
+
+import com.nemal.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationUnreadCounterTest {
+
+    private static final Long USER = 7L;
+
+    /** What the next COUNTs return; the last value repeats. */
+    private final Deque<Long> counts = new ArrayDeque<>();
+    private Runnable duringCount = () -> {};
+
+    private NotificationRepository repository;
+    private NotificationUnreadCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(NotificationRepository.class);
+        when(repository.countByRecipientIdAndReadFalse(anyLong())).thenAnswer(inv -> {
+            Runnable hook = duringCount;
+            duringCount = () -> {};
+            hook.run();
+            return counts.size() > 1 ? counts.poll() : counts.peek();
+        });
+        counter = new NotificationUnreadCounter(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ── Seeding ───────────────────────────────────────────────────────────────
+
+    @Test
+    void firstReadSeedsAndLaterReadsNeverCount() {
+        counts.add(5L);
+
+        assertThat(counter.unread(USER)).isEqualTo(5);
+        assertThat(counter.unread(USER)).isEqualTo(5);
+
+        verify(repository, times(1)).countByRecipientIdAndReadFalse(USER);
+    }
+
+    @Test
+    void writesOutsideATransactionApplyAtOnceAndNeverGoNegative() {
+        counts.add(2L);
+        counter.unread(USER);
+
+        counter.track(USER, 3);
+        assertThat(counter.unread(USER)).isEqualTo(5);
+        counter.track(USER, -10);
+        assertThat(counter.unread(USER)).isZero();
+        verify(repository, times(1)).countByRecipientIdAndReadFalse(USER);
+    }
+
+    // ── Transactions ──────────────────────────────────────────────────────────
+
+    @Test
+    void deltaAppliesOnCommitOnly() {
+        counts.add(2L);
+        counter.unread(USER);
+
+        List<TransactionSynchronization> committed = inTransaction(() -> counter.track(USER, 1));
+        assertThat(counter.unread(USER)).isEqualTo(2);
+        complete(committed, true);
+        assertThat(counter.unread(USER)).isEqualTo(3);
+
+        List<TransactionSynchronization> rolledBack = inTransaction(() -> counter.track(USER, 4));
+        complete(rolledBack, false);
+        assertThat(counter.unread(USER)).isEqualTo(3);
+    }
+
+    @Test
+    void counterMovesBeforeOtherAfterCommitCallbacks() {
+        List<TransactionSynchronization> syncs = inTransaction(() -> counter.track(USER, 1));
+
+        assertThat(syncs).singleElement()
+                .extracting(TransactionSynchronization::getOrder)
+                .isEqualTo(Integer.MIN_VALUE);
+    }
+
+    // ── Seed vs pending writes ────────────────────────────────────────────────
+
+    @Test
+    void seedTakenWhileAWriteIsPendingIsNotKept() {
+        counts.addAll(List.of(5L, 6L));
+        List<TransactionSynchronization> pending = inTransaction(() -> counter.track(USER, 1));
+
+        // The COUNT may or may not see the pending insert, so it is served but not cached
+        assertThat(counter.unread(USER)).isEqualTo(5);
+        complete(pending, true);
+
+        assertThat(counter.unread(USER)).isEqualTo(6);
+        assertThat(counter.unread(USER)).isEqualTo(6);
+        verify(repository, times(2)).countByRecipientIdAndReadFalse(USER);
+    }
+
+    @Test
+    void seedIsDroppedWhenAWriteCompletesWhileItRuns() {
+        counts.addAll(List.of(5L, 6L));
+        duringCount = () -> counter.track(USER, 1);
+
+        assertThat(counter.unread(USER)).isEqualTo(5);
+        assertThat(counter.unread(USER)).isEqualTo(6);
+        assertThat(counter.unread(USER)).isEqualTo(6);
+        verify(repository, times(2)).countByRecipientIdAndReadFalse(USER);
+    }
+
+    @Test
+    void writeStartedDuringTheSeedAlsoDropsIt() {
+        counts.addAll(List.of(5L, 6L));
+        List<List<TransactionSynchronization>> started = new ArrayList<>();
+        duringCount = () -> started.add(inTransaction(() -> counter.track(USER, 1)));
+
+        assertThat(counter.unread(USER)).isEqualTo(5);
+        complete(started.get(0), true);
+
+        assertThat(counter.unread(USER)).isEqualTo(6);
+        verify(repository, times(2)).countByRecipientIdAndReadFalse(USER);
+    }
+
+    @Test
+    void rolledBackPendingWriteStillLetsTheNextReadSeed() {
+        counts.addAll(List.of(5L, 5L));
+        List<TransactionSynchronization> pending = inTransaction(() -> counter.track(USER, 1));
+        counter.unread(USER);
+        complete(pending, false);
+
+        assertThat(counter.unread(USER)).isEqualTo(5);
+        counter.track(USER, 1);
+        assertThat(counter.unread(USER)).isEqualTo(6);
+        verify(repository, times(2)).countByRecipientIdAndReadFalse(USER);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Runs {@code work} with synchronization active and returns what it registered. */
+    private static List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(List<TransactionSynchronization> syncs, boolean commit) {
+        for (TransactionSynchronization sync : syncs) {
+            if (commit) sync.afterCommit();
+            sync.afterCompletion(commit ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.nemal.service;
+
+import com.nemal.dto.FreeWindowDto;
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PanelFreeTimeServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDateTime FROM = at("00:00");
+    private static final LocalDateTime TO = at("23:59");
+
+    private final Map<Long, List<AvailabilitySlot>> slots = new LinkedHashMap<>();
+    private long nextSlotId = 100;
+
+    @Test
+    void touchingSlotsNeverFormAWindow() {
+        slot(1, "09:00", "10:00");
+        slot(2, "10:00", "11:00");
+
+        assertThat(sweep(2, 1)).isEmpty();
+    }
+
+    @Test
+    void partialPanelReportsEveryLongEnoughSubset() {
+        slot(1, "09:00", "12:00");
+        slot(2, "10:00", "11:00");
+        slot(3, "13:00", "14:00");
+
+        assertThat(describe(sweep(2, 30))).containsExactlyInAnyOrder("10:00-11:00 [1, 2]");
+        assertThat(describe(sweep(1, 30))).containsExactlyInAnyOrder(
+                "09:00-12:00 [1]",
+                "10:00-11:00 [1, 2]",
+                "13:00-14:00 [3]");
+    }
+
+    @Test
+    void leaverInTheMiddleReopensTheWindowsAboveIt() {
+        slot(1, "09:00", "13:00");
+        slot(2, "10:00", "12:00");   // joins second, leaves first
+        slot(3, "11:00", "14:00");
+
+        assertThat(describe(sweep(2, 30))).containsExactlyInAnyOrder(
+                "10:00-12:00 [1, 2]",
+                "11:00-12:00 [1, 2, 3]",
+                "11:00-13:00 [1, 3]");
+    }
+
+    @Test
+    void windowsShorterThanTheDurationAreDropped() {
+        slot(1, "09:00", "10:00");
+        slot(2, "09:00", "09:45");
+
+        assertThat(describe(sweep(2, 45))).containsExactly("09:00-09:45 [1, 2]");
+        assertThat(sweep(2, 46)).isEmpty();
+    }
+
+    @Test
+    void windowsAreClippedToTheSearchRange() {
+        slot(1, "08:00", "12:00");
+        slot(2, "08:30", "11:00");
+
+        List<FreeWindowDto> windows = PanelFreeTimeService.sweep(
+                slots.values(), at("09:00"), at("10:00"), 2, Duration.ofMinutes(30));
+
+        assertThat(describe(windows)).containsExactly("09:00-10:00 [1, 2]");
+        assertThat(windows.get(0).durationMinutes()).isEqualTo(60);
+    }
+
+    @Test
+    void panelistsCarryTheSlotCoveringTheWindow() {
+        AvailabilitySlot a = slot(1, "09:00", "11:00");
+        AvailabilitySlot b = slot(2, "09:30", "10:30");
+
+        List<FreeWindowDto> windows = sweep(2, 30);
+
+        assertThat(windows).hasSize(1);
+        assertThat(windows.get(0).panelists())
+                .extracting(FreeWindowDto.Panelist::slotId)
+                .containsExactly(a.getId(), b.getId());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private List<FreeWindowDto> sweep(int required, int minMinutes) {
+        return PanelFreeTimeService.sweep(slots.values(), FROM, TO, required, Duration.ofMinutes(minMinutes));
+    }
+
+    private AvailabilitySlot slot(long interviewerId, String start, String end) {
+        User interviewer = User.builder().id(interviewerId).firstName("Interviewer").lastName("#" + interviewerId).build();
+        AvailabilitySlot slot = AvailabilitySlot.builder()
+                .id(nextSlotId++).interviewer(interviewer)
+                .startDateTime(at(start)).endDateTime(at(end))
+                .status(SlotStatus.AVAILABLE).isActive(true)
+                .build();
+        slots.computeIfAbsent(interviewerId, id -> new ArrayList<>()).add(slot);
+        return slot;
+    }
+
+    private static LocalDateTime at(String time) {
+        return DAY.atTime(LocalTime.parse(time));
+    }
+
+    /** "HH:mm-HH:mm [interviewer ids]", with ids sorted. */
+    private static List<String> describe(List<FreeWindowDto> windows) {
+        return windows.stream()
+                .map(w -> w.startDateTime().toLocalTime() + "-" + w.endDateTime().toLocalTime() + " "
+                        + w.panelists().stream().map(FreeWindowDto.Panelist::interviewerId).sorted().toList())
+                .toList();
+    }
+}
@@ -0,0 +1,304 @@
+package com.nemal.service;
+
+import com.nemal.entity.AvailabilitySlot;
+import com.nemal.entity.User;
+import com.nemal.enums.SlotStatus;
+import com.nemal.repository.AvailabilitySlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Races on one slot against an in-memory stand-in for its row: the
+ * repository's conditional UPDATE and refresh are emulated on a single
+ * synchronised {@link Row}, and every thread runs in its own transaction
+ * scope with its own copy of the entity, as separate requests would.
+ */
+class SlotBookingCoordinatorTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+
+    private final User interviewer = User.builder().id(7L).firstName("Ada").lastName("Lovelace").build();
+    private final Row row = new Row();
+    private AvailabilitySlotRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AvailabilitySlotRepository.class);
+        when(repository.claimAvailableSlot(anyLong(), anyLong(), any(), anyBoolean(), any()))
+                .thenAnswer(inv -> row.claim(inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), inv.getArgument(4)));
+        doAnswer(inv -> {
+            row.copyTo(inv.getArgument(0));
+            return null;
+        }).when(repository).refresh(any());
+    }
+
+    @Test
+    void concurrentFullBookingsOfOneSlotHaveExactlyOneWinner() throws Exception {
+        SlotBookingCoordinator coordinator = new SlotBookingCoordinator(repository);
+
+        List<Boolean> results = race(() -> coordinator);
+
+        assertThat(results).containsOnlyOnce(true);
+        assertThat(row.status).isEqualTo(SlotStatus.BOOKED);
+        assertThat(row.claims).isEqualTo(1);
+    }
+
+    @Test
+    void conditionalUpdateAloneKeepsOneWinnerAcrossInstances() throws Exception {
+        // One coordinator per thread: no shared stripe locks, as with several app nodes
+        List<Boolean> results = race(() -> new SlotBookingCoordinator(repository));
+
+        assertThat(results).containsOnlyOnce(true);
+        assertThat(row.status).isEqualTo(SlotStatus.BOOKED);
+        assertThat(row.claims).isEqualTo(1);
+    }
+
+    @Test
+    void claimRetriesWhenVersionMovedButSlotIsStillFree() {
+        // Another writer touches the row between our refresh and our UPDATE
+        doAnswer(inv -> {
+            row.bump();
+            return 0;
+        }).doAnswer(inv -> row.claim(inv.getArgument(1), inv.getArgument(2),
+                inv.getArgument(3), inv.getArgument(4)))
+                .when(repository).claimAvailableSlot(anyLong(), anyLong(), any(), anyBoolean(), any());
+
+        AvailabilitySlot booked = inTransaction(() -> new SlotBookingCoordinator(repository)
+                .book(newSlotCopy(), START, END, "Interview", new ArrayList<>()));
+
+        assertThat(booked.getStatus()).isEqualTo(SlotStatus.BOOKED);
+        assertThat(row.claims).isEqualTo(1);
+    }
+
+    @Test
+    void claimGivesUpAfterRepeatedVersionConflicts() {
+        doAnswer(inv -> {
+            row.bump();
+            return 0;
+        }).when(repository).claimAvailableSlot(anyLong(), anyLong(), any(), anyBoolean(), any());
+
+        assertThatThrownBy(() -> inTransaction(() -> new SlotBookingCoordinator(repository)
+                .book(newSlotCopy(), START, END, "Interview", new ArrayList<>())))
+                .hasMessageContaining("changed by another booking");
+        assertThat(row.status).isEqualTo(SlotStatus.AVAILABLE);
+    }
+
+    @Test
+    void windowJustOutsideTheSlotIsClampedToAFullBooking() {
+        List<AvailabilitySlot> touched = new ArrayList<>();
+
+        AvailabilitySlot booked = inTransaction(() -> new SlotBookingCoordinator(repository)
+                .book(newSlotCopy(), START.minusNanos(500_000_000), END.plusNanos(500_000_000), "Interview", touched));
+
+        assertThat(booked.getId()).isEqualTo(1L);
+        assertThat(booked.getStatus()).isEqualTo(SlotStatus.BOOKED);
+        assertThat(touched).containsExactly(booked);
+        verify(repository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void partialBookingFragmentsStayInsideTheSlot() {
+        when(repository.saveAllAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        AvailabilitySlot booked = inTransaction(() -> new SlotBookingCoordinator(repository)
+                .book(newSlotCopy(), START.minusNanos(500_000_000), START.plusMinutes(30), "Interview",
+                        new ArrayList<>()));
+
+        assertThat(booked.getStartDateTime()).isEqualTo(START);
+        assertThat(booked.getEndDateTime()).isEqualTo(START.plusMinutes(30));
+        ArgumentCaptor<List<AvailabilitySlot>> fragments = ArgumentCaptor.captor();
+        verify(repository).saveAllAndFlush(fragments.capture());
+        assertThat(fragments.getValue())
+                .extracting(AvailabilitySlot::getStartDateTime, AvailabilitySlot::getEndDateTime)
+                .containsExactly(tuple(START, START.plusMinutes(30)), tuple(START.plusMinutes(30), END));
+    }
+
+    @Test
+    void windowMoreThanASecondOutsideTheSlotIsRejected() {
+        assertThatThrownBy(() -> inTransaction(() -> new SlotBookingCoordinator(repository)
+                .book(newSlotCopy(), START.minusSeconds(2), END, "Interview", new ArrayList<>())))
+                .hasMessageContaining("within the slot's available time");
+        assertThat(row.claims).isZero();
+    }
+
+    @Test
+    void stripesAreFreeBeforeAfterCommitListenersRun() throws Exception {
+        SlotBookingCoordinator coordinator = new SlotBookingCoordinator(repository);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            List<Boolean> lockedElsewhere = new ArrayList<>();
+            inTransaction(() -> {
+                coordinator.lockInterviewer(7L);
+                // Registered after the lock at the default (lowest) order, like a push after commit
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lockedElsewhere.add(lockFrom(other, coordinator));
+                    }
+                });
+                return null;
+            });
+
+            assertThat(lockedElsewhere).containsExactly(true);
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void stripesAreReleasedOnRollback() throws Exception {
+        SlotBookingCoordinator coordinator = new SlotBookingCoordinator(repository);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            assertThatThrownBy(() -> inTransaction(() -> {
+                coordinator.lockInterviewer(7L);
+                throw new IllegalStateException("rollback");
+            })).hasMessage("rollback");
+
+            assertThat(lockFrom(other, coordinator)).isTrue();
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void lockingOutsideTransactionIsRejected() {
+        SlotBookingCoordinator coordinator = new SlotBookingCoordinator(repository);
+
+        assertThatThrownBy(() -> coordinator.lockInterviewer(7L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Every thread books the whole slot at once; returns who won. */
+    private List<Boolean> race(Supplier<SlotBookingCoordinator> coordinators) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                SlotBookingCoordinator coordinator = coordinators.get();
+                Callable<Boolean> attempt = () -> {
+                    go.await();
+                    try {
+                        inTransaction(() -> coordinator.book(newSlotCopy(), START, END, "Interview", new ArrayList<>()));
+                        return true;
+                    } catch (RuntimeException e) {
+                        assertThat(e).hasMessageContaining("no longer available");
+                        return false;
+                    }
+                };
+                futures.add(executor.submit(attempt));
+            }
+            go.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) results.add(future.get());
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Whether another thread's transaction gets interviewer 7's stripe within a second. */
+    private static boolean lockFrom(ExecutorService other, SlotBookingCoordinator coordinator) {
+        try {
+            return other.submit(() -> inTransaction(() -> {
+                coordinator.lockInterviewer(7L);
+                return true;
+            })).get(1, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** Runs {@code work} with transaction synchronisation active, completing it like a commit or rollback. */
+    private static <T> T inTransaction(Supplier<T> work) {
+        TransactionSynchronizationManager.initSynchronization();
+        int outcome = TransactionSynchronization.STATUS_ROLLED_BACK;
+        try {
+            T result = work.get();
+            outcome = TransactionSynchronization.STATUS_COMMITTED;
+            return result;
+        } finally {
+            List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            if (outcome == TransactionSynchronization.STATUS_COMMITTED) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, outcome);
+        }
+    }
+
+    /** A fresh entity instance for slot 1, as each transaction's persistence context would load it. */
+    private AvailabilitySlot newSlotCopy() {
+        AvailabilitySlot slot = AvailabilitySlot.builder()
+                .id(1L).interviewer(interviewer)
+                .startDateTime(START).endDateTime(END)
+                .status(SlotStatus.AVAILABLE).isActive(true)
+                .build();
+        row.copyTo(slot);
+        return slot;
+    }
+
+    /** The slot's database row. */
+    private static final class Row {
+        SlotStatus status = SlotStatus.AVAILABLE;
+        boolean active = true;
+        String description;
+        long version;
+        int claims;
+
+        synchronized int claim(long expectedVersion, SlotStatus newStatus, boolean newActive, String newDescription) {
+            if (version != expectedVersion || status != SlotStatus.AVAILABLE || !active) return 0;
+            status = newStatus;
+            active = newActive;
+            description = newDescription;
+            version++;
+            claims++;
+            return 1;
+        }
+
+        synchronized void bump() {
+            version++;
+        }
+
+        synchronized void copyTo(AvailabilitySlot slot) {
+            slot.setStatus(status);
+            slot.setActive(active);
+            slot.setDescription(description);
+            slot.setVersion(version);
+        }
+    }
+}